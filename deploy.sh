@@ -36,8 +36,11 @@ REMOTE_WAR_BACKUP_PATH="$REMOTE_WAR_PATH.rollback"
 REMOTE_CLEANUP_SCRIPT="$REMOTE_SCRIPT_DIR/cleanup-hosting-storage.sh"
 REMOTE_ONE_LINE_STRATEGY_SQL="$REMOTE_SCRIPT_DIR/20260616_create_one_line_strategy.sql"
 REMOTE_VISITOR_COUNT_SQL="$REMOTE_SCRIPT_DIR/20260711_create_visitor_daily_identity.sql"
+REMOTE_POST_TEXT_SQL="$REMOTE_SCRIPT_DIR/20261018_add_board_plain_text.sql"
 REMOTE_ONLINE_PROPS="$REMOTE_CONFIG_DIR/application-online.properties"
 REMOTE_HTTP_PORT="${REMOTE_HTTP_PORT:-8645}"
+# Seconds to wait for the assistant warm-up (GET /api/assistant/warmup = 200) after Tomcat is healthy.
+REMOTE_WARMUP_WAIT_SECONDS="${REMOTE_WARMUP_WAIT_SECONDS:-180}"
 
 echo "Building and verifying release WAR..."
 ./gradlew clean build </dev/null
@@ -65,6 +68,7 @@ ssh "$REMOTE" "mkdir -p '$REMOTE_SCRIPT_DIR'"
 scp "$ROOT_DIR/scripts/cleanup-hosting-storage.sh" "$REMOTE:$REMOTE_CLEANUP_SCRIPT"
 scp "$ROOT_DIR/src/main/resources/sql/20260616_create_one_line_strategy.sql" "$REMOTE:$REMOTE_ONE_LINE_STRATEGY_SQL"
 scp "$ROOT_DIR/src/main/resources/sql/20260711_create_visitor_daily_identity.sql" "$REMOTE:$REMOTE_VISITOR_COUNT_SQL"
+scp "$ROOT_DIR/src/main/resources/sql/20261018_add_board_plain_text.sql" "$REMOTE:$REMOTE_POST_TEXT_SQL"
 
 echo "Installing WAR and restarting Tomcat..."
 ssh "$REMOTE" \
@@ -79,8 +83,10 @@ ssh "$REMOTE" \
    REMOTE_EXPLODED_DIR='$REMOTE_EXPLODED_DIR'
    REMOTE_WAR_BACKUP_PATH='$REMOTE_WAR_BACKUP_PATH'
    REMOTE_HTTP_PORT='$REMOTE_HTTP_PORT'
+   REMOTE_WARMUP_WAIT_SECONDS='$REMOTE_WARMUP_WAIT_SECONDS'
    REMOTE_ONE_LINE_STRATEGY_SQL='$REMOTE_ONE_LINE_STRATEGY_SQL'
    REMOTE_VISITOR_COUNT_SQL='$REMOTE_VISITOR_COUNT_SQL'
+   REMOTE_POST_TEXT_SQL='$REMOTE_POST_TEXT_SQL'
    mkdir -p '$REMOTE_WEBAPPS_DIR'
    mkdir -p \"\$REMOTE_CONFIG_DIR\"
    chmod 700 \"\$REMOTE_CONFIG_DIR\"
@@ -122,6 +128,11 @@ ssh "$REMOTE" \
    fi
    echo 'Applying visitor count schema...'
    MYSQL_PWD=\"\$DB_PASS\" mysql -u \"\$DB_USER\" \"\$DB_NAME\" < \"\$REMOTE_VISITOR_COUNT_SQL\"
+   POST_TEXT_MISSING_TABLES=\$(MYSQL_PWD=\"\$DB_PASS\" mysql -u \"\$DB_USER\" -N -s -e \"SELECT COUNT(*) FROM board_list b LEFT JOIN information_schema.columns c ON c.table_schema = DATABASE() AND c.table_name = b.board_title AND c.column_name = 'plain_text' WHERE c.column_name IS NULL;\" \"\$DB_NAME\")
+   if [ \"\$POST_TEXT_MISSING_TABLES\" != \"0\" ]; then
+     echo 'Applying board plain text columns...'
+     MYSQL_PWD=\"\$DB_PASS\" mysql -u \"\$DB_USER\" \"\$DB_NAME\" < \"\$REMOTE_POST_TEXT_SQL\"
+   fi
    ONE_LINE_STRATEGY_TABLES=\$(MYSQL_PWD=\"\$DB_PASS\" mysql -u \"\$DB_USER\" -N -s -e \"SELECT COUNT(*) FROM information_schema.tables WHERE table_schema = DATABASE() AND table_name IN ('one_line_strategy', 'one_line_strategy_category');\" \"\$DB_NAME\")
    if [ \"\$ONE_LINE_STRATEGY_TABLES\" != \"2\" ]; then
      echo 'Applying one-line strategy schema...'
@@ -153,6 +164,18 @@ ssh "$REMOTE" \
      done
      return 0
    }
+   wait_for_assistant_warm_up() {
+     attempt=0
+     while [ \"\$attempt\" -lt \"\$REMOTE_WARMUP_WAIT_SECONDS\" ]; do
+       code=\$(curl -s -o /dev/null -w '%{http_code}' --max-time 2 \"http://127.0.0.1:\$REMOTE_HTTP_PORT/api/assistant/warmup\" 2>/dev/null || true)
+       if [ \"\$code\" = '200' ]; then
+         return 0
+       fi
+       attempt=\$((attempt + 1))
+       perl -e 'select undef, undef, undef, 1' 2>/dev/null || true
+     done
+     return 1
+   }
    wait_for_tomcat_shutdown() {
      attempt=0
      while [ \"\$attempt\" -lt 50 ]; do
@@ -210,6 +233,10 @@ ssh "$REMOTE" \
      exit 1
    fi
    if wait_for_stable_local_health; then
+     echo 'Waiting for assistant warm-up...'
+     if ! wait_for_assistant_warm_up; then
+       echo \"Assistant warm-up did not finish within \$REMOTE_WARMUP_WAIT_SECONDS s; the first questions may be slow.\" >&2
+     fi
      exit 0
    fi
    echo \"Tomcat did not respond on port \$REMOTE_HTTP_PORT after startup.\" >&2
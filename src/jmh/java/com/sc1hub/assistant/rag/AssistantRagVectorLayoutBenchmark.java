@@ -0,0 +1,122 @@
+package com.sc1hub.assistant.rag;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Brute-force top-k scan over the previous layout (one {@code float[]} per {@link AssistantRagChunk} plus a
+ * {@code double[] norms} division per chunk) against {@link AssistantRagVectorLayout} (one contiguous
+ * pre-normalized array, plain dot product). Each layout has its own state so only one copy is resident.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class AssistantRagVectorLayoutBenchmark {
+
+    private static final int DIMENSION = 768;
+    private static final int TOP_K = 12;
+
+    @State(Scope.Benchmark)
+    public static class PerChunkLayout {
+        @Param({"10000", "100000", "500000"})
+        public int chunkCount;
+
+        private List<AssistantRagChunk> chunks;
+        private double[] norms;
+        private float[] query;
+        private double queryNorm;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            Random random = new Random(42);
+            chunks = randomChunks(random, chunkCount);
+            norms = new double[chunkCount];
+            for (int i = 0; i < chunkCount; i++) {
+                norms[i] = norm(chunks.get(i).getVector());
+            }
+            query = randomVector(random);
+            queryNorm = norm(query);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class ContiguousLayout {
+        @Param({"10000", "100000", "500000"})
+        public int chunkCount;
+
+        private AssistantRagVectorLayout vectors;
+        private float[] unitQuery;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            Random random = new Random(42);
+            List<AssistantRagChunk> chunks = randomChunks(random, chunkCount);
+            vectors = AssistantRagVectorLayout.fromChunks(chunks, DIMENSION);
+            unitQuery = AssistantRagVectorLayout.normalize(randomVector(random));
+        }
+    }
+
+    @Benchmark
+    public int perChunkVectors(PerChunkLayout state) {
+        AssistantRagTopK topK = new AssistantRagTopK(TOP_K);
+        float[] query = state.query;
+        for (int i = 0; i < state.chunkCount; i++) {
+            float[] vector = state.chunks.get(i).getVector();
+            double sum = 0.0;
+            for (int d = 0; d < query.length; d++) {
+                sum += (double) query[d] * (double) vector[d];
+            }
+            topK.offer(sum / (state.queryNorm * state.norms[i]), i);
+        }
+        return topK.size();
+    }
+
+    @Benchmark
+    public int contiguousNormalizedVectors(ContiguousLayout state) {
+        AssistantRagTopK topK = new AssistantRagTopK(TOP_K);
+        AssistantRagVectorLayout vectors = state.vectors;
+        for (int i = 0; i < state.chunkCount; i++) {
+            topK.offer(vectors.cosine(state.unitQuery, i), i);
+        }
+        return topK.size();
+    }
+
+    private static List<AssistantRagChunk> randomChunks(Random random, int count) {
+        List<AssistantRagChunk> chunks = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            AssistantRagChunk chunk = new AssistantRagChunk();
+            chunk.setId("chunk-" + i);
+            chunk.setText("chunk text " + i);
+            chunk.setVector(randomVector(random));
+            chunks.add(chunk);
+        }
+        return chunks;
+    }
+
+    private static float[] randomVector(Random random) {
+        float[] vector = new float[DIMENSION];
+        for (int d = 0; d < DIMENSION; d++) {
+            vector[d] = (float) random.nextGaussian();
+        }
+        return vector;
+    }
+
+    private static double norm(float[] vector) {
+        double sum = 0.0;
+        for (float value : vector) {
+            sum += (double) value * (double) value;
+        }
+        return Math.sqrt(sum);
+    }
+}
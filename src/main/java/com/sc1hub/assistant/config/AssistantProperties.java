@@ -24,6 +24,8 @@ public class AssistantProperties {
     // Minimum score threshold to show supporting posts (0~1-ish). Evidence post still shows when available.
     private double relatedPostThreshold = 0.25;
     private int perBoardLimit = 5;
+    // Raw content characters the cross-board keyword query returns per post (HTML included, stripped afterwards).
+    private int keywordExcerptChars = 4000;
     private int maxPostSnippetChars = 800;
     private int maxPromptChars = 12000;
     private List<String> excludedBoards = new ArrayList<>();
@@ -58,6 +60,9 @@ public class AssistantProperties {
     private int llmRelatedPostsCacheSeconds = 600;
     private int llmRelatedPostsRateLimitPerMinute = 5;
 
+    private WarmUpProperties warmUp = new WarmUpProperties();
+    private KeywordIndexProperties keywordIndex = new KeywordIndexProperties();
+
     /**
      * Returns true when the given member is an assistant admin, matching either the configured
      * admin grade or the configured admin id. Centralizes the check previously duplicated across
@@ -72,4 +77,23 @@ public class AssistantProperties {
         }
         return adminId != null && adminId.equals(member.getId());
     }
+
+    @Data
+    public static class WarmUpProperties {
+        // After ApplicationReadyEvent, load the RAG index, alias dictionaries and board list in the background and
+        // run synthetic RAG searches / query parses; GET /api/assistant/warmup answers 503 until it is done.
+        private boolean enabled = true;
+        private int ragSearches = 20;
+        private int parseRounds = 5;
+    }
+
+    @Data
+    public static class KeywordIndexProperties {
+        // Keyword candidates come from an in-memory inverted index over every post (built by the warm-up, fed by
+        // post writes) instead of one LIKE scan per board. Posts are read loadBatchSize at a time while building.
+        // Ignored while rag.hybrid.enabled=true (with rag.enabled): hybrid retrieval takes the keyword matches from
+        // the RAG BM25 index, so this one is neither built nor fed.
+        private boolean enabled = true;
+        private int loadBatchSize = 500;
+    }
 }
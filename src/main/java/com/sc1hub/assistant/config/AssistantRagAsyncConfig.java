@@ -18,4 +18,18 @@ public class AssistantRagAsyncConfig {
         executor.initialize();
         return executor;
     }
+
+    // The reindex job runs on ragIndexExecutor and waits for these stages, so they need a pool of their own.
+    @Bean(name = "ragReindexPipelineExecutor")
+    public TaskExecutor ragReindexPipelineExecutor(AssistantRagProperties ragProperties) {
+        AssistantRagProperties.PipelineProperties pipeline = ragProperties.getPipeline();
+        int threads = 1 + Math.max(1, pipeline.getChunkThreads()) + Math.max(1, pipeline.getEmbeddingConcurrency());
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(0);
+        executor.setThreadNamePrefix("rag-reindex-");
+        executor.initialize();
+        return executor;
+    }
 }
@@ -8,10 +8,17 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
 public class AssistantRagProperties {
     private boolean enabled = false;
     private String indexPath = "data/assistant/rag-index.json";
+    // json: single Jackson document at indexPath, binary: memory-mapped .vec + .meta segments next to it
+    private String indexFormat = "json";
 
     private int maxPostsPerBoard = 1000;
+    // embedding API requests (batchEmbedContents calls) and embedded texts allowed per job, 0 = unlimited
     private int maxEmbeddingCallsPerReindex = 300;
     private int maxEmbeddingCallsPerUpdate = 50;
+    private int maxEmbeddingTextsPerReindex = 300;
+    private int maxEmbeddingTextsPerUpdate = 50;
+    // texts sent per batchEmbedContents request, capped at the API limit of 100
+    private int embeddingBatchSize = 100;
     private int minReindexIntervalMinutes = 360;
 
     private int chunkSizeChars = 900;
@@ -22,6 +29,17 @@ public class AssistantRagProperties {
     private double minScoreRatio = 0.7;
 
     private AutoUpdateProperties autoUpdate = new AutoUpdateProperties();
+    private QuantizationProperties quantization = new QuantizationProperties();
+    private PrefixProperties prefix = new PrefixProperties();
+    private HnswProperties hnsw = new HnswProperties();
+    private ParallelScanProperties parallelScan = new ParallelScanProperties();
+    private SegmentProperties segments = new SegmentProperties();
+    private ReloadProperties reload = new ReloadProperties();
+    private SignatureProperties signature = new SignatureProperties();
+    private PipelineProperties pipeline = new PipelineProperties();
+    private HybridProperties hybrid = new HybridProperties();
+    private LocalEmbeddingProperties localEmbedding = new LocalEmbeddingProperties();
+    private NearDuplicateProperties nearDuplicate = new NearDuplicateProperties();
 
     @Data
     public static class AutoUpdateProperties {
@@ -29,4 +47,112 @@ public class AssistantRagProperties {
         private String cron = "0 0 5 * * *";
         private String zone = "";
     }
+
+    @Data
+    public static class QuantizationProperties {
+        // Scan int8 codes first, then rescore the best candidates with the float vectors.
+        private boolean enabled = false;
+        private int rescoreCandidates = 300;
+        // Every Nth quantized search also runs the exact scan to measure recall@k (0 disables sampling).
+        private int recallSampleEvery = 20;
+    }
+
+    @Data
+    public static class PrefixProperties {
+        // Scan a copy of the vectors truncated to their first `dimensions` components, then rescore the best
+        // candidates with the full vectors. Ignored when quantization is enabled.
+        private boolean enabled = false;
+        private int dimensions = 256;
+        private int rescoreCandidates = 300;
+        // Every Nth prefix search also runs the exact scan to measure recall@k (0 disables sampling).
+        private int recallSampleEvery = 20;
+    }
+
+    @Data
+    public static class HnswProperties {
+        // Maintain an HNSW graph next to the index and search it instead of the brute-force scan.
+        private boolean enabled = false;
+        private int m = 16;
+        private int efConstruction = 100;
+        private int efSearch = 64;
+        // Every Nth graph search also runs the brute-force scan to measure recall@k (0 disables sampling).
+        private int recallSampleEvery = 20;
+    }
+
+    @Data
+    public static class ParallelScanProperties {
+        // Brute-force scans split the chunk list across the common fork-join pool once the index reaches minChunks.
+        private boolean enabled = true;
+        private int minChunks = 20000;
+        private int minSegmentChunks = 2048;
+    }
+
+    @Data
+    public static class SegmentProperties {
+        // update() appends a delta segment (tombstones + added chunks) instead of rewriting the whole index.
+        private boolean enabled = true;
+        // Background compaction folds the segments into the base once there are maxSegments of them or their
+        // total size reaches maxSegmentRatio of the base files.
+        private int maxSegments = 8;
+        private double maxSegmentRatio = 0.2;
+    }
+
+    @Data
+    public static class ReloadProperties {
+        // A background check swaps in a freshly built index snapshot whenever the index files change.
+        private long checkIntervalMillis = 5000;
+    }
+
+    @Data
+    public static class SignatureProperties {
+        // Live board stats are re-read (one aggregated query) after a post write or at least this often.
+        private int refreshIntervalMinutes = 60;
+    }
+
+    @Data
+    public static class PipelineProperties {
+        // Reindex runs fetch (1 thread), chunk (chunkThreads) and embed (embeddingConcurrency) stages at once,
+        // connected by queues of queueCapacity posts / embedding batches.
+        private int chunkThreads = 2;
+        private int embeddingConcurrency = 2;
+        private int queueCapacity = 256;
+        // A 429 response pauses every embedding request for the Retry-After time or an exponential backoff.
+        private long initialBackoffMillis = 1000;
+        private long maxBackoffMillis = 30000;
+        private int maxRateLimitRetries = 5;
+    }
+
+    @Data
+    public static class HybridProperties {
+        // Chat retrieval fuses the vector ranking with a BM25 ranking of the same chunks (built in memory on
+        // load) instead of querying the boards with LIKE. Off by default: while off, no BM25 index is built and
+        // the vector search plus the board keyword query stay the retrieval path.
+        private boolean enabled = false;
+        private double k1 = 1.2;
+        private double b = 0.75;
+        // Reciprocal rank fusion: each ranking contributes weight / (rrfK + rank) for its best candidates.
+        private int rrfK = 60;
+        private double vectorWeight = 1.0;
+        private double keywordWeight = 1.0;
+        private int candidates = 50;
+    }
+
+    @Data
+    public static class LocalEmbeddingProperties {
+        // Hashed character n-gram vectors of every chunk (int8, built on load) so a query can still be ranked
+        // locally when the Gemini embedding call fails (live calls disabled, throttled, unreachable).
+        private boolean enabled = false;
+        private int dimension = 256;
+        // Similarity floor for matches ranked by the local vectors, whose cosines run lower than Gemini's.
+        private double minScore = 0.1;
+    }
+
+    @Data
+    public static class NearDuplicateProperties {
+        // off: embed every text. share: reuse the vector of a chunk within maxDistance SimHash bits (search then
+        // returns one chunk per shared vector). skip: leave such copies of another post out of the index.
+        private String policy = "off";
+        private int maxDistance = 4;
+        private int minChars = 100;
+    }
 }
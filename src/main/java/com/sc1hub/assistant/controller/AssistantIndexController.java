@@ -74,6 +74,7 @@ public class AssistantIndexController {
                     ragResponse.setDimension(lastResult.getDimension());
                     ragResponse.setIndexPath(lastResult.getIndexPath());
                     ragResponse.setEmbeddingCalls(lastResult.getEmbeddingCalls());
+                    ragResponse.setEmbeddedTexts(lastResult.getEmbeddedTexts());
                     ragResponse.setReusedChunks(lastResult.getReusedChunks());
                 }
 
@@ -155,6 +156,7 @@ public class AssistantIndexController {
                 ragResponse.setDimension(result.getDimension());
                 ragResponse.setIndexPath(result.getIndexPath());
                 ragResponse.setEmbeddingCalls(result.getEmbeddingCalls());
+                ragResponse.setEmbeddedTexts(result.getEmbeddedTexts());
                 ragResponse.setReusedChunks(result.getReusedChunks());
 
                 if (!result.isEnabled()) {
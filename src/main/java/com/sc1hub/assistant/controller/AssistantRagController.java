@@ -1,10 +1,12 @@
 package com.sc1hub.assistant.controller;
 
 import com.sc1hub.assistant.config.AssistantProperties;
+import com.sc1hub.assistant.dto.AssistantRagConvertResponseDTO;
 import com.sc1hub.assistant.dto.AssistantRagReindexResponseDTO;
 import com.sc1hub.assistant.dto.AssistantRagUpdateResponseDTO;
 import com.sc1hub.assistant.rag.AssistantRagIndexService;
 import com.sc1hub.assistant.rag.AssistantRagSearchService;
+import com.sc1hub.assistant.service.AssistantWarmUpService;
 import com.sc1hub.member.dto.MemberDTO;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
@@ -25,13 +27,16 @@ public class AssistantRagController {
 
     private final AssistantRagIndexService ragIndexService;
     private final AssistantRagSearchService ragSearchService;
+    private final AssistantWarmUpService warmUpService;
     private final AssistantProperties assistantProperties;
 
     public AssistantRagController(AssistantRagIndexService ragIndexService,
                                   AssistantRagSearchService ragSearchService,
+                                  AssistantWarmUpService warmUpService,
                                   AssistantProperties assistantProperties) {
         this.ragIndexService = ragIndexService;
         this.ragSearchService = ragSearchService;
+        this.warmUpService = warmUpService;
         this.assistantProperties = assistantProperties;
     }
 
@@ -40,6 +45,24 @@ public class AssistantRagController {
         return ragSearchService.getStatus();
     }
 
+    @GetMapping("/warmup")
+    public ResponseEntity<AssistantWarmUpService.WarmUpStatus> warmUpStatus(HttpSession session) {
+        MemberDTO member = session == null ? null : (MemberDTO) session.getAttribute("member");
+        if (!assistantProperties.isAdmin(member)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        return ResponseEntity.ok(warmUpService.getStatus());
+    }
+
+    @GetMapping("/reindex")
+    public ResponseEntity<AssistantRagIndexService.ReindexJobStatus> reindexStatus(HttpSession session) {
+        MemberDTO member = session == null ? null : (MemberDTO) session.getAttribute("member");
+        if (!assistantProperties.isAdmin(member)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        return ResponseEntity.ok(ragIndexService.getReindexJobStatus());
+    }
+
     @PostMapping("/reindex")
     public ResponseEntity<AssistantRagReindexResponseDTO> reindex(HttpSession session,
                                                                   @RequestParam(name = "async", defaultValue = "true") boolean async) {
@@ -63,6 +86,7 @@ public class AssistantRagController {
                     response.setDimension(lastResult.getDimension());
                     response.setIndexPath(lastResult.getIndexPath());
                     response.setEmbeddingCalls(lastResult.getEmbeddingCalls());
+                    response.setEmbeddedTexts(lastResult.getEmbeddedTexts());
                     response.setReusedChunks(lastResult.getReusedChunks());
                 }
 
@@ -88,6 +112,7 @@ public class AssistantRagController {
                 response.setDimension(result.getDimension());
                 response.setIndexPath(result.getIndexPath());
                 response.setEmbeddingCalls(result.getEmbeddingCalls());
+                response.setEmbeddedTexts(result.getEmbeddedTexts());
                 response.setReusedChunks(result.getReusedChunks());
                 return ResponseEntity.ok(response);
             } catch (Exception e) {
@@ -116,6 +141,7 @@ public class AssistantRagController {
                 response.setDimension(result.getDimension());
                 response.setIndexPath(result.getIndexPath());
                 response.setEmbeddingCalls(result.getEmbeddingCalls());
+                response.setEmbeddedTexts(result.getEmbeddedTexts());
                 response.setReusedChunks(result.getReusedChunks());
 
                 if (!result.isEnabled()) {
@@ -143,6 +169,44 @@ public class AssistantRagController {
         return ResponseEntity.status(HttpStatus.FORBIDDEN).body(response);
     }
 
+    @PostMapping("/convert")
+    public ResponseEntity<AssistantRagConvertResponseDTO> convert(HttpSession session,
+                                                                  @RequestParam(name = "format", defaultValue = "binary") String format) {
+        AssistantRagConvertResponseDTO response = new AssistantRagConvertResponseDTO();
+
+        MemberDTO member = session == null ? null : (MemberDTO) session.getAttribute("member");
+        if (assistantProperties.isAdmin(member)) {
+            try {
+                AssistantRagIndexService.ConvertResult result = ragIndexService.convert(format);
+                response.setEnabled(result.isEnabled());
+                response.setReady(result.isReady());
+                response.setSourceFormat(result.getSourceFormat());
+                response.setTargetFormat(result.getTargetFormat());
+                response.setChunkCount(result.getChunkCount());
+                response.setDimension(result.getDimension());
+                response.setPath(result.getPath());
+
+                if (!result.isEnabled()) {
+                    response.setError("RAG 기능이 비활성화되어 있습니다.");
+                    return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(response);
+                }
+                if (!result.isReady()) {
+                    response.setError("RAG 인덱스가 존재하지 않습니다. reindex를 먼저 실행해주세요.");
+                    return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
+                }
+
+                return ResponseEntity.ok(response);
+            } catch (Exception e) {
+                log.error("RAG 인덱스 변환 실패", e);
+                response.setError(buildDetailedError("RAG 인덱스 변환 중 오류가 발생했습니다.", e));
+                return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
+            }
+        }
+
+        response.setError("관리자만 인덱스를 변환할 수 있습니다.");
+        return ResponseEntity.status(HttpStatus.FORBIDDEN).body(response);
+    }
+
     private String buildDetailedError(String baseMessage, Exception e) {
         String detail = extractRootCauseMessage(e);
         if (!StringUtils.hasText(detail)) {
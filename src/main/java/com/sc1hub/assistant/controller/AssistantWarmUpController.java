@@ -0,0 +1,32 @@
+package com.sc1hub.assistant.controller;
+
+import com.sc1hub.assistant.dto.AssistantWarmUpResponseDTO;
+import com.sc1hub.assistant.service.AssistantWarmUpService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+// Public, so it reports only the state: 200 once the startup warm-up is ready, 503 before (deploy.sh polls it).
+@RestController
+@RequestMapping("/api/assistant")
+public class AssistantWarmUpController {
+
+    private final AssistantWarmUpService warmUpService;
+
+    public AssistantWarmUpController(AssistantWarmUpService warmUpService) {
+        this.warmUpService = warmUpService;
+    }
+
+    @GetMapping(value = "/warmup", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<AssistantWarmUpResponseDTO> warmUp() {
+        AssistantWarmUpService.WarmUpStatus status = warmUpService.getStatus();
+        AssistantWarmUpResponseDTO response = new AssistantWarmUpResponseDTO();
+        response.setState(status.getState());
+        response.setReady(status.isReady());
+        HttpStatus httpStatus = status.isReady() ? HttpStatus.OK : HttpStatus.SERVICE_UNAVAILABLE;
+        return ResponseEntity.status(httpStatus).body(response);
+    }
+}
@@ -0,0 +1,19 @@
+package com.sc1hub.assistant.dto;
+
+import lombok.Data;
+
+import java.util.Date;
+
+@Data
+public class AssistantKeywordMatchDTO {
+    private String boardTitle;
+    private int postNum;
+    private String title;
+    private String plainText;
+    // Raw content excerpt, only set when plainText is null.
+    private String excerpt;
+    private String writer;
+    private Date regDate;
+    private String searchTerms;
+    private double score;
+}
@@ -0,0 +1,15 @@
+package com.sc1hub.assistant.dto;
+
+import lombok.Data;
+
+@Data
+public class AssistantRagConvertResponseDTO {
+    private boolean enabled;
+    private boolean ready;
+    private String sourceFormat;
+    private String targetFormat;
+    private int chunkCount;
+    private int dimension;
+    private String path;
+    private String error;
+}
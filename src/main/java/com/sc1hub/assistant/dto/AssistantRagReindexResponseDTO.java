@@ -16,6 +16,7 @@ public class AssistantRagReindexResponseDTO {
     private int dimension;
     private String indexPath;
     private int embeddingCalls;
+    private int embeddedTexts;
     private int reusedChunks;
     private String error;
     private String lastError;
@@ -11,6 +11,7 @@ public class AssistantRagUpdateResponseDTO {
     private int dimension;
     private String indexPath;
     private int embeddingCalls;
+    private int embeddedTexts;
     private int reusedChunks;
     private String error;
 }
@@ -0,0 +1,9 @@
+package com.sc1hub.assistant.dto;
+
+import lombok.Data;
+
+@Data
+public class AssistantWarmUpResponseDTO {
+    private String state;
+    private boolean ready;
+}
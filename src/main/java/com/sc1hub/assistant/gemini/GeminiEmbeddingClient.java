@@ -12,14 +12,19 @@ import org.springframework.util.StringUtils;
 import org.springframework.web.client.HttpStatusCodeException;
 import org.springframework.web.client.RestTemplate;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 @Component
 @Slf4j
 public class GeminiEmbeddingClient {
 
+    // Upper limit of the batchEmbedContents API.
+    public static final int MAX_BATCH_TEXTS = 100;
+
     private static final int MAX_EMBED_TEXT_CHARS = 8000;
 
     private final RestTemplate restTemplate;
@@ -33,6 +38,48 @@ public class GeminiEmbeddingClient {
     }
 
     public float[] embedText(String text) {
+        String embeddingModel = requireEmbeddingModel();
+        String url = buildUrl(embeddingModel, "embedContent");
+
+        Map<String, Object> payload = new HashMap<>();
+        payload.put("content", buildContent(text));
+
+        String responseBody = post(url, payload, embeddingModel);
+        return extractEmbeddingFromResponse(responseBody);
+    }
+
+    public List<float[]> embedTexts(List<String> texts) {
+        if (texts == null || texts.isEmpty()) {
+            return new ArrayList<>();
+        }
+        if (texts.size() > MAX_BATCH_TEXTS) {
+            throw new IllegalArgumentException("At most " + MAX_BATCH_TEXTS + " texts can be embedded per request.");
+        }
+        String embeddingModel = requireEmbeddingModel();
+        String url = buildUrl(embeddingModel, "batchEmbedContents");
+
+        List<Map<String, Object>> requests = new ArrayList<>(texts.size());
+        for (String text : texts) {
+            Map<String, Object> request = new HashMap<>();
+            request.put("model", "models/" + embeddingModel);
+            request.put("content", buildContent(text));
+            requests.add(request);
+        }
+        Map<String, Object> payload = new HashMap<>();
+        payload.put("requests", requests);
+
+        String responseBody = post(url, payload, embeddingModel);
+        List<float[]> vectors = extractEmbeddingsFromResponse(responseBody);
+        if (vectors.size() != texts.size()) {
+            log.error("Gemini Batch Embedding 응답 개수 불일치. expected={}, actual={}, model={}",
+                    texts.size(), vectors.size(), embeddingModel);
+            throw new GeminiException("Gemini Batch Embedding API returned " + vectors.size()
+                    + " embeddings for " + texts.size() + " texts.");
+        }
+        return vectors;
+    }
+
+    private String requireEmbeddingModel() {
         if (!geminiProperties.isAllowLiveCalls()) {
             throw new GeminiException("Live Gemini API calls are disabled.");
         }
@@ -47,32 +94,36 @@ public class GeminiEmbeddingClient {
         if (!StringUtils.hasText(embeddingModel)) {
             throw new GeminiException("Gemini embedding model is not configured.");
         }
+        return embeddingModel;
+    }
 
-        String url = String.format("%s/%s/models/%s:embedContent",
+    private String buildUrl(String embeddingModel, String method) {
+        return String.format("%s/%s/models/%s:%s",
                 geminiProperties.getBaseUrl(),
                 geminiProperties.getApiVersion(),
-                embeddingModel
+                embeddingModel,
+                method
         );
+    }
 
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.APPLICATION_JSON);
-        headers.setAccept(Collections.singletonList(MediaType.APPLICATION_JSON));
-        headers.set("x-goog-api-key", apiKey);
-
-        String normalizedText = normalizeText(text);
-
-        Map<String, Object> payload = new HashMap<>();
+    private Map<String, Object> buildContent(String text) {
         Map<String, Object> content = new HashMap<>();
         Map<String, Object> part = new HashMap<>();
-        part.put("text", normalizedText);
+        part.put("text", normalizeText(text));
         content.put("parts", Collections.singletonList(part));
-        payload.put("content", content);
+        return content;
+    }
+
+    private String post(String url, Map<String, Object> payload, String embeddingModel) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.setAccept(Collections.singletonList(MediaType.APPLICATION_JSON));
+        headers.set("x-goog-api-key", geminiProperties.getApiKey());
 
         HttpEntity<Map<String, Object>> requestEntity = new HttpEntity<>(payload, headers);
 
         try {
-            String responseBody = restTemplate.postForObject(url, requestEntity, String.class);
-            return extractEmbeddingFromResponse(responseBody);
+            return restTemplate.postForObject(url, requestEntity, String.class);
         } catch (HttpStatusCodeException e) {
             String body = GeminiHttpSupport.safeShortBody(objectMapper, e);
             log.error("Gemini Embedding API 요청 실패. status={}, model={}, body={}", e.getStatusCode(), embeddingModel, body);
@@ -83,26 +134,49 @@ public class GeminiEmbeddingClient {
         }
     }
 
+    private List<float[]> extractEmbeddingsFromResponse(String rawBody) {
+        List<float[]> vectors = new ArrayList<>();
+        if (!StringUtils.hasText(rawBody)) {
+            return vectors;
+        }
+        JsonNode embeddingsNode;
+        try {
+            embeddingsNode = objectMapper.readTree(rawBody).path("embeddings");
+        } catch (Exception e) {
+            return vectors;
+        }
+        if (!embeddingsNode.isArray()) {
+            return vectors;
+        }
+        for (int i = 0; i < embeddingsNode.size(); i += 1) {
+            vectors.add(toVector(embeddingsNode.path(i).path("values")));
+        }
+        return vectors;
+    }
+
     private float[] extractEmbeddingFromResponse(String rawBody) {
         if (!StringUtils.hasText(rawBody)) {
             return new float[0];
         }
         try {
             JsonNode root = objectMapper.readTree(rawBody);
-            JsonNode valuesNode = root.path("embedding").path("values");
-            if (!valuesNode.isArray()) {
-                return new float[0];
-            }
-            float[] vector = new float[valuesNode.size()];
-            for (int i = 0; i < valuesNode.size(); i += 1) {
-                vector[i] = (float) valuesNode.path(i).asDouble(0.0);
-            }
-            return vector;
+            return toVector(root.path("embedding").path("values"));
         } catch (Exception e) {
             return new float[0];
         }
     }
 
+    private static float[] toVector(JsonNode valuesNode) {
+        if (!valuesNode.isArray()) {
+            return new float[0];
+        }
+        float[] vector = new float[valuesNode.size()];
+        for (int i = 0; i < valuesNode.size(); i += 1) {
+            vector[i] = (float) valuesNode.path(i).asDouble(0.0);
+        }
+        return vector;
+    }
+
     private String normalizeText(String text) {
         if (text == null) {
             return "";
@@ -1,6 +1,12 @@
 package com.sc1hub.assistant.gemini;
 
+import org.springframework.util.StringUtils;
+import org.springframework.web.client.HttpStatusCodeException;
+
 public class GeminiException extends RuntimeException {
+
+    private static final int TOO_MANY_REQUESTS = 429;
+
     public GeminiException(String message) {
         super(message);
     }
@@ -8,5 +14,25 @@ public class GeminiException extends RuntimeException {
     public GeminiException(String message, Throwable cause) {
         super(message, cause);
     }
-}
 
+    public boolean isRateLimited() {
+        return getCause() instanceof HttpStatusCodeException
+                && ((HttpStatusCodeException) getCause()).getRawStatusCode() == TOO_MANY_REQUESTS;
+    }
+
+    public long getRetryAfterMillis() {
+        if (!isRateLimited()) {
+            return -1L;
+        }
+        HttpStatusCodeException cause = (HttpStatusCodeException) getCause();
+        String retryAfter = cause.getResponseHeaders() == null ? null : cause.getResponseHeaders().getFirst("Retry-After");
+        if (!StringUtils.hasText(retryAfter)) {
+            return -1L;
+        }
+        try {
+            return Math.max(0L, Long.parseLong(retryAfter.trim()) * 1000L);
+        } catch (NumberFormatException e) {
+            return -1L;
+        }
+    }
+}
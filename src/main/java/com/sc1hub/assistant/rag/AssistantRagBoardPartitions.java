@@ -0,0 +1,84 @@
+package com.sc1hub.assistant.rag;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+final class AssistantRagBoardPartitions {
+
+    private final String[] boards;
+    private final int[] starts;
+    private final int[] ordinals;
+    private final int[] partitionOfOrdinal;
+
+    private AssistantRagBoardPartitions(String[] boards, int[] starts, int[] ordinals, int[] partitionOfOrdinal) {
+        this.boards = boards;
+        this.starts = starts;
+        this.ordinals = ordinals;
+        this.partitionOfOrdinal = partitionOfOrdinal;
+    }
+
+    static AssistantRagBoardPartitions build(List<AssistantRagChunk> chunks) {
+        Map<String, Integer> partitionByBoard = new LinkedHashMap<>();
+        int[] partitionOfChunk = new int[chunks.size()];
+        List<int[]> counts = new ArrayList<>();
+        for (int i = 0; i < chunks.size(); i += 1) {
+            AssistantRagChunk chunk = chunks.get(i);
+            String board = normalizeBoardTitle(chunk == null ? null : chunk.getBoardTitle());
+            Integer partition = partitionByBoard.get(board);
+            if (partition == null) {
+                partition = partitionByBoard.size();
+                partitionByBoard.put(board, partition);
+                counts.add(new int[1]);
+            }
+            partitionOfChunk[i] = partition;
+            counts.get(partition)[0] += 1;
+        }
+
+        String[] boards = partitionByBoard.keySet().toArray(new String[0]);
+        int[] starts = new int[boards.length + 1];
+        for (int p = 0; p < boards.length; p += 1) {
+            starts[p + 1] = starts[p] + counts.get(p)[0];
+        }
+        int[] cursor = new int[boards.length];
+        System.arraycopy(starts, 0, cursor, 0, boards.length);
+        int[] ordinals = new int[chunks.size()];
+        for (int i = 0; i < partitionOfChunk.length; i += 1) {
+            ordinals[cursor[partitionOfChunk[i]]++] = i;
+        }
+        return new AssistantRagBoardPartitions(boards, starts, ordinals, partitionOfChunk);
+    }
+
+    static String normalizeBoardTitle(String boardTitle) {
+        if (boardTitle == null) {
+            return "";
+        }
+        return boardTitle.trim().toLowerCase(Locale.ROOT);
+    }
+
+    int partitionCount() {
+        return boards.length;
+    }
+
+    String board(int partition) {
+        return boards[partition];
+    }
+
+    int start(int partition) {
+        return starts[partition];
+    }
+
+    int size(int partition) {
+        return starts[partition + 1] - starts[partition];
+    }
+
+    int partitionOf(int ordinal) {
+        return partitionOfOrdinal[ordinal];
+    }
+
+    int[] ordinals() {
+        return ordinals;
+    }
+}
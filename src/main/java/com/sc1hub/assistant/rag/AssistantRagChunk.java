@@ -16,6 +16,8 @@ public class AssistantRagChunk {
     private String url;
     private int chunkIndex;
     private String text;
+    // xxHash64 of the text; 0 for chunks written before it was stored.
+    private long contentHash;
     private float[] vector;
 }
 
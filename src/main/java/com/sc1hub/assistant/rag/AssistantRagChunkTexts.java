@@ -0,0 +1,75 @@
+package com.sc1hub.assistant.rag;
+
+import java.io.IOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+// 24-byte header (magic, version, count, reserved, generation), then (long offset, int length) per base row,
+// then the UTF-8 bytes; length -1 marks a null text.
+final class AssistantRagChunkTexts {
+
+    static final int MAGIC = 0x53524754; // "SRGT"
+    static final int HEADER_BYTES = 24;
+    static final int ENTRY_BYTES = Long.BYTES + Integer.BYTES;
+
+    private final ByteBuffer mapped;
+    private final int count;
+    private final long dataStart;
+
+    private AssistantRagChunkTexts(ByteBuffer mapped, int count) {
+        this.mapped = mapped;
+        this.count = count;
+        this.dataStart = HEADER_BYTES + (long) count * ENTRY_BYTES;
+    }
+
+    static AssistantRagChunkTexts open(Path path, int version, long generation, int count) throws IOException {
+        MappedByteBuffer mapped;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        if (mapped.capacity() < HEADER_BYTES || mapped.getInt(0) != MAGIC) {
+            throw new IOException("Not a RAG text segment: " + path);
+        }
+        if (mapped.getInt(4) != version) {
+            throw new IOException("Unsupported RAG text segment version: " + mapped.getInt(4));
+        }
+        if (mapped.getLong(16) != generation || mapped.getInt(8) != count) {
+            throw new IOException("RAG text/metadata segments do not belong to the same write.");
+        }
+        AssistantRagChunkTexts texts = new AssistantRagChunkTexts(mapped, count);
+        if (mapped.capacity() < texts.dataStart) {
+            throw new IOException("RAG text segment is truncated: " + path);
+        }
+        return texts;
+    }
+
+    int size() {
+        return count;
+    }
+
+    String get(int row) {
+        if (row < 0 || row >= count) {
+            throw new IndexOutOfBoundsException("row " + row + " of " + count);
+        }
+        int entry = HEADER_BYTES + row * ENTRY_BYTES;
+        long offset = mapped.getLong(entry);
+        int length = mapped.getInt(entry + Long.BYTES);
+        if (length < 0) {
+            return null;
+        }
+        long start = dataStart + offset;
+        if (start + length > mapped.capacity()) {
+            throw new IllegalStateException("RAG text segment entry points past the end of the file. row=" + row);
+        }
+        byte[] bytes = new byte[length];
+        ByteBuffer view = mapped.duplicate();
+        ((Buffer) view).position((int) start);
+        view.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
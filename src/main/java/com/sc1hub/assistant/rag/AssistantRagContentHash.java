@@ -0,0 +1,110 @@
+package com.sc1hub.assistant.rag;
+
+import java.nio.charset.StandardCharsets;
+
+// xxHash64 (seed 0) of the UTF-8 text; NONE marks chunks written before the hash was stored.
+final class AssistantRagContentHash {
+
+    static final long NONE = 0L;
+
+    private static final long PRIME1 = 0x9E3779B185EBCA87L;
+    private static final long PRIME2 = 0xC2B2AE3D27D4EB4FL;
+    private static final long PRIME3 = 0x165667B19E3779F9L;
+    private static final long PRIME4 = 0x85EBCA77C2B2AE63L;
+    private static final long PRIME5 = 0x27D4EB2F165667C5L;
+
+    private AssistantRagContentHash() {
+    }
+
+    static long of(AssistantRagChunk chunk) {
+        if (chunk.getContentHash() != NONE) {
+            return chunk.getContentHash();
+        }
+        return of(chunk.getText());
+    }
+
+    static long of(String text) {
+        byte[] bytes = (text == null ? "" : text).getBytes(StandardCharsets.UTF_8);
+        return xxHash64(bytes, 0L);
+    }
+
+    static long xxHash64(byte[] input, long seed) {
+        int length = input.length;
+        int offset = 0;
+        long hash;
+        if (length >= 32) {
+            long v1 = seed + PRIME1 + PRIME2;
+            long v2 = seed + PRIME2;
+            long v3 = seed;
+            long v4 = seed - PRIME1;
+            int limit = length - 32;
+            do {
+                v1 = round(v1, readLong(input, offset));
+                v2 = round(v2, readLong(input, offset + 8));
+                v3 = round(v3, readLong(input, offset + 16));
+                v4 = round(v4, readLong(input, offset + 24));
+                offset += 32;
+            } while (offset <= limit);
+            hash = Long.rotateLeft(v1, 1) + Long.rotateLeft(v2, 7) + Long.rotateLeft(v3, 12) + Long.rotateLeft(v4, 18);
+            hash = mergeRound(hash, v1);
+            hash = mergeRound(hash, v2);
+            hash = mergeRound(hash, v3);
+            hash = mergeRound(hash, v4);
+        } else {
+            hash = seed + PRIME5;
+        }
+        hash += length;
+
+        while (offset + 8 <= length) {
+            hash ^= round(0L, readLong(input, offset));
+            hash = Long.rotateLeft(hash, 27) * PRIME1 + PRIME4;
+            offset += 8;
+        }
+        if (offset + 4 <= length) {
+            hash ^= (readInt(input, offset) & 0xFFFFFFFFL) * PRIME1;
+            hash = Long.rotateLeft(hash, 23) * PRIME2 + PRIME3;
+            offset += 4;
+        }
+        while (offset < length) {
+            hash ^= (input[offset] & 0xFFL) * PRIME5;
+            hash = Long.rotateLeft(hash, 11) * PRIME1;
+            offset += 1;
+        }
+
+        hash ^= hash >>> 33;
+        hash *= PRIME2;
+        hash ^= hash >>> 29;
+        hash *= PRIME3;
+        hash ^= hash >>> 32;
+        return hash;
+    }
+
+    private static long round(long acc, long input) {
+        acc += input * PRIME2;
+        acc = Long.rotateLeft(acc, 31);
+        return acc * PRIME1;
+    }
+
+    private static long mergeRound(long acc, long value) {
+        acc ^= round(0L, value);
+        return acc * PRIME1 + PRIME4;
+    }
+
+    private static long readLong(byte[] input, int offset) {
+        return (input[offset] & 0xFFL)
+                | (input[offset + 1] & 0xFFL) << 8
+                | (input[offset + 2] & 0xFFL) << 16
+                | (input[offset + 3] & 0xFFL) << 24
+                | (input[offset + 4] & 0xFFL) << 32
+                | (input[offset + 5] & 0xFFL) << 40
+                | (input[offset + 6] & 0xFFL) << 48
+                | (input[offset + 7] & 0xFFL) << 56;
+    }
+
+    private static int readInt(byte[] input, int offset) {
+        return (input[offset] & 0xFF)
+                | (input[offset + 1] & 0xFF) << 8
+                | (input[offset + 2] & 0xFF) << 16
+                | (input[offset + 3] & 0xFF) << 24;
+    }
+}
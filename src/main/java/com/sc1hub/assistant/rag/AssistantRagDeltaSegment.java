@@ -0,0 +1,250 @@
+package com.sc1hub.assistant.rag;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+// A delta tombstones and re-adds whole posts, so applying it twice gives the same result. It only applies to
+// the base with the same baseId (derived from the base createdAt); a full reindex orphans older segments.
+final class AssistantRagDeltaSegment {
+
+    static final long NO_BASE_ID = Long.MIN_VALUE;
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final int sequence;
+    private final long baseId;
+    private final Date updatedAt;
+    private final int dimension;
+    private final List<AssistantRagBoardSnapshot> boardSnapshots;
+    private final Set<String> tombstones;
+    private final List<AssistantRagChunk> chunks;
+
+    AssistantRagDeltaSegment(int sequence, long baseId, Date updatedAt, int dimension,
+                             List<AssistantRagBoardSnapshot> boardSnapshots, Set<String> tombstones,
+                             List<AssistantRagChunk> chunks) {
+        this.sequence = sequence;
+        this.baseId = baseId;
+        this.updatedAt = updatedAt;
+        this.dimension = dimension;
+        this.boardSnapshots = boardSnapshots == null ? new ArrayList<>() : boardSnapshots;
+        this.tombstones = tombstones == null ? new LinkedHashSet<>() : tombstones;
+        this.chunks = chunks == null ? new ArrayList<>() : chunks;
+    }
+
+    static long baseIdOf(AssistantRagIndex index) {
+        return index == null || index.getCreatedAt() == null ? NO_BASE_ID : index.getCreatedAt().getTime();
+    }
+
+    static String postKey(String boardTitle, int postNum) {
+        String normalized = boardTitle == null ? "" : boardTitle.trim().toLowerCase(Locale.ROOT);
+        return normalized + ":" + postNum;
+    }
+
+    private static String postKey(AssistantRagChunk chunk) {
+        return postKey(chunk.getBoardTitle(), chunk.getPostNum());
+    }
+
+    int getSequence() {
+        return sequence;
+    }
+
+    long getBaseId() {
+        return baseId;
+    }
+
+    Date getUpdatedAt() {
+        return updatedAt;
+    }
+
+    int getDimension() {
+        return dimension;
+    }
+
+    List<AssistantRagBoardSnapshot> getBoardSnapshots() {
+        return boardSnapshots;
+    }
+
+    Set<String> getTombstones() {
+        return tombstones;
+    }
+
+    List<AssistantRagChunk> getChunks() {
+        return chunks;
+    }
+
+    boolean isEmpty() {
+        return tombstones.isEmpty() && chunks.isEmpty();
+    }
+
+    static Map<String, Long> fingerprintPosts(List<AssistantRagChunk> chunks) {
+        Map<String, Long> fingerprints = new HashMap<>();
+        if (chunks == null) {
+            return fingerprints;
+        }
+        for (AssistantRagChunk chunk : chunks) {
+            if (chunk == null) {
+                continue;
+            }
+            String key = postKey(chunk);
+            Long previous = fingerprints.get(key);
+            fingerprints.put(key, fingerprint(previous == null ? FNV_OFFSET : previous, chunk));
+        }
+        return fingerprints;
+    }
+
+    static AssistantRagDeltaSegment diff(Map<String, Long> before, List<AssistantRagChunk> chunks, AssistantRagIndex header) {
+        Map<String, Long> after = fingerprintPosts(chunks);
+        Set<String> tombstones = new LinkedHashSet<>();
+        for (Map.Entry<String, Long> entry : before.entrySet()) {
+            Long current = after.get(entry.getKey());
+            if (!entry.getValue().equals(current)) {
+                tombstones.add(entry.getKey());
+            }
+        }
+        List<AssistantRagChunk> added = new ArrayList<>();
+        for (AssistantRagChunk chunk : chunks) {
+            if (chunk == null) {
+                continue;
+            }
+            String key = postKey(chunk);
+            if (!before.containsKey(key) || tombstones.contains(key)) {
+                added.add(chunk);
+            }
+        }
+        return new AssistantRagDeltaSegment(0, baseIdOf(header), header.getUpdatedAt(), header.getDimension(),
+                header.getBoardSnapshots(), tombstones, added);
+    }
+
+    static Merged merge(List<AssistantRagChunk> baseChunks, List<AssistantRagDeltaSegment> segments) {
+        Map<String, Integer> lastTombstone = new HashMap<>();
+        for (int s = 0; s < segments.size(); s += 1) {
+            for (String key : segments.get(s).tombstones) {
+                lastTombstone.put(key, s);
+            }
+        }
+
+        List<AssistantRagChunk> chunks = new ArrayList<>(baseChunks.size());
+        int[] baseOrdinals = new int[baseChunks.size()];
+        int baseSurvivors = 0;
+        for (int i = 0; i < baseChunks.size(); i += 1) {
+            AssistantRagChunk chunk = baseChunks.get(i);
+            if (chunk != null && lastTombstone.containsKey(postKey(chunk))) {
+                continue;
+            }
+            chunks.add(chunk);
+            baseOrdinals[baseSurvivors++] = i;
+        }
+        for (int s = 0; s < segments.size(); s += 1) {
+            for (AssistantRagChunk chunk : segments.get(s).chunks) {
+                Integer tombstonedAt = chunk == null ? null : lastTombstone.get(postKey(chunk));
+                if (tombstonedAt != null && tombstonedAt > s) {
+                    continue;
+                }
+                chunks.add(chunk);
+            }
+        }
+        int[] trimmed = new int[baseSurvivors];
+        System.arraycopy(baseOrdinals, 0, trimmed, 0, baseSurvivors);
+        return new Merged(chunks, trimmed);
+    }
+
+    static void applyHeader(AssistantRagIndex index, List<AssistantRagDeltaSegment> segments) {
+        if (segments.isEmpty()) {
+            return;
+        }
+        AssistantRagDeltaSegment latest = segments.get(segments.size() - 1);
+        index.setUpdatedAt(latest.updatedAt);
+        index.setBoardSnapshots(new ArrayList<>(latest.boardSnapshots));
+        if (index.getDimension() <= 0 && latest.dimension > 0) {
+            index.setDimension(latest.dimension);
+        }
+    }
+
+    static boolean sameSnapshots(List<AssistantRagBoardSnapshot> left, List<AssistantRagBoardSnapshot> right) {
+        Map<String, AssistantRagBoardSnapshot> rightByBoard = new HashMap<>();
+        if (right != null) {
+            for (AssistantRagBoardSnapshot snapshot : right) {
+                if (snapshot != null) {
+                    rightByBoard.put(snapshot.getBoardTitle(), snapshot);
+                }
+            }
+        }
+        int leftCount = 0;
+        if (left != null) {
+            for (AssistantRagBoardSnapshot snapshot : left) {
+                if (snapshot == null) {
+                    continue;
+                }
+                leftCount += 1;
+                AssistantRagBoardSnapshot other = rightByBoard.get(snapshot.getBoardTitle());
+                if (other == null
+                        || snapshot.getMaxPostNum() != other.getMaxPostNum()
+                        || snapshot.getPostCount() != other.getPostCount()
+                        || !Objects.equals(snapshot.getMaxRegDate(), other.getMaxRegDate())) {
+                    return false;
+                }
+            }
+        }
+        return leftCount == rightByBoard.size();
+    }
+
+    private static long fingerprint(long hash, AssistantRagChunk chunk) {
+        hash = mix(hash, chunk.getId());
+        hash = mix(hash, chunk.getTitle());
+        hash = mix(hash, chunk.getUrl());
+        hash = mix(hash, AssistantRagContentHash.of(chunk));
+        hash = mix(hash, chunk.getRegDate() == null ? NO_BASE_ID : chunk.getRegDate().getTime());
+        return mix(hash, chunk.getChunkIndex());
+    }
+
+    private static long mix(long hash, String value) {
+        if (value == null) {
+            return mix(hash, -1L);
+        }
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= (b & 0xff);
+            hash *= FNV_PRIME;
+        }
+        return mix(hash, value.length());
+    }
+
+    private static long mix(long hash, long value) {
+        for (int shift = 0; shift < Long.SIZE; shift += Byte.SIZE) {
+            hash ^= (value >>> shift) & 0xff;
+            hash *= FNV_PRIME;
+        }
+        return hash;
+    }
+
+    static final class Merged {
+        private final List<AssistantRagChunk> chunks;
+        // baseOrdinals[i] is the base position of merged chunk i; chunks past baseOrdinals.length come from segments.
+        private final int[] baseOrdinals;
+
+        private Merged(List<AssistantRagChunk> chunks, int[] baseOrdinals) {
+            this.chunks = chunks;
+            this.baseOrdinals = baseOrdinals;
+        }
+
+        List<AssistantRagChunk> getChunks() {
+            return chunks;
+        }
+
+        int[] getBaseOrdinals() {
+            return baseOrdinals;
+        }
+
+        List<AssistantRagChunk> getSegmentChunks() {
+            return chunks.subList(baseOrdinals.length, chunks.size());
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.sc1hub.assistant.rag;
+
+import java.util.Arrays;
+
+final class AssistantRagDuplicateVectors {
+
+    // Ordinals are packed below a 40-bit vector hash, so one primitive sort brings equal hashes together.
+    private static final int ORDINAL_BITS = 24;
+    private static final long ORDINAL_MASK = (1L << ORDINAL_BITS) - 1;
+
+    private final int[] groupOf;
+    private final int duplicateCount;
+    private final int largestGroup;
+
+    private AssistantRagDuplicateVectors(int[] groupOf, int duplicateCount, int largestGroup) {
+        this.groupOf = groupOf;
+        this.duplicateCount = duplicateCount;
+        this.largestGroup = largestGroup;
+    }
+
+    static AssistantRagDuplicateVectors build(int count, int dimension, AssistantRagQuantizedVectors.VectorReader reader) {
+        if (count < 2 || dimension <= 0 || count > ORDINAL_MASK + 1) {
+            return null;
+        }
+        float[] vector = new float[dimension];
+        float[] other = new float[dimension];
+        long[] packed = new long[count];
+        int size = 0;
+        for (int ordinal = 0; ordinal < count; ordinal += 1) {
+            if (reader.read(ordinal, vector)) {
+                packed[size++] = (hash(vector) << ORDINAL_BITS) | ordinal;
+            }
+        }
+        Arrays.sort(packed, 0, size);
+
+        int[] groupOf = null;
+        int duplicateCount = 0;
+        for (int runStart = 0, runEnd; runStart < size; runStart = runEnd) {
+            long runHash = packed[runStart] >>> ORDINAL_BITS;
+            runEnd = runStart + 1;
+            while (runEnd < size && (packed[runEnd] >>> ORDINAL_BITS) == runHash) {
+                runEnd += 1;
+            }
+            // Ordinals ascend within a run, so each chunk joins the lowest earlier one with an equal vector.
+            for (int i = runStart + 1; i < runEnd; i += 1) {
+                int ordinal = (int) (packed[i] & ORDINAL_MASK);
+                reader.read(ordinal, vector);
+                for (int j = runStart; j < i; j += 1) {
+                    int candidate = (int) (packed[j] & ORDINAL_MASK);
+                    if (groupOf != null && groupOf[candidate] != candidate) {
+                        continue;
+                    }
+                    reader.read(candidate, other);
+                    if (Arrays.equals(vector, other)) {
+                        if (groupOf == null) {
+                            groupOf = new int[count];
+                            for (int k = 0; k < count; k += 1) {
+                                groupOf[k] = k;
+                            }
+                        }
+                        groupOf[ordinal] = candidate;
+                        duplicateCount += 1;
+                        break;
+                    }
+                }
+            }
+        }
+        if (groupOf == null) {
+            return null;
+        }
+        int[] groupSizes = new int[count];
+        int largestGroup = 1;
+        for (int ordinal = 0; ordinal < count; ordinal += 1) {
+            largestGroup = Math.max(largestGroup, ++groupSizes[groupOf[ordinal]]);
+        }
+        return new AssistantRagDuplicateVectors(groupOf, duplicateCount, largestGroup);
+    }
+
+    int groupOf(int ordinal) {
+        return groupOf[ordinal];
+    }
+
+    int duplicateCount() {
+        return duplicateCount;
+    }
+
+    // Every group has at most largestGroup chunks and at most duplicateCount candidates can be dropped.
+    int candidatesFor(int k) {
+        return (int) Math.min((long) k * largestGroup, (long) k + duplicateCount);
+    }
+
+    long memoryBytes() {
+        return (long) groupOf.length * Integer.BYTES;
+    }
+
+    private static long hash(float[] vector) {
+        long hash = 1125899906842597L;
+        for (float value : vector) {
+            hash = 31L * hash + Float.floatToIntBits(value);
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        return hash >>> ORDINAL_BITS;
+    }
+}
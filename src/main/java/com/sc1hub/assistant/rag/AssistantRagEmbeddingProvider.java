@@ -0,0 +1,10 @@
+package com.sc1hub.assistant.rag;
+
+public interface AssistantRagEmbeddingProvider {
+
+    String getModel();
+
+    int getDimension();
+
+    float[] embedText(String text);
+}
@@ -0,0 +1,49 @@
+package com.sc1hub.assistant.rag;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+final class AssistantRagHashingEmbedder implements AssistantRagEmbeddingProvider {
+
+    private static final long HASH_SEED = 0x5C1_4B5L;
+
+    private final int dimension;
+
+    AssistantRagHashingEmbedder(int dimension) {
+        if (dimension <= 0) {
+            throw new IllegalArgumentException("dimension must be positive: " + dimension);
+        }
+        this.dimension = dimension;
+    }
+
+    @Override
+    public String getModel() {
+        return "local-ngram-hash-" + dimension;
+    }
+
+    @Override
+    public int getDimension() {
+        return dimension;
+    }
+
+    @Override
+    public float[] embedText(String text) {
+        Map<String, int[]> frequencies = new HashMap<>();
+        for (String token : AssistantRagTokenizer.tokenize(text)) {
+            frequencies.computeIfAbsent(token, ignored -> new int[1])[0] += 1;
+        }
+        if (frequencies.isEmpty()) {
+            return new float[0];
+        }
+        float[] vector = new float[dimension];
+        for (Map.Entry<String, int[]> entry : frequencies.entrySet()) {
+            long hash = AssistantRagContentHash.xxHash64(entry.getKey().getBytes(StandardCharsets.UTF_8), HASH_SEED);
+            int bucket = (int) ((hash >>> 1) % dimension);
+            float weight = (float) (1.0 + Math.log(entry.getValue()[0]));
+            vector[bucket] += (hash & 1L) == 0L ? weight : -weight;
+        }
+        float[] unit = AssistantRagVectorLayout.normalize(vector);
+        return unit == null ? new float[0] : unit;
+    }
+}
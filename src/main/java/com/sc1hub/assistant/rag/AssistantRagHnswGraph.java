@@ -0,0 +1,591 @@
+package com.sc1hub.assistant.rag;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.function.IntPredicate;
+
+final class AssistantRagHnswGraph {
+
+    private static final int MAGIC = 0x53524748; // "SRGH"
+    private static final int VERSION = 1;
+    private static final int ABSENT = -1;
+
+    interface Similarity {
+        double between(int a, int b);
+    }
+
+    interface QuerySimilarity {
+        double score(int node);
+    }
+
+    private final int m;
+    private final int efConstruction;
+    private final double levelMultiplier;
+    private final Random random;
+    private final int[] levels;
+    private final int[][][] links;
+    private int entryPoint = ABSENT;
+    private int maxLevel = ABSENT;
+    private int nodeCount;
+
+    private AssistantRagHnswGraph(int capacity, int m, int efConstruction, long seed) {
+        this.m = Math.max(2, m);
+        this.efConstruction = Math.max(this.m, efConstruction);
+        this.levelMultiplier = 1.0 / Math.log(this.m);
+        this.random = new Random(seed);
+        this.levels = new int[capacity];
+        this.links = new int[capacity][][];
+        Arrays.fill(levels, ABSENT);
+    }
+
+    static AssistantRagHnswGraph create(int capacity, int m, int efConstruction) {
+        return new AssistantRagHnswGraph(capacity, m, efConstruction, 42L);
+    }
+
+    int capacity() {
+        return levels.length;
+    }
+
+    int size() {
+        return nodeCount;
+    }
+
+    int getMaxLevel() {
+        return maxLevel;
+    }
+
+    int getM() {
+        return m;
+    }
+
+    boolean contains(int node) {
+        return node >= 0 && node < levels.length && levels[node] != ABSENT;
+    }
+
+    private int maxConnections(int level) {
+        return level == 0 ? m * 2 : m;
+    }
+
+    private int randomLevel() {
+        double uniform = 1.0 - random.nextDouble();
+        return (int) Math.floor(-Math.log(uniform) * levelMultiplier);
+    }
+
+    void insert(int node, Similarity similarity) {
+        if (contains(node)) {
+            return;
+        }
+        int level = randomLevel();
+        levels[node] = level;
+        links[node] = new int[level + 1][];
+        for (int l = 0; l <= level; l += 1) {
+            links[node][l] = new int[0];
+        }
+        nodeCount += 1;
+        if (entryPoint == ABSENT) {
+            entryPoint = node;
+            maxLevel = level;
+            return;
+        }
+
+        QuerySimilarity toNode = other -> similarity.between(node, other);
+        int current = entryPoint;
+        for (int l = maxLevel; l > level; l -= 1) {
+            current = greedyClosest(toNode, current, l);
+        }
+        for (int l = Math.min(level, maxLevel); l >= 0; l -= 1) {
+            Candidates found = searchLayer(toNode, current, efConstruction, l);
+            int[] selected = selectNeighbors(found.nodes, found.count, maxConnections(l), node, similarity);
+            links[node][l] = selected;
+            for (int neighbor : selected) {
+                addLink(neighbor, node, l, similarity);
+            }
+            current = found.nodes[0];
+        }
+        if (level > maxLevel) {
+            maxLevel = level;
+            entryPoint = node;
+        }
+    }
+
+    AssistantRagTopK search(QuerySimilarity query, int k, int ef) {
+        AssistantRagTopK candidates = searchFiltered(query, Math.max(ef, k), null, Integer.MAX_VALUE);
+        AssistantRagTopK results = new AssistantRagTopK(k);
+        results.mergeFrom(candidates);
+        return results;
+    }
+
+    // Rejected nodes are still traversed so the graph stays navigable; null once more than maxVisits were scored.
+    AssistantRagTopK searchFiltered(QuerySimilarity query, int ef, IntPredicate accept, int maxVisits) {
+        AssistantRagTopK results = new AssistantRagTopK(ef);
+        if (entryPoint == ABSENT) {
+            return results;
+        }
+        int current = entryPoint;
+        for (int l = maxLevel; l > 0; l -= 1) {
+            current = greedyClosest(query, current, l);
+        }
+
+        BitSet visited = new BitSet(levels.length);
+        MaxQueue frontier = new MaxQueue();
+        double entryScore = safeScore(query, current);
+        int visits = 1;
+        visited.set(current);
+        frontier.push(entryScore, current);
+        if (accept == null || accept.test(current)) {
+            results.offer(entryScore, current);
+        }
+        while (frontier.size() > 0) {
+            double score = frontier.peekScore();
+            if (results.isFull() && score < results.threshold()) {
+                break;
+            }
+            int node = frontier.pop();
+            for (int neighbor : links[node][0]) {
+                if (visited.get(neighbor)) {
+                    continue;
+                }
+                visited.set(neighbor);
+                visits += 1;
+                if (visits > maxVisits) {
+                    return null;
+                }
+                double neighborScore = safeScore(query, neighbor);
+                if (!results.isFull() || neighborScore > results.threshold()) {
+                    frontier.push(neighborScore, neighbor);
+                    if (accept == null || accept.test(neighbor)) {
+                        results.offer(neighborScore, neighbor);
+                    }
+                }
+            }
+        }
+        return results;
+    }
+
+    private int greedyClosest(QuerySimilarity query, int start, int level) {
+        int current = start;
+        double best = safeScore(query, current);
+        boolean improved = true;
+        while (improved) {
+            improved = false;
+            for (int neighbor : links[current][level]) {
+                double score = safeScore(query, neighbor);
+                if (score > best) {
+                    best = score;
+                    current = neighbor;
+                    improved = true;
+                }
+            }
+        }
+        return current;
+    }
+
+    private Candidates searchLayer(QuerySimilarity query, int entry, int ef, int level) {
+        BitSet visited = new BitSet(levels.length);
+        MaxQueue frontier = new MaxQueue();
+        AssistantRagTopK best = new AssistantRagTopK(ef);
+        double entryScore = safeScore(query, entry);
+        visited.set(entry);
+        frontier.push(entryScore, entry);
+        best.offer(entryScore, entry);
+        while (frontier.size() > 0) {
+            double score = frontier.peekScore();
+            if (best.isFull() && score < best.threshold()) {
+                break;
+            }
+            int node = frontier.pop();
+            for (int neighbor : links[node][level]) {
+                if (visited.get(neighbor)) {
+                    continue;
+                }
+                visited.set(neighbor);
+                double neighborScore = safeScore(query, neighbor);
+                if (!best.isFull() || neighborScore > best.threshold()) {
+                    frontier.push(neighborScore, neighbor);
+                    best.offer(neighborScore, neighbor);
+                }
+            }
+        }
+        Candidates candidates = new Candidates(best.size());
+        candidates.count = best.drainDescending(candidates.scores, candidates.nodes);
+        return candidates;
+    }
+
+    private static double safeScore(QuerySimilarity query, int node) {
+        double score = query.score(node);
+        return Double.isNaN(score) ? Double.NEGATIVE_INFINITY : score;
+    }
+
+    // HNSW paper heuristic: keep a candidate only if it is closer to base than to every neighbour kept so far.
+    private static int[] selectNeighbors(int[] sortedCandidates, int count, int limit, int base, Similarity similarity) {
+        int[] selected = new int[Math.min(limit, count)];
+        int selectedCount = 0;
+        boolean[] taken = new boolean[count];
+        for (int i = 0; i < count && selectedCount < selected.length; i += 1) {
+            int candidate = sortedCandidates[i];
+            if (candidate == base) {
+                taken[i] = true;
+                continue;
+            }
+            double toBase = similarity.between(base, candidate);
+            boolean diverse = true;
+            for (int j = 0; j < selectedCount; j += 1) {
+                if (similarity.between(candidate, selected[j]) > toBase) {
+                    diverse = false;
+                    break;
+                }
+            }
+            if (diverse) {
+                selected[selectedCount] = candidate;
+                selectedCount += 1;
+                taken[i] = true;
+            }
+        }
+        for (int i = 0; i < count && selectedCount < selected.length; i += 1) {
+            if (!taken[i] && sortedCandidates[i] != base) {
+                selected[selectedCount] = sortedCandidates[i];
+                selectedCount += 1;
+            }
+        }
+        return selectedCount == selected.length ? selected : Arrays.copyOf(selected, selectedCount);
+    }
+
+    private void addLink(int node, int neighbor, int level, Similarity similarity) {
+        int[] current = links[node][level];
+        for (int existing : current) {
+            if (existing == neighbor) {
+                return;
+            }
+        }
+        int[] extended = Arrays.copyOf(current, current.length + 1);
+        extended[current.length] = neighbor;
+        if (extended.length <= maxConnections(level)) {
+            links[node][level] = extended;
+            return;
+        }
+        links[node][level] = pruneLinks(node, extended, maxConnections(level), similarity);
+    }
+
+    private static int[] pruneLinks(int node, int[] candidates, int limit, Similarity similarity) {
+        Integer[] order = new Integer[candidates.length];
+        double[] scores = new double[candidates.length];
+        for (int i = 0; i < candidates.length; i += 1) {
+            order[i] = i;
+            scores[i] = similarity.between(node, candidates[i]);
+        }
+        Arrays.sort(order, (a, b) -> Double.compare(scores[b], scores[a]));
+        int[] sorted = new int[candidates.length];
+        for (int i = 0; i < order.length; i += 1) {
+            sorted[i] = candidates[order[i]];
+        }
+        return selectNeighbors(sorted, sorted.length, limit, node, similarity);
+    }
+
+    AssistantRagHnswGraph remap(int[] oldToNew, int newCapacity, Similarity similarity) {
+        AssistantRagHnswGraph remapped = new AssistantRagHnswGraph(newCapacity, m, efConstruction, random.nextLong());
+        for (int oldNode = 0; oldNode < levels.length; oldNode += 1) {
+            int newNode = oldNode < oldToNew.length ? oldToNew[oldNode] : ABSENT;
+            if (levels[oldNode] == ABSENT || newNode < 0) {
+                continue;
+            }
+            remapped.levels[newNode] = levels[oldNode];
+            remapped.links[newNode] = new int[levels[oldNode] + 1][];
+            remapped.nodeCount += 1;
+            for (int l = 0; l <= levels[oldNode]; l += 1) {
+                int[] oldLinks = links[oldNode][l];
+                Set<Integer> kept = new LinkedHashSet<>();
+                List<Integer> repairCandidates = new ArrayList<>();
+                for (int oldNeighbor : oldLinks) {
+                    int mapped = oldNeighbor < oldToNew.length ? oldToNew[oldNeighbor] : ABSENT;
+                    if (mapped >= 0) {
+                        kept.add(mapped);
+                        continue;
+                    }
+                    for (int secondHop : links[oldNeighbor][l]) {
+                        int mappedSecondHop = secondHop < oldToNew.length ? oldToNew[secondHop] : ABSENT;
+                        if (mappedSecondHop >= 0 && mappedSecondHop != newNode) {
+                            repairCandidates.add(mappedSecondHop);
+                        }
+                    }
+                }
+                if (repairCandidates.isEmpty()) {
+                    remapped.links[newNode][l] = toArray(kept);
+                    continue;
+                }
+                kept.addAll(repairCandidates);
+                remapped.links[newNode][l] = pruneLinks(newNode, toArray(kept), maxConnections(l), similarity);
+            }
+        }
+
+        int mappedEntry = entryPoint == ABSENT ? ABSENT : oldToNew[entryPoint];
+        if (mappedEntry < 0) {
+            for (int node = 0; node < newCapacity; node += 1) {
+                if (remapped.levels[node] != ABSENT
+                        && (mappedEntry < 0 || remapped.levels[node] > remapped.levels[mappedEntry])) {
+                    mappedEntry = node;
+                }
+            }
+        }
+        remapped.entryPoint = mappedEntry < 0 ? ABSENT : mappedEntry;
+        remapped.maxLevel = mappedEntry < 0 ? ABSENT : remapped.levels[mappedEntry];
+        return remapped;
+    }
+
+    static AssistantRagHnswGraph buildForChunks(List<AssistantRagChunk> chunks, int dimension, int m, int efConstruction,
+                                                Persisted previous) {
+        int count = chunks.size();
+        float[][] vectors = new float[count][];
+        double[] norms = new double[count];
+        for (int i = 0; i < count; i += 1) {
+            AssistantRagChunk chunk = chunks.get(i);
+            float[] vector = chunk == null ? null : chunk.getVector();
+            if (vector == null || vector.length != dimension || dimension <= 0) {
+                continue;
+            }
+            double sum = 0.0;
+            for (float value : vector) {
+                sum += value * value;
+            }
+            if (sum > 0.0) {
+                vectors[i] = vector;
+                norms[i] = Math.sqrt(sum);
+            }
+        }
+        Similarity similarity = (a, b) -> {
+            float[] left = vectors[a];
+            float[] right = vectors[b];
+            double dot = 0.0;
+            for (int d = 0; d < left.length; d += 1) {
+                dot += left[d] * right[d];
+            }
+            return dot / (norms[a] * norms[b]);
+        };
+
+        if (previous != null && previous.getGraph().getM() == Math.max(2, m)) {
+            return carryOver(previous, chunks, i -> vectors[i] != null, similarity, count);
+        }
+        AssistantRagHnswGraph graph = create(count, m, efConstruction);
+        for (int i = 0; i < count; i += 1) {
+            if (vectors[i] != null) {
+                graph.insert(i, similarity);
+            }
+        }
+        return graph;
+    }
+
+    // Returns null without inserting anything when more than maxInserts chunks would have to be inserted.
+    static AssistantRagHnswGraph carryOver(Persisted previous, List<AssistantRagChunk> chunks, IntPredicate hasVector,
+                                           Similarity similarity, int maxInserts) {
+        int count = chunks.size();
+        Map<String, Integer> ordinalById = new HashMap<>(count * 2);
+        for (int i = 0; i < count; i += 1) {
+            AssistantRagChunk chunk = chunks.get(i);
+            if (chunk != null && chunk.getId() != null && hasVector.test(i)) {
+                ordinalById.put(chunk.getId(), i);
+            }
+        }
+        String[] previousIds = previous.getNodeIds();
+        int[] oldToNew = new int[previousIds.length];
+        int carried = 0;
+        for (int oldNode = 0; oldNode < previousIds.length; oldNode += 1) {
+            Integer ordinal = previousIds[oldNode] == null ? null : ordinalById.get(previousIds[oldNode]);
+            oldToNew[oldNode] = ordinal == null || !previous.getGraph().contains(oldNode) ? ABSENT : ordinal;
+            carried += oldToNew[oldNode] == ABSENT ? 0 : 1;
+        }
+        if (ordinalById.size() - carried > maxInserts) {
+            return null;
+        }
+        AssistantRagHnswGraph graph = previous.getGraph().remap(oldToNew, count, similarity);
+        for (int i = 0; i < count; i += 1) {
+            if (hasVector.test(i) && !graph.contains(i)) {
+                graph.insert(i, similarity);
+            }
+        }
+        return graph;
+    }
+
+    private static int[] toArray(Set<Integer> values) {
+        int[] result = new int[values.size()];
+        int i = 0;
+        for (Integer value : values) {
+            result[i] = value;
+            i += 1;
+        }
+        return result;
+    }
+
+    void writeTo(DataOutputStream out, List<String> nodeIds) throws IOException {
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeInt(m);
+        out.writeInt(efConstruction);
+        out.writeInt(entryPoint);
+        out.writeInt(levels.length);
+        for (int node = 0; node < levels.length; node += 1) {
+            String id = node < nodeIds.size() ? nodeIds.get(node) : null;
+            if (id == null) {
+                out.writeInt(-1);
+            } else {
+                byte[] idBytes = id.getBytes(StandardCharsets.UTF_8);
+                out.writeInt(idBytes.length);
+                out.write(idBytes);
+            }
+            out.writeInt(levels[node]);
+            for (int l = 0; l <= levels[node]; l += 1) {
+                out.writeInt(links[node][l].length);
+                for (int neighbor : links[node][l]) {
+                    out.writeInt(neighbor);
+                }
+            }
+        }
+    }
+
+    static Persisted readFrom(DataInputStream in) throws IOException {
+        if (in.readInt() != MAGIC) {
+            throw new IOException("Not a RAG HNSW graph.");
+        }
+        int version = in.readInt();
+        if (version != VERSION) {
+            throw new IOException("Unsupported RAG HNSW graph version: " + version);
+        }
+        int m = in.readInt();
+        int efConstruction = in.readInt();
+        int entryPoint = in.readInt();
+        int capacity = in.readInt();
+        AssistantRagHnswGraph graph = new AssistantRagHnswGraph(capacity, m, efConstruction, 42L);
+        String[] nodeIds = new String[capacity];
+        for (int node = 0; node < capacity; node += 1) {
+            int idLength = in.readInt();
+            if (idLength >= 0) {
+                byte[] idBytes = new byte[idLength];
+                in.readFully(idBytes);
+                nodeIds[node] = new String(idBytes, StandardCharsets.UTF_8);
+            }
+            int level = in.readInt();
+            graph.levels[node] = level;
+            if (level == ABSENT) {
+                continue;
+            }
+            graph.nodeCount += 1;
+            graph.links[node] = new int[level + 1][];
+            for (int l = 0; l <= level; l += 1) {
+                int[] nodeLinks = new int[in.readInt()];
+                for (int i = 0; i < nodeLinks.length; i += 1) {
+                    nodeLinks[i] = in.readInt();
+                }
+                graph.links[node][l] = nodeLinks;
+            }
+        }
+        graph.entryPoint = entryPoint;
+        graph.maxLevel = entryPoint == ABSENT ? ABSENT : graph.levels[entryPoint];
+        return new Persisted(graph, nodeIds);
+    }
+
+    static final class Persisted {
+        private final AssistantRagHnswGraph graph;
+        private final String[] nodeIds;
+
+        private Persisted(AssistantRagHnswGraph graph, String[] nodeIds) {
+            this.graph = graph;
+            this.nodeIds = nodeIds;
+        }
+
+        AssistantRagHnswGraph getGraph() {
+            return graph;
+        }
+
+        String[] getNodeIds() {
+            return nodeIds;
+        }
+    }
+
+    private static final class Candidates {
+        private final double[] scores;
+        private final int[] nodes;
+        private int count;
+
+        private Candidates(int capacity) {
+            this.scores = new double[capacity];
+            this.nodes = new int[capacity];
+        }
+    }
+
+    private static final class MaxQueue {
+        private double[] scores = new double[16];
+        private int[] nodes = new int[16];
+        private int size;
+
+        private int size() {
+            return size;
+        }
+
+        private double peekScore() {
+            return scores[0];
+        }
+
+        private void push(double score, int node) {
+            if (size == scores.length) {
+                scores = Arrays.copyOf(scores, size * 2);
+                nodes = Arrays.copyOf(nodes, size * 2);
+            }
+            int current = size;
+            scores[current] = score;
+            nodes[current] = node;
+            size += 1;
+            while (current > 0) {
+                int parent = (current - 1) >>> 1;
+                if (scores[parent] >= scores[current]) {
+                    break;
+                }
+                swap(parent, current);
+                current = parent;
+            }
+        }
+
+        private int pop() {
+            int top = nodes[0];
+            size -= 1;
+            if (size > 0) {
+                scores[0] = scores[size];
+                nodes[0] = nodes[size];
+                int current = 0;
+                while (true) {
+                    int left = current * 2 + 1;
+                    if (left >= size) {
+                        break;
+                    }
+                    int largest = left;
+                    if (left + 1 < size && scores[left + 1] > scores[left]) {
+                        largest = left + 1;
+                    }
+                    if (scores[current] >= scores[largest]) {
+                        break;
+                    }
+                    swap(current, largest);
+                    current = largest;
+                }
+            }
+            return top;
+        }
+
+        private void swap(int a, int b) {
+            double score = scores[a];
+            scores[a] = scores[b];
+            scores[b] = score;
+            int node = nodes[a];
+            nodes[a] = nodes[b];
+            nodes[b] = node;
+        }
+    }
+}
@@ -8,27 +8,29 @@ import com.sc1hub.assistant.gemini.GeminiEmbeddingClient;
 import com.sc1hub.board.dto.BoardDTO;
 import com.sc1hub.board.dto.BoardListDTO;
 import com.sc1hub.board.mapper.BoardMapper;
+import com.sc1hub.board.support.BoardPostText;
 import com.sc1hub.strategytip.dto.StrategyTipDTO;
 import com.sc1hub.strategytip.mapper.StrategyTipMapper;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
 import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
 
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.Paths;
-import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.Date;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -39,6 +41,9 @@ import java.util.regex.Pattern;
 public class AssistantRagIndexService {
 
     private static final Pattern SAFE_BOARD_TITLE = Pattern.compile("^[a-z0-9_]+$");
+    private static final String NEAR_DUPLICATE_OFF = "off";
+    private static final String NEAR_DUPLICATE_SHARE = "share";
+    private static final String NEAR_DUPLICATE_SKIP = "skip";
 
     private final BoardMapper boardMapper;
     private final StrategyTipMapper strategyTipMapper;
@@ -46,14 +51,17 @@ public class AssistantRagIndexService {
     private final GeminiProperties geminiProperties;
     private final AssistantRagProperties ragProperties;
     private final AssistantProperties assistantProperties;
-    private final ObjectMapper objectMapper;
     private final TaskExecutor ragIndexExecutor;
+    private final TaskExecutor reindexPipelineExecutor;
+    private final AssistantRagIndexStore indexStore;
 
     private final AtomicBoolean reindexRunning = new AtomicBoolean(false);
+    private final AtomicBoolean compactionRunning = new AtomicBoolean(false);
     private volatile Date lastReindexStartedAt;
     private volatile Date lastReindexFinishedAt;
     private volatile String lastReindexError;
     private volatile ReindexResult lastReindexResult;
+    private volatile AssistantRagReindexPipeline.Progress reindexProgress;
 
     public AssistantRagIndexService(BoardMapper boardMapper,
                                    StrategyTipMapper strategyTipMapper,
@@ -62,15 +70,17 @@ public class AssistantRagIndexService {
                                    AssistantRagProperties ragProperties,
                                    AssistantProperties assistantProperties,
                                    ObjectMapper objectMapper,
-                                   @Qualifier("ragIndexExecutor") TaskExecutor ragIndexExecutor) {
+                                   @Qualifier("ragIndexExecutor") TaskExecutor ragIndexExecutor,
+                                   @Qualifier("ragReindexPipelineExecutor") TaskExecutor reindexPipelineExecutor) {
         this.boardMapper = boardMapper;
         this.strategyTipMapper = strategyTipMapper;
         this.embeddingClient = embeddingClient;
         this.geminiProperties = geminiProperties;
         this.ragProperties = ragProperties;
         this.assistantProperties = assistantProperties;
-        this.objectMapper = objectMapper;
         this.ragIndexExecutor = ragIndexExecutor;
+        this.reindexPipelineExecutor = reindexPipelineExecutor;
+        this.indexStore = new AssistantRagIndexStore(ragProperties, objectMapper);
     }
 
     public ReindexJobStatus requestReindex() {
@@ -82,7 +92,8 @@ public class AssistantRagIndexService {
             return cooldownStatus;
         }
         if (!reindexRunning.compareAndSet(false, true)) {
-            return ReindexJobStatus.running(lastReindexStartedAt, lastReindexFinishedAt, lastReindexResult, lastReindexError);
+            return ReindexJobStatus.running(lastReindexStartedAt, lastReindexFinishedAt, lastReindexResult, lastReindexError,
+                    currentReindexProgress());
         }
 
         lastReindexStartedAt = new Date();
@@ -101,7 +112,7 @@ public class AssistantRagIndexService {
             }
         });
 
-        return ReindexJobStatus.accepted(lastReindexStartedAt, lastReindexResult);
+        return ReindexJobStatus.accepted(lastReindexStartedAt, lastReindexResult, currentReindexProgress());
     }
 
     private ReindexJobStatus checkReindexCooldown() {
@@ -119,19 +130,26 @@ public class AssistantRagIndexService {
                 lastReindexStartedAt,
                 lastReindexFinishedAt,
                 lastReindexResult,
-                "RAG 재인덱싱 쿨다운 중입니다. 약 " + remainingMinutes + "분 후 다시 실행할 수 있습니다."
+                "RAG 재인덱싱 쿨다운 중입니다. 약 " + remainingMinutes + "분 후 다시 실행할 수 있습니다.",
+                currentReindexProgress()
         );
     }
 
-    @SuppressWarnings("unused")
     public ReindexJobStatus getReindexJobStatus() {
         if (!ragProperties.isEnabled()) {
             return ReindexJobStatus.disabled();
         }
         if (reindexRunning.get()) {
-            return ReindexJobStatus.running(lastReindexStartedAt, lastReindexFinishedAt, lastReindexResult, lastReindexError);
+            return ReindexJobStatus.running(lastReindexStartedAt, lastReindexFinishedAt, lastReindexResult, lastReindexError,
+                    currentReindexProgress());
         }
-        return ReindexJobStatus.idle(lastReindexStartedAt, lastReindexFinishedAt, lastReindexResult, lastReindexError);
+        return ReindexJobStatus.idle(lastReindexStartedAt, lastReindexFinishedAt, lastReindexResult, lastReindexError,
+                currentReindexProgress());
+    }
+
+    private ReindexProgress currentReindexProgress() {
+        AssistantRagReindexPipeline.Progress progress = reindexProgress;
+        return progress == null ? null : ReindexProgress.of(progress);
     }
 
     public synchronized ReindexResult reindex() throws IOException {
@@ -150,7 +168,8 @@ public class AssistantRagIndexService {
         if (reusableIndex != null && reusableIndex.getDimension() > 0) {
             index.setDimension(reusableIndex.getDimension());
         }
-        ReusableEmbeddingStore reusableEmbeddings = ReusableEmbeddingStore.from(reusableIndex);
+        ReusableEmbeddingStore reusableEmbeddings =
+                ReusableEmbeddingStore.from(reusableIndex, ragProperties.getNearDuplicate());
         IndexingContext indexingContext = new IndexingContext(index);
         int indexedPosts = 0;
         int indexedChunks = 0;
@@ -158,47 +177,40 @@ public class AssistantRagIndexService {
         int overlap = ragProperties.getChunkOverlapChars();
         EmbeddingBudget embeddingBudget = EmbeddingBudget.limited(
                 ragProperties.getMaxEmbeddingCallsPerReindex(),
+                ragProperties.getMaxEmbeddingTextsPerReindex(),
                 "RAG 재인덱싱"
         );
 
-        List<BoardListDTO> boards = loadIndexableBoards();
-        if (boards != null) {
-            for (BoardListDTO board : boards) {
-                String boardTitle = normalizeBoardTitle(board == null ? null : board.getBoardTitle());
-                if (!isIndexableBoardTitle(boardTitle)) {
-                    continue;
-                }
+        AssistantRagReindexPipeline.Progress progress = new AssistantRagReindexPipeline.Progress();
+        reindexProgress = progress;
+        AssistantRagReindexPipeline.RateLimitGate rateLimitGate =
+                new AssistantRagReindexPipeline.RateLimitGate(ragProperties.getPipeline(), progress);
+        AssistantRagReindexPipeline<ReindexSource, PendingPost> pipeline = new AssistantRagReindexPipeline<>(
+                reindexPipelineExecutor, ragProperties.getPipeline(), resolveEmbeddingBatchSize(), progress);
 
-                List<BoardDTO> posts = loadPostsForReindex(boardTitle);
-
-                if (posts == null || posts.isEmpty()) {
-                    continue;
-                }
-
-                for (BoardDTO post : posts) {
-                    PostChunkResult result = buildChunksForPost(
-                            boardTitle, post, indexingContext, chunkSize, overlap,
-                            embeddingBudget, reusableEmbeddings);
-                    if (!result.hasSourceChunks()) {
-                        continue;
-                    }
-                    indexedPosts += 1;
-                    if (!result.getChunks().isEmpty()) {
-                        index.getChunks().addAll(result.getChunks());
-                        indexedChunks += result.getChunks().size();
-                    }
-                }
+        List<BoardListDTO> boards = loadIndexableBoards();
+        int expectedDimension = indexingContext.getDimension();
+        AssistantRagReindexPipeline.Result<PendingPost> prepared = pipeline.run(
+                sink -> fetchForReindex(boards, sink),
+                source -> prepareChunksForPost(source.boardTitle, source.post, expectedDimension, chunkSize, overlap,
+                        reusableEmbeddings),
+                PendingPost::textsToEmbed,
+                texts -> embedBatch(texts, embeddingBudget, rateLimitGate));
+
+        EmbeddedTexts embeddedTexts = new EmbeddedTexts(prepared.getVectorsByText());
+        for (PendingPost pending : prepared.getPrepared()) {
+            List<AssistantRagChunk> chunks = completeChunks(pending, indexingContext, embeddedTexts, embeddingBudget);
+            indexedPosts += 1;
+            if (!chunks.isEmpty()) {
+                index.getChunks().addAll(chunks);
+                indexedChunks += chunks.size();
             }
         }
 
-        SourceIndexResult strategyTips = indexStrategyTips(
-                index, indexingContext, chunkSize, overlap, embeddingBudget, reusableEmbeddings);
-        indexedPosts += strategyTips.posts;
-        indexedChunks += strategyTips.chunks;
-
-        finalizeIndex(index, boards);
+        finalizeIndex(index, boards, false);
         return new ReindexResult(true, indexedPosts, indexedChunks, indexingContext.getDimension(), ragProperties.getIndexPath(),
-                embeddingBudget.getEmbeddingCalls(), embeddingBudget.getReusedChunks());
+                embeddingBudget.getEmbeddingCalls(), embeddingBudget.getEmbeddedTexts(), embeddingBudget.getReusedChunks(),
+                embeddingBudget.getNearDuplicateChunks());
     }
 
     public synchronized UpdateResult update() throws IOException {
@@ -206,18 +218,24 @@ public class AssistantRagIndexService {
             return UpdateResult.disabled(ragProperties.getIndexPath());
         }
 
-        Path indexPath = Paths.get(ragProperties.getIndexPath());
-        if (!Files.exists(indexPath)) {
+        if (!indexStore.exists()) {
             return UpdateResult.notReady(ragProperties.getIndexPath());
         }
 
         String embeddingModel = requireEmbeddingModel();
 
+        // A delta segment only needs metadata and content hashes; reused vectors are read from the mapped base.
+        AssistantRagIndexStore.MappedIndex mapped = null;
         AssistantRagIndex index;
         try {
-            index = objectMapper.readValue(indexPath.toFile(), AssistantRagIndex.class);
+            if (canAppendSegment()) {
+                mapped = indexStore.open(indexStore.resolveReadableFormat());
+                index = mapped.getIndex();
+            } else {
+                index = indexStore.read();
+            }
         } catch (IOException e) {
-            log.error("RAG 인덱스 로드 실패. path={}", indexPath, e);
+            log.error("RAG 인덱스 로드 실패. path={}", ragProperties.getIndexPath(), e);
             throw e;
         }
 
@@ -229,11 +247,14 @@ public class AssistantRagIndexService {
         if (index.getChunks() == null) {
             index.setChunks(new ArrayList<>());
         }
-        ReusableEmbeddingStore reusableEmbeddings = ReusableEmbeddingStore.from(index);
+        ReusableEmbeddingStore reusableEmbeddings = mapped == null
+                ? ReusableEmbeddingStore.from(index, ragProperties.getNearDuplicate())
+                : ReusableEmbeddingStore.from(mapped, ragProperties.getNearDuplicate());
 
         Map<String, Integer> maxPostNumByBoard = buildMaxPostNumByBoard(index.getChunks());
         Map<String, Date> maxRegDateByBoard = buildMaxRegDateByBoard(index.getChunks());
         Map<String, Date> existingRegDateByPost = buildRegDateByPost(index.getChunks());
+        AssistantRagPostChunks posts = AssistantRagPostChunks.group(index.getChunks());
 
         IndexingContext indexingContext = new IndexingContext(index);
         int updatedPosts = 0;
@@ -242,13 +263,16 @@ public class AssistantRagIndexService {
         int overlap = ragProperties.getChunkOverlapChars();
         EmbeddingBudget embeddingBudget = EmbeddingBudget.limited(
                 ragProperties.getMaxEmbeddingCallsPerUpdate(),
+                ragProperties.getMaxEmbeddingTextsPerUpdate(),
                 "RAG 업데이트"
         );
+        EmbeddingBatcher batcher = newEmbeddingBatcher(embeddingBudget);
+        List<PendingPost> pendingPosts = new ArrayList<>();
 
         List<BoardListDTO> boards = loadIndexableBoards();
         Set<String> allowedBoards = buildIndexableBoardSet(boards);
         allowedBoards.add(AssistantRagSources.STRATEGY_TIP_BOARD);
-        removeChunksForMissingBoards(index, allowedBoards);
+        posts.retainBoards(allowedBoards);
 
         if (boards != null) {
             for (BoardListDTO board : boards) {
@@ -274,7 +298,7 @@ public class AssistantRagIndexService {
                     int postNum = post.getPostNum();
 
                     if (post.getNotice() != 0) {
-                        removeChunksForPost(index, boardTitle, postNum);
+                        posts.removePost(boardTitle, postNum);
                         continue;
                     }
 
@@ -283,37 +307,70 @@ public class AssistantRagIndexService {
                         continue;
                     }
 
-                    PostChunkResult result = buildChunksForPost(
-                            boardTitle, post, indexingContext, chunkSize, overlap,
-                            embeddingBudget, reusableEmbeddings);
-
-                    if (!result.getChunks().isEmpty()) {
-                        removeChunksForPost(index, boardTitle, postNum);
-                        index.getChunks().addAll(result.getChunks());
-                        updatedPosts += 1;
-                        updatedChunks += result.getChunks().size();
+                    PendingPost pending = prepareChunksForPost(
+                            boardTitle, post, indexingContext.getDimension(), chunkSize, overlap,
+                            reusableEmbeddings);
+                    if (pending != null) {
+                        batcher.requestAll(pending.textsToEmbed());
+                        pendingPosts.add(pending);
                     }
                 }
             }
         }
 
-        SourceIndexResult strategyTips = synchronizeStrategyTips(
-                index, indexingContext, chunkSize, overlap, embeddingBudget, reusableEmbeddings);
-        updatedPosts += strategyTips.posts;
-        updatedChunks += strategyTips.chunks;
+        updatedPosts += synchronizeStrategyTips(
+                posts, indexingContext, chunkSize, overlap, batcher, reusableEmbeddings, pendingPosts);
+        batcher.flush();
 
-        finalizeIndex(index, boards);
+        for (PendingPost pending : pendingPosts) {
+            List<AssistantRagChunk> chunks = completeChunks(pending, indexingContext, batcher.embedded(), embeddingBudget);
+            if (!chunks.isEmpty()) {
+                posts.replacePost(pending.boardTitle, pending.post.getPostNum(), chunks);
+                updatedPosts += 1;
+                updatedChunks += chunks.size();
+            }
+        }
+
+        if (mapped != null) {
+            appendSegment(index, boards, posts);
+        } else {
+            index.setChunks(posts.toChunks());
+            finalizeIndex(index, boards, true);
+        }
         return new UpdateResult(true, true, updatedPosts, updatedChunks, indexingContext.getDimension(), ragProperties.getIndexPath(),
-                embeddingBudget.getEmbeddingCalls(), embeddingBudget.getReusedChunks());
+                embeddingBudget.getEmbeddingCalls(), embeddingBudget.getEmbeddedTexts(), embeddingBudget.getReusedChunks(),
+                embeddingBudget.getNearDuplicateChunks());
+    }
+
+    public synchronized ConvertResult convert(String targetFormat) throws IOException {
+        if (!ragProperties.isEnabled()) {
+            return ConvertResult.disabled(ragProperties.getIndexPath());
+        }
+        String format = AssistantRagIndexStore.normalizeFormat(targetFormat);
+        String sourceFormat = indexStore.resolveReadableFormat();
+        if (sourceFormat == null) {
+            return ConvertResult.notReady(ragProperties.getIndexPath());
+        }
+        AssistantRagIndex index = indexStore.read(sourceFormat);
+        if (index == null) {
+            throw new IllegalStateException("RAG index is empty.");
+        }
+        if (index.getChunks() == null) {
+            index.setChunks(new ArrayList<>());
+        }
+        indexStore.write(index, format);
+        Path target = AssistantRagIndexStore.FORMAT_BINARY.equals(format) ? indexStore.getVectorPath() : indexStore.getJsonPath();
+        return new ConvertResult(true, true, sourceFormat, format, index.getChunks().size(), index.getDimension(),
+                target.toString());
     }
 
     private AssistantRagIndex loadReusableIndex(String embeddingModel) {
-        Path indexPath = Paths.get(ragProperties.getIndexPath());
-        if (!Files.exists(indexPath)) {
+        String indexPath = ragProperties.getIndexPath();
+        if (!indexStore.exists()) {
             return null;
         }
         try {
-            AssistantRagIndex existing = objectMapper.readValue(indexPath.toFile(), AssistantRagIndex.class);
+            AssistantRagIndex existing = indexStore.read();
             if (existing == null || existing.getChunks() == null || existing.getChunks().isEmpty()) {
                 return null;
             }
@@ -329,26 +386,7 @@ public class AssistantRagIndexService {
     }
 
     private void saveIndex(AssistantRagIndex index) throws IOException {
-        Path indexPath = Paths.get(ragProperties.getIndexPath());
-        Path dir = indexPath.getParent();
-        if (dir != null) {
-            Files.createDirectories(dir);
-        }
-
-        Path tempFile = Files.createTempFile(dir == null ? Paths.get(".") : dir, "rag-index-", ".tmp");
-        try {
-            objectMapper.writeValue(tempFile.toFile(), index);
-            try {
-                Files.move(tempFile, indexPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
-            } catch (Exception ignored) {
-                Files.move(tempFile, indexPath, StandardCopyOption.REPLACE_EXISTING);
-            }
-        } finally {
-            try {
-                Files.deleteIfExists(tempFile);
-            } catch (Exception ignored) {
-            }
-        }
+        indexStore.write(index);
     }
 
     private String requireEmbeddingModel() {
@@ -371,10 +409,128 @@ public class AssistantRagIndexService {
         return filterIndexableBoards(boardMapper.getBoardList());
     }
 
-    private void finalizeIndex(AssistantRagIndex index, List<BoardListDTO> boards) throws IOException {
+    private void finalizeIndex(AssistantRagIndex index, List<BoardListDTO> boards, boolean incremental)
+            throws IOException {
         index.setBoardSnapshots(buildBoardSnapshots(boards));
         index.setUpdatedAt(new Date());
         saveIndex(index);
+        saveGraph(index, incremental);
+    }
+
+    private boolean canAppendSegment() {
+        AssistantRagProperties.SegmentProperties segments = ragProperties.getSegments();
+        return segments != null && segments.isEnabled()
+                && indexStore.getConfiguredFormat().equals(indexStore.resolveReadableFormat());
+    }
+
+    // The graph file is not rewritten here: search carries it over to the segment chunks and compaction saves it.
+    private void appendSegment(AssistantRagIndex index, List<BoardListDTO> boards, AssistantRagPostChunks posts)
+            throws IOException {
+        List<AssistantRagBoardSnapshot> previousSnapshots = index.getBoardSnapshots();
+        index.setBoardSnapshots(buildBoardSnapshots(boards));
+        index.setUpdatedAt(new Date());
+        AssistantRagDeltaSegment delta = posts.touchedDelta(index);
+        if (delta.isEmpty() && AssistantRagDeltaSegment.sameSnapshots(previousSnapshots, index.getBoardSnapshots())) {
+            log.info("RAG 인덱스 변경 사항이 없어 세그먼트를 저장하지 않습니다. path={}", ragProperties.getIndexPath());
+        } else {
+            int sequence = indexStore.appendSegment(delta);
+            log.info("RAG 델타 세그먼트 저장 완료. sequence={}, tombstones={}, chunks={}, path={}",
+                    sequence, delta.getTombstones().size(), delta.getChunks().size(), indexStore.getSegmentPath(sequence));
+        }
+        compactSegmentsIfNeeded();
+    }
+
+    private void compactSegmentsIfNeeded() {
+        AssistantRagProperties.SegmentProperties segments = ragProperties.getSegments();
+        try {
+            List<Path> segmentPaths = indexStore.listSegmentPaths();
+            long segmentBytes = 0L;
+            for (Path segmentPath : segmentPaths) {
+                segmentBytes += Files.size(segmentPath);
+            }
+            String format = indexStore.resolveReadableFormat();
+            long baseBytes = format == null ? 0L : indexStore.baseBytes(format);
+            boolean tooMany = segmentPaths.size() >= Math.max(1, segments.getMaxSegments());
+            boolean tooLarge = segments.getMaxSegmentRatio() > 0.0
+                    && segmentBytes >= baseBytes * segments.getMaxSegmentRatio();
+            if (segmentPaths.isEmpty() || (!tooMany && !tooLarge)) {
+                return;
+            }
+        } catch (IOException e) {
+            log.warn("RAG 세그먼트 상태 확인 실패. 병합을 건너뜁니다. path={}", ragProperties.getIndexPath(), e);
+            return;
+        }
+        if (!compactionRunning.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            ragIndexExecutor.execute(() -> {
+                try {
+                    compactSegments();
+                } catch (Exception e) {
+                    log.error("RAG 인덱스 세그먼트 병합 실패", e);
+                } finally {
+                    compactionRunning.set(false);
+                }
+            });
+        } catch (TaskRejectedException e) {
+            // The executor is busy (e.g. a queued reindex); the next update retries the compaction.
+            compactionRunning.set(false);
+            log.info("RAG 인덱스 작업이 진행 중이라 세그먼트 병합을 다음 업데이트로 미룹니다.");
+        }
+    }
+
+    synchronized int compactSegments() throws IOException {
+        if (!ragProperties.isEnabled()) {
+            return 0;
+        }
+        String format = indexStore.resolveReadableFormat();
+        int segmentCount = indexStore.listSegmentPaths().size();
+        if (format == null || segmentCount == 0) {
+            return 0;
+        }
+        long startedAt = System.currentTimeMillis();
+        AssistantRagIndex index = indexStore.read(format);
+        if (index == null) {
+            return 0;
+        }
+        indexStore.write(index);
+        saveGraph(index, true);
+        log.info("RAG 인덱스 세그먼트 병합 완료. segments={}, chunks={}, elapsedMs={}",
+                segmentCount, index.getChunks() == null ? 0 : index.getChunks().size(),
+                System.currentTimeMillis() - startedAt);
+        return segmentCount;
+    }
+
+    private void saveGraph(AssistantRagIndex index, boolean incremental) {
+        AssistantRagProperties.HnswProperties hnsw = ragProperties.getHnsw();
+        if (hnsw == null || !hnsw.isEnabled()) {
+            return;
+        }
+        long startedAt = System.currentTimeMillis();
+        try {
+            AssistantRagHnswGraph.Persisted previous = null;
+            if (incremental && indexStore.graphExists()) {
+                try {
+                    previous = indexStore.readGraph();
+                } catch (IOException e) {
+                    log.warn("기존 RAG HNSW 그래프 로드 실패. 새로 생성합니다. path={}", indexStore.getGraphPath(), e);
+                }
+            }
+            List<AssistantRagChunk> chunks = index.getChunks() == null ? new ArrayList<>() : index.getChunks();
+            AssistantRagHnswGraph graph = AssistantRagHnswGraph.buildForChunks(
+                    chunks, index.getDimension(), hnsw.getM(), hnsw.getEfConstruction(), previous);
+            List<String> nodeIds = new ArrayList<>(chunks.size());
+            for (AssistantRagChunk chunk : chunks) {
+                nodeIds.add(chunk == null ? null : chunk.getId());
+            }
+            indexStore.writeGraph(graph, nodeIds);
+            log.info("RAG HNSW 그래프 저장 완료. nodes={}, incremental={}, elapsedMs={}",
+                    graph.size(), previous != null, System.currentTimeMillis() - startedAt);
+        } catch (Exception e) {
+            log.warn("RAG HNSW 그래프 저장 실패. 검색은 전체 스캔으로 동작합니다. path={}", indexStore.getGraphPath(), e);
+            indexStore.deleteGraph();
+        }
     }
 
     private List<BoardDTO> loadPostsForReindex(String boardTitle) {
@@ -391,50 +547,47 @@ public class AssistantRagIndexService {
         return tips == null ? new ArrayList<>() : tips;
     }
 
-    private SourceIndexResult indexStrategyTips(AssistantRagIndex index,
-                                                IndexingContext context,
-                                                int chunkSize,
-                                                int overlap,
-                                                EmbeddingBudget embeddingBudget,
-                                                ReusableEmbeddingStore reusableEmbeddings) {
-        int indexedPosts = 0;
-        int indexedChunks = 0;
-        for (StrategyTipDTO tip : loadStrategyTips()) {
-            BoardDTO post = toStrategyTipPost(tip);
-            PostChunkResult result = buildChunksForPost(
-                    AssistantRagSources.STRATEGY_TIP_BOARD, post, context, chunkSize,
-                    overlap, embeddingBudget, reusableEmbeddings);
-            if (!result.hasSourceChunks()) {
-                continue;
-            }
-            indexedPosts += 1;
-            if (!result.getChunks().isEmpty()) {
-                index.getChunks().addAll(result.getChunks());
-                indexedChunks += result.getChunks().size();
+    private void fetchForReindex(List<BoardListDTO> boards,
+                                 AssistantRagReindexPipeline.Sink<ReindexSource> sink) throws InterruptedException {
+        if (boards != null) {
+            for (BoardListDTO board : boards) {
+                String boardTitle = normalizeBoardTitle(board == null ? null : board.getBoardTitle());
+                if (!isIndexableBoardTitle(boardTitle)) {
+                    continue;
+                }
+
+                List<BoardDTO> posts = loadPostsForReindex(boardTitle);
+
+                if (posts == null || posts.isEmpty()) {
+                    continue;
+                }
+
+                for (BoardDTO post : posts) {
+                    sink.accept(new ReindexSource(boardTitle, post));
+                }
             }
         }
-        return new SourceIndexResult(indexedPosts, indexedChunks);
+
+        for (StrategyTipDTO tip : loadStrategyTips()) {
+            sink.accept(new ReindexSource(AssistantRagSources.STRATEGY_TIP_BOARD, toStrategyTipPost(tip)));
+        }
     }
 
-    private SourceIndexResult synchronizeStrategyTips(AssistantRagIndex index,
-                                                       IndexingContext context,
-                                                       int chunkSize,
-                                                       int overlap,
-                                                       EmbeddingBudget embeddingBudget,
-                                                       ReusableEmbeddingStore reusableEmbeddings) {
+    private int synchronizeStrategyTips(AssistantRagPostChunks posts,
+                                        IndexingContext context,
+                                        int chunkSize,
+                                        int overlap,
+                                        EmbeddingBatcher batcher,
+                                        ReusableEmbeddingStore reusableEmbeddings,
+                                        List<PendingPost> changedTips) {
         Map<Integer, List<AssistantRagChunk>> existingByTip = new HashMap<>();
-        for (AssistantRagChunk chunk : new ArrayList<>(index.getChunks())) {
-            if (chunk == null || !AssistantRagSources.STRATEGY_TIP_BOARD.equals(
-                    normalizeBoardTitle(chunk.getBoardTitle()))) {
-                continue;
-            }
-            existingByTip.computeIfAbsent(chunk.getPostNum(), ignored -> new ArrayList<>())
-                    .add(chunk);
+        for (Map.Entry<Integer, List<AssistantRagChunk>> tip
+                : posts.postsOfBoard(AssistantRagSources.STRATEGY_TIP_BOARD).entrySet()) {
+            // A copy: sameStrategyTipChunks sorts it.
+            existingByTip.put(tip.getKey(), new ArrayList<>(tip.getValue()));
         }
 
         Set<Integer> publicTipIds = new HashSet<>();
-        int updatedPosts = 0;
-        int updatedChunks = 0;
         for (StrategyTipDTO tip : loadStrategyTips()) {
             BoardDTO post = toStrategyTipPost(tip);
             if (post.getPostNum() <= 0) {
@@ -443,39 +596,30 @@ public class AssistantRagIndexService {
             publicTipIds.add(post.getPostNum());
             List<String> expectedTexts = chunkText(buildPostText(post), chunkSize, overlap);
             List<AssistantRagChunk> existing = existingByTip.get(post.getPostNum());
-            if (sameStrategyTipChunks(existing, expectedTexts)) {
-                for (AssistantRagChunk chunk : existing) {
-                    chunk.setTitle(post.getTitle());
-                    chunk.setRegDate(post.getRegDate());
-                    chunk.setUrl(AssistantRagSources.STRATEGY_TIP_URL);
-                }
+            if (sameStrategyTipChunks(existing, expectedTexts, post)) {
                 continue;
             }
 
-            PostChunkResult result = buildChunksForPost(
-                    AssistantRagSources.STRATEGY_TIP_BOARD, post, context, chunkSize,
-                    overlap, embeddingBudget, reusableEmbeddings);
-            if (!result.getChunks().isEmpty()) {
-                removeChunksForPost(
-                        index, AssistantRagSources.STRATEGY_TIP_BOARD, post.getPostNum());
-                index.getChunks().addAll(result.getChunks());
-                updatedChunks += result.getChunks().size();
-                updatedPosts += 1;
+            PendingPost pending = prepareChunksForPost(
+                    AssistantRagSources.STRATEGY_TIP_BOARD, post, context.getDimension(), chunkSize,
+                    overlap, reusableEmbeddings);
+            if (pending != null) {
+                batcher.requestAll(pending.textsToEmbed());
+                changedTips.add(pending);
             }
         }
 
         Set<Integer> deletedTipIds = new HashSet<>(existingByTip.keySet());
         deletedTipIds.removeAll(publicTipIds);
         for (Integer deletedTipId : deletedTipIds) {
-            removeChunksForPost(
-                    index, AssistantRagSources.STRATEGY_TIP_BOARD, deletedTipId);
-            updatedPosts += 1;
+            posts.removePost(AssistantRagSources.STRATEGY_TIP_BOARD, deletedTipId);
         }
-        return new SourceIndexResult(updatedPosts, updatedChunks);
+        return deletedTipIds.size();
     }
 
     private static boolean sameStrategyTipChunks(List<AssistantRagChunk> existing,
-                                                 List<String> expectedTexts) {
+                                                 List<String> expectedTexts,
+                                                 BoardDTO post) {
         if (existing == null || expectedTexts == null || existing.size() != expectedTexts.size()) {
             return false;
         }
@@ -485,13 +629,20 @@ public class AssistantRagIndexService {
         for (int index = 0; index < existing.size(); index++) {
             AssistantRagChunk chunk = existing.get(index);
             if (chunk == null || chunk.getChunkIndex() != index
-                    || !expectedTexts.get(index).equals(chunk.getText())) {
+                    || AssistantRagContentHash.of(chunk) != AssistantRagContentHash.of(expectedTexts.get(index))
+                    || !Objects.equals(post.getTitle(), chunk.getTitle())
+                    || !sameInstant(post.getRegDate(), chunk.getRegDate())
+                    || !AssistantRagSources.STRATEGY_TIP_URL.equals(chunk.getUrl())) {
                 return false;
             }
         }
         return true;
     }
 
+    private static boolean sameInstant(Date left, Date right) {
+        return left == null ? right == null : right != null && left.getTime() == right.getTime();
+    }
+
     private static BoardDTO toStrategyTipPost(StrategyTipDTO tip) {
         BoardDTO post = new BoardDTO();
         if (tip == null) {
@@ -534,67 +685,111 @@ public class AssistantRagIndexService {
         return postsByPostNum;
     }
 
-    private PostChunkResult buildChunksForPost(String boardTitle,
-                                               BoardDTO post,
-                                               IndexingContext context,
-                                               int chunkSize,
-                                               int overlap,
-                                               EmbeddingBudget embeddingBudget,
-                                               ReusableEmbeddingStore reusableEmbeddings) {
+    private EmbeddingBatcher newEmbeddingBatcher(EmbeddingBudget embeddingBudget) {
+        AssistantRagReindexPipeline.RateLimitGate rateLimitGate =
+                new AssistantRagReindexPipeline.RateLimitGate(ragProperties.getPipeline(), null);
+        return new EmbeddingBatcher(texts -> embedBatch(texts, embeddingBudget, rateLimitGate), resolveEmbeddingBatchSize());
+    }
+
+    private int resolveEmbeddingBatchSize() {
+        return Math.max(1, Math.min(ragProperties.getEmbeddingBatchSize(), GeminiEmbeddingClient.MAX_BATCH_TEXTS));
+    }
+
+    private List<float[]> embedBatch(List<String> texts,
+                                     EmbeddingBudget embeddingBudget,
+                                     AssistantRagReindexPipeline.RateLimitGate rateLimitGate) throws InterruptedException {
+        embeddingBudget.beforeEmbeddingBatch(texts.size());
+        return rateLimitGate.call(() -> embeddingClient.embedTexts(texts));
+    }
+
+    private static PendingPost prepareChunksForPost(String boardTitle,
+                                                    BoardDTO post,
+                                                    int expectedDimension,
+                                                    int chunkSize,
+                                                    int overlap,
+                                                    ReusableEmbeddingStore reusableEmbeddings) {
         if (post == null) {
-            return PostChunkResult.empty();
+            return null;
         }
         String postText = buildPostText(post);
         if (!StringUtils.hasText(postText)) {
-            return PostChunkResult.empty();
+            return null;
         }
-        List<String> chunks = chunkText(postText, chunkSize, overlap);
-        if (chunks.isEmpty()) {
-            return PostChunkResult.empty();
+        List<String> texts = chunkText(postText, chunkSize, overlap);
+        if (texts.isEmpty()) {
+            return null;
         }
 
-        List<AssistantRagChunk> newChunks = new ArrayList<>();
-        int chunkIndex = 0;
-        for (String chunk : chunks) {
-            AssistantRagChunk reusableChunk = reusableEmbeddings == null
+        PendingPost pending = new PendingPost(boardTitle, post, texts);
+        for (int i = 0; i < texts.size(); i += 1) {
+            long contentHash = AssistantRagContentHash.of(texts.get(i));
+            pending.contentHashes[i] = contentHash;
+            int reusableOrdinal = reusableEmbeddings == null
+                    ? ReusableEmbeddingStore.NONE
+                    : reusableEmbeddings.findExact(boardTitle, post.getPostNum(), i, contentHash);
+            float[] vector = reusableOrdinal == ReusableEmbeddingStore.NONE
                     ? null
-                    : reusableEmbeddings.findExact(boardTitle, post.getPostNum(), chunkIndex, chunk, context.getDimension());
-            float[] vector = reusableChunk == null ? null : reusableChunk.getVector();
+                    : reusableEmbeddings.reusableVector(reusableOrdinal, expectedDimension);
+            if (vector != null) {
+                pending.reusableIds[i] = reusableEmbeddings.idAt(reusableOrdinal);
+            }
             if (vector == null && reusableEmbeddings != null) {
-                vector = reusableEmbeddings.findByText(chunk, context.getDimension());
+                vector = reusableEmbeddings.findByText(contentHash, expectedDimension);
             }
-            if (vector != null) {
-                if (!context.acceptVector(vector)) {
-                    continue;
-                }
-                if (embeddingBudget != null) {
-                    embeddingBudget.markReused();
-                }
-                newChunks.add(buildChunk(boardTitle, post, chunk, chunkIndex, vector,
-                        reusableChunk == null ? null : reusableChunk.getId()));
-                chunkIndex += 1;
+            NearDuplicate near = reusableEmbeddings == null
+                    ? null
+                    : reusableEmbeddings.findNear(boardTitle, post.getPostNum(), texts.get(i), vector, expectedDimension);
+            if (near != null && near.skip) {
+                pending.skipped[i] = true;
+            } else if (near != null && vector == null) {
+                vector = near.vector;
+                pending.sharedTexts[i] = near.vector == null ? near.text : null;
+                pending.nearDuplicates[i] = true;
+            }
+            pending.reusedVectors[i] = vector;
+        }
+        return pending;
+    }
+
+    private static List<AssistantRagChunk> completeChunks(PendingPost pending,
+                                                          IndexingContext context,
+                                                          EmbeddedTexts embeddedTexts,
+                                                          EmbeddingBudget embeddingBudget) {
+        List<AssistantRagChunk> newChunks = new ArrayList<>();
+        int chunkIndex = 0;
+        for (int i = 0; i < pending.texts.size(); i += 1) {
+            if (pending.skipped[i]) {
+                embeddingBudget.markNearDuplicate();
                 continue;
             }
-            if (embeddingBudget != null) {
-                embeddingBudget.beforeEmbeddingCall();
+            String text = pending.texts.get(i);
+            float[] vector = pending.reusedVectors[i];
+            String sharedText = pending.sharedTexts[i];
+            // A text embedded in this job counts as reused from its second occurrence on.
+            boolean reused = vector != null || sharedText != null || !embeddedTexts.claim(text);
+            if (vector == null) {
+                vector = embeddedTexts.vectorFor(sharedText != null ? sharedText : text);
             }
-            vector = embeddingClient.embedText(chunk);
             if (!context.acceptVector(vector)) {
                 continue;
             }
-            if (reusableEmbeddings != null) {
-                reusableEmbeddings.rememberTextVector(chunk, vector);
+            if (reused) {
+                embeddingBudget.markReused();
             }
-            newChunks.add(buildChunk(boardTitle, post, chunk, chunkIndex, vector, null));
+            if (pending.nearDuplicates[i]) {
+                embeddingBudget.markNearDuplicate();
+            }
+            newChunks.add(buildChunk(pending.boardTitle, pending.post, text, pending.contentHashes[i], chunkIndex,
+                    vector, pending.reusableIds[i]));
             chunkIndex += 1;
         }
-
-        return new PostChunkResult(true, newChunks);
+        return newChunks;
     }
 
     private static AssistantRagChunk buildChunk(String boardTitle,
                                                 BoardDTO post,
                                                 String chunk,
+                                                long contentHash,
                                                 int chunkIndex,
                                                 float[] vector,
                                                 String reusableId) {
@@ -607,6 +802,7 @@ public class AssistantRagIndexService {
         chunkDto.setUrl(buildPostUrl(boardTitle, post.getPostNum()));
         chunkDto.setChunkIndex(chunkIndex);
         chunkDto.setText(chunk);
+        chunkDto.setContentHash(contentHash);
         chunkDto.setVector(vector);
         return chunkDto;
     }
@@ -620,25 +816,11 @@ public class AssistantRagIndexService {
 
     private static String buildPostText(BoardDTO post) {
         String title = post.getTitle() == null ? "" : post.getTitle().trim();
-        String content = stripHtmlToText(post.getContent());
+        String content = BoardPostText.plainTextOf(post);
         String combined = (title + "\n" + content).trim();
         return combined.replaceAll("\\s+", " ");
     }
 
-    private static String stripHtmlToText(String html) {
-        if (html == null) {
-            return "";
-        }
-        String text = html.replaceAll("(?s)<[^>]*>", " ");
-        text = text.replace("&nbsp;", " ");
-        text = text.replace("&amp;", "&");
-        text = text.replace("&lt;", "<");
-        text = text.replace("&gt;", ">");
-        text = text.replace("&quot;", "\"");
-        text = text.replace("&#39;", "'");
-        return text.replaceAll("\\s+", " ").trim();
-    }
-
     private static String buildPostUrl(String boardTitle, int postNum) {
         if (AssistantRagSources.STRATEGY_TIP_BOARD.equals(normalizeBoardTitle(boardTitle))) {
             return AssistantRagSources.STRATEGY_TIP_URL;
@@ -719,7 +901,7 @@ public class AssistantRagIndexService {
     }
 
     private List<AssistantRagBoardSnapshot> buildBoardSnapshots(List<BoardListDTO> boards) {
-        List<AssistantRagBoardSnapshot> snapshots = new ArrayList<>();
+        List<String> boardTitles = new ArrayList<>();
         if (boards != null) {
             for (BoardListDTO board : boards) {
                 String boardTitle = normalizeBoardTitle(board == null ? null : board.getBoardTitle());
@@ -729,31 +911,12 @@ public class AssistantRagIndexService {
                 if (isExcludedBoardTitle(boardTitle)) {
                     continue;
                 }
-                try {
-                    AssistantRagBoardSnapshot snapshot = boardMapper.selectBoardRagStats(boardTitle);
-                    if (snapshot == null) {
-                        snapshot = new AssistantRagBoardSnapshot();
-                    }
-                    snapshot.setBoardTitle(boardTitle);
-                    snapshots.add(snapshot);
-                } catch (Exception e) {
-                    log.warn("RAG 스냅샷 로드 실패. boardTitle={}", boardTitle, e);
+                if (!boardTitles.contains(boardTitle)) {
+                    boardTitles.add(boardTitle);
                 }
             }
         }
-
-        try {
-            AssistantRagBoardSnapshot strategyTipSnapshot = strategyTipMapper.selectRagStats();
-            if (strategyTipSnapshot == null) {
-                strategyTipSnapshot = new AssistantRagBoardSnapshot();
-            }
-            strategyTipSnapshot.setBoardTitle(AssistantRagSources.STRATEGY_TIP_BOARD);
-            snapshots.add(strategyTipSnapshot);
-        } catch (Exception e) {
-            log.warn("공개 한줄 공략 RAG 스냅샷 로드 실패", e);
-        }
-
-        return snapshots;
+        return AssistantRagSignatureCache.loadSnapshots(boardMapper, strategyTipMapper, boardTitles);
     }
 
     private boolean isExcludedBoardTitle(String boardTitle) {
@@ -775,23 +938,6 @@ public class AssistantRagIndexService {
         return false;
     }
 
-    private static void removeChunksForMissingBoards(AssistantRagIndex index, Set<String> allowedBoards) {
-        if (index == null || index.getChunks() == null || index.getChunks().isEmpty()) {
-            return;
-        }
-        if (allowedBoards == null || allowedBoards.isEmpty()) {
-            index.getChunks().clear();
-            return;
-        }
-        index.getChunks().removeIf(chunk -> {
-            if (chunk == null) {
-                return false;
-            }
-            String boardTitle = normalizeBoardTitle(chunk.getBoardTitle());
-            return !allowedBoards.contains(boardTitle);
-        });
-    }
-
     private static final class IndexingContext {
         private final AssistantRagIndex index;
         private int dimension;
@@ -819,86 +965,224 @@ public class AssistantRagIndexService {
 
     private static final class EmbeddingBudget {
         private final int maxCalls;
+        private final int maxTexts;
         private final String jobName;
         private int usedCalls;
+        private int embeddedTexts;
         private int reusedChunks;
+        private int nearDuplicateChunks;
 
-        private EmbeddingBudget(int maxCalls, String jobName) {
+        private EmbeddingBudget(int maxCalls, int maxTexts, String jobName) {
             this.maxCalls = maxCalls;
+            this.maxTexts = maxTexts;
             this.jobName = jobName;
         }
 
-        private static EmbeddingBudget limited(int maxCalls, String jobName) {
-            return new EmbeddingBudget(Math.max(0, maxCalls), jobName);
+        private static EmbeddingBudget limited(int maxCalls, int maxTexts, String jobName) {
+            return new EmbeddingBudget(Math.max(0, maxCalls), Math.max(0, maxTexts), jobName);
         }
 
-        private void beforeEmbeddingCall() {
-            if (maxCalls <= 0) {
-                usedCalls += 1;
-                return;
-            }
-            if (usedCalls >= maxCalls) {
+        private synchronized void beforeEmbeddingBatch(int texts) {
+            if (maxCalls > 0 && usedCalls >= maxCalls) {
                 throw new IllegalStateException(jobName + " 임베딩 호출 상한(" + maxCalls + "회)을 초과했습니다.");
             }
+            if (maxTexts > 0 && embeddedTexts + texts > maxTexts) {
+                throw new IllegalStateException(jobName + " 임베딩 텍스트 상한(" + maxTexts + "개)을 초과했습니다.");
+            }
             usedCalls += 1;
+            embeddedTexts += texts;
         }
 
-        private void markReused() {
+        private synchronized void markReused() {
             reusedChunks += 1;
         }
 
-        private int getEmbeddingCalls() {
+        private synchronized int getEmbeddingCalls() {
             return usedCalls;
         }
 
-        private int getReusedChunks() {
+        private synchronized int getEmbeddedTexts() {
+            return embeddedTexts;
+        }
+
+        private synchronized int getReusedChunks() {
             return reusedChunks;
         }
+
+        private synchronized void markNearDuplicate() {
+            nearDuplicateChunks += 1;
+        }
+
+        private synchronized int getNearDuplicateChunks() {
+            return nearDuplicateChunks;
+        }
     }
 
+    // With a mapped index only the metadata is on the heap; vectors and texts are read per chunk when reused.
     private static final class ReusableEmbeddingStore {
-        private final Map<String, AssistantRagChunk> exactChunks = new HashMap<>();
-        private final Map<String, float[]> vectorsByText = new HashMap<>();
-
-        private static ReusableEmbeddingStore from(AssistantRagIndex index) {
-            ReusableEmbeddingStore store = new ReusableEmbeddingStore();
+        private static final int NONE = -1;
+
+        private final AssistantRagLongMap<Integer> exactOrdinals;
+        private final AssistantRagLongMap<Integer> ordinalsByText;
+        private final List<AssistantRagChunk> previousChunks;
+        private final AssistantRagIndexStore.MappedIndex mapped;
+        private final boolean nearDuplicatesEnabled;
+        private final boolean skipNearDuplicates;
+        private final int nearMaxDistance;
+        private final int nearMinChars;
+        private final AssistantRagSimHash.Index<JobChunk> jobChunks;
+        private AssistantRagSimHash.Index<Integer> previousNearOrdinals;
+
+        private ReusableEmbeddingStore(List<AssistantRagChunk> previousChunks,
+                                       AssistantRagIndexStore.MappedIndex mapped,
+                                       AssistantRagProperties.NearDuplicateProperties nearDuplicate) {
+            int expectedSize = previousChunks.size();
+            this.exactOrdinals = new AssistantRagLongMap<>(expectedSize);
+            this.ordinalsByText = new AssistantRagLongMap<>(expectedSize);
+            this.previousChunks = previousChunks;
+            this.mapped = mapped;
+            String policy = nearDuplicate == null || nearDuplicate.getPolicy() == null
+                    ? NEAR_DUPLICATE_OFF : nearDuplicate.getPolicy().trim().toLowerCase(Locale.ROOT);
+            this.nearDuplicatesEnabled = (NEAR_DUPLICATE_SHARE.equals(policy) || NEAR_DUPLICATE_SKIP.equals(policy))
+                    && nearDuplicate.getMaxDistance() > 0;
+            this.skipNearDuplicates = NEAR_DUPLICATE_SKIP.equals(policy);
+            this.nearMaxDistance = nearDuplicatesEnabled ? nearDuplicate.getMaxDistance() : 0;
+            this.nearMinChars = nearDuplicatesEnabled ? Math.max(0, nearDuplicate.getMinChars()) : 0;
+            this.jobChunks = nearDuplicatesEnabled ? new AssistantRagSimHash.Index<>(nearMaxDistance, expectedSize) : null;
+        }
+
+        private static ReusableEmbeddingStore from(AssistantRagIndex index,
+                                                   AssistantRagProperties.NearDuplicateProperties nearDuplicate) {
             if (index == null || index.getChunks() == null || index.getChunks().isEmpty()) {
-                return store;
+                return new ReusableEmbeddingStore(new ArrayList<>(), null, nearDuplicate);
             }
-            for (AssistantRagChunk chunk : index.getChunks()) {
-                if (chunk == null || !StringUtils.hasText(chunk.getText()) || !hasVector(chunk.getVector())) {
+            return new ReusableEmbeddingStore(index.getChunks(), null, nearDuplicate).register();
+        }
+
+        private static ReusableEmbeddingStore from(AssistantRagIndexStore.MappedIndex mapped,
+                                                   AssistantRagProperties.NearDuplicateProperties nearDuplicate) {
+            return new ReusableEmbeddingStore(mapped.getIndex().getChunks(), mapped, nearDuplicate).register();
+        }
+
+        private ReusableEmbeddingStore register() {
+            for (int ordinal = 0; ordinal < previousChunks.size(); ordinal += 1) {
+                AssistantRagChunk chunk = previousChunks.get(ordinal);
+                if (chunk == null || !hasVectorAt(ordinal)) {
                     continue;
                 }
-                String text = chunk.getText();
-                store.exactChunks.put(exactChunkKey(chunk.getBoardTitle(), chunk.getPostNum(), chunk.getChunkIndex(), text), chunk);
-                store.vectorsByText.putIfAbsent(text, chunk.getVector());
+                long contentHash = chunk.getContentHash();
+                if (contentHash == AssistantRagContentHash.NONE) {
+                    String text = textAt(ordinal);
+                    if (!StringUtils.hasText(text)) {
+                        continue;
+                    }
+                    // Metadata written before content hashes; update fingerprints compare the stored hash.
+                    contentHash = AssistantRagContentHash.of(text);
+                    chunk.setContentHash(contentHash);
+                }
+                exactOrdinals.put(
+                        exactChunkKey(chunk.getBoardTitle(), chunk.getPostNum(), chunk.getChunkIndex(), contentHash),
+                        ordinal);
+                ordinalsByText.putIfAbsent(contentHash, ordinal);
             }
-            return store;
+            return this;
         }
 
-        private AssistantRagChunk findExact(String boardTitle, int postNum, int chunkIndex, String text, int expectedDimension) {
-            AssistantRagChunk chunk = exactChunks.get(exactChunkKey(boardTitle, postNum, chunkIndex, text));
-            if (chunk == null || !isReusableVector(chunk.getVector(), expectedDimension)) {
-                return null;
+        private int findExact(String boardTitle, int postNum, int chunkIndex, long contentHash) {
+            Integer ordinal = exactOrdinals.get(exactChunkKey(boardTitle, postNum, chunkIndex, contentHash));
+            if (ordinal == null) {
+                return NONE;
+            }
+            AssistantRagChunk chunk = previousChunks.get(ordinal);
+            if (chunk.getPostNum() != postNum
+                    || chunk.getChunkIndex() != chunkIndex
+                    || !postKey(chunk.getBoardTitle(), postNum).equals(postKey(boardTitle, postNum))) {
+                return NONE;
             }
-            return chunk;
+            return ordinal;
+        }
+
+        private float[] findByText(long contentHash, int expectedDimension) {
+            Integer ordinal = ordinalsByText.get(contentHash);
+            return ordinal == null ? null : reusableVector(ordinal, expectedDimension);
         }
 
-        private float[] findByText(String text, int expectedDimension) {
-            float[] vector = vectorsByText.get(text);
+        private String idAt(int ordinal) {
+            return previousChunks.get(ordinal).getId();
+        }
+
+        private float[] reusableVector(int ordinal, int expectedDimension) {
+            float[] vector = mapped == null ? previousChunks.get(ordinal).getVector() : mapped.vectorAt(ordinal);
             return isReusableVector(vector, expectedDimension) ? vector : null;
         }
 
-        private void rememberTextVector(String text, float[] vector) {
-            if (!StringUtils.hasText(text) || !hasVector(vector)) {
-                return;
+        private boolean hasVectorAt(int ordinal) {
+            return mapped == null ? hasVector(previousChunks.get(ordinal).getVector()) : mapped.hasVectorAt(ordinal);
+        }
+
+        private String textAt(int ordinal) {
+            return mapped == null ? previousChunks.get(ordinal).getText() : mapped.textAt(ordinal);
+        }
+
+        // Synchronized so that of two copies chunked at the same time exactly one is embedded.
+        private synchronized NearDuplicate findNear(String boardTitle, int postNum, String text, float[] ownVector,
+                                                    int expectedDimension) {
+            if (!nearDuplicatesEnabled || text == null || text.length() < nearMinChars) {
+                return null;
+            }
+            long simHash = AssistantRagSimHash.of(text);
+            if (simHash == AssistantRagSimHash.NONE) {
+                return null;
+            }
+            String postKey = postKey(boardTitle, postNum);
+            JobChunk queued = jobChunks.nearest(simHash);
+            if (queued != null) {
+                boolean skip = skipNearDuplicates && !queued.postKey.equals(postKey);
+                return skip || ownVector == null ? new NearDuplicate(queued.vector, queued.text, skip) : null;
+            }
+            float[] vector = ownVector;
+            if (vector == null) {
+                Integer previous = nearestPreviousOrdinal(simHash);
+                if (previous != null) {
+                    vector = reusableVector(previous, expectedDimension);
+                }
             }
-            vectorsByText.putIfAbsent(text, vector);
+            jobChunks.add(simHash, new JobChunk(postKey, text, vector));
+            return vector == ownVector ? null : new NearDuplicate(vector, null, false);
         }
 
-        private static String exactChunkKey(String boardTitle, int postNum, int chunkIndex, String text) {
-            String normalizedText = text == null ? "" : text;
-            return postKey(boardTitle, postNum) + ":" + chunkIndex + ":" + normalizedText.length() + ":" + normalizedText;
+        private Integer nearestPreviousOrdinal(long simHash) {
+            if (previousNearOrdinals == null) {
+                long startedAt = System.currentTimeMillis();
+                previousNearOrdinals = new AssistantRagSimHash.Index<>(nearMaxDistance, previousChunks.size());
+                for (int ordinal = 0; ordinal < previousChunks.size(); ordinal += 1) {
+                    if (previousChunks.get(ordinal) == null || !hasVectorAt(ordinal)) {
+                        continue;
+                    }
+                    String text = textAt(ordinal);
+                    if (text == null || text.length() < nearMinChars) {
+                        continue;
+                    }
+                    long chunkHash = AssistantRagSimHash.of(text);
+                    if (chunkHash != AssistantRagSimHash.NONE) {
+                        previousNearOrdinals.add(chunkHash, ordinal);
+                    }
+                }
+                log.info("RAG 유사 중복 탐지용 SimHash 계산 완료. chunks={}, elapsedMs={}",
+                        previousNearOrdinals.size(), System.currentTimeMillis() - startedAt);
+            }
+            return previousNearOrdinals.nearest(simHash);
+        }
+
+        private static long exactChunkKey(String boardTitle, int postNum, int chunkIndex, long contentHash) {
+            long key = contentHash;
+            key = key * 31L + normalizedHash(boardTitle);
+            key = key * 31L + postNum;
+            return key * 31L + chunkIndex;
+        }
+
+        private static int normalizedHash(String boardTitle) {
+            return boardTitle == null ? 0 : boardTitle.trim().toLowerCase(Locale.ROOT).hashCode();
         }
 
         private static boolean isReusableVector(float[] vector, int expectedDimension) {
@@ -910,35 +1194,133 @@ public class AssistantRagIndexService {
         }
     }
 
-    private static final class PostChunkResult {
-        private final boolean hasSourceChunks;
-        private final List<AssistantRagChunk> chunks;
+    private static final class JobChunk {
+        private final String postKey;
+        private final String text;
+        private final float[] vector;
+
+        private JobChunk(String postKey, String text, float[] vector) {
+            this.postKey = postKey;
+            this.text = text;
+            this.vector = vector;
+        }
+    }
+
+    private static final class NearDuplicate {
+        private final float[] vector;
+        private final String text;
+        private final boolean skip;
+
+        private NearDuplicate(float[] vector, String text, boolean skip) {
+            this.vector = vector;
+            this.text = text;
+            this.skip = skip;
+        }
+    }
+
+    private static final class EmbeddingBatcher {
+        private final AssistantRagReindexPipeline.Embedder embedder;
+        private final int batchSize;
+        private final Set<String> pendingTexts = new LinkedHashSet<>();
+        private final EmbeddedTexts embeddedTexts = new EmbeddedTexts(new HashMap<>());
+
+        private EmbeddingBatcher(AssistantRagReindexPipeline.Embedder embedder, int batchSize) {
+            this.embedder = embedder;
+            this.batchSize = batchSize;
+        }
+
+        private void requestAll(List<String> texts) {
+            for (String text : texts) {
+                if (embeddedTexts.vectorsByText.containsKey(text) || !pendingTexts.add(text)) {
+                    continue;
+                }
+                if (pendingTexts.size() >= batchSize) {
+                    flush();
+                }
+            }
+        }
+
+        private void flush() {
+            if (pendingTexts.isEmpty()) {
+                return;
+            }
+            List<String> texts = new ArrayList<>(pendingTexts);
+            pendingTexts.clear();
+            List<float[]> vectors;
+            try {
+                vectors = embedder.embed(texts);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("RAG 임베딩 요청 대기 중 중단되었습니다.", e);
+            }
+            for (int i = 0; i < texts.size(); i += 1) {
+                embeddedTexts.vectorsByText.put(texts.get(i), vectors.get(i));
+            }
+        }
 
-        private PostChunkResult(boolean hasSourceChunks, List<AssistantRagChunk> chunks) {
-            this.hasSourceChunks = hasSourceChunks;
-            this.chunks = chunks;
+        private EmbeddedTexts embedded() {
+            return embeddedTexts;
         }
+    }
+
+    private static final class EmbeddedTexts {
+        private final Map<String, float[]> vectorsByText;
+        private final Set<String> claimedTexts = new HashSet<>();
 
-        private static PostChunkResult empty() {
-            return new PostChunkResult(false, new ArrayList<>());
+        private EmbeddedTexts(Map<String, float[]> vectorsByText) {
+            this.vectorsByText = vectorsByText;
         }
 
-        private boolean hasSourceChunks() {
-            return hasSourceChunks;
+        private float[] vectorFor(String text) {
+            return vectorsByText.get(text);
         }
 
-        private List<AssistantRagChunk> getChunks() {
-            return chunks;
+        private boolean claim(String text) {
+            return vectorsByText.containsKey(text) && claimedTexts.add(text);
         }
     }
 
-    private static final class SourceIndexResult {
-        private final int posts;
-        private final int chunks;
+    private static final class ReindexSource {
+        private final String boardTitle;
+        private final BoardDTO post;
 
-        private SourceIndexResult(int posts, int chunks) {
-            this.posts = posts;
-            this.chunks = chunks;
+        private ReindexSource(String boardTitle, BoardDTO post) {
+            this.boardTitle = boardTitle;
+            this.post = post;
+        }
+    }
+
+    private static final class PendingPost {
+        private final String boardTitle;
+        private final BoardDTO post;
+        private final List<String> texts;
+        private final long[] contentHashes;
+        private final String[] reusableIds;
+        private final float[][] reusedVectors;
+        private final String[] sharedTexts;
+        private final boolean[] nearDuplicates;
+        private final boolean[] skipped;
+
+        private PendingPost(String boardTitle, BoardDTO post, List<String> texts) {
+            this.boardTitle = boardTitle;
+            this.post = post;
+            this.texts = texts;
+            this.contentHashes = new long[texts.size()];
+            this.reusableIds = new String[texts.size()];
+            this.reusedVectors = new float[texts.size()][];
+            this.sharedTexts = new String[texts.size()];
+            this.nearDuplicates = new boolean[texts.size()];
+            this.skipped = new boolean[texts.size()];
+        }
+
+        private List<String> textsToEmbed() {
+            List<String> missing = new ArrayList<>();
+            for (int i = 0; i < texts.size(); i += 1) {
+                if (reusedVectors[i] == null && sharedTexts[i] == null && !skipped[i]) {
+                    missing.add(texts.get(i));
+                }
+            }
+            return missing;
         }
     }
 
@@ -951,9 +1333,10 @@ public class AssistantRagIndexService {
         private final Date finishedAt;
         private final ReindexResult lastResult;
         private final String lastError;
+        private final ReindexProgress progress;
 
         private ReindexJobStatus(boolean enabled, boolean accepted, boolean running, Date startedAt, Date finishedAt,
-                                 ReindexResult lastResult, String lastError) {
+                                 ReindexResult lastResult, String lastError, ReindexProgress progress) {
             this.enabled = enabled;
             this.accepted = accepted;
             this.running = running;
@@ -961,29 +1344,62 @@ public class AssistantRagIndexService {
             this.finishedAt = finishedAt;
             this.lastResult = lastResult;
             this.lastError = lastError;
+            this.progress = progress;
         }
 
         public static ReindexJobStatus disabled() {
-            return new ReindexJobStatus(false, false, false, null, null, null, null);
+            return new ReindexJobStatus(false, false, false, null, null, null, null, null);
         }
 
-        public static ReindexJobStatus accepted(Date startedAt, ReindexResult lastResult) {
-            return new ReindexJobStatus(true, true, true, startedAt, null, lastResult, null);
+        public static ReindexJobStatus accepted(Date startedAt, ReindexResult lastResult, ReindexProgress progress) {
+            return new ReindexJobStatus(true, true, true, startedAt, null, lastResult, null, progress);
         }
 
-        public static ReindexJobStatus running(Date startedAt, Date finishedAt, ReindexResult lastResult, String lastError) {
-            return new ReindexJobStatus(true, false, true, startedAt, finishedAt, lastResult, lastError);
+        public static ReindexJobStatus running(Date startedAt, Date finishedAt, ReindexResult lastResult, String lastError,
+                                               ReindexProgress progress) {
+            return new ReindexJobStatus(true, false, true, startedAt, finishedAt, lastResult, lastError, progress);
         }
 
-        public static ReindexJobStatus idle(Date startedAt, Date finishedAt, ReindexResult lastResult, String lastError) {
-            return new ReindexJobStatus(true, false, false, startedAt, finishedAt, lastResult, lastError);
+        public static ReindexJobStatus idle(Date startedAt, Date finishedAt, ReindexResult lastResult, String lastError,
+                                            ReindexProgress progress) {
+            return new ReindexJobStatus(true, false, false, startedAt, finishedAt, lastResult, lastError, progress);
         }
 
-        public static ReindexJobStatus throttled(Date startedAt, Date finishedAt, ReindexResult lastResult, String message) {
-            return new ReindexJobStatus(true, false, false, startedAt, finishedAt, lastResult, message);
+        public static ReindexJobStatus throttled(Date startedAt, Date finishedAt, ReindexResult lastResult, String message,
+                                                 ReindexProgress progress) {
+            return new ReindexJobStatus(true, false, false, startedAt, finishedAt, lastResult, message, progress);
         }
     }
 
+    @Getter
+    public static final class ReindexProgress {
+        private final int postsFetched;
+        private final int postsChunked;
+        private final int textsQueued;
+        private final int textsEmbedded;
+        private final int embeddingCalls;
+        private final int rateLimitRetries;
+        private final int postQueueDepth;
+        private final int batchQueueDepth;
+
+        private ReindexProgress(int postsFetched, int postsChunked, int textsQueued, int textsEmbedded,
+                                int embeddingCalls, int rateLimitRetries, int postQueueDepth, int batchQueueDepth) {
+            this.postsFetched = postsFetched;
+            this.postsChunked = postsChunked;
+            this.textsQueued = textsQueued;
+            this.textsEmbedded = textsEmbedded;
+            this.embeddingCalls = embeddingCalls;
+            this.rateLimitRetries = rateLimitRetries;
+            this.postQueueDepth = postQueueDepth;
+            this.batchQueueDepth = batchQueueDepth;
+        }
+
+        private static ReindexProgress of(AssistantRagReindexPipeline.Progress progress) {
+            return new ReindexProgress(progress.getPostsFetched(), progress.getPostsChunked(), progress.getTextsQueued(),
+                    progress.getTextsEmbedded(), progress.getEmbeddingCalls(), progress.getRateLimitRetries(),
+                    progress.getPostQueueDepth(), progress.getBatchQueueDepth());
+        }
+    }
 
     private static Map<String, Integer> buildMaxPostNumByBoard(List<AssistantRagChunk> chunks) {
         Map<String, Integer> maxByBoard = new HashMap<>();
@@ -1079,16 +1495,6 @@ public class AssistantRagIndexService {
         return normalizeBoardTitle(boardTitle) + ":" + postNum;
     }
 
-    private static void removeChunksForPost(AssistantRagIndex index, String boardTitle, int postNum) {
-        if (index == null || index.getChunks() == null || index.getChunks().isEmpty()) {
-            return;
-        }
-        String normalizedBoardTitle = normalizeBoardTitle(boardTitle);
-        index.getChunks().removeIf(chunk -> chunk != null
-                && postNum == chunk.getPostNum()
-                && normalizedBoardTitle.equals(normalizeBoardTitle(chunk.getBoardTitle())));
-    }
-
     @Getter
     public static final class ReindexResult {
         private final boolean enabled;
@@ -1097,21 +1503,55 @@ public class AssistantRagIndexService {
         private final int dimension;
         private final String indexPath;
         private final int embeddingCalls;
+        private final int embeddedTexts;
         private final int reusedChunks;
+        private final int nearDuplicateChunks;
 
         private ReindexResult(boolean enabled, int indexedPosts, int indexedChunks, int dimension, String indexPath,
-                              int embeddingCalls, int reusedChunks) {
+                              int embeddingCalls, int embeddedTexts, int reusedChunks, int nearDuplicateChunks) {
             this.enabled = enabled;
             this.indexedPosts = indexedPosts;
             this.indexedChunks = indexedChunks;
             this.dimension = dimension;
             this.indexPath = indexPath;
             this.embeddingCalls = embeddingCalls;
+            this.embeddedTexts = embeddedTexts;
             this.reusedChunks = reusedChunks;
+            this.nearDuplicateChunks = nearDuplicateChunks;
         }
 
         public static ReindexResult disabled() {
-            return new ReindexResult(false, 0, 0, 0, null, 0, 0);
+            return new ReindexResult(false, 0, 0, 0, null, 0, 0, 0, 0);
+        }
+    }
+
+    @Getter
+    public static final class ConvertResult {
+        private final boolean enabled;
+        private final boolean ready;
+        private final String sourceFormat;
+        private final String targetFormat;
+        private final int chunkCount;
+        private final int dimension;
+        private final String path;
+
+        private ConvertResult(boolean enabled, boolean ready, String sourceFormat, String targetFormat, int chunkCount,
+                              int dimension, String path) {
+            this.enabled = enabled;
+            this.ready = ready;
+            this.sourceFormat = sourceFormat;
+            this.targetFormat = targetFormat;
+            this.chunkCount = chunkCount;
+            this.dimension = dimension;
+            this.path = path;
+        }
+
+        public static ConvertResult disabled(String indexPath) {
+            return new ConvertResult(false, false, null, null, 0, 0, indexPath);
+        }
+
+        public static ConvertResult notReady(String indexPath) {
+            return new ConvertResult(true, false, null, null, 0, 0, indexPath);
         }
     }
 
@@ -1124,10 +1564,12 @@ public class AssistantRagIndexService {
         private final int dimension;
         private final String indexPath;
         private final int embeddingCalls;
+        private final int embeddedTexts;
         private final int reusedChunks;
+        private final int nearDuplicateChunks;
 
         private UpdateResult(boolean enabled, boolean ready, int updatedPosts, int updatedChunks, int dimension, String indexPath,
-                             int embeddingCalls, int reusedChunks) {
+                             int embeddingCalls, int embeddedTexts, int reusedChunks, int nearDuplicateChunks) {
             this.enabled = enabled;
             this.ready = ready;
             this.updatedPosts = updatedPosts;
@@ -1135,15 +1577,17 @@ public class AssistantRagIndexService {
             this.dimension = dimension;
             this.indexPath = indexPath;
             this.embeddingCalls = embeddingCalls;
+            this.embeddedTexts = embeddedTexts;
             this.reusedChunks = reusedChunks;
+            this.nearDuplicateChunks = nearDuplicateChunks;
         }
 
         public static UpdateResult disabled(String indexPath) {
-            return new UpdateResult(false, false, 0, 0, 0, indexPath, 0, 0);
+            return new UpdateResult(false, false, 0, 0, 0, indexPath, 0, 0, 0, 0);
         }
 
         public static UpdateResult notReady(String indexPath) {
-            return new UpdateResult(true, false, 0, 0, 0, indexPath, 0, 0);
+            return new UpdateResult(true, false, 0, 0, 0, indexPath, 0, 0, 0, 0);
         }
     }
 }
@@ -0,0 +1,876 @@
+package com.sc1hub.assistant.rag;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sc1hub.assistant.config.AssistantRagProperties;
+import org.springframework.util.StringUtils;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+final class AssistantRagIndexStore {
+
+    static final String FORMAT_JSON = "json";
+    static final String FORMAT_BINARY = "binary";
+
+    private static final int VECTOR_MAGIC = 0x53524756; // "SRGV"
+    private static final int METADATA_MAGIC = 0x5352474d; // "SRGM"
+    private static final int SEGMENT_MAGIC = 0x53524744; // "SRGD"
+    private static final int SIGNATURE_MAGIC = 0x53524753; // "SRGS"
+    private static final String SEGMENT_EXTENSION = ".delta";
+    private static final int BINARY_VERSION = 1;
+    // 2: texts moved to the text segment. 3: content hash per chunk.
+    private static final int METADATA_VERSION = 3;
+    private static final int TEXT_SEGMENT_METADATA_VERSION = 2;
+    private static final int CONTENT_HASH_METADATA_VERSION = 3;
+    // 2: content hash per chunk.
+    private static final int SEGMENT_VERSION = 2;
+    private static final int VECTOR_HEADER_BYTES = 24;
+    private static final int WRITE_BUFFER_BYTES = 64 * 1024;
+    private static final long NULL_DATE = Long.MIN_VALUE;
+
+    private final AssistantRagProperties ragProperties;
+    private final ObjectMapper objectMapper;
+
+    AssistantRagIndexStore(AssistantRagProperties ragProperties, ObjectMapper objectMapper) {
+        this.ragProperties = ragProperties;
+        this.objectMapper = objectMapper;
+    }
+
+    static String normalizeFormat(String format) {
+        if (!StringUtils.hasText(format)) {
+            return FORMAT_JSON;
+        }
+        String normalized = format.trim().toLowerCase(Locale.ROOT);
+        return FORMAT_BINARY.equals(normalized) ? FORMAT_BINARY : FORMAT_JSON;
+    }
+
+    String getConfiguredFormat() {
+        return normalizeFormat(ragProperties.getIndexFormat());
+    }
+
+    Path getJsonPath() {
+        return Paths.get(ragProperties.getIndexPath());
+    }
+
+    Path getVectorPath() {
+        return siblingPath(".vec");
+    }
+
+    Path getMetadataPath() {
+        return siblingPath(".meta");
+    }
+
+    Path getTextPath() {
+        return siblingPath(".text");
+    }
+
+    Path getGraphPath() {
+        return siblingPath(".hnsw");
+    }
+
+    Path getSignaturePath() {
+        return siblingPath(".signature");
+    }
+
+    Path getSegmentPath(int sequence) {
+        return siblingPath(String.format(Locale.ROOT, ".%06d%s", sequence, SEGMENT_EXTENSION));
+    }
+
+    private Path siblingPath(String extension) {
+        return getJsonPath().resolveSibling(baseFileName() + extension);
+    }
+
+    private String baseFileName() {
+        Path jsonPath = getJsonPath();
+        String fileName = jsonPath.getFileName() == null ? "rag-index" : jsonPath.getFileName().toString();
+        if (fileName.toLowerCase(Locale.ROOT).endsWith(".json")) {
+            fileName = fileName.substring(0, fileName.length() - ".json".length());
+        }
+        return fileName;
+    }
+
+    private boolean binaryExists() {
+        return Files.exists(getVectorPath()) && Files.exists(getMetadataPath());
+    }
+
+    private boolean jsonExists() {
+        return Files.exists(getJsonPath());
+    }
+
+    boolean exists() {
+        return binaryExists() || jsonExists();
+    }
+
+    String resolveReadableFormat() {
+        boolean binary = binaryExists();
+        boolean json = jsonExists();
+        if (FORMAT_BINARY.equals(getConfiguredFormat())) {
+            return binary ? FORMAT_BINARY : (json ? FORMAT_JSON : null);
+        }
+        return json ? FORMAT_JSON : (binary ? FORMAT_BINARY : null);
+    }
+
+    long lastModifiedMillis(String format) throws IOException {
+        Path path = FORMAT_BINARY.equals(format) ? getMetadataPath() : getJsonPath();
+        return Files.getLastModifiedTime(path).toMillis();
+    }
+
+    long baseBytes(String format) throws IOException {
+        if (FORMAT_BINARY.equals(format)) {
+            long textBytes = Files.exists(getTextPath()) ? Files.size(getTextPath()) : 0L;
+            return Files.size(getVectorPath()) + Files.size(getMetadataPath()) + textBytes;
+        }
+        return Files.size(getJsonPath());
+    }
+
+    AssistantRagIndex read() throws IOException {
+        String format = resolveReadableFormat();
+        if (format == null) {
+            return null;
+        }
+        return read(format);
+    }
+
+    AssistantRagIndex read(String format) throws IOException {
+        AssistantRagIndex index;
+        if (FORMAT_BINARY.equals(format)) {
+            MappedIndex mapped = openMappedBase();
+            index = mapped.getIndex();
+            List<AssistantRagChunk> chunks = index.getChunks();
+            for (int i = 0; i < chunks.size(); i += 1) {
+                chunks.get(i).setText(mapped.textAt(i));
+                chunks.get(i).setVector(mapped.vectorAt(i));
+            }
+        } else {
+            index = objectMapper.readValue(getJsonPath().toFile(), AssistantRagIndex.class);
+        }
+        if (index == null) {
+            return null;
+        }
+        List<AssistantRagDeltaSegment> segments = readSegments(AssistantRagDeltaSegment.baseIdOf(index));
+        if (!segments.isEmpty()) {
+            List<AssistantRagChunk> baseChunks = index.getChunks() == null ? new ArrayList<>() : index.getChunks();
+            index.setChunks(AssistantRagDeltaSegment.merge(baseChunks, segments).getChunks());
+            AssistantRagDeltaSegment.applyHeader(index, segments);
+        }
+        return index;
+    }
+
+    void write(AssistantRagIndex index) throws IOException {
+        write(index, getConfiguredFormat());
+    }
+
+    void write(AssistantRagIndex index, String format) throws IOException {
+        if (FORMAT_BINARY.equals(format)) {
+            writeBinary(index);
+        } else {
+            writeJson(index);
+        }
+        deleteSegments();
+    }
+
+    private void writeJson(AssistantRagIndex index) throws IOException {
+        Path indexPath = getJsonPath();
+        Path tempFile = createTempFile(indexPath);
+        try {
+            objectMapper.writeValue(tempFile.toFile(), index);
+            moveIntoPlace(tempFile, indexPath);
+        } finally {
+            deleteQuietly(tempFile);
+        }
+    }
+
+    private void writeBinary(AssistantRagIndex index) throws IOException {
+        List<AssistantRagChunk> chunks = index.getChunks() == null ? new ArrayList<>() : index.getChunks();
+        int dimension = resolveDimension(index);
+        long generation = ThreadLocalRandom.current().nextLong();
+
+        Path vectorPath = getVectorPath();
+        Path textPath = getTextPath();
+        Path metadataPath = getMetadataPath();
+        Path vectorTemp = createTempFile(vectorPath);
+        Path textTemp = createTempFile(textPath);
+        Path metadataTemp = createTempFile(metadataPath);
+        try {
+            writeVectorSegment(vectorTemp, chunks, dimension, generation);
+            writeTextSegment(textTemp, chunks, generation);
+            writeMetadataSegment(metadataTemp, index, chunks, dimension, generation);
+            // Metadata goes last, so its modification time marks a complete write (see lastModifiedMillis).
+            moveIntoPlace(vectorTemp, vectorPath);
+            moveIntoPlace(textTemp, textPath);
+            moveIntoPlace(metadataTemp, metadataPath);
+        } finally {
+            deleteQuietly(vectorTemp);
+            deleteQuietly(textTemp);
+            deleteQuietly(metadataTemp);
+        }
+    }
+
+    private static int resolveDimension(AssistantRagIndex index) {
+        if (index.getDimension() > 0) {
+            return index.getDimension();
+        }
+        if (index.getChunks() != null) {
+            for (AssistantRagChunk chunk : index.getChunks()) {
+                if (chunk != null && chunk.getVector() != null && chunk.getVector().length > 0) {
+                    return chunk.getVector().length;
+                }
+            }
+        }
+        return 0;
+    }
+
+    private static void writeVectorSegment(Path path, List<AssistantRagChunk> chunks, int dimension, long generation)
+            throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.allocate(WRITE_BUFFER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            buffer.putInt(VECTOR_MAGIC);
+            buffer.putInt(BINARY_VERSION);
+            buffer.putInt(dimension);
+            buffer.putInt(chunks.size());
+            buffer.putLong(generation);
+            for (AssistantRagChunk chunk : chunks) {
+                float[] vector = chunk == null ? null : chunk.getVector();
+                boolean valid = vector != null && vector.length == dimension;
+                for (int d = 0; d < dimension; d += 1) {
+                    if (buffer.remaining() < Float.BYTES) {
+                        drain(channel, buffer);
+                    }
+                    buffer.putFloat(valid ? vector[d] : 0.0f);
+                }
+            }
+            drain(channel, buffer);
+            channel.force(false);
+        }
+    }
+
+    // Offsets are relative to the end of the entry table, which is sized from the encoded lengths first.
+    private static void writeTextSegment(Path path, List<AssistantRagChunk> chunks, long generation)
+            throws IOException {
+        int[] lengths = new int[chunks.size()];
+        for (int i = 0; i < lengths.length; i += 1) {
+            String text = chunks.get(i) == null ? null : chunks.get(i).getText();
+            lengths[i] = text == null ? -1 : text.getBytes(StandardCharsets.UTF_8).length;
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.allocate(WRITE_BUFFER_BYTES);
+            buffer.putInt(AssistantRagChunkTexts.MAGIC);
+            buffer.putInt(METADATA_VERSION);
+            buffer.putInt(lengths.length);
+            buffer.putInt(0);
+            buffer.putLong(generation);
+            long offset = 0L;
+            for (int length : lengths) {
+                if (buffer.remaining() < AssistantRagChunkTexts.ENTRY_BYTES) {
+                    drain(channel, buffer);
+                }
+                buffer.putLong(offset);
+                buffer.putInt(length);
+                offset += Math.max(0, length);
+            }
+            drain(channel, buffer);
+            for (AssistantRagChunk chunk : chunks) {
+                String text = chunk == null ? null : chunk.getText();
+                if (text != null) {
+                    ByteBuffer bytes = ByteBuffer.wrap(text.getBytes(StandardCharsets.UTF_8));
+                    while (bytes.hasRemaining()) {
+                        channel.write(bytes);
+                    }
+                }
+            }
+            channel.force(false);
+        }
+    }
+
+    private static void drain(FileChannel channel, ByteBuffer buffer) throws IOException {
+        ((Buffer) buffer).flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        ((Buffer) buffer).clear();
+    }
+
+    private static void writeMetadataSegment(Path path, AssistantRagIndex index, List<AssistantRagChunk> chunks,
+                                             int dimension, long generation) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path)))) {
+            out.writeInt(METADATA_MAGIC);
+            out.writeInt(METADATA_VERSION);
+            out.writeLong(generation);
+            out.writeInt(index.getVersion());
+            writeString(out, index.getEmbeddingModel());
+            writeDate(out, index.getCreatedAt());
+            writeDate(out, index.getUpdatedAt());
+            out.writeInt(dimension);
+
+            writeSnapshots(out, index.getBoardSnapshots());
+
+            out.writeInt(chunks.size());
+            for (AssistantRagChunk chunk : chunks) {
+                writeChunkMetadata(out, chunk, dimension, false);
+            }
+        }
+    }
+
+    private static boolean writeChunkMetadata(DataOutputStream out, AssistantRagChunk chunk, int dimension,
+                                              boolean inlineText) throws IOException {
+        AssistantRagChunk value = chunk == null ? new AssistantRagChunk() : chunk;
+        boolean hasVector = value.getVector() != null && value.getVector().length == dimension && dimension > 0;
+        out.writeBoolean(hasVector);
+        writeString(out, value.getId());
+        writeString(out, value.getBoardTitle());
+        out.writeInt(value.getPostNum());
+        writeString(out, value.getTitle());
+        writeDate(out, value.getRegDate());
+        writeString(out, value.getUrl());
+        out.writeInt(value.getChunkIndex());
+        out.writeLong(value.getContentHash() == AssistantRagContentHash.NONE && value.getText() != null
+                ? AssistantRagContentHash.of(value.getText())
+                : value.getContentHash());
+        if (inlineText) {
+            writeString(out, value.getText());
+        }
+        return hasVector;
+    }
+
+    private static AssistantRagChunk readChunkMetadata(DataInputStream in, boolean[] hasVector, int ordinal,
+                                                       boolean contentHash, boolean inlineText,
+                                                       Map<String, String> strings) throws IOException {
+        hasVector[ordinal] = in.readBoolean();
+        AssistantRagChunk chunk = new AssistantRagChunk();
+        chunk.setId(readString(in));
+        chunk.setBoardTitle(intern(strings, readString(in)));
+        chunk.setPostNum(in.readInt());
+        chunk.setTitle(intern(strings, readString(in)));
+        chunk.setRegDate(readDate(in));
+        chunk.setUrl(intern(strings, readString(in)));
+        chunk.setChunkIndex(in.readInt());
+        if (contentHash) {
+            chunk.setContentHash(in.readLong());
+        }
+        if (inlineText) {
+            chunk.setText(readString(in));
+        }
+        return chunk;
+    }
+
+    private static String intern(Map<String, String> strings, String value) {
+        if (value == null) {
+            return null;
+        }
+        String existing = strings.putIfAbsent(value, value);
+        return existing == null ? value : existing;
+    }
+
+    private static void writeSnapshots(DataOutputStream out, List<AssistantRagBoardSnapshot> boardSnapshots)
+            throws IOException {
+        List<AssistantRagBoardSnapshot> snapshots = boardSnapshots == null ? new ArrayList<>() : boardSnapshots;
+        out.writeInt(snapshots.size());
+        for (AssistantRagBoardSnapshot snapshot : snapshots) {
+            AssistantRagBoardSnapshot value = snapshot == null ? new AssistantRagBoardSnapshot() : snapshot;
+            writeString(out, value.getBoardTitle());
+            out.writeInt(value.getMaxPostNum());
+            writeDate(out, value.getMaxRegDate());
+            out.writeInt(value.getPostCount());
+        }
+    }
+
+    private static List<AssistantRagBoardSnapshot> readSnapshots(DataInputStream in) throws IOException {
+        int snapshotCount = in.readInt();
+        List<AssistantRagBoardSnapshot> snapshots = new ArrayList<>(snapshotCount);
+        for (int i = 0; i < snapshotCount; i += 1) {
+            AssistantRagBoardSnapshot snapshot = new AssistantRagBoardSnapshot();
+            snapshot.setBoardTitle(readString(in));
+            snapshot.setMaxPostNum(in.readInt());
+            snapshot.setMaxRegDate(readDate(in));
+            snapshot.setPostCount(in.readInt());
+            snapshots.add(snapshot);
+        }
+        return snapshots;
+    }
+
+    MappedIndex openMapped() throws IOException {
+        MappedIndex base = openMappedBase();
+        AssistantRagIndex index = base.getIndex();
+        List<AssistantRagDeltaSegment> segments = readSegments(AssistantRagDeltaSegment.baseIdOf(index));
+        if (segments.isEmpty()) {
+            return base;
+        }
+        AssistantRagDeltaSegment.Merged merged = AssistantRagDeltaSegment.merge(index.getChunks(), segments);
+        index.setChunks(merged.getChunks());
+        AssistantRagDeltaSegment.applyHeader(index, segments);
+        return new MappedIndex(index, base.vectors, base.dimension, base.hasVector, base.texts,
+                merged.getBaseOrdinals(), merged.getSegmentChunks());
+    }
+
+    MappedIndex openJsonStreaming() throws IOException {
+        AssistantRagJsonIndexReader.Result base = AssistantRagJsonIndexReader.read(objectMapper, getJsonPath());
+        AssistantRagIndex index = base.getIndex();
+        FloatBuffer vectors = FloatBuffer.wrap(base.getVectors());
+        List<AssistantRagDeltaSegment> segments = readSegments(AssistantRagDeltaSegment.baseIdOf(index));
+        if (segments.isEmpty()) {
+            return new MappedIndex(index, vectors, base.getDimension(), base.getHasVector(), null, null,
+                    new ArrayList<>());
+        }
+        AssistantRagDeltaSegment.Merged merged = AssistantRagDeltaSegment.merge(index.getChunks(), segments);
+        index.setChunks(merged.getChunks());
+        AssistantRagDeltaSegment.applyHeader(index, segments);
+        return new MappedIndex(index, vectors, base.getDimension(), base.getHasVector(), null,
+                merged.getBaseOrdinals(), merged.getSegmentChunks());
+    }
+
+    MappedIndex open(String format) throws IOException {
+        return FORMAT_BINARY.equals(format) ? openMapped() : openJsonStreaming();
+    }
+
+    private MappedIndex openMappedBase() throws IOException {
+        AssistantRagIndex index = new AssistantRagIndex();
+        long metadataGeneration;
+        int dimension;
+        boolean[] hasVector;
+        int metadataVersion;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(getMetadataPath())))) {
+            if (in.readInt() != METADATA_MAGIC) {
+                throw new IOException("Not a RAG metadata segment: " + getMetadataPath());
+            }
+            metadataVersion = in.readInt();
+            if (metadataVersion < BINARY_VERSION || metadataVersion > METADATA_VERSION) {
+                throw new IOException("Unsupported RAG metadata segment version: " + metadataVersion);
+            }
+            metadataGeneration = in.readLong();
+            index.setVersion(in.readInt());
+            index.setEmbeddingModel(readString(in));
+            index.setCreatedAt(readDate(in));
+            index.setUpdatedAt(readDate(in));
+            dimension = in.readInt();
+            index.setDimension(dimension);
+
+            index.setBoardSnapshots(readSnapshots(in));
+
+            int chunkCount = in.readInt();
+            hasVector = new boolean[chunkCount];
+            boolean contentHash = metadataVersion >= CONTENT_HASH_METADATA_VERSION;
+            boolean inlineText = metadataVersion < TEXT_SEGMENT_METADATA_VERSION;
+            Map<String, String> strings = new HashMap<>();
+            List<AssistantRagChunk> chunks = new ArrayList<>(chunkCount);
+            for (int i = 0; i < chunkCount; i += 1) {
+                chunks.add(readChunkMetadata(in, hasVector, i, contentHash, inlineText, strings));
+            }
+            index.setChunks(chunks);
+        }
+
+        MappedByteBuffer mapped;
+        try (FileChannel channel = FileChannel.open(getVectorPath(), StandardOpenOption.READ)) {
+            mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        mapped.order(ByteOrder.LITTLE_ENDIAN);
+        if (mapped.capacity() < VECTOR_HEADER_BYTES || mapped.getInt(0) != VECTOR_MAGIC) {
+            throw new IOException("Not a RAG vector segment: " + getVectorPath());
+        }
+        int vectorVersion = mapped.getInt(4);
+        int vectorDimension = mapped.getInt(8);
+        int vectorCount = mapped.getInt(12);
+        long vectorGeneration = mapped.getLong(16);
+        if (vectorVersion != BINARY_VERSION) {
+            throw new IOException("Unsupported RAG vector segment version: " + vectorVersion);
+        }
+        if (vectorGeneration != metadataGeneration || vectorCount != hasVector.length || vectorDimension != dimension) {
+            throw new IOException("RAG vector/metadata segments do not belong to the same write.");
+        }
+        long expectedBytes = VECTOR_HEADER_BYTES + (long) vectorCount * vectorDimension * Float.BYTES;
+        if (mapped.capacity() < expectedBytes) {
+            throw new IOException("RAG vector segment is truncated: " + getVectorPath());
+        }
+        ((Buffer) mapped).position(VECTOR_HEADER_BYTES);
+        FloatBuffer vectors = ((ByteBuffer) mapped).slice().order(ByteOrder.LITTLE_ENDIAN).asFloatBuffer();
+        AssistantRagChunkTexts texts = metadataVersion < TEXT_SEGMENT_METADATA_VERSION
+                ? null
+                : AssistantRagChunkTexts.open(getTextPath(), metadataVersion, metadataGeneration, hasVector.length);
+        return new MappedIndex(index, vectors, dimension, hasVector, texts, null, new ArrayList<>());
+    }
+
+    List<Path> listSegmentPaths() throws IOException {
+        Path dir = getJsonPath().toAbsolutePath().getParent();
+        List<Path> paths = new ArrayList<>();
+        if (dir == null || !Files.isDirectory(dir)) {
+            return paths;
+        }
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(dir, baseFileName() + ".*" + SEGMENT_EXTENSION)) {
+            for (Path path : stream) {
+                if (segmentSequence(path) > 0) {
+                    paths.add(path);
+                }
+            }
+        }
+        paths.sort((left, right) -> Integer.compare(segmentSequence(left), segmentSequence(right)));
+        return paths;
+    }
+
+    private int segmentSequence(Path path) {
+        String fileName = path.getFileName().toString();
+        String prefix = baseFileName() + ".";
+        if (!fileName.startsWith(prefix) || !fileName.endsWith(SEGMENT_EXTENSION)) {
+            return -1;
+        }
+        String digits = fileName.substring(prefix.length(), fileName.length() - SEGMENT_EXTENSION.length());
+        if (digits.isEmpty() || digits.length() > 9) {
+            return -1;
+        }
+        for (int i = 0; i < digits.length(); i += 1) {
+            if (!Character.isDigit(digits.charAt(i))) {
+                return -1;
+            }
+        }
+        return Integer.parseInt(digits);
+    }
+
+    int latestSegmentSequence() throws IOException {
+        List<Path> paths = listSegmentPaths();
+        return paths.isEmpty() ? 0 : segmentSequence(paths.get(paths.size() - 1));
+    }
+
+    // Segments of an older base (a reindex that crashed before deleting them) carry another baseId and are skipped.
+    List<AssistantRagDeltaSegment> readSegments(long baseId) throws IOException {
+        List<AssistantRagDeltaSegment> segments = new ArrayList<>();
+        for (Path path : listSegmentPaths()) {
+            AssistantRagDeltaSegment segment = readSegment(path);
+            if (segment.getBaseId() == baseId) {
+                segments.add(segment);
+            }
+        }
+        return segments;
+    }
+
+    int appendSegment(AssistantRagDeltaSegment delta) throws IOException {
+        int sequence = latestSegmentSequence() + 1;
+        Path segmentPath = getSegmentPath(sequence);
+        Path tempFile = createTempFile(segmentPath);
+        try {
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tempFile)))) {
+                writeSegment(out, delta, sequence);
+            }
+            moveIntoPlace(tempFile, segmentPath);
+        } finally {
+            deleteQuietly(tempFile);
+        }
+        return sequence;
+    }
+
+    void deleteSegments() throws IOException {
+        for (Path path : listSegmentPaths()) {
+            deleteQuietly(path);
+        }
+    }
+
+    private static void writeSegment(DataOutputStream out, AssistantRagDeltaSegment delta, int sequence)
+            throws IOException {
+        int dimension = delta.getDimension();
+        out.writeInt(SEGMENT_MAGIC);
+        out.writeInt(SEGMENT_VERSION);
+        out.writeInt(sequence);
+        out.writeLong(delta.getBaseId());
+        writeDate(out, delta.getUpdatedAt());
+        out.writeInt(dimension);
+        writeSnapshots(out, delta.getBoardSnapshots());
+        out.writeInt(delta.getTombstones().size());
+        for (String postKey : delta.getTombstones()) {
+            writeString(out, postKey);
+        }
+        out.writeInt(delta.getChunks().size());
+        for (AssistantRagChunk chunk : delta.getChunks()) {
+            if (writeChunkMetadata(out, chunk, dimension, true)) {
+                for (float value : chunk.getVector()) {
+                    out.writeFloat(value);
+                }
+            }
+        }
+    }
+
+    private static AssistantRagDeltaSegment readSegment(Path path) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            if (in.readInt() != SEGMENT_MAGIC) {
+                throw new IOException("Not a RAG delta segment: " + path);
+            }
+            int version = in.readInt();
+            if (version < BINARY_VERSION || version > SEGMENT_VERSION) {
+                throw new IOException("Unsupported RAG delta segment version: " + version);
+            }
+            int sequence = in.readInt();
+            long baseId = in.readLong();
+            Date updatedAt = readDate(in);
+            int dimension = in.readInt();
+            List<AssistantRagBoardSnapshot> snapshots = readSnapshots(in);
+            int tombstoneCount = in.readInt();
+            Set<String> tombstones = new LinkedHashSet<>();
+            for (int i = 0; i < tombstoneCount; i += 1) {
+                tombstones.add(readString(in));
+            }
+            int chunkCount = in.readInt();
+            boolean[] hasVector = new boolean[chunkCount];
+            Map<String, String> strings = new HashMap<>();
+            List<AssistantRagChunk> chunks = new ArrayList<>(chunkCount);
+            for (int i = 0; i < chunkCount; i += 1) {
+                AssistantRagChunk chunk = readChunkMetadata(in, hasVector, i, version >= SEGMENT_VERSION, true, strings);
+                if (hasVector[i]) {
+                    float[] vector = new float[dimension];
+                    for (int d = 0; d < dimension; d += 1) {
+                        vector[d] = in.readFloat();
+                    }
+                    chunk.setVector(vector);
+                }
+                chunks.add(chunk);
+            }
+            return new AssistantRagDeltaSegment(sequence, baseId, updatedAt, dimension, snapshots, tombstones, chunks);
+        }
+    }
+
+    StoredSignature readSignature() throws IOException {
+        Path path = getSignaturePath();
+        if (!Files.exists(path)) {
+            return null;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            if (in.readInt() != SIGNATURE_MAGIC) {
+                throw new IOException("Not a RAG signature file: " + path);
+            }
+            int version = in.readInt();
+            if (version != BINARY_VERSION) {
+                throw new IOException("Unsupported RAG signature version: " + version);
+            }
+            Date computedAt = readDate(in);
+            return new StoredSignature(computedAt, readSnapshots(in));
+        }
+    }
+
+    void writeSignature(Date computedAt, List<AssistantRagBoardSnapshot> snapshots) throws IOException {
+        Path path = getSignaturePath();
+        Path tempFile = createTempFile(path);
+        try {
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tempFile)))) {
+                out.writeInt(SIGNATURE_MAGIC);
+                out.writeInt(BINARY_VERSION);
+                writeDate(out, computedAt);
+                writeSnapshots(out, snapshots);
+            }
+            moveIntoPlace(tempFile, path);
+        } finally {
+            deleteQuietly(tempFile);
+        }
+    }
+
+    boolean graphExists() {
+        return Files.exists(getGraphPath());
+    }
+
+    long graphLastModifiedMillis() throws IOException {
+        return Files.getLastModifiedTime(getGraphPath()).toMillis();
+    }
+
+    AssistantRagHnswGraph.Persisted readGraph() throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(getGraphPath())))) {
+            return AssistantRagHnswGraph.readFrom(in);
+        }
+    }
+
+    void writeGraph(AssistantRagHnswGraph graph, List<String> nodeIds) throws IOException {
+        Path graphPath = getGraphPath();
+        Path tempFile = createTempFile(graphPath);
+        try {
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tempFile)))) {
+                graph.writeTo(out, nodeIds);
+            }
+            moveIntoPlace(tempFile, graphPath);
+        } finally {
+            deleteQuietly(tempFile);
+        }
+    }
+
+    void deleteGraph() {
+        deleteQuietly(getGraphPath());
+    }
+
+    private static Path createTempFile(Path target) throws IOException {
+        Path dir = target.getParent();
+        if (dir != null) {
+            Files.createDirectories(dir);
+        }
+        return Files.createTempFile(dir == null ? Paths.get(".") : dir, "rag-index-", ".tmp");
+    }
+
+    private static void moveIntoPlace(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (Exception ignored) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private static void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (Exception ignored) {
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void writeDate(DataOutputStream out, Date value) throws IOException {
+        out.writeLong(value == null ? NULL_DATE : value.getTime());
+    }
+
+    private static Date readDate(DataInputStream in) throws IOException {
+        long value = in.readLong();
+        return value == NULL_DATE ? null : new Date(value);
+    }
+
+    static final class MappedIndex {
+        private final AssistantRagIndex index;
+        private final FloatBuffer vectors;
+        private final int dimension;
+        private final boolean[] hasVector;
+        private final AssistantRagChunkTexts texts;
+        // Base row of each leading chunk after segments were applied; null when no segment applies (identity).
+        private final int[] baseRows;
+        // Chunks appended by delta segments, with heap vectors; they follow the base rows in the chunk list.
+        private final List<AssistantRagChunk> segmentChunks;
+
+        private final List<AssistantRagChunk> chunks;
+
+        private MappedIndex(AssistantRagIndex index, FloatBuffer vectors, int dimension, boolean[] hasVector,
+                            AssistantRagChunkTexts texts, int[] baseRows, List<AssistantRagChunk> segmentChunks) {
+            this.index = index;
+            this.chunks = index.getChunks();
+            this.vectors = vectors;
+            this.dimension = dimension;
+            this.hasVector = hasVector;
+            this.texts = texts;
+            this.baseRows = baseRows;
+            this.segmentChunks = segmentChunks;
+        }
+
+        AssistantRagIndex getIndex() {
+            return index;
+        }
+
+        FloatBuffer getVectors() {
+            return vectors;
+        }
+
+        int getDimension() {
+            return dimension;
+        }
+
+        boolean hasVector(int row) {
+            return row >= 0 && row < hasVector.length && hasVector[row];
+        }
+
+        boolean[] getRowHasVector() {
+            return hasVector;
+        }
+
+        AssistantRagChunkTexts getTexts() {
+            return texts;
+        }
+
+        int[] getBaseRows() {
+            return baseRows;
+        }
+
+        List<AssistantRagChunk> getSegmentChunks() {
+            return segmentChunks;
+        }
+
+        boolean hasVectorAt(int ordinal) {
+            int baseChunkCount = chunks.size() - segmentChunks.size();
+            if (ordinal >= baseChunkCount) {
+                float[] vector = segmentChunks.get(ordinal - baseChunkCount).getVector();
+                return vector != null && vector.length > 0;
+            }
+            return hasVector(baseRows == null ? ordinal : baseRows[ordinal]);
+        }
+
+        float[] vectorAt(int ordinal) {
+            int baseChunkCount = chunks.size() - segmentChunks.size();
+            if (ordinal >= baseChunkCount) {
+                return segmentChunks.get(ordinal - baseChunkCount).getVector();
+            }
+            int row = baseRows == null ? ordinal : baseRows[ordinal];
+            if (!hasVector(row)) {
+                return null;
+            }
+            float[] vector = new float[dimension];
+            FloatBuffer view = vectors.duplicate();
+            ((Buffer) view).position(row * dimension);
+            view.get(vector);
+            return vector;
+        }
+
+        String textAt(int ordinal) {
+            AssistantRagChunk chunk = chunks.get(ordinal);
+            if (chunk.getText() != null || texts == null || ordinal >= chunks.size() - segmentChunks.size()) {
+                return chunk.getText();
+            }
+            return texts.get(baseRows == null ? ordinal : baseRows[ordinal]);
+        }
+    }
+
+    static final class StoredSignature {
+        private final Date computedAt;
+        private final List<AssistantRagBoardSnapshot> snapshots;
+
+        private StoredSignature(Date computedAt, List<AssistantRagBoardSnapshot> snapshots) {
+            this.computedAt = computedAt;
+            this.snapshots = snapshots;
+        }
+
+        Date getComputedAt() {
+            return computedAt;
+        }
+
+        List<AssistantRagBoardSnapshot> getSnapshots() {
+            return snapshots;
+        }
+    }
+}
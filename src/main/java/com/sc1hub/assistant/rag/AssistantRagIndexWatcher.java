@@ -0,0 +1,43 @@
+package com.sc1hub.assistant.rag;
+
+import com.sc1hub.assistant.config.AssistantRagProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+@Slf4j
+public class AssistantRagIndexWatcher {
+
+    private final AssistantRagSearchService ragSearchService;
+    private final AssistantRagSignatureCache signatureCache;
+    private final AssistantRagProperties ragProperties;
+
+    public AssistantRagIndexWatcher(AssistantRagSearchService ragSearchService,
+                                    AssistantRagSignatureCache signatureCache,
+                                    AssistantRagProperties ragProperties) {
+        this.ragSearchService = ragSearchService;
+        this.signatureCache = signatureCache;
+        this.ragProperties = ragProperties;
+    }
+
+    @Scheduled(fixedDelayString = "${sc1hub.assistant.rag.reload.checkIntervalMillis:5000}")
+    @SuppressWarnings("unused")
+    public void reloadIfChanged() {
+        if (!ragProperties.isEnabled()) {
+            return;
+        }
+
+        try {
+            signatureCache.refreshIfStale();
+        } catch (Exception e) {
+            log.error("RAG 스냅샷 서명 갱신 실패", e);
+        }
+
+        try {
+            ragSearchService.reloadIfChanged();
+        } catch (Exception e) {
+            log.error("RAG 인덱스 변경 확인 실패", e);
+        }
+    }
+}
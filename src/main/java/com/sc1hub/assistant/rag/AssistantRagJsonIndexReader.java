@@ -0,0 +1,278 @@
+package com.sc1hub.assistant.rag;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationConfig;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+final class AssistantRagJsonIndexReader {
+
+    private static final String DATE_PATTERN = "yyyy-MM-dd HH:mm:ss";
+    private static final int ESTIMATED_BYTES_PER_FLOAT = 12;
+    private static final int MAX_ARRAY_LENGTH = Integer.MAX_VALUE - 8;
+
+    private final ObjectMapper objectMapper;
+    private final SimpleDateFormat dateFormat;
+    private final Map<String, String> strings = new HashMap<>();
+
+    private int dimension;
+    private int rowDimension = -1;
+    private float[] vectors = new float[0];
+    private boolean[] hasVector = new boolean[0];
+    private float[] scratch = new float[0];
+    private long estimatedFloats;
+
+    private AssistantRagJsonIndexReader(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        DeserializationConfig config = objectMapper.getDeserializationConfig();
+        this.dateFormat = new SimpleDateFormat(DATE_PATTERN, config.getLocale());
+        this.dateFormat.setTimeZone(config.getTimeZone());
+    }
+
+    static Result read(ObjectMapper objectMapper, Path path) throws IOException {
+        AssistantRagJsonIndexReader reader = new AssistantRagJsonIndexReader(objectMapper);
+        reader.estimatedFloats = Files.size(path) / ESTIMATED_BYTES_PER_FLOAT;
+        try (JsonParser parser = objectMapper.getFactory().createParser(path.toFile())) {
+            return reader.readIndex(parser);
+        }
+    }
+
+    private Result readIndex(JsonParser parser) throws IOException {
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            throw new IOException("RAG JSON index does not start with an object.");
+        }
+        AssistantRagIndex index = new AssistantRagIndex();
+        List<AssistantRagChunk> chunks = new ArrayList<>();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            JsonToken value = parser.nextToken();
+            switch (field) {
+                case "version":
+                    index.setVersion(parser.getValueAsInt());
+                    break;
+                case "embeddingModel":
+                    index.setEmbeddingModel(readString(parser));
+                    break;
+                case "createdAt":
+                    index.setCreatedAt(readDate(parser));
+                    break;
+                case "updatedAt":
+                    index.setUpdatedAt(readDate(parser));
+                    break;
+                case "dimension":
+                    dimension = parser.getValueAsInt();
+                    index.setDimension(dimension);
+                    break;
+                case "chunks":
+                    readChunks(parser, value, chunks);
+                    break;
+                case "boardSnapshots":
+                    index.setBoardSnapshots(readSnapshots(parser, value));
+                    break;
+                default:
+                    parser.skipChildren();
+                    break;
+            }
+        }
+        index.setChunks(chunks);
+
+        int count = chunks.size();
+        if (dimension > 0 && rowDimension >= 0 && rowDimension != dimension) {
+            // The header came after the chunks and disagrees with them: like the bound index, no vector counts.
+            return new Result(index, new float[0], dimension, new boolean[count]);
+        }
+        int resolvedDimension = dimension > 0 ? dimension : Math.max(0, rowDimension);
+        long used = (long) count * resolvedDimension;
+        if (vectors.length > used + used / 4) {
+            vectors = Arrays.copyOf(vectors, (int) used);
+        }
+        return new Result(index, vectors, resolvedDimension, Arrays.copyOf(hasVector, count));
+    }
+
+    private void readChunks(JsonParser parser, JsonToken value, List<AssistantRagChunk> chunks) throws IOException {
+        if (value != JsonToken.START_ARRAY) {
+            parser.skipChildren();
+            return;
+        }
+        while (parser.nextToken() == JsonToken.START_OBJECT) {
+            chunks.add(readChunk(parser, chunks.size()));
+        }
+    }
+
+    private AssistantRagChunk readChunk(JsonParser parser, int row) throws IOException {
+        AssistantRagChunk chunk = new AssistantRagChunk();
+        boolean vectorRead = false;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            JsonToken value = parser.nextToken();
+            switch (field) {
+                case "id":
+                    chunk.setId(readString(parser));
+                    break;
+                case "boardTitle":
+                    chunk.setBoardTitle(intern(readString(parser)));
+                    break;
+                case "postNum":
+                    chunk.setPostNum(parser.getValueAsInt());
+                    break;
+                case "title":
+                    chunk.setTitle(intern(readString(parser)));
+                    break;
+                case "regDate":
+                    chunk.setRegDate(readDate(parser));
+                    break;
+                case "url":
+                    chunk.setUrl(intern(readString(parser)));
+                    break;
+                case "chunkIndex":
+                    chunk.setChunkIndex(parser.getValueAsInt());
+                    break;
+                case "text":
+                    chunk.setText(readString(parser));
+                    break;
+                case "contentHash":
+                    chunk.setContentHash(parser.getValueAsLong());
+                    break;
+                case "vector":
+                    vectorRead = readVector(parser, value, row);
+                    break;
+                default:
+                    parser.skipChildren();
+                    break;
+            }
+        }
+        if (!vectorRead) {
+            ensureRows(row + 1);
+        }
+        return chunk;
+    }
+
+    private boolean readVector(JsonParser parser, JsonToken value, int row) throws IOException {
+        if (value != JsonToken.START_ARRAY) {
+            parser.skipChildren();
+            ensureRows(row + 1);
+            return false;
+        }
+        int length = 0;
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            if (length == scratch.length) {
+                scratch = Arrays.copyOf(scratch, Math.max(16, scratch.length * 2));
+            }
+            scratch[length] = parser.currentToken() == JsonToken.VALUE_NULL ? 0.0f : parser.getFloatValue();
+            length += 1;
+        }
+        if (rowDimension < 0 && length > 0) {
+            rowDimension = dimension > 0 ? dimension : length;
+        }
+        ensureRows(row + 1);
+        if (length == 0 || length != rowDimension) {
+            return false;
+        }
+        System.arraycopy(scratch, 0, vectors, row * rowDimension, length);
+        hasVector[row] = true;
+        return true;
+    }
+
+    private void ensureRows(int rows) throws IOException {
+        if (hasVector.length < rows) {
+            hasVector = Arrays.copyOf(hasVector, Math.max(rows, hasVector.length + (hasVector.length >> 1) + 16));
+        }
+        if (rowDimension <= 0) {
+            return;
+        }
+        long needed = (long) rows * rowDimension;
+        if (needed > MAX_ARRAY_LENGTH) {
+            throw new IOException("RAG JSON index has too many vector values: " + needed);
+        }
+        if (vectors.length >= needed) {
+            return;
+        }
+        long capacity = Math.max(needed, vectors.length == 0
+                ? Math.max(estimatedFloats, (long) rowDimension * 64)
+                : vectors.length + (vectors.length >> 1));
+        vectors = Arrays.copyOf(vectors, (int) Math.min(MAX_ARRAY_LENGTH, capacity));
+    }
+
+    private List<AssistantRagBoardSnapshot> readSnapshots(JsonParser parser, JsonToken value) throws IOException {
+        List<AssistantRagBoardSnapshot> snapshots = new ArrayList<>();
+        if (value != JsonToken.START_ARRAY) {
+            parser.skipChildren();
+            return snapshots;
+        }
+        while (parser.nextToken() == JsonToken.START_OBJECT) {
+            snapshots.add(objectMapper.readValue(parser, AssistantRagBoardSnapshot.class));
+        }
+        return snapshots;
+    }
+
+    private Date readDate(JsonParser parser) throws IOException {
+        JsonToken token = parser.currentToken();
+        if (token == JsonToken.VALUE_NUMBER_INT) {
+            return new Date(parser.getLongValue());
+        }
+        String text = readString(parser);
+        if (text == null || text.trim().isEmpty()) {
+            return null;
+        }
+        try {
+            return dateFormat.parse(text.trim());
+        } catch (ParseException e) {
+            throw new IOException("Invalid date in RAG JSON index: " + text, e);
+        }
+    }
+
+    private static String readString(JsonParser parser) throws IOException {
+        return parser.currentToken() == JsonToken.VALUE_NULL ? null : parser.getValueAsString();
+    }
+
+    private String intern(String value) {
+        if (value == null) {
+            return null;
+        }
+        String shared = strings.putIfAbsent(value, value);
+        return shared == null ? value : shared;
+    }
+
+    static final class Result {
+        private final AssistantRagIndex index;
+        private final float[] vectors;
+        private final int dimension;
+        private final boolean[] hasVector;
+
+        private Result(AssistantRagIndex index, float[] vectors, int dimension, boolean[] hasVector) {
+            this.index = index;
+            this.vectors = vectors;
+            this.dimension = dimension;
+            this.hasVector = hasVector;
+        }
+
+        AssistantRagIndex getIndex() {
+            return index;
+        }
+
+        // Row-major, row i at [i * dimension, (i + 1) * dimension); may be longer than chunkCount * dimension.
+        float[] getVectors() {
+            return vectors;
+        }
+
+        int getDimension() {
+            return dimension;
+        }
+
+        boolean[] getHasVector() {
+            return hasVector;
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package com.sc1hub.assistant.rag;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.IntFunction;
+import java.util.function.IntToDoubleFunction;
+
+final class AssistantRagKeywordIndex {
+
+    private final Map<String, Postings> postings;
+    private final int[] documentLengths;
+    private final double averageLength;
+    private final double k1;
+    private final double b;
+    private final long postingCount;
+
+    private AssistantRagKeywordIndex(Map<String, Postings> postings, int[] documentLengths, double averageLength,
+                                     double k1, double b, long postingCount) {
+        this.postings = postings;
+        this.documentLengths = documentLengths;
+        this.averageLength = averageLength;
+        this.k1 = k1;
+        this.b = b;
+        this.postingCount = postingCount;
+    }
+
+    static AssistantRagKeywordIndex build(int count, IntFunction<String> documents, double k1, double b) {
+        Map<String, PostingsBuilder> builders = new HashMap<>();
+        int[] documentLengths = new int[count];
+        long totalLength = 0L;
+        Map<String, int[]> frequencies = new HashMap<>();
+        for (int ordinal = 0; ordinal < count; ordinal += 1) {
+            frequencies.clear();
+            int length = 0;
+            for (String token : AssistantRagTokenizer.tokenize(documents.apply(ordinal))) {
+                frequencies.computeIfAbsent(token, ignored -> new int[1])[0] += 1;
+                length += 1;
+            }
+            documentLengths[ordinal] = length;
+            totalLength += length;
+            for (Map.Entry<String, int[]> entry : frequencies.entrySet()) {
+                builders.computeIfAbsent(entry.getKey(), ignored -> new PostingsBuilder())
+                        .add(ordinal, entry.getValue()[0]);
+            }
+        }
+
+        Map<String, Postings> postings = new HashMap<>(builders.size() * 4 / 3 + 1);
+        long postingCount = 0L;
+        for (Map.Entry<String, PostingsBuilder> entry : builders.entrySet()) {
+            Postings built = entry.getValue().build();
+            postings.put(entry.getKey(), built);
+            postingCount += built.ordinals.length;
+        }
+        double averageLength = count == 0 ? 0.0 : (double) totalLength / count;
+        return new AssistantRagKeywordIndex(postings, documentLengths, averageLength, k1, b, postingCount);
+    }
+
+    int size() {
+        return documentLengths.length;
+    }
+
+    int termCount() {
+        return postings.size();
+    }
+
+    long postingCount() {
+        return postingCount;
+    }
+
+    long memoryBytes() {
+        return postingCount * (Integer.BYTES * 2L) + (long) documentLengths.length * Integer.BYTES;
+    }
+
+    AssistantRagTopK search(Collection<String> queries, int k, IntToDoubleFunction weights) {
+        Set<String> terms = new LinkedHashSet<>();
+        if (queries != null) {
+            for (String query : queries) {
+                terms.addAll(AssistantRagTokenizer.tokenize(query));
+            }
+        }
+        AssistantRagTopK topK = new AssistantRagTopK(k);
+        if (terms.isEmpty() || documentLengths.length == 0) {
+            return topK;
+        }
+
+        double[] scores = new double[documentLengths.length];
+        int[] touched = new int[Math.min(documentLengths.length, 64)];
+        int touchedCount = 0;
+        int documentCount = documentLengths.length;
+        for (String term : terms) {
+            Postings termPostings = postings.get(term);
+            if (termPostings == null) {
+                continue;
+            }
+            int documentFrequency = termPostings.ordinals.length;
+            double idf = Math.log(1.0 + (documentCount - documentFrequency + 0.5) / (documentFrequency + 0.5));
+            for (int i = 0; i < documentFrequency; i += 1) {
+                int ordinal = termPostings.ordinals[i];
+                int frequency = termPostings.frequencies[i];
+                double norm = averageLength <= 0.0 ? 1.0 : documentLengths[ordinal] / averageLength;
+                double termScore = idf * frequency * (k1 + 1.0) / (frequency + k1 * (1.0 - b + b * norm));
+                if (scores[ordinal] == 0.0) {
+                    if (touchedCount == touched.length) {
+                        touched = grow(touched, documentCount);
+                    }
+                    touched[touchedCount] = ordinal;
+                    touchedCount += 1;
+                }
+                scores[ordinal] += termScore;
+            }
+        }
+
+        for (int i = 0; i < touchedCount; i += 1) {
+            int ordinal = touched[i];
+            double weight = weights == null ? 1.0 : weights.applyAsDouble(ordinal);
+            if (weight > 0.0) {
+                topK.offer(scores[ordinal] * weight, ordinal);
+            }
+        }
+        return topK;
+    }
+
+    private static int[] grow(int[] values, int limit) {
+        int[] grown = new int[(int) Math.min(limit, values.length * 2L)];
+        System.arraycopy(values, 0, grown, 0, values.length);
+        return grown;
+    }
+
+    private static final class Postings {
+        private final int[] ordinals;
+        private final int[] frequencies;
+
+        private Postings(int[] ordinals, int[] frequencies) {
+            this.ordinals = ordinals;
+            this.frequencies = frequencies;
+        }
+    }
+
+    private static final class PostingsBuilder {
+        private int[] ordinals = new int[2];
+        private int[] frequencies = new int[2];
+        private int size;
+
+        private void add(int ordinal, int frequency) {
+            if (size == ordinals.length) {
+                int[] grownOrdinals = new int[size * 2];
+                int[] grownFrequencies = new int[size * 2];
+                System.arraycopy(ordinals, 0, grownOrdinals, 0, size);
+                System.arraycopy(frequencies, 0, grownFrequencies, 0, size);
+                ordinals = grownOrdinals;
+                frequencies = grownFrequencies;
+            }
+            ordinals[size] = ordinal;
+            frequencies[size] = frequency;
+            size += 1;
+        }
+
+        private Postings build() {
+            int[] trimmedOrdinals = new int[size];
+            int[] trimmedFrequencies = new int[size];
+            System.arraycopy(ordinals, 0, trimmedOrdinals, 0, size);
+            System.arraycopy(frequencies, 0, trimmedFrequencies, 0, size);
+            return new Postings(trimmedOrdinals, trimmedFrequencies);
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.sc1hub.assistant.rag;
+
+// Open addressing with linear probing over parallel arrays; keys are not boxed. Not thread-safe.
+final class AssistantRagLongMap<V> {
+
+    private static final int MIN_CAPACITY = 16;
+
+    private long[] keys;
+    private Object[] values;
+    private int size;
+    private int mask;
+
+    AssistantRagLongMap(int expectedSize) {
+        int capacity = MIN_CAPACITY;
+        while (capacity < (long) Math.max(0, expectedSize) * 2 && capacity < (1 << 30)) {
+            capacity <<= 1;
+        }
+        allocate(capacity);
+    }
+
+    int size() {
+        return size;
+    }
+
+    @SuppressWarnings("unchecked")
+    V get(long key) {
+        for (int slot = slot(key); ; slot = (slot + 1) & mask) {
+            Object value = values[slot];
+            if (value == null) {
+                return null;
+            }
+            if (keys[slot] == key) {
+                return (V) value;
+            }
+        }
+    }
+
+    V put(long key, V value) {
+        return insert(key, value, true);
+    }
+
+    V putIfAbsent(long key, V value) {
+        return insert(key, value, false);
+    }
+
+    @SuppressWarnings("unchecked")
+    private V insert(long key, V value, boolean replace) {
+        if (value == null) {
+            throw new IllegalArgumentException("AssistantRagLongMap does not accept null values.");
+        }
+        for (int slot = slot(key); ; slot = (slot + 1) & mask) {
+            Object existing = values[slot];
+            if (existing == null) {
+                keys[slot] = key;
+                values[slot] = value;
+                size += 1;
+                if (size * 2 > values.length) {
+                    resize();
+                }
+                return null;
+            }
+            if (keys[slot] == key) {
+                if (replace) {
+                    values[slot] = value;
+                }
+                return (V) existing;
+            }
+        }
+    }
+
+    private void resize() {
+        long[] oldKeys = keys;
+        Object[] oldValues = values;
+        allocate(oldValues.length << 1);
+        for (int i = 0; i < oldValues.length; i += 1) {
+            if (oldValues[i] == null) {
+                continue;
+            }
+            int slot = slot(oldKeys[i]);
+            while (values[slot] != null) {
+                slot = (slot + 1) & mask;
+            }
+            keys[slot] = oldKeys[i];
+            values[slot] = oldValues[i];
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new Object[capacity];
+        mask = capacity - 1;
+    }
+
+    private int slot(long key) {
+        long mixed = key * 0x9E3779B97F4A7C15L;
+        return (int) (mixed ^ (mixed >>> 32)) & mask;
+    }
+}
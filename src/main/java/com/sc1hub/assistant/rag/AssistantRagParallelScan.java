@@ -0,0 +1,64 @@
+package com.sc1hub.assistant.rag;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+final class AssistantRagParallelScan {
+
+    private static final int LEAVES_PER_WORKER = 4;
+
+    interface RangeScorer {
+        void score(int from, int to, AssistantRagTopK topK);
+    }
+
+    private AssistantRagParallelScan() {
+    }
+
+    static AssistantRagTopK scan(ForkJoinPool pool, int count, int capacity, int minSegmentSize, RangeScorer scorer) {
+        int leaves = Math.max(1, pool.getParallelism() * LEAVES_PER_WORKER);
+        int segmentSize = Math.max(Math.max(1, minSegmentSize), (count + leaves - 1) / leaves);
+        return pool.invoke(new RangeTask(scorer, 0, count, capacity, segmentSize));
+    }
+
+    static AssistantRagTopK scanSequential(int count, int capacity, RangeScorer scorer) {
+        AssistantRagTopK topK = new AssistantRagTopK(capacity);
+        scorer.score(0, count, topK);
+        return topK;
+    }
+
+    private static final class RangeTask extends RecursiveTask<AssistantRagTopK> {
+        private final RangeScorer scorer;
+        private final int from;
+        private final int to;
+        private final int capacity;
+        private final int segmentSize;
+
+        private RangeTask(RangeScorer scorer, int from, int to, int capacity, int segmentSize) {
+            this.scorer = scorer;
+            this.from = from;
+            this.to = to;
+            this.capacity = capacity;
+            this.segmentSize = segmentSize;
+        }
+
+        @Override
+        protected AssistantRagTopK compute() {
+            if (to - from <= segmentSize) {
+                return scanSequentialRange();
+            }
+            int middle = (from + to) >>> 1;
+            RangeTask left = new RangeTask(scorer, from, middle, capacity, segmentSize);
+            RangeTask right = new RangeTask(scorer, middle, to, capacity, segmentSize);
+            left.fork();
+            AssistantRagTopK merged = right.compute();
+            merged.mergeFrom(left.join());
+            return merged;
+        }
+
+        private AssistantRagTopK scanSequentialRange() {
+            AssistantRagTopK topK = new AssistantRagTopK(capacity);
+            scorer.score(from, to, topK);
+            return topK;
+        }
+    }
+}
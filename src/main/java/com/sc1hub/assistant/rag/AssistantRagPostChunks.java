@@ -0,0 +1,123 @@
+package com.sc1hub.assistant.rag;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+final class AssistantRagPostChunks {
+
+    private final Map<String, List<AssistantRagChunk>> chunksByPost = new LinkedHashMap<>();
+    // Posts changed since group(), with their fingerprint before the first change; absent posts map to null.
+    private final Map<String, Long> touchedBefore = new LinkedHashMap<>();
+    private int chunkCount;
+
+    private AssistantRagPostChunks() {
+    }
+
+    static AssistantRagPostChunks group(List<AssistantRagChunk> chunks) {
+        AssistantRagPostChunks posts = new AssistantRagPostChunks();
+        if (chunks == null) {
+            return posts;
+        }
+        for (AssistantRagChunk chunk : chunks) {
+            if (chunk == null) {
+                continue;
+            }
+            posts.chunksByPost.computeIfAbsent(
+                    AssistantRagDeltaSegment.postKey(chunk.getBoardTitle(), chunk.getPostNum()),
+                    ignored -> new ArrayList<>()).add(chunk);
+            posts.chunkCount += 1;
+        }
+        return posts;
+    }
+
+    int size() {
+        return chunkCount;
+    }
+
+    List<AssistantRagChunk> get(String boardTitle, int postNum) {
+        return chunksByPost.get(AssistantRagDeltaSegment.postKey(boardTitle, postNum));
+    }
+
+    int removePost(String boardTitle, int postNum) {
+        String key = AssistantRagDeltaSegment.postKey(boardTitle, postNum);
+        touch(key);
+        List<AssistantRagChunk> removed = chunksByPost.remove(key);
+        if (removed == null) {
+            return 0;
+        }
+        chunkCount -= removed.size();
+        return removed.size();
+    }
+
+    void replacePost(String boardTitle, int postNum, List<AssistantRagChunk> chunks) {
+        removePost(boardTitle, postNum);
+        if (chunks == null || chunks.isEmpty()) {
+            return;
+        }
+        chunksByPost.put(AssistantRagDeltaSegment.postKey(boardTitle, postNum), new ArrayList<>(chunks));
+        chunkCount += chunks.size();
+    }
+
+    void retainBoards(Set<String> allowedBoards) {
+        Iterator<Map.Entry<String, List<AssistantRagChunk>>> entries = chunksByPost.entrySet().iterator();
+        while (entries.hasNext()) {
+            Map.Entry<String, List<AssistantRagChunk>> entry = entries.next();
+            if (allowedBoards == null || !allowedBoards.contains(boardOf(entry.getKey()))) {
+                touch(entry.getKey());
+                chunkCount -= entry.getValue().size();
+                entries.remove();
+            }
+        }
+    }
+
+    Map<Integer, List<AssistantRagChunk>> postsOfBoard(String boardTitle) {
+        String board = boardOf(AssistantRagDeltaSegment.postKey(boardTitle, 0));
+        Map<Integer, List<AssistantRagChunk>> posts = new LinkedHashMap<>();
+        for (Map.Entry<String, List<AssistantRagChunk>> entry : chunksByPost.entrySet()) {
+            if (board.equals(boardOf(entry.getKey()))) {
+                posts.put(entry.getValue().get(0).getPostNum(), entry.getValue());
+            }
+        }
+        return posts;
+    }
+
+    List<AssistantRagChunk> toChunks() {
+        List<AssistantRagChunk> chunks = new ArrayList<>(chunkCount);
+        for (List<AssistantRagChunk> postChunks : chunksByPost.values()) {
+            chunks.addAll(postChunks);
+        }
+        return chunks;
+    }
+
+    AssistantRagDeltaSegment touchedDelta(AssistantRagIndex header) {
+        Map<String, Long> before = new HashMap<>();
+        List<AssistantRagChunk> current = new ArrayList<>();
+        for (Map.Entry<String, Long> entry : touchedBefore.entrySet()) {
+            if (entry.getValue() != null) {
+                before.put(entry.getKey(), entry.getValue());
+            }
+            List<AssistantRagChunk> postChunks = chunksByPost.get(entry.getKey());
+            if (postChunks != null) {
+                current.addAll(postChunks);
+            }
+        }
+        return AssistantRagDeltaSegment.diff(before, current, header);
+    }
+
+    private void touch(String key) {
+        if (touchedBefore.containsKey(key)) {
+            return;
+        }
+        List<AssistantRagChunk> postChunks = chunksByPost.get(key);
+        touchedBefore.put(key, postChunks == null ? null : AssistantRagDeltaSegment.fingerprintPosts(postChunks).get(key));
+    }
+
+    private static String boardOf(String postKey) {
+        return postKey.substring(0, postKey.lastIndexOf(':'));
+    }
+}
@@ -0,0 +1,66 @@
+package com.sc1hub.assistant.rag;
+
+final class AssistantRagPrefixVectors {
+
+    private final int count;
+    private final int dimension;
+    private final float[] vectors;
+    private final boolean[] present;
+
+    private AssistantRagPrefixVectors(int count, int dimension) {
+        this.count = count;
+        this.dimension = dimension;
+        this.vectors = new float[count * dimension];
+        this.present = new boolean[count];
+    }
+
+    static AssistantRagPrefixVectors build(int count, int fullDimension, int dimension,
+                                           AssistantRagQuantizedVectors.VectorReader reader) {
+        if (dimension <= 0 || dimension > fullDimension) {
+            throw new IllegalArgumentException("prefix dimension must be in 1.." + fullDimension + ": " + dimension);
+        }
+        AssistantRagPrefixVectors prefix = new AssistantRagPrefixVectors(count, dimension);
+        float[] scratch = new float[fullDimension];
+        for (int ordinal = 0; ordinal < count; ordinal += 1) {
+            if (!reader.read(ordinal, scratch)) {
+                continue;
+            }
+            double norm = Math.sqrt(AssistantRagVectorLayout.dot(scratch, scratch, 0, dimension));
+            if (norm == 0.0) {
+                continue;
+            }
+            int base = ordinal * dimension;
+            for (int d = 0; d < dimension; d += 1) {
+                prefix.vectors[base + d] = (float) (scratch[d] / norm);
+            }
+            prefix.present[ordinal] = true;
+        }
+        return prefix;
+    }
+
+    float[] prefixQuery(float[] unitQuery) {
+        float[] truncated = new float[dimension];
+        System.arraycopy(unitQuery, 0, truncated, 0, dimension);
+        return AssistantRagVectorLayout.normalize(truncated);
+    }
+
+    boolean hasVector(int ordinal) {
+        return present[ordinal];
+    }
+
+    double cosine(float[] prefixQuery, int ordinal) {
+        return AssistantRagVectorLayout.dot(prefixQuery, vectors, ordinal * dimension, dimension);
+    }
+
+    int size() {
+        return count;
+    }
+
+    int getDimension() {
+        return dimension;
+    }
+
+    long memoryBytes() {
+        return (long) vectors.length * Float.BYTES + count;
+    }
+}
@@ -0,0 +1,124 @@
+package com.sc1hub.assistant.rag;
+
+// One unsigned byte per dimension plus a per-chunk scale and offset: value ~= offset + scale * code.
+final class AssistantRagQuantizedVectors {
+
+    private static final int LEVELS = 255;
+
+    private final int count;
+    private final int dimension;
+    private final byte[] codes;
+    private final float[] scales;
+    private final float[] offsets;
+    private final int[] codeSums;
+    private final boolean[] present;
+
+    private AssistantRagQuantizedVectors(int count, int dimension) {
+        this.count = count;
+        this.dimension = dimension;
+        this.codes = new byte[count * dimension];
+        this.scales = new float[count];
+        this.offsets = new float[count];
+        this.codeSums = new int[count];
+        this.present = new boolean[count];
+    }
+
+    interface VectorReader {
+        boolean read(int ordinal, float[] target);
+    }
+
+    static AssistantRagQuantizedVectors build(int count, int dimension, VectorReader reader) {
+        AssistantRagQuantizedVectors quantized = new AssistantRagQuantizedVectors(count, dimension);
+        float[] scratch = new float[dimension];
+        for (int ordinal = 0; ordinal < count; ordinal += 1) {
+            if (!reader.read(ordinal, scratch)) {
+                continue;
+            }
+            quantized.present[ordinal] = true;
+            float min = Float.POSITIVE_INFINITY;
+            float max = Float.NEGATIVE_INFINITY;
+            for (float value : scratch) {
+                min = Math.min(min, value);
+                max = Math.max(max, value);
+            }
+            float scale = max > min ? (max - min) / LEVELS : 0.0f;
+            quantized.offsets[ordinal] = min;
+            quantized.scales[ordinal] = scale;
+            int base = ordinal * dimension;
+            int sum = 0;
+            for (int d = 0; d < dimension; d += 1) {
+                int code = quantize(scratch[d], min, scale);
+                quantized.codes[base + d] = (byte) code;
+                sum += code;
+            }
+            quantized.codeSums[ordinal] = sum;
+        }
+        return quantized;
+    }
+
+    private static int quantize(float value, float offset, float scale) {
+        if (scale == 0.0f) {
+            return 0;
+        }
+        int code = Math.round((value - offset) / scale);
+        return Math.max(0, Math.min(LEVELS, code));
+    }
+
+    Query quantizeQuery(float[] vector) {
+        float min = Float.POSITIVE_INFINITY;
+        float max = Float.NEGATIVE_INFINITY;
+        for (float value : vector) {
+            min = Math.min(min, value);
+            max = Math.max(max, value);
+        }
+        float scale = max > min ? (max - min) / LEVELS : 0.0f;
+        int[] queryCodes = new int[vector.length];
+        int sum = 0;
+        for (int d = 0; d < vector.length; d += 1) {
+            queryCodes[d] = quantize(vector[d], min, scale);
+            sum += queryCodes[d];
+        }
+        return new Query(queryCodes, scale, min, sum);
+    }
+
+    boolean hasVector(int ordinal) {
+        return present[ordinal];
+    }
+
+    int size() {
+        return count;
+    }
+
+    double dot(int ordinal, Query query) {
+        int base = ordinal * dimension;
+        int[] queryCodes = query.codes;
+        int integerDot = 0;
+        for (int d = 0; d < dimension; d += 1) {
+            integerDot += (codes[base + d] & 0xFF) * queryCodes[d];
+        }
+        double chunkScale = scales[ordinal];
+        double chunkOffset = offsets[ordinal];
+        return dimension * chunkOffset * query.offset
+                + chunkOffset * query.scale * query.codeSum
+                + query.offset * chunkScale * codeSums[ordinal]
+                + chunkScale * query.scale * integerDot;
+    }
+
+    long memoryBytes() {
+        return (long) codes.length + (long) count * (Float.BYTES * 2 + Integer.BYTES + 1);
+    }
+
+    static final class Query {
+        private final int[] codes;
+        private final double scale;
+        private final double offset;
+        private final int codeSum;
+
+        private Query(int[] codes, double scale, double offset, int codeSum) {
+            this.codes = codes;
+            this.scale = scale;
+            this.offset = offset;
+            this.codeSum = codeSum;
+        }
+    }
+}
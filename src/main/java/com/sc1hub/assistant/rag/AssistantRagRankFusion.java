@@ -0,0 +1,35 @@
+package com.sc1hub.assistant.rag;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+final class AssistantRagRankFusion {
+
+    private AssistantRagRankFusion() {
+    }
+
+    static AssistantRagTopK fuse(int[] vectorRanking, double vectorWeight,
+                                 int[] keywordRanking, double keywordWeight,
+                                 int rrfK, int k) {
+        Map<Integer, double[]> fused = new LinkedHashMap<>();
+        accumulate(fused, vectorRanking, vectorWeight, rrfK);
+        accumulate(fused, keywordRanking, keywordWeight, rrfK);
+        AssistantRagTopK topK = new AssistantRagTopK(k);
+        for (Map.Entry<Integer, double[]> entry : fused.entrySet()) {
+            if (entry.getValue()[0] > 0.0) {
+                topK.offer(entry.getValue()[0], entry.getKey());
+            }
+        }
+        return topK;
+    }
+
+    private static void accumulate(Map<Integer, double[]> fused, int[] ranking, double weight, int rrfK) {
+        if (ranking == null || weight <= 0.0) {
+            return;
+        }
+        int k = Math.max(0, rrfK);
+        for (int rank = 0; rank < ranking.length; rank += 1) {
+            fused.computeIfAbsent(ranking[rank], ignored -> new double[1])[0] += weight / (k + rank + 1.0);
+        }
+    }
+}
@@ -0,0 +1,408 @@
+package com.sc1hub.assistant.rag;
+
+import com.sc1hub.assistant.config.AssistantRagProperties;
+import com.sc1hub.assistant.gemini.GeminiException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.task.TaskExecutor;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+@Slf4j
+final class AssistantRagReindexPipeline<T, P> {
+
+    private static final long POLL_MILLIS = 100L;
+    private static final List<String> END_OF_BATCHES = new ArrayList<>();
+
+    private final TaskExecutor executor;
+    private final int chunkThreads;
+    private final int embeddingConcurrency;
+    private final int queueCapacity;
+    private final int batchSize;
+    private final Progress progress;
+
+    AssistantRagReindexPipeline(TaskExecutor executor, AssistantRagProperties.PipelineProperties properties,
+                                int batchSize, Progress progress) {
+        this.executor = executor;
+        this.chunkThreads = Math.max(1, properties.getChunkThreads());
+        this.embeddingConcurrency = Math.max(1, properties.getEmbeddingConcurrency());
+        this.queueCapacity = Math.max(1, properties.getQueueCapacity());
+        this.batchSize = Math.max(1, batchSize);
+        this.progress = progress;
+    }
+
+    Result<P> run(Fetcher<T> fetcher,
+                  Function<T, P> chunker,
+                  Function<P, List<String>> textsToEmbed,
+                  Embedder embedder) throws IOException {
+        BlockingQueue<Sequenced<T>> posts = new ArrayBlockingQueue<>(queueCapacity);
+        BlockingQueue<List<String>> batches = new ArrayBlockingQueue<>(queueCapacity);
+        progress.attach(posts, batches);
+
+        Map<Integer, P> preparedBySequence = new ConcurrentHashMap<>();
+        Map<String, float[]> vectorsByText = new ConcurrentHashMap<>();
+        BatchCollector collector = new BatchCollector(batchSize, progress);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        AtomicInteger sequence = new AtomicInteger();
+        CountDownLatch chunkersDone = new CountDownLatch(chunkThreads);
+        CountDownLatch allDone = new CountDownLatch(1 + chunkThreads + embeddingConcurrency);
+
+        start(failure, () -> {
+            try {
+                fetcher.fetch(post -> {
+                    if (!put(posts, new Sequenced<>(sequence.getAndIncrement(), post), failure)) {
+                        throw new InterruptedException("RAG reindex pipeline stopped.");
+                    }
+                    progress.postsFetched.incrementAndGet();
+                });
+            } finally {
+                for (int i = 0; i < chunkThreads; i += 1) {
+                    put(posts, Sequenced.<T>end(), failure);
+                }
+            }
+        }, allDone);
+
+        for (int i = 0; i < chunkThreads; i += 1) {
+            start(failure, () -> {
+                while (true) {
+                    Sequenced<T> next = take(posts, failure);
+                    if (next == null || next.isEnd()) {
+                        return;
+                    }
+                    P prepared = chunker.apply(next.item);
+                    progress.postsChunked.incrementAndGet();
+                    if (prepared == null) {
+                        continue;
+                    }
+                    preparedBySequence.put(next.sequence, prepared);
+                    for (String text : textsToEmbed.apply(prepared)) {
+                        List<String> fullBatch = collector.add(text);
+                        if (fullBatch != null && !put(batches, fullBatch, failure)) {
+                            return;
+                        }
+                    }
+                }
+            }, chunkersDone, allDone);
+        }
+
+        for (int i = 0; i < embeddingConcurrency; i += 1) {
+            start(failure, () -> {
+                while (true) {
+                    List<String> batch = take(batches, failure);
+                    if (batch == null || batch == END_OF_BATCHES) {
+                        return;
+                    }
+                    List<float[]> vectors = embedder.embed(batch);
+                    for (int t = 0; t < batch.size(); t += 1) {
+                        vectorsByText.put(batch.get(t), vectors.get(t));
+                    }
+                    progress.embeddingCalls.incrementAndGet();
+                    progress.textsEmbedded.addAndGet(batch.size());
+                }
+            }, allDone);
+        }
+
+        boolean interrupted = !awaitUninterruptibly(chunkersDone, failure);
+        try {
+            List<String> lastBatch = collector.drain();
+            if (!lastBatch.isEmpty()) {
+                put(batches, lastBatch, failure);
+            }
+            for (int i = 0; i < embeddingConcurrency; i += 1) {
+                put(batches, END_OF_BATCHES, failure);
+            }
+        } catch (InterruptedException e) {
+            interrupted = true;
+            failure.compareAndSet(null, e);
+        }
+        interrupted |= !awaitUninterruptibly(allDone, failure);
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+
+        Throwable error = failure.get();
+        if (error instanceof IOException) {
+            throw (IOException) error;
+        }
+        if (error instanceof RuntimeException) {
+            throw (RuntimeException) error;
+        }
+        if (error instanceof Error) {
+            throw (Error) error;
+        }
+        if (error != null) {
+            throw new IllegalStateException("RAG reindex pipeline failed.", error);
+        }
+
+        List<P> prepared = new ArrayList<>(preparedBySequence.size());
+        for (int i = 0; i < sequence.get(); i += 1) {
+            P item = preparedBySequence.get(i);
+            if (item != null) {
+                prepared.add(item);
+            }
+        }
+        return new Result<>(prepared, vectorsByText);
+    }
+
+    private void start(AtomicReference<Throwable> failure, Stage stage, CountDownLatch... latches) {
+        Runnable task = () -> {
+            try {
+                stage.run();
+            } catch (Throwable t) {
+                failure.compareAndSet(null, t);
+            } finally {
+                for (CountDownLatch latch : latches) {
+                    latch.countDown();
+                }
+            }
+        };
+        try {
+            executor.execute(task);
+        } catch (RuntimeException e) {
+            failure.compareAndSet(null, e);
+            for (CountDownLatch latch : latches) {
+                latch.countDown();
+            }
+        }
+    }
+
+    // Blocks until there is room, giving up once another stage has failed.
+    private static <E> boolean put(BlockingQueue<E> queue, E item, AtomicReference<Throwable> failure)
+            throws InterruptedException {
+        while (failure.get() == null) {
+            if (queue.offer(item, POLL_MILLIS, TimeUnit.MILLISECONDS)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static <E> E take(BlockingQueue<E> queue, AtomicReference<Throwable> failure) throws InterruptedException {
+        while (failure.get() == null) {
+            E item = queue.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+            if (item != null) {
+                return item;
+            }
+        }
+        return null;
+    }
+
+    // Returns false when the calling thread was interrupted; the pipeline is stopped and awaited anyway.
+    private static boolean awaitUninterruptibly(CountDownLatch latch, AtomicReference<Throwable> failure) {
+        boolean interrupted = false;
+        while (true) {
+            try {
+                latch.await();
+                return !interrupted;
+            } catch (InterruptedException e) {
+                interrupted = true;
+                failure.compareAndSet(null, e);
+            }
+        }
+    }
+
+    interface Fetcher<T> {
+        void fetch(Sink<T> sink) throws Exception;
+    }
+
+    interface Sink<T> {
+        void accept(T item) throws InterruptedException;
+    }
+
+    interface Embedder {
+        List<float[]> embed(List<String> texts) throws InterruptedException;
+    }
+
+    private interface Stage {
+        void run() throws Exception;
+    }
+
+    private static final class Sequenced<T> {
+        private static final Sequenced<?> END = new Sequenced<>(-1, null);
+
+        private final int sequence;
+        private final T item;
+
+        private Sequenced(int sequence, T item) {
+            this.sequence = sequence;
+            this.item = item;
+        }
+
+        @SuppressWarnings("unchecked")
+        private static <T> Sequenced<T> end() {
+            return (Sequenced<T>) END;
+        }
+
+        private boolean isEnd() {
+            return this == END;
+        }
+    }
+
+    private static final class BatchCollector {
+        private final int batchSize;
+        private final Progress progress;
+        private final Set<String> requestedTexts = new HashSet<>();
+        private List<String> current = new ArrayList<>();
+
+        private BatchCollector(int batchSize, Progress progress) {
+            this.batchSize = batchSize;
+            this.progress = progress;
+        }
+
+        private synchronized List<String> add(String text) {
+            if (!requestedTexts.add(text)) {
+                return null;
+            }
+            progress.textsQueued.incrementAndGet();
+            current.add(text);
+            if (current.size() < batchSize) {
+                return null;
+            }
+            List<String> full = current;
+            current = new ArrayList<>();
+            return full;
+        }
+
+        private synchronized List<String> drain() {
+            List<String> rest = current;
+            current = new ArrayList<>();
+            return rest;
+        }
+    }
+
+    static final class Result<P> {
+        private final List<P> prepared;
+        private final Map<String, float[]> vectorsByText;
+
+        private Result(List<P> prepared, Map<String, float[]> vectorsByText) {
+            this.prepared = prepared;
+            this.vectorsByText = vectorsByText;
+        }
+
+        List<P> getPrepared() {
+            return prepared;
+        }
+
+        Map<String, float[]> getVectorsByText() {
+            return vectorsByText;
+        }
+    }
+
+    static final class Progress {
+        private final AtomicInteger postsFetched = new AtomicInteger();
+        private final AtomicInteger postsChunked = new AtomicInteger();
+        private final AtomicInteger textsQueued = new AtomicInteger();
+        private final AtomicInteger textsEmbedded = new AtomicInteger();
+        private final AtomicInteger embeddingCalls = new AtomicInteger();
+        private final AtomicInteger rateLimitRetries = new AtomicInteger();
+        private volatile BlockingQueue<?> postQueue;
+        private volatile BlockingQueue<?> batchQueue;
+
+        private void attach(BlockingQueue<?> postQueue, BlockingQueue<?> batchQueue) {
+            this.postQueue = postQueue;
+            this.batchQueue = batchQueue;
+        }
+
+        int getPostsFetched() {
+            return postsFetched.get();
+        }
+
+        int getPostsChunked() {
+            return postsChunked.get();
+        }
+
+        int getTextsQueued() {
+            return textsQueued.get();
+        }
+
+        int getTextsEmbedded() {
+            return textsEmbedded.get();
+        }
+
+        int getEmbeddingCalls() {
+            return embeddingCalls.get();
+        }
+
+        int getRateLimitRetries() {
+            return rateLimitRetries.get();
+        }
+
+        int getPostQueueDepth() {
+            BlockingQueue<?> queue = postQueue;
+            return queue == null ? 0 : queue.size();
+        }
+
+        int getBatchQueueDepth() {
+            BlockingQueue<?> queue = batchQueue;
+            return queue == null ? 0 : queue.size();
+        }
+    }
+
+    static final class RateLimitGate {
+        private final long initialBackoffMillis;
+        private final long maxBackoffMillis;
+        private final int maxRetries;
+        private final Progress progress;
+        private long resumeAtMillis;
+
+        RateLimitGate(AssistantRagProperties.PipelineProperties properties, Progress progress) {
+            this.initialBackoffMillis = Math.max(1L, properties.getInitialBackoffMillis());
+            this.maxBackoffMillis = Math.max(this.initialBackoffMillis, properties.getMaxBackoffMillis());
+            this.maxRetries = Math.max(0, properties.getMaxRateLimitRetries());
+            this.progress = progress;
+        }
+
+        <R> R call(Supplier<R> request) throws InterruptedException {
+            long backoffMillis = initialBackoffMillis;
+            for (int attempt = 0; ; attempt += 1) {
+                waitUntilResumed();
+                try {
+                    return request.get();
+                } catch (GeminiException e) {
+                    if (!e.isRateLimited() || attempt >= maxRetries) {
+                        throw e;
+                    }
+                    long retryAfterMillis = e.getRetryAfterMillis();
+                    long delayMillis = retryAfterMillis >= 0 ? Math.min(retryAfterMillis, maxBackoffMillis) : backoffMillis;
+                    pushBack(delayMillis);
+                    backoffMillis = Math.min(backoffMillis * 2, maxBackoffMillis);
+                    if (progress != null) {
+                        progress.rateLimitRetries.incrementAndGet();
+                    }
+                    log.warn("Gemini 임베딩 요청 한도 초과(429). {}ms 후 다시 시도합니다. attempt={}/{}",
+                            delayMillis, attempt + 1, maxRetries);
+                }
+            }
+        }
+
+        private void waitUntilResumed() throws InterruptedException {
+            while (true) {
+                long waitMillis;
+                synchronized (this) {
+                    waitMillis = resumeAtMillis - System.currentTimeMillis();
+                }
+                if (waitMillis <= 0) {
+                    return;
+                }
+                Thread.sleep(waitMillis);
+            }
+        }
+
+        private synchronized void pushBack(long delayMillis) {
+            resumeAtMillis = Math.max(resumeAtMillis, System.currentTimeMillis() + delayMillis);
+        }
+    }
+}
@@ -1,53 +1,53 @@
 package com.sc1hub.assistant.rag;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.sc1hub.assistant.config.AssistantProperties;
 import com.sc1hub.assistant.config.AssistantRagProperties;
 import com.sc1hub.assistant.config.GeminiProperties;
 import com.sc1hub.assistant.gemini.GeminiEmbeddingClient;
-import com.sc1hub.board.dto.BoardListDTO;
-import com.sc1hub.board.mapper.BoardMapper;
-import com.sc1hub.strategytip.mapper.StrategyTipMapper;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
 
 import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
 import java.util.ArrayList;
-import java.util.Comparator;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
-import java.util.PriorityQueue;
+import java.util.Objects;
 import java.util.Set;
-import java.util.regex.Pattern;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntPredicate;
 
 @Service
 @Slf4j
 public class AssistantRagSearchService {
 
-    private static final Pattern SAFE_BOARD_TITLE = Pattern.compile("^[a-z0-9_]+$");
-    private static final int SIGNATURE_SAMPLE_LIMIT = 5;
     private static final int QUERY_EMBEDDING_CACHE_SIZE = 200;
     private static final int QUERY_CACHE_MAX_CHARS = 8000;
 
     private final AssistantRagProperties ragProperties;
     private final GeminiProperties geminiProperties;
     private final GeminiEmbeddingClient embeddingClient;
-    private final ObjectMapper objectMapper;
-    private final BoardMapper boardMapper;
-    private final StrategyTipMapper strategyTipMapper;
-    private final AssistantProperties assistantProperties;
+    private final AssistantRagSignatureCache signatureCache;
+    private final AssistantRagIndexStore indexStore;
 
+    // Swapped by reloadIfChanged(); search and status only ever read this snapshot.
     private volatile LoadedIndex loadedIndex;
+    private SourceStamp failedSource;
+    private final AtomicLong quantizedSearches = new AtomicLong();
+    private final AtomicLong prefixSearches = new AtomicLong();
+    private final AtomicLong localEmbeddingSearches = new AtomicLong();
+    private final AtomicLong graphSearches = new AtomicLong();
     private final Map<String, float[]> queryEmbeddingCache = new LinkedHashMap<String, float[]>(QUERY_EMBEDDING_CACHE_SIZE, 0.75f, true) {
         @Override
         protected boolean removeEldestEntry(Map.Entry<String, float[]> eldest) {
@@ -59,28 +59,29 @@ public class AssistantRagSearchService {
                                     GeminiProperties geminiProperties,
                                     GeminiEmbeddingClient embeddingClient,
                                     ObjectMapper objectMapper,
-                                    BoardMapper boardMapper,
-                                    StrategyTipMapper strategyTipMapper,
-                                    AssistantProperties assistantProperties) {
+                                    AssistantRagSignatureCache signatureCache) {
         this.ragProperties = ragProperties;
         this.geminiProperties = geminiProperties;
         this.embeddingClient = embeddingClient;
-        this.objectMapper = objectMapper;
-        this.boardMapper = boardMapper;
-        this.strategyTipMapper = strategyTipMapper;
-        this.assistantProperties = assistantProperties;
+        this.signatureCache = signatureCache;
+        this.indexStore = new AssistantRagIndexStore(ragProperties, objectMapper);
     }
 
     public boolean isEnabled() {
         return ragProperties.isEnabled();
     }
 
+    public boolean isHybridReady() {
+        LoadedIndex index = loadedIndex;
+        return ragProperties.isEnabled() && ragProperties.getHybrid().isEnabled() && index != null && index.keywords != null;
+    }
+
     public Status getStatus() {
         if (!ragProperties.isEnabled()) {
             return Status.disabled(ragProperties.getIndexPath());
         }
 
-        LoadedIndex index = getOrLoadIndex();
+        LoadedIndex index = loadedIndex;
         if (index == null) {
             return Status.notReady(ragProperties.getIndexPath());
         }
@@ -91,11 +92,23 @@ public class AssistantRagSearchService {
                 index.index.getUpdatedAt(),
                 index.index.getChunks().size(),
                 index.index.getDimension(),
-                index.signatureCheck
+                index.format,
+                signatureCache.check(index.index),
+                QuantizationStatus.from(index, ragProperties.getQuantization().getRescoreCandidates()),
+                PrefixStatus.from(index, ragProperties.getPrefix().getRescoreCandidates()),
+                LocalEmbeddingStatus.from(index, localEmbeddingSearches.get()),
+                HnswStatus.from(index, ragProperties.getHnsw().getEfSearch()),
+                HybridStatus.from(index, ragProperties.getHybrid()),
+                index.reloadMillis,
+                index.swappedAt
         );
     }
 
     public List<Match> search(String query, int topK) {
+        return search(query, topK, BoardFilter.all());
+    }
+
+    public List<Match> search(String query, int topK, BoardFilter filter) {
         if (!ragProperties.isEnabled()) {
             return new ArrayList<>();
         }
@@ -103,58 +116,450 @@ public class AssistantRagSearchService {
             return new ArrayList<>();
         }
 
-        LoadedIndex index = getOrLoadIndex();
+        LoadedIndex index = loadedIndex;
         if (index == null || index.index.getChunks() == null || index.index.getChunks().isEmpty()) {
             return new ArrayList<>();
         }
 
-        float[] queryVector = getQueryEmbedding(query);
-        if (queryVector.length == 0) {
+        float[] unitQuery;
+        try {
+            unitQuery = unitQuery(index, query);
+        } catch (RuntimeException e) {
+            if (index.localVectors == null) {
+                throw e;
+            }
+            log.warn("RAG 질의 임베딩 실패. 로컬 n-gram 벡터로 검색합니다. error={}", e.getMessage());
+            unitQuery = null;
+        }
+        if (unitQuery == null && index.localVectors == null) {
             return new ArrayList<>();
         }
 
-        if (index.index.getDimension() > 0 && queryVector.length != index.index.getDimension()) {
+        double[] partitionWeights = (filter == null ? BoardFilter.all() : filter).resolve(index.partitions);
+        if (partitionWeights != null && admittedChunks(index, partitionWeights) == 0) {
             return new ArrayList<>();
         }
 
-        double queryNorm = norm(queryVector);
-        if (queryNorm == 0.0) {
+        int k = Math.max(1, topK);
+        int candidates = withDuplicateSlack(index, k);
+        if (unitQuery == null) {
+            return withTexts(index, collapseDuplicates(index, scanLocal(index, query, candidates, partitionWeights), k));
+        }
+        return withTexts(index, collapseDuplicates(index, rank(index, unitQuery, candidates, partitionWeights), k));
+    }
+
+    public List<Match> searchHybrid(String query, Collection<String> keywords, int topK, BoardFilter filter) {
+        LoadedIndex index = loadedIndex;
+        if (!ragProperties.isEnabled() || !ragProperties.getHybrid().isEnabled() || index == null || index.keywords == null) {
+            return search(query, topK, filter);
+        }
+        if (!StringUtils.hasText(query) || index.index.getChunks().isEmpty()) {
             return new ArrayList<>();
         }
 
+        double[] partitionWeights = (filter == null ? BoardFilter.all() : filter).resolve(index.partitions);
+        if (partitionWeights != null && admittedChunks(index, partitionWeights) == 0) {
+            return new ArrayList<>();
+        }
+
+        AssistantRagProperties.HybridProperties hybrid = ragProperties.getHybrid();
         int k = Math.max(1, topK);
-        PriorityQueue<Match> heap = new PriorityQueue<>(Comparator.comparingDouble(Match::getScore));
+        int candidateCount = Math.max(k, hybrid.getCandidates());
 
-        List<AssistantRagChunk> chunks = index.index.getChunks();
-        for (int i = 0; i < chunks.size(); i += 1) {
-            AssistantRagChunk chunk = chunks.get(i);
-            if (chunk == null || chunk.getVector() == null) {
-                continue;
+        float[] unitQuery = null;
+        try {
+            unitQuery = unitQuery(index, query);
+        } catch (Exception e) {
+            log.warn("RAG 질의 임베딩 실패. 하이브리드 검색을 임베딩 없이 진행합니다. error={}", e.toString());
+            log.debug("RAG 질의 임베딩 실패 상세", e);
+        }
+        List<Match> vectorMatches = Collections.emptyList();
+        if (unitQuery != null) {
+            vectorMatches = collapseDuplicates(index,
+                    rank(index, unitQuery, withDuplicateSlack(index, candidateCount), partitionWeights), candidateCount);
+        } else if (index.localVectors != null) {
+            vectorMatches = collapseDuplicates(index,
+                    scanLocal(index, query, withDuplicateSlack(index, candidateCount), partitionWeights), candidateCount);
+        }
+        int[] vectorRanking = new int[vectorMatches.size()];
+        Map<Integer, Double> localSimilarityByOrdinal = new HashMap<>();
+        for (int i = 0; i < vectorRanking.length; i += 1) {
+            Match match = vectorMatches.get(i);
+            vectorRanking[i] = match.ordinal;
+            if (match.localEmbedding) {
+                localSimilarityByOrdinal.put(match.ordinal, match.similarity);
             }
-            float[] vector = chunk.getVector();
-            if (vector.length == 0 || vector.length != queryVector.length) {
-                continue;
+        }
+        boolean localEmbedding = unitQuery == null && index.localVectors != null;
+
+        List<String> keywordQueries = new ArrayList<>();
+        keywordQueries.add(query);
+        if (keywords != null) {
+            keywordQueries.addAll(keywords);
+        }
+        AssistantRagTopK keywordTopK = index.keywords.search(keywordQueries, candidateCount, partitionWeights == null
+                ? null
+                : ordinal -> weightOf(index, partitionWeights, ordinal));
+        double[] keywordScores = new double[keywordTopK.size()];
+        int[] keywordRanking = new int[keywordTopK.size()];
+        keywordTopK.drainDescending(keywordScores, keywordRanking);
+        Map<Integer, Double> keywordScoreByOrdinal = new HashMap<>();
+        for (int i = 0; i < keywordRanking.length; i += 1) {
+            keywordScoreByOrdinal.put(keywordRanking[i],
+                    keywordScores[i] / weightOf(index, partitionWeights, keywordRanking[i]));
+        }
+
+        AssistantRagTopK fused = AssistantRagRankFusion.fuse(vectorRanking, hybrid.getVectorWeight(),
+                keywordRanking, hybrid.getKeywordWeight(), hybrid.getRrfK(), withDuplicateSlack(index, k));
+        double[] scores = new double[fused.size()];
+        int[] ordinals = new int[fused.size()];
+        int count = fused.drainDescending(scores, ordinals);
+        List<Match> results = new ArrayList<>(count);
+        for (int i = 0; i < count; i += 1) {
+            int ordinal = ordinals[i];
+            double similarity = 0.0;
+            if (unitQuery != null && index.vectors.hasVector(ordinal)) {
+                similarity = index.vectors.cosine(unitQuery, ordinal);
+            } else if (localEmbedding && index.localVectors.hasVector(ordinal)) {
+                Double localSimilarity = localSimilarityByOrdinal.get(ordinal);
+                similarity = localSimilarity == null ? 0.0 : localSimilarity;
+            }
+            Double keywordScore = keywordScoreByOrdinal.get(ordinal);
+            results.add(new Match(index.index.getChunks().get(ordinal), scores[i], similarity,
+                    keywordScore == null ? 0.0 : keywordScore, ordinal, localEmbedding));
+        }
+        return withTexts(index, collapseDuplicates(index, results, k));
+    }
+
+    public List<Match> searchKeywords(Collection<String> keywords, int topK, BoardFilter filter) {
+        LoadedIndex index = loadedIndex;
+        if (!ragProperties.isEnabled() || index == null || index.keywords == null || keywords == null || keywords.isEmpty()) {
+            return new ArrayList<>();
+        }
+        double[] partitionWeights = (filter == null ? BoardFilter.all() : filter).resolve(index.partitions);
+        if (partitionWeights != null && admittedChunks(index, partitionWeights) == 0) {
+            return new ArrayList<>();
+        }
+        int k = Math.max(1, topK);
+        AssistantRagTopK ranked = index.keywords.search(keywords, withDuplicateSlack(index, k), partitionWeights == null
+                ? null
+                : ordinal -> weightOf(index, partitionWeights, ordinal));
+        double[] scores = new double[ranked.size()];
+        int[] ordinals = new int[ranked.size()];
+        int count = ranked.drainDescending(scores, ordinals);
+        List<Match> results = new ArrayList<>(count);
+        for (int i = 0; i < count; i += 1) {
+            double weight = weightOf(index, partitionWeights, ordinals[i]);
+            results.add(new Match(index.index.getChunks().get(ordinals[i]), scores[i], 0.0, scores[i] / weight, ordinals[i]));
+        }
+        return withTexts(index, collapseDuplicates(index, results, k));
+    }
+
+    public int warmUp(int searches) {
+        LoadedIndex index = loadedIndex;
+        if (!ragProperties.isEnabled() || index == null || searches <= 0 || index.vectors.size() == 0) {
+            return 0;
+        }
+        int count = index.vectors.size();
+        int topK = Math.max(1, ragProperties.getSearchTopChunks());
+        float[] query = new float[index.vectors.getDimension()];
+        int run = 0;
+        for (int i = 0; i < searches; i += 1) {
+            int ordinal = (int) ((long) i * count / searches);
+            if (index.vectors.readUnit(ordinal, query)) {
+                withTexts(index, rank(index, query, topK, null));
+                run += 1;
+            }
+            AssistantRagChunk chunk = index.index.getChunks().get(ordinal);
+            if (index.keywords != null && chunk != null && StringUtils.hasText(chunk.getTitle())) {
+                index.keywords.search(Collections.singletonList(chunk.getTitle()), topK, null);
+            }
+        }
+        return run;
+    }
+
+    private List<Match> scanLocal(LoadedIndex index, String query, int k, double[] partitionWeights) {
+        localEmbeddingSearches.incrementAndGet();
+        float[] localQuery = index.localEmbedder.embedText(normalizeQuery(query));
+        if (localQuery.length == 0) {
+            return new ArrayList<>();
+        }
+        AssistantRagQuantizedVectors local = index.localVectors;
+        AssistantRagQuantizedVectors.Query quantizedQuery = local.quantizeQuery(localQuery);
+        AssistantRagTopK topK = scanPartitions(index, partitionWeights, k,
+                ordinal -> local.hasVector(ordinal) ? local.dot(ordinal, quantizedQuery) : Double.NaN);
+        double[] scores = new double[topK.size()];
+        int[] ordinals = new int[topK.size()];
+        int count = topK.drainDescending(scores, ordinals);
+        List<Match> results = new ArrayList<>(count);
+        for (int i = 0; i < count; i += 1) {
+            double weight = weightOf(index, partitionWeights, ordinals[i]);
+            results.add(new Match(index.index.getChunks().get(ordinals[i]), scores[i], scores[i] / weight, 0.0,
+                    ordinals[i], true));
+        }
+        return results;
+    }
+
+    private float[] unitQuery(LoadedIndex index, String query) {
+        float[] queryVector = getQueryEmbedding(query);
+        if (queryVector.length == 0 || queryVector.length != index.vectors.getDimension()) {
+            return null;
+        }
+        return AssistantRagVectorLayout.normalize(queryVector);
+    }
+
+    private List<Match> rank(LoadedIndex index, float[] unitQuery, int k, double[] partitionWeights) {
+        if (index.graph != null) {
+            List<Match> results = searchGraph(index, unitQuery, k, partitionWeights);
+            if (results == null) {
+                return scanExact(index, unitQuery, k, partitionWeights);
+            }
+            if (shouldSampleRecall(graphSearches, ragProperties.getHnsw().getRecallSampleEvery())) {
+                index.graphRecall.record(recallAtK(scanExact(index, unitQuery, k, partitionWeights), results));
             }
-            double denom = queryNorm * index.norms[i];
-            if (denom == 0.0) {
+            return results;
+        }
+        if (index.quantized != null) {
+            List<Match> results = scanQuantized(index, unitQuery, k, partitionWeights);
+            if (shouldSampleRecall(quantizedSearches, ragProperties.getQuantization().getRecallSampleEvery())) {
+                index.quantizedRecall.record(recallAtK(scanExact(index, unitQuery, k, partitionWeights), results));
+            }
+            return results;
+        }
+        if (index.prefix != null) {
+            List<Match> results = scanPrefix(index, unitQuery, k, partitionWeights);
+            if (shouldSampleRecall(prefixSearches, ragProperties.getPrefix().getRecallSampleEvery())) {
+                index.prefixRecall.record(recallAtK(scanExact(index, unitQuery, k, partitionWeights), results));
+            }
+            return results;
+        }
+        return scanExact(index, unitQuery, k, partitionWeights);
+    }
+
+    private static int withDuplicateSlack(LoadedIndex index, int k) {
+        return index.duplicates == null ? k : index.duplicates.candidatesFor(k);
+    }
+
+    private static List<Match> collapseDuplicates(LoadedIndex index, List<Match> matches, int k) {
+        if (index.duplicates == null) {
+            return matches.size() <= k ? matches : new ArrayList<>(matches.subList(0, k));
+        }
+        Set<Integer> groups = new HashSet<>();
+        List<Match> results = new ArrayList<>(Math.min(k, matches.size()));
+        for (Match match : matches) {
+            if (results.size() >= k) {
+                break;
+            }
+            if (match.ordinal < 0 || groups.add(index.duplicates.groupOf(match.ordinal))) {
+                results.add(match);
+            }
+        }
+        return results;
+    }
+
+    // Base chunks of a mapped index keep no text; final matches read theirs into a copy.
+    private static List<Match> withTexts(LoadedIndex index, List<Match> matches) {
+        if (index.texts == null) {
+            return matches;
+        }
+        List<Match> results = new ArrayList<>(matches.size());
+        for (Match match : matches) {
+            AssistantRagChunk chunk = match.chunk;
+            if (chunk == null || chunk.getText() != null || match.ordinal < 0 || match.ordinal >= index.baseChunkCount) {
+                results.add(match);
                 continue;
             }
-            double score = dot(queryVector, vector) / denom;
-            if (heap.size() < k) {
-                heap.add(new Match(chunk, score));
+            int row = index.baseRows == null ? match.ordinal : index.baseRows[match.ordinal];
+            results.add(new Match(withText(chunk, index.texts.get(row)), match.score, match.similarity,
+                    match.keywordScore, match.ordinal, match.localEmbedding));
+        }
+        return results;
+    }
+
+    private static AssistantRagChunk withText(AssistantRagChunk chunk, String text) {
+        AssistantRagChunk copy = new AssistantRagChunk();
+        copy.setId(chunk.getId());
+        copy.setBoardTitle(chunk.getBoardTitle());
+        copy.setPostNum(chunk.getPostNum());
+        copy.setTitle(chunk.getTitle());
+        copy.setRegDate(chunk.getRegDate());
+        copy.setUrl(chunk.getUrl());
+        copy.setChunkIndex(chunk.getChunkIndex());
+        copy.setText(text);
+        copy.setContentHash(chunk.getContentHash());
+        return copy;
+    }
+
+    private List<Match> scanExact(LoadedIndex index, float[] unitQuery, int k, double[] partitionWeights) {
+        AssistantRagVectorLayout vectors = index.vectors;
+        AssistantRagTopK topK = scanPartitions(index, partitionWeights, k,
+                ordinal -> vectors.hasVector(ordinal) ? vectors.cosine(unitQuery, ordinal) : Double.NaN);
+        return toMatches(index, topK, partitionWeights);
+    }
+
+    private interface OrdinalScorer {
+        double score(int ordinal);
+    }
+
+    private AssistantRagTopK scanPartitions(LoadedIndex index, double[] partitionWeights, int capacity,
+                                            OrdinalScorer scorer) {
+        if (partitionWeights == null) {
+            return scanRange(index.vectors.size(), capacity, (from, to, heap) -> {
+                for (int i = from; i < to; i += 1) {
+                    double score = scorer.score(i);
+                    if (!Double.isNaN(score)) {
+                        heap.offer(score, i);
+                    }
+                }
+            });
+        }
+        AssistantRagBoardPartitions partitions = index.partitions;
+        int[] ordinals = partitions.ordinals();
+        AssistantRagTopK merged = new AssistantRagTopK(capacity);
+        for (int p = 0; p < partitions.partitionCount(); p += 1) {
+            double weight = partitionWeights[p];
+            if (weight <= 0.0) {
                 continue;
             }
-            if (score > heap.peek().score) {
-                heap.poll();
-                heap.add(new Match(chunk, score));
+            int start = partitions.start(p);
+            merged.mergeFrom(scanRange(partitions.size(p), capacity, (from, to, heap) -> {
+                for (int position = start + from; position < start + to; position += 1) {
+                    int ordinal = ordinals[position];
+                    double score = scorer.score(ordinal);
+                    if (!Double.isNaN(score)) {
+                        heap.offer(score * weight, ordinal);
+                    }
+                }
+            }));
+        }
+        return merged;
+    }
+
+    private static int admittedChunks(LoadedIndex index, double[] partitionWeights) {
+        int admitted = 0;
+        for (int p = 0; p < partitionWeights.length; p += 1) {
+            if (partitionWeights[p] > 0.0) {
+                admitted += index.partitions.size(p);
             }
         }
+        return admitted;
+    }
+
+    private AssistantRagTopK scanRange(int count, int capacity, AssistantRagParallelScan.RangeScorer scorer) {
+        AssistantRagProperties.ParallelScanProperties parallelScan = ragProperties.getParallelScan();
+        if (parallelScan == null || !parallelScan.isEnabled() || count < Math.max(1, parallelScan.getMinChunks())
+                || ForkJoinPool.getCommonPoolParallelism() <= 1) {
+            return AssistantRagParallelScan.scanSequential(count, capacity, scorer);
+        }
+        return AssistantRagParallelScan.scan(
+                ForkJoinPool.commonPool(), count, capacity, parallelScan.getMinSegmentChunks(), scorer);
+    }
+
+    private List<Match> scanQuantized(LoadedIndex index, float[] unitQuery, int k, double[] partitionWeights) {
+        AssistantRagQuantizedVectors quantized = index.quantized;
+        AssistantRagQuantizedVectors.Query quantizedQuery = quantized.quantizeQuery(unitQuery);
+        int candidateCount = Math.max(k, ragProperties.getQuantization().getRescoreCandidates());
+        AssistantRagTopK candidates = scanPartitions(index, partitionWeights, candidateCount,
+                ordinal -> quantized.hasVector(ordinal) ? quantized.dot(ordinal, quantizedQuery) : Double.NaN);
+        return rescore(index, unitQuery, k, partitionWeights, candidates);
+    }
+
+    private List<Match> scanPrefix(LoadedIndex index, float[] unitQuery, int k, double[] partitionWeights) {
+        AssistantRagPrefixVectors prefix = index.prefix;
+        float[] prefixQuery = prefix.prefixQuery(unitQuery);
+        if (prefixQuery == null) {
+            return scanExact(index, unitQuery, k, partitionWeights);
+        }
+        int candidateCount = Math.max(k, ragProperties.getPrefix().getRescoreCandidates());
+        AssistantRagTopK candidates = scanPartitions(index, partitionWeights, candidateCount,
+                ordinal -> prefix.hasVector(ordinal) ? prefix.cosine(prefixQuery, ordinal) : Double.NaN);
+        return rescore(index, unitQuery, k, partitionWeights, candidates);
+    }
+
+    private static List<Match> rescore(LoadedIndex index, float[] unitQuery, int k, double[] partitionWeights,
+                                       AssistantRagTopK candidates) {
+        double[] candidateScores = new double[candidates.size()];
+        int[] candidateOrdinals = new int[candidates.size()];
+        int count = candidates.drainDescending(candidateScores, candidateOrdinals);
+        AssistantRagTopK rescored = new AssistantRagTopK(k);
+        for (int i = 0; i < count; i += 1) {
+            int ordinal = candidateOrdinals[i];
+            rescored.offer(index.vectors.cosine(unitQuery, ordinal) * weightOf(index, partitionWeights, ordinal), ordinal);
+        }
+        return toMatches(index, rescored, partitionWeights);
+    }
 
-        List<Match> results = new ArrayList<>(heap);
-        results.sort((a, b) -> Double.compare(b.score, a.score));
+    private List<Match> searchGraph(LoadedIndex index, float[] unitQuery, int k, double[] partitionWeights) {
+        AssistantRagVectorLayout vectors = index.vectors;
+        int ef = Math.max(k, ragProperties.getHnsw().getEfSearch());
+        IntPredicate accept = partitionWeights == null
+                ? null
+                : ordinal -> partitionWeights[index.partitions.partitionOf(ordinal)] > 0.0;
+        int maxVisits = partitionWeights == null ? Integer.MAX_VALUE : admittedChunks(index, partitionWeights);
+        AssistantRagTopK candidates = index.graph.searchFiltered(
+                ordinal -> vectors.hasVector(ordinal) ? vectors.cosine(unitQuery, ordinal) : Double.NaN,
+                ef,
+                accept,
+                maxVisits);
+        if (candidates == null) {
+            return null;
+        }
+        if (partitionWeights == null) {
+            AssistantRagTopK topK = new AssistantRagTopK(k);
+            topK.mergeFrom(candidates);
+            return toMatches(index, topK, null);
+        }
+        double[] scores = new double[candidates.size()];
+        int[] ordinals = new int[candidates.size()];
+        int count = candidates.drainDescending(scores, ordinals);
+        AssistantRagTopK weighted = new AssistantRagTopK(k);
+        for (int i = 0; i < count; i += 1) {
+            weighted.offer(scores[i] * weightOf(index, partitionWeights, ordinals[i]), ordinals[i]);
+        }
+        return toMatches(index, weighted, partitionWeights);
+    }
+
+    private static double weightOf(LoadedIndex index, double[] partitionWeights, int ordinal) {
+        return partitionWeights == null ? 1.0 : partitionWeights[index.partitions.partitionOf(ordinal)];
+    }
+
+    private static List<Match> toMatches(LoadedIndex index, AssistantRagTopK topK, double[] partitionWeights) {
+        double[] scores = new double[topK.size()];
+        int[] ordinals = new int[topK.size()];
+        int count = topK.drainDescending(scores, ordinals);
+        List<Match> results = new ArrayList<>(count);
+        for (int i = 0; i < count; i += 1) {
+            double weight = weightOf(index, partitionWeights, ordinals[i]);
+            results.add(new Match(index.index.getChunks().get(ordinals[i]), scores[i], scores[i] / weight, 0.0, ordinals[i]));
+        }
         return results;
     }
 
+    private static boolean shouldSampleRecall(AtomicLong counter, int every) {
+        if (every <= 0) {
+            return false;
+        }
+        long searches = counter.incrementAndGet();
+        return searches == 1 || searches % every == 0;
+    }
+
+    private static double recallAtK(List<Match> expected, List<Match> actual) {
+        if (expected.isEmpty()) {
+            return 1.0;
+        }
+        Set<AssistantRagChunk> expectedChunks = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (Match match : expected) {
+            expectedChunks.add(match.chunk);
+        }
+        int hits = 0;
+        for (Match match : actual) {
+            if (expectedChunks.contains(match.chunk)) {
+                hits += 1;
+            }
+        }
+        return (double) hits / expected.size();
+    }
+
     private float[] getQueryEmbedding(String query) {
         String normalized = normalizeQuery(query);
         if (!StringUtils.hasText(normalized)) {
@@ -189,237 +594,242 @@ public class AssistantRagSearchService {
         return normalized.substring(0, QUERY_CACHE_MAX_CHARS);
     }
 
-    private LoadedIndex getOrLoadIndex() {
-        LoadedIndex current = loadedIndex;
-        Path indexPath = Paths.get(ragProperties.getIndexPath());
-
-        if (!Files.exists(indexPath)) {
-            return null;
+    public synchronized boolean reloadIfChanged() {
+        if (!ragProperties.isEnabled()) {
+            return false;
         }
-
-        long lastModified;
-        try {
-            lastModified = Files.getLastModifiedTime(indexPath).toMillis();
-        } catch (IOException e) {
-            return null;
+        SourceStamp source = readSourceStamp();
+        LoadedIndex current = loadedIndex;
+        if (source == null) {
+            if (current == null) {
+                return false;
+            }
+            log.info("RAG 인덱스 파일이 없어 로드된 인덱스를 내립니다. path={}", ragProperties.getIndexPath());
+            loadedIndex = null;
+            return true;
         }
-
-        if (current != null && current.lastModifiedMillis == lastModified) {
-            return current;
+        if ((current != null && current.source.equals(source)) || source.equals(failedSource)) {
+            return false;
         }
 
-        synchronized (this) {
-            current = loadedIndex;
-            if (current != null && current.lastModifiedMillis == lastModified) {
-                return current;
-            }
-            try {
-                AssistantRagIndex index = objectMapper.readValue(indexPath.toFile(), AssistantRagIndex.class);
-                if (index == null || index.getChunks() == null) {
-                    loadedIndex = null;
-                    return null;
-                }
-
-                String expectedEmbeddingModel = geminiProperties.getEmbeddingModel();
-                if (StringUtils.hasText(expectedEmbeddingModel)
-                        && StringUtils.hasText(index.getEmbeddingModel())
-                        && !expectedEmbeddingModel.equals(index.getEmbeddingModel())) {
-                    log.warn("RAG 인덱스의 embeddingModel이 현재 설정과 다릅니다. index={}, current={}",
-                            index.getEmbeddingModel(), expectedEmbeddingModel);
-                }
-
-                double[] norms = new double[index.getChunks().size()];
-                for (int i = 0; i < index.getChunks().size(); i += 1) {
-                    AssistantRagChunk chunk = index.getChunks().get(i);
-                    norms[i] = chunk == null || chunk.getVector() == null ? 0.0 : norm(chunk.getVector());
-                }
-
-                SignatureCheck signatureCheck = validateSignature(index);
-                if (signatureCheck.available && signatureCheck.mismatch) {
-                    log.warn("RAG 인덱스와 DB 스냅샷 불일치. mismatchCount={}, sampleBoards={}",
-                            signatureCheck.mismatchCount, signatureCheck.mismatchBoards);
-                }
-
-                LoadedIndex loaded = new LoadedIndex(index, norms, lastModified, signatureCheck);
-                loadedIndex = loaded;
-                return loaded;
-            } catch (Exception e) {
-                log.error("RAG 인덱스 로드 실패. path={}", indexPath, e);
-                loadedIndex = null;
-                return null;
-            }
+        long startedAt = System.currentTimeMillis();
+        LoadedIndex loaded;
+        try {
+            loaded = loadIndex(source);
+        } catch (Exception e) {
+            failedSource = source;
+            log.error("RAG 인덱스 로드 실패. 이전 인덱스를 계속 사용합니다. format={}, path={}",
+                    source.format, ragProperties.getIndexPath(), e);
+            return false;
         }
-    }
-
-    private static double dot(float[] a, float[] b) {
-        double sum = 0.0;
-        for (int i = 0; i < a.length; i += 1) {
-            sum += (double) a[i] * (double) b[i];
+        if (loaded == null) {
+            failedSource = source;
+            return false;
         }
-        return sum;
+        long reloadMillis = System.currentTimeMillis() - startedAt;
+        loaded.markSwapped(reloadMillis, new Date());
+        loadedIndex = loaded;
+        failedSource = null;
+        log.info("RAG 인덱스 교체 완료. chunks={}, format={}, reloadMs={}",
+                loaded.index.getChunks().size(), source.format, reloadMillis);
+        return true;
     }
 
-    private static double norm(float[] vector) {
-        if (vector == null || vector.length == 0) {
-            return 0.0;
+    private SourceStamp readSourceStamp() {
+        String format = indexStore.resolveReadableFormat();
+        if (format == null) {
+            return null;
         }
-        double sum = 0.0;
-        for (float v : vector) {
-            sum += (double) v * (double) v;
+        try {
+            return new SourceStamp(format, indexStore.lastModifiedMillis(format), indexStore.latestSegmentSequence(),
+                    graphLastModifiedMillis());
+        } catch (IOException e) {
+            return null;
         }
-        return Math.sqrt(sum);
     }
 
-    private SignatureCheck validateSignature(AssistantRagIndex index) {
-        if (index == null) {
-            return SignatureCheck.unavailable();
+    private LoadedIndex loadIndex(SourceStamp source) throws IOException {
+        AssistantRagIndexStore.MappedIndex mapped = indexStore.open(source.format);
+        AssistantRagIndex index = mapped.getIndex();
+        List<AssistantRagChunk> segmentChunks = mapped.getSegmentChunks();
+        int baseChunkCount = index.getChunks().size() - segmentChunks.size();
+        AssistantRagVectorLayout vectors = AssistantRagVectorLayout.fromMapped(mapped.getVectors(),
+                mapped.getBaseRows(), baseChunkCount, mapped.getDimension(), mapped.getRowHasVector(), segmentChunks);
+        AssistantRagChunkTexts texts = mapped.getTexts();
+        int[] baseRows = mapped.getBaseRows();
+        for (AssistantRagChunk chunk : segmentChunks) {
+            if (chunk != null) {
+                chunk.setVector(null);
+            }
         }
 
-        List<AssistantRagBoardSnapshot> snapshots = index.getBoardSnapshots();
-        if (snapshots == null || snapshots.isEmpty()) {
-            log.info("RAG 인덱스 스냅샷이 없습니다. reindex를 권장합니다.");
-            return SignatureCheck.unavailable();
+        String expectedEmbeddingModel = geminiProperties.getEmbeddingModel();
+        if (StringUtils.hasText(expectedEmbeddingModel)
+                && StringUtils.hasText(index.getEmbeddingModel())
+                && !expectedEmbeddingModel.equals(index.getEmbeddingModel())) {
+            log.warn("RAG 인덱스의 embeddingModel이 현재 설정과 다릅니다. index={}, current={}",
+                    index.getEmbeddingModel(), expectedEmbeddingModel);
         }
 
-        Map<String, AssistantRagBoardSnapshot> expectedByBoard = new HashMap<>();
-        for (AssistantRagBoardSnapshot snapshot : snapshots) {
-            if (snapshot == null) {
-                continue;
-            }
-            String boardTitle = normalizeBoardTitle(snapshot.getBoardTitle());
-            if (isIndexableBoardTitle(boardTitle) && !isExcludedBoardTitle(boardTitle)) {
-                expectedByBoard.put(boardTitle, snapshot);
-            }
+        AssistantRagSignatureCache.SignatureCheck signatureCheck = signatureCache.check(index);
+        if (!signatureCheck.isAvailable()) {
+            log.info("RAG 인덱스 스냅샷을 검증할 수 없습니다. 스냅샷이 없으면 reindex를 권장합니다.");
+        } else if (signatureCheck.isMismatch()) {
+            log.warn("RAG 인덱스와 DB 스냅샷 불일치. mismatchCount={}, sampleBoards={}",
+                    signatureCheck.getMismatchCount(), signatureCheck.getMismatchBoards());
         }
 
-        if (expectedByBoard.isEmpty()) {
-            log.info("RAG 인덱스 스냅샷에 유효한 보드 정보가 없습니다. reindex를 권장합니다.");
-            return SignatureCheck.unavailable();
+        AssistantRagQuantizedVectors quantized = null;
+        if (ragProperties.getQuantization().isEnabled() && vectors.getDimension() > 0) {
+            quantized = AssistantRagQuantizedVectors.build(vectors.size(), vectors.getDimension(), vectors::readUnit);
+            log.info("RAG int8 양자화 벡터 생성. chunks={}, bytes={}", quantized.size(), quantized.memoryBytes());
         }
 
-        List<String> sample = new ArrayList<>();
-        int mismatchCount = 0;
-        AssistantRagBoardSnapshot expectedStrategyTips =
-                expectedByBoard.remove(AssistantRagSources.STRATEGY_TIP_BOARD);
-        if (expectedStrategyTips != null) {
-            try {
-                AssistantRagBoardSnapshot currentStrategyTips = strategyTipMapper.selectRagStats();
-                if (!snapshotEquals(expectedStrategyTips, currentStrategyTips)) {
-                    mismatchCount = appendMismatch(
-                            sample, mismatchCount, AssistantRagSources.STRATEGY_TIP_BOARD);
-                }
-            } catch (Exception e) {
-                log.warn("공개 한줄 공략 RAG 스냅샷 검증 실패", e);
-                mismatchCount = appendMismatch(
-                        sample, mismatchCount, AssistantRagSources.STRATEGY_TIP_BOARD);
+        AssistantRagPrefixVectors prefix = null;
+        AssistantRagProperties.PrefixProperties prefixProperties = ragProperties.getPrefix();
+        if (prefixProperties.isEnabled() && quantized == null) {
+            if (prefixProperties.getDimensions() > 0 && prefixProperties.getDimensions() < vectors.getDimension()) {
+                prefix = AssistantRagPrefixVectors.build(vectors.size(), vectors.getDimension(),
+                        prefixProperties.getDimensions(), vectors::readUnit);
+                log.info("RAG 앞부분 차원 벡터 생성. chunks={}, dimensions={}, bytes={}",
+                        prefix.size(), prefix.getDimension(), prefix.memoryBytes());
+            } else {
+                log.warn("RAG prefix.dimensions가 인덱스 차원보다 작지 않아 전체 벡터로 검색합니다. dimensions={}, indexDimension={}",
+                        prefixProperties.getDimensions(), vectors.getDimension());
             }
         }
 
-        List<BoardListDTO> boards;
-        try {
-            boards = boardMapper.getBoardList();
-        } catch (Exception e) {
-            log.warn("RAG 스냅샷 검증 실패: board_list 로드 오류", e);
-            return SignatureCheck.unavailable();
+        AssistantRagDuplicateVectors duplicates = null;
+        if (sharesNearDuplicateVectors()) {
+            duplicates = AssistantRagDuplicateVectors.build(vectors.size(), vectors.getDimension(), vectors::readUnit);
+        }
+        if (duplicates != null) {
+            log.info("RAG 같은 벡터를 가진 청크 묶음 생성. duplicates={}, bytes={}",
+                    duplicates.duplicateCount(), duplicates.memoryBytes());
         }
 
-        if (boards == null || boards.isEmpty()) {
-            for (String boardTitle : expectedByBoard.keySet()) {
-                mismatchCount = appendMismatch(sample, mismatchCount, boardTitle);
-            }
-            if (mismatchCount > 0) {
-                return SignatureCheck.mismatch(mismatchCount, sample);
-            }
-            return SignatureCheck.ok();
+        AssistantRagHnswGraph graph = loadGraph(index, vectors, segmentChunks.size());
+
+        AssistantRagKeywordIndex keywords = null;
+        if (ragProperties.getHybrid().isEnabled()) {
+            keywords = buildKeywordIndex(index.getChunks(), texts, baseRows, baseChunkCount);
+            log.info("RAG BM25 키워드 인덱스 생성. chunks={}, terms={}, postings={}, bytes={}",
+                    keywords.size(), keywords.termCount(), keywords.postingCount(), keywords.memoryBytes());
         }
 
-        Set<String> remainingExpected = new HashSet<>(expectedByBoard.keySet());
+        AssistantRagEmbeddingProvider localEmbedder = null;
+        AssistantRagQuantizedVectors localVectors = null;
+        AssistantRagProperties.LocalEmbeddingProperties localEmbedding = ragProperties.getLocalEmbedding();
+        if (localEmbedding.isEnabled() && localEmbedding.getDimension() > 0) {
+            localEmbedder = new AssistantRagHashingEmbedder(localEmbedding.getDimension());
+            localVectors = buildLocalVectors(localEmbedder, index.getChunks(), texts, baseRows, baseChunkCount);
+            log.info("RAG 로컬 n-gram 벡터 생성. chunks={}, model={}, bytes={}",
+                    localVectors.size(), localEmbedder.getModel(), localVectors.memoryBytes());
+        }
 
-        for (BoardListDTO board : boards) {
-            String boardTitle = normalizeBoardTitle(board == null ? null : board.getBoardTitle());
-            if (!isIndexableBoardTitle(boardTitle)) {
-                continue;
-            }
-            if (isExcludedBoardTitle(boardTitle)) {
-                continue;
-            }
-            remainingExpected.remove(boardTitle);
+        return new LoadedIndex(index, vectors, texts, baseRows, baseChunkCount, duplicates, quantized, prefix, graph,
+                keywords, localEmbedder, localVectors, source);
+    }
 
-            AssistantRagBoardSnapshot expected = expectedByBoard.get(boardTitle);
-            AssistantRagBoardSnapshot current;
-            try {
-                current = boardMapper.selectBoardRagStats(boardTitle);
-            } catch (Exception e) {
-                log.warn("RAG 스냅샷 검증 실패. boardTitle={}", boardTitle, e);
-                mismatchCount = appendMismatch(sample, mismatchCount, boardTitle);
-                continue;
-            }
+    private AssistantRagKeywordIndex buildKeywordIndex(List<AssistantRagChunk> chunks, AssistantRagChunkTexts texts,
+                                                       int[] baseRows, int baseChunkCount) {
+        AssistantRagProperties.HybridProperties hybrid = ragProperties.getHybrid();
+        return AssistantRagKeywordIndex.build(chunks.size(),
+                ordinal -> documentText(chunks, texts, baseRows, baseChunkCount, ordinal), hybrid.getK1(), hybrid.getB());
+    }
 
-            if (!snapshotEquals(expected, current)) {
-                mismatchCount = appendMismatch(sample, mismatchCount, boardTitle);
+    private static AssistantRagQuantizedVectors buildLocalVectors(AssistantRagEmbeddingProvider embedder,
+                                                                  List<AssistantRagChunk> chunks,
+                                                                  AssistantRagChunkTexts texts, int[] baseRows,
+                                                                  int baseChunkCount) {
+        return AssistantRagQuantizedVectors.build(chunks.size(), embedder.getDimension(), (ordinal, target) -> {
+            String document = documentText(chunks, texts, baseRows, baseChunkCount, ordinal);
+            float[] vector = document == null ? new float[0] : embedder.embedText(document);
+            if (vector.length == 0) {
+                return false;
             }
-        }
+            System.arraycopy(vector, 0, target, 0, vector.length);
+            return true;
+        });
+    }
 
-        if (!remainingExpected.isEmpty()) {
-            for (String boardTitle : remainingExpected) {
-                mismatchCount = appendMismatch(sample, mismatchCount, boardTitle);
-            }
+    private static String documentText(List<AssistantRagChunk> chunks, AssistantRagChunkTexts texts, int[] baseRows,
+                                       int baseChunkCount, int ordinal) {
+        AssistantRagChunk chunk = chunks.get(ordinal);
+        if (chunk == null) {
+            return null;
         }
-
-        if (mismatchCount > 0) {
-            return SignatureCheck.mismatch(mismatchCount, sample);
+        String text = chunk.getText();
+        if (text == null && texts != null && ordinal < baseChunkCount) {
+            text = texts.get(baseRows == null ? ordinal : baseRows[ordinal]);
         }
-        return SignatureCheck.ok();
+        return (chunk.getTitle() == null ? "" : chunk.getTitle()) + "\n" + (text == null ? "" : text);
     }
 
-    private boolean isExcludedBoardTitle(String boardTitle) {
-        if (!StringUtils.hasText(boardTitle)) {
-            return false;
+    private long graphLastModifiedMillis() {
+        if (!ragProperties.getHnsw().isEnabled() || !indexStore.graphExists()) {
+            return -1L;
         }
-        if (assistantProperties == null || assistantProperties.getExcludedBoards() == null || assistantProperties.getExcludedBoards().isEmpty()) {
-            return false;
-        }
-        String normalized = normalizeBoardTitle(boardTitle);
-        for (String excluded : assistantProperties.getExcludedBoards()) {
-            if (!StringUtils.hasText(excluded)) {
-                continue;
-            }
-            if (normalizeBoardTitle(excluded).equals(normalized)) {
-                return true;
-            }
+        try {
+            return indexStore.graphLastModifiedMillis();
+        } catch (IOException e) {
+            return -1L;
         }
-        return false;
     }
 
-    private static int appendMismatch(List<String> sample, int mismatchCount, String boardTitle) {
-        int nextCount = mismatchCount + 1;
-        if (sample.size() < SIGNATURE_SAMPLE_LIMIT) {
-            sample.add(boardTitle);
-        }
-        return nextCount;
+    // Only share and skip write one vector for several chunks; with off, equal vectors are distinct texts.
+    private boolean sharesNearDuplicateVectors() {
+        String policy = ragProperties.getNearDuplicate().getPolicy();
+        String normalized = policy == null ? "" : policy.trim().toLowerCase(Locale.ROOT);
+        return "share".equals(normalized) || "skip".equals(normalized);
     }
 
-    private static boolean snapshotEquals(AssistantRagBoardSnapshot expected, AssistantRagBoardSnapshot current) {
-        if (expected == null || current == null) {
-            return false;
-        }
-        if (expected.getPostCount() != current.getPostCount()) {
-            return false;
+    // Delta segments do not rewrite the graph, so it is carried over in memory by inserting the segment chunks;
+    // a graph that would need more inserts than that is from another index and is ignored.
+    private AssistantRagHnswGraph loadGraph(AssistantRagIndex index, AssistantRagVectorLayout vectors,
+                                            int segmentChunkCount) {
+        if (!ragProperties.getHnsw().isEnabled() || !indexStore.graphExists()) {
+            return null;
         }
-        if (expected.getMaxPostNum() != current.getMaxPostNum()) {
-            return false;
+        try {
+            AssistantRagHnswGraph.Persisted persisted = indexStore.readGraph();
+            List<AssistantRagChunk> chunks = index.getChunks();
+            String[] nodeIds = persisted.getNodeIds();
+            boolean matches = nodeIds.length == chunks.size();
+            for (int i = 0; matches && i < nodeIds.length; i += 1) {
+                AssistantRagChunk chunk = chunks.get(i);
+                matches = chunk != null && nodeIds[i] != null && nodeIds[i].equals(chunk.getId());
+            }
+            if (!matches) {
+                long startedAt = System.currentTimeMillis();
+                AssistantRagHnswGraph carried = AssistantRagHnswGraph.carryOver(persisted, chunks, vectors::hasVector,
+                        vectorSimilarity(vectors), segmentChunkCount);
+                if (carried == null) {
+                    log.warn("RAG HNSW 그래프가 현재 인덱스와 맞지 않아 전체 스캔을 사용합니다. path={}", indexStore.getGraphPath());
+                    return null;
+                }
+                log.info("RAG HNSW 그래프를 델타 세그먼트에 맞춰 갱신. nodes={}, segmentChunks={}, elapsedMs={}",
+                        carried.size(), segmentChunkCount, System.currentTimeMillis() - startedAt);
+                return carried;
+            }
+            log.info("RAG HNSW 그래프 로드. nodes={}, maxLevel={}", persisted.getGraph().size(), persisted.getGraph().getMaxLevel());
+            return persisted.getGraph();
+        } catch (Exception e) {
+            log.warn("RAG HNSW 그래프 로드 실패. 전체 스캔을 사용합니다. path={}", indexStore.getGraphPath(), e);
+            return null;
         }
-        return sameDate(expected.getMaxRegDate(), current.getMaxRegDate());
     }
 
-    private static boolean sameDate(Date a, Date b) {
-        if (a == null && b == null) {
-            return true;
-        }
-        if (a == null || b == null) {
-            return false;
-        }
-        return a.getTime() == b.getTime();
+    private static AssistantRagHnswGraph.Similarity vectorSimilarity(AssistantRagVectorLayout vectors) {
+        float[] unit = new float[vectors.getDimension()];
+        int[] loaded = {-1};
+        return (a, b) -> {
+            if (loaded[0] != a) {
+                vectors.readUnit(a, unit);
+                loaded[0] = a;
+            }
+            return vectors.cosine(unit, b);
+        };
     }
 
     private static String normalizeBoardTitle(String boardTitle) {
@@ -429,56 +839,107 @@ public class AssistantRagSearchService {
         return boardTitle.trim().toLowerCase(Locale.ROOT);
     }
 
-    private static boolean isIndexableBoardTitle(String boardTitle) {
-        if (!StringUtils.hasText(boardTitle)) {
-            return false;
+    private static final class LoadedIndex {
+        private final AssistantRagIndex index;
+        private final AssistantRagVectorLayout vectors;
+        private final AssistantRagChunkTexts texts;
+        // Base row of each mapped chunk; null when no delta segment applies (identity).
+        private final int[] baseRows;
+        private final int baseChunkCount;
+        private final AssistantRagBoardPartitions partitions;
+        private final AssistantRagDuplicateVectors duplicates;
+        private final AssistantRagQuantizedVectors quantized;
+        private final RecallTracker quantizedRecall = new RecallTracker();
+        private final AssistantRagPrefixVectors prefix;
+        private final RecallTracker prefixRecall = new RecallTracker();
+        private final AssistantRagHnswGraph graph;
+        private final RecallTracker graphRecall = new RecallTracker();
+        private final AssistantRagKeywordIndex keywords;
+        private final AssistantRagEmbeddingProvider localEmbedder;
+        private final AssistantRagQuantizedVectors localVectors;
+        private final String format;
+        private final SourceStamp source;
+        private long reloadMillis;
+        private Date swappedAt;
+
+        private LoadedIndex(AssistantRagIndex index, AssistantRagVectorLayout vectors, AssistantRagChunkTexts texts,
+                            int[] baseRows, int baseChunkCount, AssistantRagDuplicateVectors duplicates,
+                            AssistantRagQuantizedVectors quantized,
+                            AssistantRagPrefixVectors prefix, AssistantRagHnswGraph graph, AssistantRagKeywordIndex keywords,
+                            AssistantRagEmbeddingProvider localEmbedder, AssistantRagQuantizedVectors localVectors,
+                            SourceStamp source) {
+            this.index = index;
+            this.vectors = vectors;
+            this.texts = texts;
+            this.baseRows = baseRows;
+            this.baseChunkCount = baseChunkCount;
+            this.partitions = AssistantRagBoardPartitions.build(index.getChunks());
+            this.duplicates = duplicates;
+            this.quantized = quantized;
+            this.prefix = prefix;
+            this.graph = graph;
+            this.keywords = keywords;
+            this.localEmbedder = localEmbedder;
+            this.localVectors = localVectors;
+            this.format = source.format;
+            this.source = source;
         }
-        String normalized = normalizeBoardTitle(boardTitle);
-        if (!StringUtils.hasText(normalized) || !SAFE_BOARD_TITLE.matcher(normalized).matches()) {
-            return false;
+
+        private void markSwapped(long reloadMillis, Date swappedAt) {
+            this.reloadMillis = reloadMillis;
+            this.swappedAt = swappedAt;
         }
-        return normalized.endsWith("board");
     }
 
-    private static final class LoadedIndex {
-        private final AssistantRagIndex index;
-        private final double[] norms;
+    private static final class SourceStamp {
+        private final String format;
         private final long lastModifiedMillis;
-        private final SignatureCheck signatureCheck;
+        private final int segmentSequence;
+        private final long graphLastModifiedMillis;
 
-        private LoadedIndex(AssistantRagIndex index, double[] norms, long lastModifiedMillis, SignatureCheck signatureCheck) {
-            this.index = index;
-            this.norms = norms;
+        private SourceStamp(String format, long lastModifiedMillis, int segmentSequence, long graphLastModifiedMillis) {
+            this.format = format;
             this.lastModifiedMillis = lastModifiedMillis;
-            this.signatureCheck = signatureCheck;
+            this.segmentSequence = segmentSequence;
+            this.graphLastModifiedMillis = graphLastModifiedMillis;
         }
-    }
 
-    private static final class SignatureCheck {
-        private final boolean available;
-        private final boolean mismatch;
-        private final int mismatchCount;
-        private final List<String> mismatchBoards;
-        private final Date checkedAt;
+        @Override
+        public boolean equals(Object other) {
+            if (this == other) {
+                return true;
+            }
+            if (!(other instanceof SourceStamp)) {
+                return false;
+            }
+            SourceStamp stamp = (SourceStamp) other;
+            return format.equals(stamp.format)
+                    && lastModifiedMillis == stamp.lastModifiedMillis
+                    && segmentSequence == stamp.segmentSequence
+                    && graphLastModifiedMillis == stamp.graphLastModifiedMillis;
+        }
 
-        private SignatureCheck(boolean available, boolean mismatch, int mismatchCount, List<String> mismatchBoards, Date checkedAt) {
-            this.available = available;
-            this.mismatch = mismatch;
-            this.mismatchCount = mismatchCount;
-            this.mismatchBoards = mismatchBoards == null ? new ArrayList<>() : new ArrayList<>(mismatchBoards);
-            this.checkedAt = checkedAt;
+        @Override
+        public int hashCode() {
+            return Objects.hash(format, lastModifiedMillis, segmentSequence, graphLastModifiedMillis);
         }
+    }
+
+    private static final class RecallTracker {
+        private long samples;
+        private double recallSum;
 
-        private static SignatureCheck unavailable() {
-            return new SignatureCheck(false, false, 0, new ArrayList<>(), null);
+        private synchronized void record(double recall) {
+            samples += 1;
+            recallSum += recall;
         }
 
-        private static SignatureCheck ok() {
-            return new SignatureCheck(true, false, 0, new ArrayList<>(), new Date());
+        private synchronized long getSamples() {
+            return samples;
         }
 
-        private static SignatureCheck mismatch(int mismatchCount, List<String> mismatchBoards) {
-            return new SignatureCheck(true, true, mismatchCount, mismatchBoards, new Date());
+        private synchronized Double getAverage() {
+            return samples == 0 ? null : recallSum / samples;
         }
     }
 
@@ -486,14 +947,106 @@ public class AssistantRagSearchService {
     public static final class Match {
         private final AssistantRagChunk chunk;
         private final double score;
+        private final double similarity;
+        private final double keywordScore;
+        private final boolean localEmbedding;
+        // Position in the loaded chunk list, or -1 for matches built outside a search.
+        @Getter(AccessLevel.NONE)
+        private final int ordinal;
+
+        private Match(AssistantRagChunk chunk, double score, double similarity, double keywordScore, int ordinal) {
+            this(chunk, score, similarity, keywordScore, ordinal, false);
+        }
 
-        private Match(AssistantRagChunk chunk, double score) {
+        private Match(AssistantRagChunk chunk, double score, double similarity, double keywordScore, int ordinal,
+                      boolean localEmbedding) {
             this.chunk = chunk;
             this.score = score;
+            this.similarity = similarity;
+            this.keywordScore = keywordScore;
+            this.localEmbedding = localEmbedding;
+            this.ordinal = ordinal;
         }
 
         public static Match of(AssistantRagChunk chunk, double score) {
-            return new Match(chunk, score);
+            return new Match(chunk, score, score, 0.0, -1);
+        }
+
+        public static Match of(AssistantRagChunk chunk, double score, double similarity) {
+            return new Match(chunk, score, similarity, 0.0, -1);
+        }
+
+        public static Match of(AssistantRagChunk chunk, double score, double similarity, double keywordScore) {
+            return new Match(chunk, score, similarity, keywordScore, -1);
+        }
+    }
+
+    @Getter
+    public static final class BoardFilter {
+        private static final BoardFilter ALL = new BoardFilter(null, new HashSet<>(), new HashMap<>());
+
+        private final Set<String> includedBoards;
+        private final Set<String> excludedBoards;
+        private final Map<String, Double> boardWeights;
+
+        private BoardFilter(Set<String> includedBoards, Set<String> excludedBoards, Map<String, Double> boardWeights) {
+            this.includedBoards = includedBoards;
+            this.excludedBoards = excludedBoards;
+            this.boardWeights = boardWeights;
+        }
+
+        public static BoardFilter all() {
+            return ALL;
+        }
+
+        public static BoardFilter of(Collection<String> excludedBoards, Map<String, Double> boardWeights) {
+            Set<String> excluded = new HashSet<>();
+            if (excludedBoards != null) {
+                for (String board : excludedBoards) {
+                    if (StringUtils.hasText(board)) {
+                        excluded.add(normalizeBoardTitle(board));
+                    }
+                }
+            }
+            Map<String, Double> weights = new HashMap<>();
+            if (boardWeights != null) {
+                for (Map.Entry<String, Double> entry : boardWeights.entrySet()) {
+                    Double weight = entry.getValue();
+                    if (StringUtils.hasText(entry.getKey()) && weight != null
+                            && !Double.isNaN(weight) && !Double.isInfinite(weight) && weight > 0.0) {
+                        weights.put(normalizeBoardTitle(entry.getKey()), weight);
+                    }
+                }
+            }
+            return new BoardFilter(null, excluded, weights);
+        }
+
+        public BoardFilter restrictTo(Collection<String> boards) {
+            Set<String> included = new HashSet<>();
+            if (boards != null) {
+                for (String board : boards) {
+                    if (StringUtils.hasText(board)) {
+                        included.add(normalizeBoardTitle(board));
+                    }
+                }
+            }
+            return new BoardFilter(included, excludedBoards, boardWeights);
+        }
+
+        private double[] resolve(AssistantRagBoardPartitions partitions) {
+            if (includedBoards == null && excludedBoards.isEmpty() && boardWeights.isEmpty()) {
+                return null;
+            }
+            double[] weights = new double[partitions.partitionCount()];
+            for (int p = 0; p < weights.length; p += 1) {
+                String board = partitions.board(p);
+                if (excludedBoards.contains(board) || (includedBoards != null && !includedBoards.contains(board))) {
+                    continue;
+                }
+                Double weight = boardWeights.get(board);
+                weights[p] = weight == null ? 1.0 : weight;
+            }
+            return weights;
         }
     }
 
@@ -507,15 +1060,25 @@ public class AssistantRagSearchService {
         private final Date updatedAt;
         private final int chunkCount;
         private final int dimension;
+        private final String indexFormat;
         private final boolean signatureAvailable;
         private final boolean signatureMismatch;
         private final int signatureMismatchCount;
         private final List<String> signatureMismatchBoards;
         private final Date signatureCheckedAt;
+        private final QuantizationStatus quantization;
+        private final PrefixStatus prefix;
+        private final LocalEmbeddingStatus localEmbedding;
+        private final HnswStatus hnsw;
+        private final HybridStatus hybrid;
+        private final long reloadMillis;
+        private final Date swappedAt;
 
         private Status(boolean enabled, boolean ready, String indexPath, String embeddingModel, Date createdAt, Date updatedAt,
-                       int chunkCount, int dimension, boolean signatureAvailable, boolean signatureMismatch,
-                       int signatureMismatchCount, List<String> signatureMismatchBoards, Date signatureCheckedAt) {
+                       int chunkCount, int dimension, String indexFormat, boolean signatureAvailable, boolean signatureMismatch,
+                       int signatureMismatchCount, List<String> signatureMismatchBoards, Date signatureCheckedAt,
+                       QuantizationStatus quantization, PrefixStatus prefix, LocalEmbeddingStatus localEmbedding,
+                       HnswStatus hnsw, HybridStatus hybrid, long reloadMillis, Date swappedAt) {
             this.enabled = enabled;
             this.ready = ready;
             this.indexPath = indexPath;
@@ -524,30 +1087,171 @@ public class AssistantRagSearchService {
             this.updatedAt = updatedAt;
             this.chunkCount = chunkCount;
             this.dimension = dimension;
+            this.indexFormat = indexFormat;
             this.signatureAvailable = signatureAvailable;
             this.signatureMismatch = signatureMismatch;
             this.signatureMismatchCount = signatureMismatchCount;
             this.signatureMismatchBoards = signatureMismatchBoards == null ? new ArrayList<>() : new ArrayList<>(signatureMismatchBoards);
             this.signatureCheckedAt = signatureCheckedAt;
+            this.quantization = quantization;
+            this.prefix = prefix;
+            this.localEmbedding = localEmbedding;
+            this.hnsw = hnsw;
+            this.hybrid = hybrid;
+            this.reloadMillis = reloadMillis;
+            this.swappedAt = swappedAt;
         }
 
         public static Status disabled(String indexPath) {
-            return new Status(false, false, indexPath, null, null, null, 0, 0, false, false, 0, new ArrayList<>(), null);
+            return new Status(false, false, indexPath, null, null, null, 0, 0, null, false, false, 0, new ArrayList<>(), null, null, null,
+                    null, null, null, 0L, null);
         }
 
         public static Status notReady(String indexPath) {
-            return new Status(true, false, indexPath, null, null, null, 0, 0, false, false, 0, new ArrayList<>(), null);
+            return new Status(true, false, indexPath, null, null, null, 0, 0, null, false, false, 0, new ArrayList<>(), null, null, null,
+                    null, null, null, 0L, null);
         }
 
         private static Status ready(String indexPath, String embeddingModel, Date createdAt, Date updatedAt, int chunkCount,
-                                    int dimension, SignatureCheck signatureCheck) {
-            boolean signatureAvailable = signatureCheck != null && signatureCheck.available;
-            boolean signatureMismatch = signatureCheck != null && signatureCheck.mismatch;
-            int signatureMismatchCount = signatureCheck == null ? 0 : signatureCheck.mismatchCount;
-            List<String> signatureMismatchBoards = signatureCheck == null ? new ArrayList<>() : signatureCheck.mismatchBoards;
-            Date signatureCheckedAt = signatureCheck == null ? null : signatureCheck.checkedAt;
+                                    int dimension, String indexFormat,
+                                    AssistantRagSignatureCache.SignatureCheck signatureCheck,
+                                    QuantizationStatus quantization, PrefixStatus prefix,
+                                    LocalEmbeddingStatus localEmbedding, HnswStatus hnsw, HybridStatus hybrid,
+                                    long reloadMillis, Date swappedAt) {
+            boolean signatureAvailable = signatureCheck != null && signatureCheck.isAvailable();
+            boolean signatureMismatch = signatureCheck != null && signatureCheck.isMismatch();
+            int signatureMismatchCount = signatureCheck == null ? 0 : signatureCheck.getMismatchCount();
+            List<String> signatureMismatchBoards = signatureCheck == null ? new ArrayList<>() : signatureCheck.getMismatchBoards();
+            Date signatureCheckedAt = signatureCheck == null ? null : signatureCheck.getCheckedAt();
             return new Status(true, true, indexPath, embeddingModel, createdAt, updatedAt, chunkCount, dimension,
-                    signatureAvailable, signatureMismatch, signatureMismatchCount, signatureMismatchBoards, signatureCheckedAt);
+                    indexFormat, signatureAvailable, signatureMismatch, signatureMismatchCount, signatureMismatchBoards, signatureCheckedAt,
+                    quantization, prefix, localEmbedding, hnsw, hybrid, reloadMillis, swappedAt);
+        }
+    }
+
+    @Getter
+    public static final class QuantizationStatus {
+        private final int rescoreCandidates;
+        private final long quantizedBytes;
+        private final long recallSamples;
+        private final Double recallAtK;
+
+        private QuantizationStatus(int rescoreCandidates, long quantizedBytes, long recallSamples, Double recallAtK) {
+            this.rescoreCandidates = rescoreCandidates;
+            this.quantizedBytes = quantizedBytes;
+            this.recallSamples = recallSamples;
+            this.recallAtK = recallAtK;
+        }
+
+        private static QuantizationStatus from(LoadedIndex index, int rescoreCandidates) {
+            if (index.quantized == null) {
+                return null;
+            }
+            return new QuantizationStatus(rescoreCandidates, index.quantized.memoryBytes(),
+                    index.quantizedRecall.getSamples(), index.quantizedRecall.getAverage());
+        }
+    }
+
+    @Getter
+    public static final class PrefixStatus {
+        private final int dimensions;
+        private final int rescoreCandidates;
+        private final long prefixBytes;
+        private final long recallSamples;
+        private final Double recallAtK;
+
+        private PrefixStatus(int dimensions, int rescoreCandidates, long prefixBytes, long recallSamples, Double recallAtK) {
+            this.dimensions = dimensions;
+            this.rescoreCandidates = rescoreCandidates;
+            this.prefixBytes = prefixBytes;
+            this.recallSamples = recallSamples;
+            this.recallAtK = recallAtK;
+        }
+
+        private static PrefixStatus from(LoadedIndex index, int rescoreCandidates) {
+            if (index.prefix == null) {
+                return null;
+            }
+            return new PrefixStatus(index.prefix.getDimension(), rescoreCandidates, index.prefix.memoryBytes(),
+                    index.prefixRecall.getSamples(), index.prefixRecall.getAverage());
+        }
+    }
+
+    @Getter
+    public static final class LocalEmbeddingStatus {
+        private final String model;
+        private final int dimension;
+        private final long localVectorBytes;
+        private final long fallbackSearches;
+
+        private LocalEmbeddingStatus(String model, int dimension, long localVectorBytes, long fallbackSearches) {
+            this.model = model;
+            this.dimension = dimension;
+            this.localVectorBytes = localVectorBytes;
+            this.fallbackSearches = fallbackSearches;
+        }
+
+        private static LocalEmbeddingStatus from(LoadedIndex index, long fallbackSearches) {
+            if (index.localVectors == null) {
+                return null;
+            }
+            return new LocalEmbeddingStatus(index.localEmbedder.getModel(), index.localEmbedder.getDimension(),
+                    index.localVectors.memoryBytes(), fallbackSearches);
+        }
+    }
+
+    @Getter
+    public static final class HnswStatus {
+        private final int nodeCount;
+        private final int maxLevel;
+        private final int m;
+        private final int efSearch;
+        private final long recallSamples;
+        private final Double recallAtK;
+
+        private HnswStatus(int nodeCount, int maxLevel, int m, int efSearch, long recallSamples, Double recallAtK) {
+            this.nodeCount = nodeCount;
+            this.maxLevel = maxLevel;
+            this.m = m;
+            this.efSearch = efSearch;
+            this.recallSamples = recallSamples;
+            this.recallAtK = recallAtK;
+        }
+
+        private static HnswStatus from(LoadedIndex index, int efSearch) {
+            if (index.graph == null) {
+                return null;
+            }
+            return new HnswStatus(index.graph.size(), index.graph.getMaxLevel(), index.graph.getM(), efSearch,
+                    index.graphRecall.getSamples(), index.graphRecall.getAverage());
+        }
+    }
+
+    @Getter
+    public static final class HybridStatus {
+        private final int termCount;
+        private final long postingCount;
+        private final long keywordIndexBytes;
+        private final double vectorWeight;
+        private final double keywordWeight;
+        private final int rrfK;
+
+        private HybridStatus(int termCount, long postingCount, long keywordIndexBytes, double vectorWeight,
+                             double keywordWeight, int rrfK) {
+            this.termCount = termCount;
+            this.postingCount = postingCount;
+            this.keywordIndexBytes = keywordIndexBytes;
+            this.vectorWeight = vectorWeight;
+            this.keywordWeight = keywordWeight;
+            this.rrfK = rrfK;
+        }
+
+        private static HybridStatus from(LoadedIndex index, AssistantRagProperties.HybridProperties hybrid) {
+            if (index.keywords == null) {
+                return null;
+            }
+            return new HybridStatus(index.keywords.termCount(), index.keywords.postingCount(),
+                    index.keywords.memoryBytes(), hybrid.getVectorWeight(), hybrid.getKeywordWeight(), hybrid.getRrfK());
         }
     }
 }
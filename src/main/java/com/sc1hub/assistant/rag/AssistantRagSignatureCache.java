@@ -0,0 +1,354 @@
+package com.sc1hub.assistant.rag;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sc1hub.assistant.config.AssistantProperties;
+import com.sc1hub.assistant.config.AssistantRagProperties;
+import com.sc1hub.board.dto.BoardListDTO;
+import com.sc1hub.board.mapper.BoardMapper;
+import com.sc1hub.strategytip.mapper.StrategyTipMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.regex.Pattern;
+
+@Component
+@Slf4j
+public class AssistantRagSignatureCache {
+
+    private static final Pattern SAFE_BOARD_TITLE = Pattern.compile("^[a-z0-9_]+$");
+    private static final int SIGNATURE_SAMPLE_LIMIT = 5;
+
+    private final AssistantRagProperties ragProperties;
+    private final AssistantProperties assistantProperties;
+    private final BoardMapper boardMapper;
+    private final StrategyTipMapper strategyTipMapper;
+    private final AssistantRagIndexStore indexStore;
+
+    private volatile LiveStats liveStats;
+    private final AtomicBoolean stale = new AtomicBoolean();
+    private boolean storedStatsRead;
+    private long lastRefreshMillis;
+
+    public AssistantRagSignatureCache(AssistantRagProperties ragProperties,
+                                      AssistantProperties assistantProperties,
+                                      ObjectMapper objectMapper,
+                                      BoardMapper boardMapper,
+                                      StrategyTipMapper strategyTipMapper) {
+        this.ragProperties = ragProperties;
+        this.assistantProperties = assistantProperties;
+        this.boardMapper = boardMapper;
+        this.strategyTipMapper = strategyTipMapper;
+        this.indexStore = new AssistantRagIndexStore(ragProperties, objectMapper);
+    }
+
+    public void markStale() {
+        stale.set(true);
+    }
+
+    public synchronized boolean refreshIfStale() {
+        if (!ragProperties.isEnabled()) {
+            return false;
+        }
+        if (!storedStatsRead) {
+            storedStatsRead = true;
+            readStoredStats();
+        }
+        long intervalMillis = Math.max(1, ragProperties.getSignature().getRefreshIntervalMinutes()) * 60_000L;
+        boolean expired = System.currentTimeMillis() - lastRefreshMillis >= intervalMillis;
+        if (!stale.getAndSet(false) && !expired) {
+            return false;
+        }
+        return refresh();
+    }
+
+    public synchronized boolean refresh() {
+        long startedAt = System.currentTimeMillis();
+        // A failed attempt counts as well; the next one follows after the refresh interval or the next write.
+        lastRefreshMillis = startedAt;
+        List<BoardListDTO> boards;
+        try {
+            boards = boardMapper.getBoardList();
+        } catch (Exception e) {
+            log.warn("RAG 스냅샷 서명 갱신 실패: board_list 로드 오류", e);
+            return false;
+        }
+
+        List<AssistantRagBoardSnapshot> snapshots =
+                loadSnapshots(boardMapper, strategyTipMapper, selectBoardTitles(boards));
+        Date computedAt = new Date();
+        liveStats = new LiveStats(computedAt, byBoard(snapshots));
+        try {
+            indexStore.writeSignature(computedAt, snapshots);
+        } catch (Exception e) {
+            log.warn("RAG 스냅샷 서명 저장 실패. path={}", indexStore.getSignaturePath(), e);
+        }
+        log.info("RAG 스냅샷 서명 갱신 완료. boards={}, elapsedMs={}",
+                snapshots.size(), System.currentTimeMillis() - startedAt);
+        return true;
+    }
+
+    static List<AssistantRagBoardSnapshot> loadSnapshots(BoardMapper boardMapper, StrategyTipMapper strategyTipMapper,
+                                                         List<String> boardTitles) {
+        List<AssistantRagBoardSnapshot> loaded = null;
+        try {
+            loaded = boardMapper.selectRagStatsForBoards(boardTitles, true);
+        } catch (Exception e) {
+            log.warn("RAG 스냅샷 통합 조회 실패. 보드별 조회로 대체합니다. boards={}", boardTitles.size(), e);
+        }
+        if (loaded != null) {
+            List<AssistantRagBoardSnapshot> snapshots = new ArrayList<>(loaded.size());
+            for (AssistantRagBoardSnapshot snapshot : loaded) {
+                if (snapshot != null) {
+                    snapshot.setBoardTitle(normalizeBoardTitle(snapshot.getBoardTitle()));
+                    snapshots.add(snapshot);
+                }
+            }
+            return snapshots;
+        }
+
+        List<AssistantRagBoardSnapshot> snapshots = new ArrayList<>();
+        for (String boardTitle : boardTitles) {
+            try {
+                AssistantRagBoardSnapshot snapshot = boardMapper.selectBoardRagStats(boardTitle);
+                if (snapshot == null) {
+                    snapshot = new AssistantRagBoardSnapshot();
+                }
+                snapshot.setBoardTitle(boardTitle);
+                snapshots.add(snapshot);
+            } catch (Exception e) {
+                log.warn("RAG 스냅샷 로드 실패. boardTitle={}", boardTitle, e);
+            }
+        }
+        try {
+            AssistantRagBoardSnapshot strategyTipSnapshot = strategyTipMapper.selectRagStats();
+            if (strategyTipSnapshot == null) {
+                strategyTipSnapshot = new AssistantRagBoardSnapshot();
+            }
+            strategyTipSnapshot.setBoardTitle(AssistantRagSources.STRATEGY_TIP_BOARD);
+            snapshots.add(strategyTipSnapshot);
+        } catch (Exception e) {
+            log.warn("공개 한줄 공략 RAG 스냅샷 로드 실패", e);
+        }
+        return snapshots;
+    }
+
+    SignatureCheck check(AssistantRagIndex index) {
+        if (index == null) {
+            return SignatureCheck.unavailable();
+        }
+        List<AssistantRagBoardSnapshot> snapshots = index.getBoardSnapshots();
+        if (snapshots == null || snapshots.isEmpty()) {
+            return SignatureCheck.unavailable();
+        }
+
+        Map<String, AssistantRagBoardSnapshot> expectedByBoard = new LinkedHashMap<>();
+        for (AssistantRagBoardSnapshot snapshot : snapshots) {
+            if (snapshot == null) {
+                continue;
+            }
+            String boardTitle = normalizeBoardTitle(snapshot.getBoardTitle());
+            if (isIndexableBoardTitle(boardTitle) && !isExcludedBoardTitle(boardTitle)) {
+                expectedByBoard.put(boardTitle, snapshot);
+            }
+        }
+        if (expectedByBoard.isEmpty()) {
+            return SignatureCheck.unavailable();
+        }
+
+        LiveStats current = liveStats;
+        if (current == null) {
+            return SignatureCheck.unavailable();
+        }
+
+        Set<String> boardTitles = new LinkedHashSet<>(expectedByBoard.keySet());
+        for (String boardTitle : current.byBoard.keySet()) {
+            // Strategy tips only count when the index was built with them.
+            if (!AssistantRagSources.STRATEGY_TIP_BOARD.equals(boardTitle)
+                    && isIndexableBoardTitle(boardTitle) && !isExcludedBoardTitle(boardTitle)) {
+                boardTitles.add(boardTitle);
+            }
+        }
+
+        List<String> sample = new ArrayList<>();
+        int mismatchCount = 0;
+        for (String boardTitle : boardTitles) {
+            if (!snapshotEquals(expectedByBoard.get(boardTitle), current.byBoard.get(boardTitle))) {
+                mismatchCount += 1;
+                if (sample.size() < SIGNATURE_SAMPLE_LIMIT) {
+                    sample.add(boardTitle);
+                }
+            }
+        }
+        if (mismatchCount > 0) {
+            return SignatureCheck.mismatch(mismatchCount, sample, current.computedAt);
+        }
+        return SignatureCheck.ok(current.computedAt);
+    }
+
+    private void readStoredStats() {
+        try {
+            AssistantRagIndexStore.StoredSignature stored = indexStore.readSignature();
+            if (stored != null && stored.getComputedAt() != null) {
+                liveStats = new LiveStats(stored.getComputedAt(), byBoard(stored.getSnapshots()));
+                lastRefreshMillis = stored.getComputedAt().getTime();
+            }
+        } catch (Exception e) {
+            log.warn("저장된 RAG 스냅샷 서명 로드 실패. path={}", indexStore.getSignaturePath(), e);
+        }
+    }
+
+    private List<String> selectBoardTitles(List<BoardListDTO> boards) {
+        Set<String> boardTitles = new LinkedHashSet<>();
+        if (boards != null) {
+            for (BoardListDTO board : boards) {
+                String boardTitle = normalizeBoardTitle(board == null ? null : board.getBoardTitle());
+                if (isIndexableBoardTitle(boardTitle) && !isExcludedBoardTitle(boardTitle)) {
+                    boardTitles.add(boardTitle);
+                }
+            }
+        }
+        return new ArrayList<>(boardTitles);
+    }
+
+    private static Map<String, AssistantRagBoardSnapshot> byBoard(List<AssistantRagBoardSnapshot> snapshots) {
+        Map<String, AssistantRagBoardSnapshot> byBoard = new HashMap<>();
+        if (snapshots != null) {
+            for (AssistantRagBoardSnapshot snapshot : snapshots) {
+                if (snapshot != null) {
+                    byBoard.put(normalizeBoardTitle(snapshot.getBoardTitle()), snapshot);
+                }
+            }
+        }
+        return Collections.unmodifiableMap(byBoard);
+    }
+
+    private boolean isExcludedBoardTitle(String boardTitle) {
+        if (!StringUtils.hasText(boardTitle)) {
+            return false;
+        }
+        if (assistantProperties == null || assistantProperties.getExcludedBoards() == null || assistantProperties.getExcludedBoards().isEmpty()) {
+            return false;
+        }
+        String normalized = normalizeBoardTitle(boardTitle);
+        for (String excluded : assistantProperties.getExcludedBoards()) {
+            if (!StringUtils.hasText(excluded)) {
+                continue;
+            }
+            if (normalizeBoardTitle(excluded).equals(normalized)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean snapshotEquals(AssistantRagBoardSnapshot expected, AssistantRagBoardSnapshot current) {
+        if (expected == null || current == null) {
+            return false;
+        }
+        if (expected.getPostCount() != current.getPostCount()) {
+            return false;
+        }
+        if (expected.getMaxPostNum() != current.getMaxPostNum()) {
+            return false;
+        }
+        return sameDate(expected.getMaxRegDate(), current.getMaxRegDate());
+    }
+
+    private static boolean sameDate(Date a, Date b) {
+        if (a == null && b == null) {
+            return true;
+        }
+        if (a == null || b == null) {
+            return false;
+        }
+        return a.getTime() == b.getTime();
+    }
+
+    private static String normalizeBoardTitle(String boardTitle) {
+        if (boardTitle == null) {
+            return "";
+        }
+        return boardTitle.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static boolean isIndexableBoardTitle(String boardTitle) {
+        if (!StringUtils.hasText(boardTitle)) {
+            return false;
+        }
+        String normalized = normalizeBoardTitle(boardTitle);
+        if (!StringUtils.hasText(normalized) || !SAFE_BOARD_TITLE.matcher(normalized).matches()) {
+            return false;
+        }
+        return normalized.endsWith("board");
+    }
+
+    private static final class LiveStats {
+        private final Date computedAt;
+        private final Map<String, AssistantRagBoardSnapshot> byBoard;
+
+        private LiveStats(Date computedAt, Map<String, AssistantRagBoardSnapshot> byBoard) {
+            this.computedAt = computedAt;
+            this.byBoard = byBoard;
+        }
+    }
+
+    static final class SignatureCheck {
+        private final boolean available;
+        private final boolean mismatch;
+        private final int mismatchCount;
+        private final List<String> mismatchBoards;
+        private final Date checkedAt;
+
+        private SignatureCheck(boolean available, boolean mismatch, int mismatchCount, List<String> mismatchBoards, Date checkedAt) {
+            this.available = available;
+            this.mismatch = mismatch;
+            this.mismatchCount = mismatchCount;
+            this.mismatchBoards = mismatchBoards == null ? new ArrayList<>() : new ArrayList<>(mismatchBoards);
+            this.checkedAt = checkedAt;
+        }
+
+        private static SignatureCheck unavailable() {
+            return new SignatureCheck(false, false, 0, new ArrayList<>(), null);
+        }
+
+        private static SignatureCheck ok(Date checkedAt) {
+            return new SignatureCheck(true, false, 0, new ArrayList<>(), checkedAt);
+        }
+
+        private static SignatureCheck mismatch(int mismatchCount, List<String> mismatchBoards, Date checkedAt) {
+            return new SignatureCheck(true, true, mismatchCount, mismatchBoards, checkedAt);
+        }
+
+        boolean isAvailable() {
+            return available;
+        }
+
+        boolean isMismatch() {
+            return mismatch;
+        }
+
+        int getMismatchCount() {
+            return mismatchCount;
+        }
+
+        List<String> getMismatchBoards() {
+            return mismatchBoards;
+        }
+
+        Date getCheckedAt() {
+            return checkedAt;
+        }
+    }
+}
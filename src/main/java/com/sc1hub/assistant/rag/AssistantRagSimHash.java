@@ -0,0 +1,128 @@
+package com.sc1hub.assistant.rag;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+final class AssistantRagSimHash {
+
+    static final long NONE = 0L;
+
+    private static final int SHINGLE = 3;
+
+    private AssistantRagSimHash() {
+    }
+
+    static long of(String text) {
+        if (text == null) {
+            return NONE;
+        }
+        char[] chars = new char[text.length()];
+        int length = 0;
+        for (int i = 0; i < text.length(); i += 1) {
+            char c = text.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                chars[length++] = Character.toLowerCase(c);
+            }
+        }
+        if (length < SHINGLE) {
+            return NONE;
+        }
+        int[] weights = new int[64];
+        for (int i = 0; i + SHINGLE <= length; i += 1) {
+            long feature = mix(((long) chars[i] << 32) | ((long) chars[i + 1] << 16) | chars[i + 2]);
+            for (int bit = 0; bit < 64; bit += 1) {
+                weights[bit] += (int) ((feature >>> bit) & 1L) * 2 - 1;
+            }
+        }
+        long hash = 0L;
+        for (int bit = 0; bit < 64; bit += 1) {
+            if (weights[bit] > 0) {
+                hash |= 1L << bit;
+            }
+        }
+        // Keeps NONE free for "no hash"; an all-zero SimHash needs perfectly balanced weights anyway.
+        return hash == NONE ? 1L : hash;
+    }
+
+    static int distance(long left, long right) {
+        return Long.bitCount(left ^ right);
+    }
+
+    // SplitMix64 finalizer: spreads the packed shingle over all 64 bits.
+    private static long mix(long value) {
+        long z = value + 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    // The 64 bits are split into maxDistance + 1 blocks; two hashes that close agree on at least one whole block.
+    static final class Index<T> {
+        private final int maxDistance;
+        private final int[] blockStarts;
+        private final AssistantRagLongMap<List<Integer>> buckets;
+        private long[] hashes;
+        private final List<T> values;
+
+        Index(int maxDistance, int expectedSize) {
+            this.maxDistance = Math.max(1, Math.min(7, maxDistance));
+            int blocks = this.maxDistance + 1;
+            this.blockStarts = new int[blocks + 1];
+            for (int block = 0; block <= blocks; block += 1) {
+                blockStarts[block] = block * 64 / blocks;
+            }
+            this.buckets = new AssistantRagLongMap<>(Math.max(16, expectedSize) * blocks);
+            this.hashes = new long[Math.max(16, expectedSize)];
+            this.values = new ArrayList<>(Math.max(16, expectedSize));
+        }
+
+        synchronized int size() {
+            return values.size();
+        }
+
+        synchronized void add(long hash, T value) {
+            int id = values.size();
+            if (id == hashes.length) {
+                hashes = Arrays.copyOf(hashes, id + (id >> 1) + 1);
+            }
+            hashes[id] = hash;
+            values.add(value);
+            for (int block = 0; block + 1 < blockStarts.length; block += 1) {
+                long key = blockKey(hash, block);
+                List<Integer> bucket = buckets.get(key);
+                if (bucket == null) {
+                    bucket = new ArrayList<>(2);
+                    buckets.put(key, bucket);
+                }
+                bucket.add(id);
+            }
+        }
+
+        synchronized T nearest(long hash) {
+            int best = -1;
+            int bestDistance = maxDistance + 1;
+            for (int block = 0; block + 1 < blockStarts.length && bestDistance > 0; block += 1) {
+                List<Integer> bucket = buckets.get(blockKey(hash, block));
+                if (bucket == null) {
+                    continue;
+                }
+                for (int id : bucket) {
+                    int distance = distance(hash, hashes[id]);
+                    if (distance < bestDistance || (distance == bestDistance && id < best)) {
+                        best = id;
+                        bestDistance = distance;
+                    }
+                }
+            }
+            return best < 0 ? null : values.get(best);
+        }
+
+        private long blockKey(long hash, int block) {
+            int start = blockStarts[block];
+            int width = blockStarts[block + 1] - start;
+            long bits = (hash >>> start) & ((1L << width) - 1L);
+            return ((long) block << 32) | bits;
+        }
+    }
+}
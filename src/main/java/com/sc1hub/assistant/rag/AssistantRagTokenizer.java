@@ -0,0 +1,55 @@
+package com.sc1hub.assistant.rag;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Particles and endings attach to Korean words, so Hangul runs are indexed as overlapping character bigrams.
+final class AssistantRagTokenizer {
+
+    private AssistantRagTokenizer() {
+    }
+
+    static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null || text.isEmpty()) {
+            return tokens;
+        }
+        StringBuilder run = new StringBuilder();
+        boolean hangulRun = false;
+        for (int i = 0; i < text.length(); ) {
+            int codePoint = Character.toLowerCase(text.codePointAt(i));
+            i += Character.charCount(codePoint);
+            boolean hangul = isHangul(codePoint);
+            if (!hangul && !Character.isLetterOrDigit(codePoint)) {
+                flush(run, hangulRun, tokens);
+                continue;
+            }
+            if (run.length() > 0 && hangul != hangulRun) {
+                flush(run, hangulRun, tokens);
+            }
+            hangulRun = hangul;
+            run.appendCodePoint(codePoint);
+        }
+        flush(run, hangulRun, tokens);
+        return tokens;
+    }
+
+    private static void flush(StringBuilder run, boolean hangul, List<String> tokens) {
+        if (run.length() == 0) {
+            return;
+        }
+        // Hangul syllables and compatibility jamo are all in the BMP, so chars are code points here.
+        if (!hangul || run.length() == 1) {
+            tokens.add(run.toString());
+        } else {
+            for (int i = 0; i + 1 < run.length(); i += 1) {
+                tokens.add(run.substring(i, i + 2));
+            }
+        }
+        run.setLength(0);
+    }
+
+    private static boolean isHangul(int codePoint) {
+        return (codePoint >= 0xAC00 && codePoint <= 0xD7A3) || (codePoint >= 0x3131 && codePoint <= 0x318E);
+    }
+}
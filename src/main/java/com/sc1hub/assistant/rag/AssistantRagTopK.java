@@ -0,0 +1,105 @@
+package com.sc1hub.assistant.rag;
+
+final class AssistantRagTopK {
+
+    private final int capacity;
+    private final double[] scores;
+    private final int[] ordinals;
+    private int size;
+
+    AssistantRagTopK(int capacity) {
+        this.capacity = Math.max(1, capacity);
+        this.scores = new double[this.capacity];
+        this.ordinals = new int[this.capacity];
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isFull() {
+        return size >= capacity;
+    }
+
+    double threshold() {
+        return isFull() ? scores[0] : Double.NEGATIVE_INFINITY;
+    }
+
+    void offer(double score, int ordinal) {
+        if (size < capacity) {
+            scores[size] = score;
+            ordinals[size] = ordinal;
+            siftUp(size);
+            size += 1;
+            return;
+        }
+        if (score <= scores[0]) {
+            return;
+        }
+        scores[0] = score;
+        ordinals[0] = ordinal;
+        siftDown(0);
+    }
+
+    void mergeFrom(AssistantRagTopK other) {
+        for (int i = 0; i < other.size; i += 1) {
+            offer(other.scores[i], other.ordinals[i]);
+        }
+    }
+
+    int drainDescending(double[] outScores, int[] outOrdinals) {
+        int count = size;
+        for (int position = count - 1; position >= 0; position -= 1) {
+            outScores[position] = scores[0];
+            outOrdinals[position] = ordinals[0];
+            size -= 1;
+            if (size > 0) {
+                scores[0] = scores[size];
+                ordinals[0] = ordinals[size];
+                siftDown(0);
+            }
+        }
+        return count;
+    }
+
+    private void siftUp(int position) {
+        int current = position;
+        while (current > 0) {
+            int parent = (current - 1) >>> 1;
+            if (scores[parent] <= scores[current]) {
+                return;
+            }
+            swap(parent, current);
+            current = parent;
+        }
+    }
+
+    private void siftDown(int position) {
+        int current = position;
+        while (true) {
+            int left = current * 2 + 1;
+            if (left >= size) {
+                return;
+            }
+            int smallest = left;
+            int right = left + 1;
+            if (right < size && scores[right] < scores[left]) {
+                smallest = right;
+            }
+            if (scores[current] <= scores[smallest]) {
+                return;
+            }
+            swap(current, smallest);
+            current = smallest;
+        }
+    }
+
+    private void swap(int a, int b) {
+        double score = scores[a];
+        scores[a] = scores[b];
+        scores[b] = score;
+        int ordinal = ordinals[a];
+        ordinals[a] = ordinals[b];
+        ordinals[b] = ordinal;
+    }
+}
@@ -0,0 +1,185 @@
+package com.sc1hub.assistant.rag;
+
+import java.nio.FloatBuffer;
+import java.util.Collections;
+import java.util.List;
+
+final class AssistantRagVectorLayout {
+
+    private final int count;
+    private final int dimension;
+    private final float[] heapVectors;
+    private final FloatBuffer mappedVectors;
+    // Ordinals below mappedCount read the mapping (through mappedRows unless null); the rest read heapVectors.
+    private final int mappedCount;
+    private final int[] mappedRows;
+    // 0 marks a chunk without a usable vector; 1 for every present heap chunk.
+    private final float[] inverseNorms;
+
+    private AssistantRagVectorLayout(int count, int dimension, float[] heapVectors, FloatBuffer mappedVectors,
+                                     int mappedCount, int[] mappedRows, float[] inverseNorms) {
+        this.count = count;
+        this.dimension = dimension;
+        this.heapVectors = heapVectors;
+        this.mappedVectors = mappedVectors;
+        this.mappedCount = mappedCount;
+        this.mappedRows = mappedRows;
+        this.inverseNorms = inverseNorms;
+    }
+
+    static AssistantRagVectorLayout fromChunks(List<AssistantRagChunk> chunks, int dimension) {
+        int count = chunks.size();
+        float[] inverseNorms = new float[count];
+        float[] vectors = normalizeInto(chunks, dimension, inverseNorms, 0);
+        return new AssistantRagVectorLayout(count, dimension, vectors, null, 0, null, inverseNorms);
+    }
+
+    static AssistantRagVectorLayout fromMapped(FloatBuffer vectors, int count, int dimension, boolean[] hasVector) {
+        return fromMapped(vectors, null, count, dimension, hasVector, Collections.<AssistantRagChunk>emptyList());
+    }
+
+    static AssistantRagVectorLayout fromMapped(FloatBuffer vectors, int[] rows, int mappedCount, int dimension,
+                                               boolean[] rowHasVector, List<AssistantRagChunk> tail) {
+        int count = mappedCount + tail.size();
+        float[] inverseNorms = new float[count];
+        for (int i = 0; i < mappedCount; i += 1) {
+            int row = rows == null ? i : rows[i];
+            if (!rowHasVector[row] || dimension == 0) {
+                continue;
+            }
+            double norm = Math.sqrt(dot(vectors, row * dimension, vectors, row * dimension, dimension));
+            inverseNorms[i] = norm == 0.0 ? 0.0f : (float) (1.0 / norm);
+        }
+        float[] heapTail = tail.isEmpty() ? null : normalizeInto(tail, dimension, inverseNorms, mappedCount);
+        return new AssistantRagVectorLayout(count, dimension, heapTail, vectors, mappedCount, rows, inverseNorms);
+    }
+
+    private static float[] normalizeInto(List<AssistantRagChunk> chunks, int dimension, float[] inverseNorms,
+                                         int firstOrdinal) {
+        float[] vectors = new float[Math.multiplyExact(chunks.size(), dimension)];
+        for (int i = 0; i < chunks.size(); i += 1) {
+            AssistantRagChunk chunk = chunks.get(i);
+            float[] vector = chunk == null ? null : chunk.getVector();
+            if (vector == null || vector.length != dimension || dimension == 0) {
+                continue;
+            }
+            double norm = Math.sqrt(dot(vector, vector, 0, dimension));
+            if (norm == 0.0) {
+                continue;
+            }
+            int base = i * dimension;
+            for (int d = 0; d < dimension; d += 1) {
+                vectors[base + d] = (float) (vector[d] / norm);
+            }
+            inverseNorms[firstOrdinal + i] = 1.0f;
+        }
+        return vectors;
+    }
+
+    static float[] normalize(float[] vector) {
+        if (vector == null || vector.length == 0) {
+            return null;
+        }
+        double norm = Math.sqrt(dot(vector, vector, 0, vector.length));
+        if (norm == 0.0) {
+            return null;
+        }
+        float[] unit = new float[vector.length];
+        for (int d = 0; d < vector.length; d += 1) {
+            unit[d] = (float) (vector[d] / norm);
+        }
+        return unit;
+    }
+
+    int size() {
+        return count;
+    }
+
+    int getDimension() {
+        return dimension;
+    }
+
+    boolean isMapped() {
+        return mappedVectors != null;
+    }
+
+    boolean hasVector(int ordinal) {
+        return inverseNorms[ordinal] != 0.0f;
+    }
+
+    double cosine(float[] unitQuery, int ordinal) {
+        if (ordinal >= mappedCount) {
+            return dot(unitQuery, heapVectors, (ordinal - mappedCount) * dimension, dimension);
+        }
+        int row = mappedRows == null ? ordinal : mappedRows[ordinal];
+        return dot(unitQuery, mappedVectors, row * dimension, dimension) * inverseNorms[ordinal];
+    }
+
+    boolean readUnit(int ordinal, float[] target) {
+        if (!hasVector(ordinal)) {
+            return false;
+        }
+        if (ordinal >= mappedCount) {
+            System.arraycopy(heapVectors, (ordinal - mappedCount) * dimension, target, 0, dimension);
+            return true;
+        }
+        int offset = (mappedRows == null ? ordinal : mappedRows[ordinal]) * dimension;
+        float inverseNorm = inverseNorms[ordinal];
+        for (int d = 0; d < dimension; d += 1) {
+            target[d] = mappedVectors.get(offset + d) * inverseNorm;
+        }
+        return true;
+    }
+
+    long heapBytes() {
+        long vectorBytes = heapVectors == null ? 0L : (long) heapVectors.length * Float.BYTES;
+        long rowBytes = mappedRows == null ? 0L : (long) mappedRows.length * Integer.BYTES;
+        return vectorBytes + rowBytes + (long) inverseNorms.length * Float.BYTES;
+    }
+
+    static float dot(float[] query, float[] vectors, int offset, int length) {
+        float s0 = 0.0f;
+        float s1 = 0.0f;
+        float s2 = 0.0f;
+        float s3 = 0.0f;
+        int d = 0;
+        int unrolled = length & ~3;
+        for (; d < unrolled; d += 4) {
+            s0 += query[d] * vectors[offset + d];
+            s1 += query[d + 1] * vectors[offset + d + 1];
+            s2 += query[d + 2] * vectors[offset + d + 2];
+            s3 += query[d + 3] * vectors[offset + d + 3];
+        }
+        for (; d < length; d += 1) {
+            s0 += query[d] * vectors[offset + d];
+        }
+        return (s0 + s1) + (s2 + s3);
+    }
+
+    static float dot(float[] query, FloatBuffer vectors, int offset, int length) {
+        float s0 = 0.0f;
+        float s1 = 0.0f;
+        float s2 = 0.0f;
+        float s3 = 0.0f;
+        int d = 0;
+        int unrolled = length & ~3;
+        for (; d < unrolled; d += 4) {
+            s0 += query[d] * vectors.get(offset + d);
+            s1 += query[d + 1] * vectors.get(offset + d + 1);
+            s2 += query[d + 2] * vectors.get(offset + d + 2);
+            s3 += query[d + 3] * vectors.get(offset + d + 3);
+        }
+        for (; d < length; d += 1) {
+            s0 += query[d] * vectors.get(offset + d);
+        }
+        return (s0 + s1) + (s2 + s3);
+    }
+
+    private static double dot(FloatBuffer a, int aOffset, FloatBuffer b, int bOffset, int length) {
+        double sum = 0.0;
+        for (int d = 0; d < length; d += 1) {
+            sum += (double) a.get(aOffset + d) * (double) b.get(bOffset + d);
+        }
+        return sum;
+    }
+}
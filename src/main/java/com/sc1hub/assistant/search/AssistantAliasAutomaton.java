@@ -0,0 +1,212 @@
+package com.sc1hub.assistant.search;
+
+import com.sc1hub.assistant.dto.AliasDictionaryDTO;
+import org.springframework.util.StringUtils;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Function;
+
+// An alias with a space is matched as is; any other alias with whitespace removed on both sides.
+final class AssistantAliasAutomaton {
+
+    static final AssistantAliasAutomaton EMPTY = compile(Collections.emptyList(), Function.identity());
+
+    private final List<AliasDictionaryDTO> aliases;
+    private final Trie spaced;
+    private final Trie compact;
+    private final Map<String, int[]> aliasIdsByKey;
+
+    private AssistantAliasAutomaton(List<AliasDictionaryDTO> aliases, Trie spaced, Trie compact,
+                                    Map<String, int[]> aliasIdsByKey) {
+        this.aliases = aliases;
+        this.spaced = spaced;
+        this.compact = compact;
+        this.aliasIdsByKey = aliasIdsByKey;
+    }
+
+    static AssistantAliasAutomaton compile(List<AliasDictionaryDTO> aliases, Function<String, String> normalizer) {
+        List<AliasDictionaryDTO> kept = new ArrayList<>();
+        TrieBuilder spaced = new TrieBuilder();
+        TrieBuilder compact = new TrieBuilder();
+        Map<String, List<Integer>> idsByKey = new HashMap<>();
+        for (AliasDictionaryDTO alias : aliases) {
+            if (alias == null || !StringUtils.hasText(alias.getAlias())) {
+                continue;
+            }
+            String key = normalizer.apply(alias.getAlias());
+            if (!StringUtils.hasText(key)) {
+                continue;
+            }
+            int id = kept.size();
+            kept.add(alias);
+            if (key.indexOf(' ') >= 0) {
+                spaced.add(key, id);
+            } else {
+                compact.add(key.replaceAll("\\s+", ""), id);
+            }
+            idsByKey.computeIfAbsent(key, k -> new ArrayList<>()).add(id);
+        }
+        Map<String, int[]> aliasIdsByKey = new HashMap<>();
+        for (Map.Entry<String, List<Integer>> entry : idsByKey.entrySet()) {
+            aliasIdsByKey.put(entry.getKey(), entry.getValue().stream().mapToInt(Integer::intValue).toArray());
+        }
+        return new AssistantAliasAutomaton(Collections.unmodifiableList(kept), spaced.build(), compact.build(),
+                aliasIdsByKey);
+    }
+
+    int size() {
+        return aliases.size();
+    }
+
+    List<AliasDictionaryDTO> match(String text, String compactText, Collection<String> exactKeys) {
+        if (aliases.isEmpty()) {
+            return Collections.emptyList();
+        }
+        BitSet matched = new BitSet(aliases.size());
+        spaced.findAll(text, matched);
+        compact.findAll(compactText, matched);
+        if (exactKeys != null) {
+            for (String key : exactKeys) {
+                int[] ids = key == null ? null : aliasIdsByKey.get(key);
+                if (ids != null) {
+                    for (int id : ids) {
+                        matched.set(id);
+                    }
+                }
+            }
+        }
+        if (matched.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<AliasDictionaryDTO> result = new ArrayList<>(matched.cardinality());
+        for (int id = matched.nextSetBit(0); id >= 0; id = matched.nextSetBit(id + 1)) {
+            result.add(aliases.get(id));
+        }
+        return result;
+    }
+
+    private static final class Trie {
+        private final char[][] edgeChars;
+        private final int[][] edgeTargets;
+        private final int[] fail;
+        private final int[][] output;
+        private final int[] outputLink;
+
+        private Trie(char[][] edgeChars, int[][] edgeTargets, int[] fail, int[][] output, int[] outputLink) {
+            this.edgeChars = edgeChars;
+            this.edgeTargets = edgeTargets;
+            this.fail = fail;
+            this.output = output;
+            this.outputLink = outputLink;
+        }
+
+        private void findAll(String text, BitSet matched) {
+            if (text == null || edgeChars.length == 1) {
+                return;
+            }
+            int state = 0;
+            for (int i = 0; i < text.length(); i += 1) {
+                char c = text.charAt(i);
+                int next = child(state, c);
+                while (next < 0 && state != 0) {
+                    state = fail[state];
+                    next = child(state, c);
+                }
+                state = next < 0 ? 0 : next;
+                for (int node = output[state].length > 0 ? state : outputLink[state]; node > 0; node = outputLink[node]) {
+                    for (int id : output[node]) {
+                        matched.set(id);
+                    }
+                }
+            }
+        }
+
+        private int child(int node, char c) {
+            int index = Arrays.binarySearch(edgeChars[node], c);
+            return index < 0 ? -1 : edgeTargets[node][index];
+        }
+    }
+
+    private static final class TrieBuilder {
+        private final List<TreeMap<Character, Integer>> edges = new ArrayList<>();
+        private final List<List<Integer>> outputs = new ArrayList<>();
+
+        private TrieBuilder() {
+            newNode();
+        }
+
+        private int newNode() {
+            edges.add(new TreeMap<>());
+            outputs.add(new ArrayList<>(1));
+            return edges.size() - 1;
+        }
+
+        private void add(String pattern, int id) {
+            int node = 0;
+            for (int i = 0; i < pattern.length(); i += 1) {
+                Integer next = edges.get(node).get(pattern.charAt(i));
+                if (next == null) {
+                    next = newNode();
+                    edges.get(node).put(pattern.charAt(i), next);
+                }
+                node = next;
+            }
+            outputs.get(node).add(id);
+        }
+
+        private Trie build() {
+            int size = edges.size();
+            char[][] edgeChars = new char[size][];
+            int[][] edgeTargets = new int[size][];
+            int[][] output = new int[size][];
+            for (int node = 0; node < size; node += 1) {
+                TreeMap<Character, Integer> nodeEdges = edges.get(node);
+                edgeChars[node] = new char[nodeEdges.size()];
+                edgeTargets[node] = new int[nodeEdges.size()];
+                int index = 0;
+                for (Map.Entry<Character, Integer> edge : nodeEdges.entrySet()) {
+                    edgeChars[node][index] = edge.getKey();
+                    edgeTargets[node][index] = edge.getValue();
+                    index += 1;
+                }
+                output[node] = outputs.get(node).stream().mapToInt(Integer::intValue).toArray();
+            }
+
+            // Breadth-first, so a node's failure target (a shorter suffix) is finished before the node itself.
+            int[] fail = new int[size];
+            int[] outputLink = new int[size];
+            Trie trie = new Trie(edgeChars, edgeTargets, fail, output, outputLink);
+            Deque<Integer> queue = new ArrayDeque<>();
+            for (int child : edgeTargets[0]) {
+                queue.add(child);
+            }
+            while (!queue.isEmpty()) {
+                int node = queue.poll();
+                for (int index = 0; index < edgeChars[node].length; index += 1) {
+                    char c = edgeChars[node][index];
+                    int child = edgeTargets[node][index];
+                    int state = fail[node];
+                    int next = trie.child(state, c);
+                    while (next < 0 && state != 0) {
+                        state = fail[state];
+                        next = trie.child(state, c);
+                    }
+                    fail[child] = next < 0 ? 0 : next;
+                    outputLink[child] = output[fail[child]].length > 0 ? fail[child] : outputLink[fail[child]];
+                    queue.add(child);
+                }
+            }
+            return trie;
+        }
+    }
+}
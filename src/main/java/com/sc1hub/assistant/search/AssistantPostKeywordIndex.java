@@ -0,0 +1,522 @@
+package com.sc1hub.assistant.search;
+
+import com.sc1hub.assistant.config.AssistantProperties;
+import com.sc1hub.assistant.config.AssistantRagProperties;
+import com.sc1hub.board.dto.BoardDTO;
+import com.sc1hub.board.dto.BoardListDTO;
+import com.sc1hub.board.mapper.BoardMapper;
+import com.sc1hub.board.support.BoardPostText;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+// Keeps the LIKE semantics: a keyword matches a field when the lower-cased field contains it. Not built or fed
+// while RAG hybrid retrieval is enabled, since chat then asks the RAG BM25 index instead.
+@Component
+@Slf4j
+public class AssistantPostKeywordIndex {
+
+    private static final Pattern SAFE_BOARD_TITLE = Pattern.compile("^[a-z0-9_]+$");
+    // Removed posts leave their ids in the postings; past this share of the documents the postings are rebuilt.
+    private static final int MIN_REMOVED_FOR_COMPACTION = 256;
+
+    private final BoardMapper boardMapper;
+    private final AssistantProperties assistantProperties;
+    private final AssistantRagProperties ragProperties;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+
+    // Guarded by lock. Null until the first rebuild.
+    private Postings postings;
+    // Guarded by lock. Writes reported while a rebuild reads the boards, replayed onto its result.
+    private List<Doc> writesDuringRebuild;
+    private List<String> deletesDuringRebuild;
+    private volatile boolean ready;
+
+    public AssistantPostKeywordIndex(BoardMapper boardMapper, AssistantProperties assistantProperties,
+                                     AssistantRagProperties ragProperties) {
+        this.boardMapper = boardMapper;
+        this.assistantProperties = assistantProperties;
+        this.ragProperties = ragProperties;
+    }
+
+    public boolean isReady() {
+        return ready && isEnabled();
+    }
+
+    private boolean isEnabled() {
+        if (!assistantProperties.getKeywordIndex().isEnabled()) {
+            return false;
+        }
+        return !ragProperties.isEnabled() || !ragProperties.getHybrid().isEnabled();
+    }
+
+    public int rebuild() {
+        AssistantProperties.KeywordIndexProperties properties = assistantProperties.getKeywordIndex();
+        if (!isEnabled()) {
+            return -1;
+        }
+        rebuildLock.lock();
+        try {
+            long startedAt = System.currentTimeMillis();
+            lock.writeLock().lock();
+            try {
+                writesDuringRebuild = new ArrayList<>();
+                deletesDuringRebuild = new ArrayList<>();
+            } finally {
+                lock.writeLock().unlock();
+            }
+
+            Postings rebuilt = new Postings();
+            try {
+                loadAllPosts(rebuilt, Math.max(1, properties.getLoadBatchSize()));
+            } catch (RuntimeException e) {
+                lock.writeLock().lock();
+                try {
+                    writesDuringRebuild = null;
+                    deletesDuringRebuild = null;
+                } finally {
+                    lock.writeLock().unlock();
+                }
+                throw e;
+            }
+
+            lock.writeLock().lock();
+            try {
+                for (String key : deletesDuringRebuild) {
+                    rebuilt.remove(key);
+                }
+                for (Doc doc : writesDuringRebuild) {
+                    rebuilt.put(doc);
+                }
+                writesDuringRebuild = null;
+                deletesDuringRebuild = null;
+                postings = rebuilt;
+                ready = true;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            log.info("assistant 키워드 색인 생성 완료. posts={}, words={}, elapsedMs={}",
+                    rebuilt.liveDocs, rebuilt.words.size(), System.currentTimeMillis() - startedAt);
+            return rebuilt.liveDocs;
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    // Both statements set reg_date = now(), so the post is indexed with the current time.
+    public void postSaved(String boardTitle, BoardDTO post) {
+        String normalizedBoardTitle = normalizeBoardTitle(boardTitle);
+        if (!isEnabled() || post == null || post.getPostNum() <= 0 || !isValidBoardTitle(normalizedBoardTitle)) {
+            return;
+        }
+        BoardDTO indexed = new BoardDTO();
+        indexed.setPostNum(post.getPostNum());
+        indexed.setTitle(post.getTitle());
+        indexed.setContent(post.getContent());
+        indexed.setPlainText(post.getPlainText());
+        indexed.setWriter(post.getWriter());
+        indexed.setRegDate(new Date());
+        indexed.setSearchTerms(post.getSearchTerms());
+        Doc doc = new Doc(normalizedBoardTitle, indexed);
+        lock.writeLock().lock();
+        try {
+            if (postings != null) {
+                postings.put(doc);
+                compactIfNeeded();
+            }
+            if (writesDuringRebuild != null) {
+                writesDuringRebuild.add(doc);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void postDeleted(String boardTitle, int postNum) {
+        if (!isEnabled()) {
+            return;
+        }
+        String key = postKey(normalizeBoardTitle(boardTitle), postNum);
+        lock.writeLock().lock();
+        try {
+            if (postings != null) {
+                postings.remove(key);
+                compactIfNeeded();
+            }
+            if (writesDuringRebuild != null) {
+                writesDuringRebuild.removeIf(doc -> doc.key.equals(key));
+                deletesDuringRebuild.add(key);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public Map<String, List<Hit>> search(List<String> keywords, Collection<String> boardTitles, int perBoardLimit) {
+        List<String> needles = normalizeKeywords(keywords);
+        if (needles.isEmpty() || boardTitles == null || boardTitles.isEmpty() || perBoardLimit <= 0) {
+            return Collections.emptyMap();
+        }
+        Set<String> boards = new HashSet<>();
+        for (String boardTitle : boardTitles) {
+            boards.add(normalizeBoardTitle(boardTitle));
+        }
+
+        Map<String, List<Hit>> hitsByBoard = new LinkedHashMap<>();
+        lock.readLock().lock();
+        try {
+            if (postings == null) {
+                return Collections.emptyMap();
+            }
+            BitSet candidates = postings.candidates(needles);
+            for (int id = candidates.nextSetBit(0); id >= 0; id = candidates.nextSetBit(id + 1)) {
+                Doc doc = postings.docs.get(id);
+                if (doc == null || !boards.contains(doc.boardTitle)) {
+                    continue;
+                }
+                double score = doc.score(needles);
+                if (score <= 0) {
+                    continue;
+                }
+                hitsByBoard.computeIfAbsent(doc.boardTitle, key -> new ArrayList<>()).add(new Hit(doc, score));
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        for (Map.Entry<String, List<Hit>> entry : hitsByBoard.entrySet()) {
+            List<Hit> hits = entry.getValue();
+            hits.sort(AssistantPostKeywordIndex::compareHits);
+            if (hits.size() > perBoardLimit) {
+                entry.setValue(new ArrayList<>(hits.subList(0, perBoardLimit)));
+            }
+        }
+        return hitsByBoard;
+    }
+
+    private void loadAllPosts(Postings target, int batchSize) {
+        List<BoardListDTO> boards;
+        try {
+            boards = boardMapper.getBoardList();
+        } catch (Exception e) {
+            throw new IllegalStateException("게시판 목록을 읽지 못했습니다.", e);
+        }
+        if (boards == null) {
+            return;
+        }
+        Set<String> loaded = new HashSet<>();
+        for (BoardListDTO board : boards) {
+            String boardTitle = normalizeBoardTitle(board == null ? null : board.getBoardTitle());
+            if (!isValidBoardTitle(boardTitle) || !loaded.add(boardTitle)) {
+                continue;
+            }
+            try {
+                int lastPostNum = 0;
+                while (true) {
+                    List<BoardDTO> posts = boardMapper.selectPostsForKeywordIndex(boardTitle, lastPostNum, batchSize);
+                    if (posts == null || posts.isEmpty()) {
+                        break;
+                    }
+                    for (BoardDTO post : posts) {
+                        if (post == null) {
+                            continue;
+                        }
+                        target.put(new Doc(boardTitle, post));
+                        lastPostNum = Math.max(lastPostNum, post.getPostNum());
+                    }
+                    if (posts.size() < batchSize) {
+                        break;
+                    }
+                }
+            } catch (Exception e) {
+                log.warn("assistant 키워드 색인 중 게시판 로드 실패. boardTitle={}", boardTitle, e);
+            }
+        }
+    }
+
+    // Caller holds the write lock.
+    private void compactIfNeeded() {
+        if (postings.removedDocs >= MIN_REMOVED_FOR_COMPACTION && postings.removedDocs * 4 > postings.docs.size()) {
+            Postings compacted = new Postings();
+            for (Doc doc : postings.docs) {
+                if (doc != null) {
+                    compacted.put(doc);
+                }
+            }
+            postings = compacted;
+        }
+    }
+
+    private static int compareHits(Hit left, Hit right) {
+        int scoreCompare = Double.compare(right.score, left.score);
+        if (scoreCompare != 0) {
+            return scoreCompare;
+        }
+        Date leftDate = left.post.getRegDate();
+        Date rightDate = right.post.getRegDate();
+        if (leftDate != null && rightDate != null && !leftDate.equals(rightDate)) {
+            return rightDate.compareTo(leftDate);
+        }
+        if (leftDate == null ^ rightDate == null) {
+            return leftDate == null ? 1 : -1;
+        }
+        return Integer.compare(right.post.getPostNum(), left.post.getPostNum());
+    }
+
+    private static List<String> normalizeKeywords(List<String> keywords) {
+        if (keywords == null || keywords.isEmpty()) {
+            return Collections.emptyList();
+        }
+        Set<String> normalized = new LinkedHashSet<>();
+        for (String keyword : keywords) {
+            if (StringUtils.hasText(keyword)) {
+                normalized.add(keyword.toLowerCase(Locale.ROOT));
+            }
+        }
+        return new ArrayList<>(normalized);
+    }
+
+    static List<String> words(String lowerText) {
+        List<String> words = new ArrayList<>();
+        if (lowerText == null) {
+            return words;
+        }
+        int start = -1;
+        for (int i = 0; i <= lowerText.length(); i += 1) {
+            boolean wordChar = i < lowerText.length() && Character.isLetterOrDigit(lowerText.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                words.add(lowerText.substring(start, i));
+                start = -1;
+            }
+        }
+        return words;
+    }
+
+    private static boolean isValidBoardTitle(String boardTitle) {
+        return StringUtils.hasText(boardTitle) && SAFE_BOARD_TITLE.matcher(boardTitle).matches();
+    }
+
+    private static String normalizeBoardTitle(String boardTitle) {
+        return boardTitle == null ? "" : boardTitle.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static String postKey(String boardTitle, int postNum) {
+        return boardTitle + ":" + postNum;
+    }
+
+    @Getter
+    public static final class Hit {
+        private final String boardTitle;
+        private final BoardDTO post;
+        private final double score;
+
+        private Hit(Doc doc, double score) {
+            this.boardTitle = doc.boardTitle;
+            this.post = doc.toPost();
+            this.score = score;
+        }
+    }
+
+    private static final class Doc {
+        private final String key;
+        private final String boardTitle;
+        private final int postNum;
+        private final String title;
+        private final String text;
+        private final String writer;
+        private final Date regDate;
+        private final String searchTerms;
+        private final String titleLower;
+        private final String textLower;
+        private final String searchTermsLower;
+
+        private Doc(String boardTitle, BoardDTO post) {
+            this.key = postKey(boardTitle, post.getPostNum());
+            this.boardTitle = boardTitle.intern();
+            this.postNum = post.getPostNum();
+            this.title = post.getTitle() == null ? "" : post.getTitle();
+            this.text = BoardPostText.plainTextOf(post);
+            this.writer = post.getWriter();
+            this.regDate = post.getRegDate();
+            this.searchTerms = post.getSearchTerms() == null ? "" : post.getSearchTerms();
+            this.titleLower = title.toLowerCase(Locale.ROOT);
+            this.textLower = text.toLowerCase(Locale.ROOT);
+            this.searchTermsLower = searchTerms.toLowerCase(Locale.ROOT);
+        }
+
+        private double score(List<String> needles) {
+            double score = 0;
+            for (String needle : needles) {
+                if (titleLower.contains(needle)) {
+                    score += 3;
+                }
+                if (textLower.contains(needle)) {
+                    score += 1;
+                }
+                if (searchTermsLower.contains(needle)) {
+                    score += 1;
+                }
+            }
+            return score;
+        }
+
+        private BoardDTO toPost() {
+            BoardDTO post = new BoardDTO();
+            post.setPostNum(postNum);
+            post.setTitle(title);
+            post.setPlainText(text);
+            post.setWriter(writer);
+            post.setRegDate(regDate);
+            post.setSearchTerms(searchTerms);
+            return post;
+        }
+    }
+
+    private static final class Postings {
+        private final List<Doc> docs = new ArrayList<>();
+        private final Map<String, Integer> docIdByKey = new HashMap<>();
+        private final List<String> words = new ArrayList<>();
+        private final Map<String, Integer> wordIds = new HashMap<>();
+        private final List<IntList> wordDocs = new ArrayList<>();
+        private final Map<String, IntList> wordsByBigram = new HashMap<>();
+        private int liveDocs;
+        private int removedDocs;
+
+        private void put(Doc doc) {
+            remove(doc.key);
+            int docId = docs.size();
+            docs.add(doc);
+            docIdByKey.put(doc.key, docId);
+            liveDocs += 1;
+            Set<String> docWords = new HashSet<>(words(doc.titleLower));
+            docWords.addAll(words(doc.textLower));
+            docWords.addAll(words(doc.searchTermsLower));
+            for (String word : docWords) {
+                wordDocs.get(wordId(word)).add(docId);
+            }
+        }
+
+        private void remove(String key) {
+            Integer docId = docIdByKey.remove(key);
+            if (docId != null) {
+                docs.set(docId, null);
+                liveDocs -= 1;
+                removedDocs += 1;
+            }
+        }
+
+        private int wordId(String word) {
+            Integer existing = wordIds.get(word);
+            if (existing != null) {
+                return existing;
+            }
+            int id = words.size();
+            words.add(word);
+            wordIds.put(word, id);
+            wordDocs.add(new IntList());
+            Set<String> bigrams = new HashSet<>();
+            for (int i = 0; i + 2 <= word.length(); i += 1) {
+                bigrams.add(word.substring(i, i + 2));
+            }
+            for (String bigram : bigrams) {
+                wordsByBigram.computeIfAbsent(bigram, key -> new IntList()).add(id);
+            }
+            return id;
+        }
+
+        private BitSet candidates(List<String> needles) {
+            BitSet candidates = new BitSet(docs.size());
+            for (String needle : needles) {
+                List<String> parts = words(needle);
+                if (parts.isEmpty()) {
+                    // Only separators (e.g. "++"): there is no word to look up, so every document is checked.
+                    candidates.set(0, docs.size());
+                    return candidates;
+                }
+                BitSet needleDocs = null;
+                for (String part : parts) {
+                    BitSet partDocs = docsWithWordContaining(part);
+                    if (needleDocs == null) {
+                        needleDocs = partDocs;
+                    } else {
+                        needleDocs.and(partDocs);
+                    }
+                    if (needleDocs.isEmpty()) {
+                        break;
+                    }
+                }
+                candidates.or(needleDocs);
+            }
+            return candidates;
+        }
+
+        private BitSet docsWithWordContaining(String part) {
+            BitSet found = new BitSet(docs.size());
+            if (part.length() < 2) {
+                for (int wordId = 0; wordId < words.size(); wordId += 1) {
+                    if (words.get(wordId).contains(part)) {
+                        wordDocs.get(wordId).setAll(found);
+                    }
+                }
+                return found;
+            }
+            IntList rarest = null;
+            for (int i = 0; i + 2 <= part.length(); i += 1) {
+                IntList wordsWithBigram = wordsByBigram.get(part.substring(i, i + 2));
+                if (wordsWithBigram == null) {
+                    return found;
+                }
+                if (rarest == null || wordsWithBigram.size < rarest.size) {
+                    rarest = wordsWithBigram;
+                }
+            }
+            for (int i = 0; i < rarest.size; i += 1) {
+                int wordId = rarest.values[i];
+                if (words.get(wordId).contains(part)) {
+                    wordDocs.get(wordId).setAll(found);
+                }
+            }
+            return found;
+        }
+    }
+
+    private static final class IntList {
+        private int[] values = new int[2];
+        private int size;
+
+        private void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        private void setAll(BitSet target) {
+            for (int i = 0; i < size; i += 1) {
+                target.set(values[i]);
+            }
+        }
+    }
+}
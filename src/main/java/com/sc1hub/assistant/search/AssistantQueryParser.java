@@ -56,7 +56,7 @@ public class AssistantQueryParser {
     private final ObjectMapper objectMapper;
     private final AssistantQueryExpansion queryExpansion;
 
-    private volatile List<AliasDictionaryDTO> cachedAliases = Collections.emptyList();
+    private volatile AssistantAliasAutomaton cachedAliases = AssistantAliasAutomaton.EMPTY;
     private volatile long cachedAtMillis = 0L;
 
     public AssistantQueryParser(AliasDictionaryMapper aliasDictionaryMapper,
@@ -68,10 +68,14 @@ public class AssistantQueryParser {
     }
 
     public void invalidateAliasCache() {
-        cachedAliases = Collections.emptyList();
+        cachedAliases = AssistantAliasAutomaton.EMPTY;
         cachedAtMillis = 0L;
     }
 
+    public int preloadAliases() {
+        return loadAliases().size();
+    }
+
     public AssistantQueryParseResult parse(String message) {
         AssistantQueryParseResult result = new AssistantQueryParseResult();
 
@@ -478,59 +482,28 @@ public class AssistantQueryParser {
     private List<AliasDictionaryDTO> matchAliases(String message, List<String> keywords) {
         String normalized = safeLower(message);
         String compact = normalized.replaceAll("\\s+", "");
-        List<AliasDictionaryDTO> result = new ArrayList<>();
-        List<AliasDictionaryDTO> aliases = loadAliases();
-        for (AliasDictionaryDTO alias : aliases) {
-            if (alias == null || !StringUtils.hasText(alias.getAlias())) {
-                continue;
-            }
-            String aliasText = safeLower(alias.getAlias());
-            if (!StringUtils.hasText(aliasText)) {
-                continue;
-            }
-            boolean matched;
-            if (aliasText.contains(" ")) {
-                matched = normalized.contains(aliasText);
-            } else {
-                matched = compact.contains(aliasText.replaceAll("\\s+", ""));
-            }
-            if (!matched && keywords != null && !keywords.isEmpty()) {
-                for (String keyword : keywords) {
-                    if (!StringUtils.hasText(keyword)) {
-                        continue;
-                    }
-                    if (keyword.equals(aliasText)) {
-                        matched = true;
-                        break;
-                    }
-                }
-            }
-            if (matched) {
-                result.add(alias);
-            }
-        }
-        return result;
+        return loadAliases().match(normalized, compact, keywords);
     }
 
-    private List<AliasDictionaryDTO> loadAliases() {
+    private AssistantAliasAutomaton loadAliases() {
         long now = System.currentTimeMillis();
-        if (now - cachedAtMillis < ALIAS_CACHE_MILLIS && cachedAliases != null && !cachedAliases.isEmpty()) {
+        if (now - cachedAtMillis < ALIAS_CACHE_MILLIS && cachedAliases.size() > 0) {
             return cachedAliases;
         }
         synchronized (this) {
-            if (now - cachedAtMillis < ALIAS_CACHE_MILLIS && cachedAliases != null && !cachedAliases.isEmpty()) {
+            if (now - cachedAtMillis < ALIAS_CACHE_MILLIS && cachedAliases.size() > 0) {
                 return cachedAliases;
             }
             try {
                 List<AliasDictionaryDTO> aliases = aliasDictionaryMapper.selectAll();
                 if (aliases == null || aliases.isEmpty()) {
-                    cachedAliases = Collections.emptyList();
+                    cachedAliases = AssistantAliasAutomaton.EMPTY;
                 } else {
-                    cachedAliases = aliases;
+                    cachedAliases = AssistantAliasAutomaton.compile(aliases, AssistantQueryParser::safeLower);
                 }
             } catch (Exception e) {
                 log.warn("alias_dictionary 로드 실패", e);
-                return cachedAliases == null ? Collections.emptyList() : cachedAliases;
+                return cachedAliases;
             } finally {
                 cachedAtMillis = now;
             }
@@ -3,6 +3,7 @@ package com.sc1hub.assistant.search;
 import com.sc1hub.board.dto.BoardDTO;
 import com.sc1hub.board.dto.BoardListDTO;
 import com.sc1hub.board.mapper.BoardMapper;
+import com.sc1hub.board.support.BoardPostText;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -25,6 +26,7 @@ public class AssistantSearchTermsIndexService {
 
     private final BoardMapper boardMapper;
     private final AssistantSearchTermsService searchTermsService;
+    private final AssistantPostKeywordIndex postKeywordIndex;
     private final ReentrantLock reindexLock = new ReentrantLock();
 
     private volatile boolean reindexRunning = false;
@@ -33,9 +35,12 @@ public class AssistantSearchTermsIndexService {
     private volatile String lastReindexError;
     private volatile ReindexResult lastReindexResult;
 
-    public AssistantSearchTermsIndexService(BoardMapper boardMapper, AssistantSearchTermsService searchTermsService) {
+    public AssistantSearchTermsIndexService(BoardMapper boardMapper,
+                                            AssistantSearchTermsService searchTermsService,
+                                            AssistantPostKeywordIndex postKeywordIndex) {
         this.boardMapper = boardMapper;
         this.searchTermsService = searchTermsService;
+        this.postKeywordIndex = postKeywordIndex;
     }
 
     public Status getStatus() {
@@ -54,6 +59,7 @@ public class AssistantSearchTermsIndexService {
             try {
                 ReindexResult result = doReindex(resolvedBatchSize);
                 lastReindexResult = result;
+                rebuildKeywordIndex();
                 return result;
             } catch (Exception e) {
                 lastReindexError = e.getMessage() != null ? e.getMessage() : e.toString();
@@ -100,7 +106,8 @@ public class AssistantSearchTermsIndexService {
                             continue;
                         }
                         scannedPosts += 1;
-                        String newTerms = searchTermsService.buildSearchTerms(post.getTitle(), post.getContent());
+                        String newTerms = searchTermsService.buildSearchTermsFromText(post.getTitle(),
+                                BoardPostText.plainTextOf(post));
                         String existingTerms = normalizeTermsForCompare(post.getSearchTerms());
                         if (!newTerms.equals(existingTerms)) {
                             boardMapper.updateSearchTerms(boardTitle, post.getPostNum(), newTerms);
@@ -118,6 +125,15 @@ public class AssistantSearchTermsIndexService {
         return new ReindexResult(boardCount, scannedPosts, updatedPosts, batchSize, failedBoards);
     }
 
+    // search_terms were rewritten in place, which the keyword index does not see; rebuild it from the new values.
+    private void rebuildKeywordIndex() {
+        try {
+            postKeywordIndex.rebuild();
+        } catch (Exception e) {
+            log.warn("search_terms 재인덱싱 후 키워드 색인 재생성 실패", e);
+        }
+    }
+
     private List<BoardListDTO> loadBoards() {
         try {
             List<BoardListDTO> boards = boardMapper.getBoardList();
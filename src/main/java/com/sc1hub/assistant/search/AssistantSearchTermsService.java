@@ -28,7 +28,7 @@ public class AssistantSearchTermsService {
     private final AliasDictionaryMapper aliasDictionaryMapper;
     private final ObjectMapper objectMapper;
 
-    private volatile List<AliasDictionaryDTO> cachedAliases = Collections.emptyList();
+    private volatile AssistantAliasAutomaton cachedAliases = AssistantAliasAutomaton.EMPTY;
     private volatile long cachedAtMillis = 0L;
 
     public AssistantSearchTermsService(AliasDictionaryMapper aliasDictionaryMapper, ObjectMapper objectMapper) {
@@ -37,13 +37,21 @@ public class AssistantSearchTermsService {
     }
 
     public void invalidateAliasCache() {
-        cachedAliases = Collections.emptyList();
+        cachedAliases = AssistantAliasAutomaton.EMPTY;
         cachedAtMillis = 0L;
     }
 
+    public int preloadAliases() {
+        return loadAliases().size();
+    }
+
     public String buildSearchTerms(String title, String content) {
+        return buildSearchTermsFromText(title, content == null ? "" : stripHtmlToText(content));
+    }
+
+    public String buildSearchTermsFromText(String title, String plainText) {
         String safeTitle = title == null ? "" : title;
-        String safeContent = content == null ? "" : stripHtmlToText(content);
+        String safeContent = plainText == null ? "" : plainText;
         String combined = (safeTitle + " " + safeContent).trim();
 
         LinkedHashSet<String> terms = new LinkedHashSet<>();
@@ -52,27 +60,8 @@ public class AssistantSearchTermsService {
         String matchText = normalizeForMatch(combined);
         String compactMatchText = matchText.replaceAll("\\s+", "");
 
-        List<AliasDictionaryDTO> aliases = loadAliases();
-        if (aliases != null) {
-            for (AliasDictionaryDTO alias : aliases) {
-                if (alias == null || !StringUtils.hasText(alias.getAlias())) {
-                    continue;
-                }
-                String normalizedAlias = normalizeForMatch(alias.getAlias());
-                if (!StringUtils.hasText(normalizedAlias)) {
-                    continue;
-                }
-                boolean matched;
-                if (normalizedAlias.contains(" ")) {
-                    matched = matchText.contains(normalizedAlias);
-                } else {
-                    matched = compactMatchText.contains(normalizedAlias.replaceAll("\\s+", ""));
-                }
-                if (!matched) {
-                    continue;
-                }
-                addParsedTerms(alias.getCanonicalTerms(), terms);
-            }
+        for (AliasDictionaryDTO alias : loadAliases().match(matchText, compactMatchText, null)) {
+            addParsedTerms(alias.getCanonicalTerms(), terms);
         }
 
         if (terms.isEmpty()) {
@@ -86,25 +75,27 @@ public class AssistantSearchTermsService {
         return joined.substring(0, MAX_TERMS_LENGTH);
     }
 
-    private List<AliasDictionaryDTO> loadAliases() {
+    // Aliases are normalized and compiled once per load, not per post.
+    private AssistantAliasAutomaton loadAliases() {
         long now = System.currentTimeMillis();
-        if (now - cachedAtMillis < ALIAS_CACHE_MILLIS && cachedAliases != null && !cachedAliases.isEmpty()) {
+        if (now - cachedAtMillis < ALIAS_CACHE_MILLIS && cachedAliases.size() > 0) {
             return cachedAliases;
         }
         synchronized (this) {
-            if (now - cachedAtMillis < ALIAS_CACHE_MILLIS && cachedAliases != null && !cachedAliases.isEmpty()) {
+            if (now - cachedAtMillis < ALIAS_CACHE_MILLIS && cachedAliases.size() > 0) {
                 return cachedAliases;
             }
             try {
                 List<AliasDictionaryDTO> aliases = aliasDictionaryMapper.selectAll();
                 if (aliases == null || aliases.isEmpty()) {
-                    cachedAliases = Collections.emptyList();
+                    cachedAliases = AssistantAliasAutomaton.EMPTY;
                 } else {
-                    cachedAliases = aliases;
+                    cachedAliases = AssistantAliasAutomaton.compile(aliases,
+                            AssistantSearchTermsService::normalizeForMatch);
                 }
             } catch (Exception e) {
                 log.warn("alias_dictionary 로드 실패", e);
-                return cachedAliases == null ? Collections.emptyList() : cachedAliases;
+                return cachedAliases;
             } finally {
                 cachedAtMillis = now;
             }
@@ -20,6 +20,7 @@ import com.sc1hub.board.dto.BoardDTO;
 import com.sc1hub.board.dto.CommentDTO;
 import com.sc1hub.board.mapper.BoardMapper;
 import com.sc1hub.board.service.BoardService;
+import com.sc1hub.board.support.BoardPostText;
 import com.sc1hub.chat.dto.ChatMessageDTO;
 import com.sc1hub.chat.service.ChatRoomService;
 import com.sc1hub.common.util.BlockedWordMatcher;
@@ -1589,7 +1590,7 @@ public class AssistantBotService {
             sb.append("대상 게시글:\n");
             appendLine(sb, "- 작성자: " + safeText(targetPost.getWriter(), 60));
             appendLine(sb, "- 제목: " + safeText(targetPost.getTitle(), 160));
-            appendLine(sb, "- 본문: " + safeText(stripHtml(targetPost.getContent()), botProperties.getPromptExcerptChars()));
+            appendLine(sb, "- 본문: " + safeText(BoardPostText.plainTextOf(targetPost), botProperties.getPromptExcerptChars()));
             sb.append("\n");
         }
 
@@ -1604,7 +1605,7 @@ public class AssistantBotService {
                         continue;
                     }
                     appendLine(sb, index + ". 제목: " + safeText(post.getTitle(), 120));
-                    appendLine(sb, "   본문: " + safeText(stripHtml(post.getContent()), botProperties.getPromptExcerptChars()));
+                    appendLine(sb, "   본문: " + safeText(BoardPostText.plainTextOf(post), botProperties.getPromptExcerptChars()));
                     index++;
                 }
             }
@@ -2007,7 +2008,7 @@ public class AssistantBotService {
                 if (isTooSimilar(normalizedTitle, normalizeText(post.getTitle()), threshold)) {
                     return DuplicateCheck.of("최근 게시글 제목과 너무 비슷합니다.");
                 }
-                if (isTooSimilar(normalizedBody, normalizeText(stripHtml(post.getContent())), Math.min(0.82, threshold + 0.08))) {
+                if (isTooSimilar(normalizedBody, normalizeText(BoardPostText.plainTextOf(post)), Math.min(0.82, threshold + 0.08))) {
                     return DuplicateCheck.of("최근 게시글 본문 전개와 너무 비슷합니다.");
                 }
             }
@@ -2877,7 +2878,7 @@ public class AssistantBotService {
         String personaName = persona == null ? "" : String.valueOf(persona.getName());
         String writer = targetPost == null ? "" : safeText(targetPost.getWriter(), 60);
         String titleAndBody = ((targetPost == null ? "" : safeText(targetPost.getTitle(), 120)) + " "
-                + (targetPost == null ? "" : safeText(stripHtml(targetPost.getContent()), 220))).toLowerCase(Locale.ROOT);
+                + (targetPost == null ? "" : safeText(BoardPostText.plainTextOf(targetPost), 220))).toLowerCase(Locale.ROOT);
 
         boolean targetIsBot = isKnownBotName(writer);
         boolean protossWhine = containsAny(titleAndBody, "프로토스", "토스", "프사기", "억까", "불리", "서럽", "힘들", "사기");
@@ -3080,7 +3081,7 @@ public class AssistantBotService {
         if (post == null) {
             return false;
         }
-        String text = (safeText(post.getTitle(), 240) + " " + safeText(stripHtml(post.getContent()), 600))
+        String text = (safeText(post.getTitle(), 240) + " " + safeText(BoardPostText.plainTextOf(post), 600))
                 .toLowerCase(Locale.ROOT);
         return containsGameTalkKeyword(text);
     }
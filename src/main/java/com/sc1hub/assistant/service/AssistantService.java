@@ -3,6 +3,7 @@ package com.sc1hub.assistant.service;
 import com.sc1hub.assistant.config.AssistantProperties;
 import com.sc1hub.assistant.config.AssistantRagProperties;
 import com.sc1hub.assistant.dto.AssistantChatResponseDTO;
+import com.sc1hub.assistant.dto.AssistantKeywordMatchDTO;
 import com.sc1hub.assistant.dto.AssistantRelatedPostDTO;
 import com.sc1hub.assistant.gemini.GeminiClient;
 import com.sc1hub.assistant.gemini.GeminiException;
@@ -11,11 +12,15 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.sc1hub.assistant.rag.AssistantRagChunk;
 import com.sc1hub.assistant.rag.AssistantRagSearchService;
 import com.sc1hub.assistant.rag.AssistantRagSources;
+import com.sc1hub.assistant.search.AssistantPostKeywordIndex;
 import com.sc1hub.assistant.search.AssistantQueryParseResult;
 import com.sc1hub.assistant.search.AssistantQueryParser;
+import com.sc1hub.board.config.BoardSearchProperties;
 import com.sc1hub.board.dto.BoardDTO;
 import com.sc1hub.board.dto.BoardListDTO;
 import com.sc1hub.board.mapper.BoardMapper;
+import com.sc1hub.board.support.BoardFulltextQuery;
+import com.sc1hub.board.support.BoardPostText;
 import com.sc1hub.member.dto.MemberDTO;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -62,6 +67,8 @@ public class AssistantService {
     private final AssistantRagProperties ragProperties;
     private final AssistantQueryParser queryParser;
     private final ObjectMapper objectMapper;
+    private final AssistantPostKeywordIndex postKeywordIndex;
+    private final BoardSearchProperties boardSearchProperties;
     private volatile List<BoardListDTO> cachedBoards = Collections.emptyList();
     private volatile long cachedBoardsAtMillis = 0L;
 
@@ -81,7 +88,9 @@ public class AssistantService {
                             AssistantRagSearchService ragSearchService,
                             AssistantRagProperties ragProperties,
                             AssistantQueryParser queryParser,
-                            ObjectMapper objectMapper) {
+                            ObjectMapper objectMapper,
+                            AssistantPostKeywordIndex postKeywordIndex,
+                            BoardSearchProperties boardSearchProperties) {
         this.boardMapper = boardMapper;
         this.geminiClient = geminiClient;
         this.assistantProperties = assistantProperties;
@@ -89,6 +98,8 @@ public class AssistantService {
         this.ragProperties = ragProperties;
         this.queryParser = queryParser;
         this.objectMapper = objectMapper;
+        this.postKeywordIndex = postKeywordIndex;
+        this.boardSearchProperties = boardSearchProperties;
     }
 
     public AssistantChatResponseDTO chat(String message, MemberDTO member) {
@@ -706,7 +717,7 @@ public class AssistantService {
                 continue;
             }
             String title = safeText(post.post.getTitle());
-            String excerpt = safeText(stripHtmlToText(post.post.getContent()));
+            String excerpt = safeText(BoardPostText.plainTextOf(post.post));
             excerpt = truncate(excerpt, excerptChars);
             sb.append(idx).append(") ");
             sb.append("title=").append(title);
@@ -969,29 +980,55 @@ public class AssistantService {
             return null;
         }
         try {
-            List<AssistantRagSearchService.Match> matches = ragSearchService.search(ragQuery, ragProperties.getSearchTopChunks());
-            if (matches == null || matches.isEmpty()) {
-                return null;
+            // Excluded boards are skipped and board weights applied inside the index scan, so the top chunks are
+            // already the best weighted matches among the admitted boards.
+            AssistantRagSearchService.BoardFilter filter = buildRagBoardFilter(boardWeights);
+            List<AssistantRagSearchService.Match> filtered = Collections.emptyList();
+            if (preferFactBoards) {
+                filtered = searchRag(ragQuery, filter.restrictTo(resolveFactBoards()), expandedTerms, aliasMatched);
             }
-            List<AssistantRagSearchService.Match> filtered = filterRagMatches(matches, expandedTerms, aliasMatched);
             if (filtered.isEmpty()) {
-                return null;
+                filtered = searchRag(ragQuery, filter, expandedTerms, aliasMatched);
             }
-            if (preferFactBoards) {
-                filtered = preferFactBoardMatches(filtered);
-                if (filtered.isEmpty()) {
-                    return null;
-                }
+            if (filtered.isEmpty()) {
+                return null;
             }
-            List<AssistantRagSearchService.Match> weightedMatches = applyBoardWeights(filtered, boardWeights);
-            logRagMatches(weightedMatches);
-            return new RagRetrieval(weightedMatches);
+            logRagMatches(filtered);
+            return new RagRetrieval(filtered);
         } catch (Exception e) {
             log.warn("RAG 검색 실패. 키워드 검색으로 fallback 합니다.", e);
             return null;
         }
     }
 
+    private List<AssistantRagSearchService.Match> searchRag(String ragQuery,
+                                                            AssistantRagSearchService.BoardFilter filter,
+                                                            List<String> expandedTerms,
+                                                            boolean aliasMatched) {
+        // With the keyword index loaded, vector and BM25 rankings of the same chunks are fused in one search.
+        List<AssistantRagSearchService.Match> matches = ragSearchService.isHybridReady()
+                ? ragSearchService.searchHybrid(ragQuery, expandedTerms, ragProperties.getSearchTopChunks(), filter)
+                : ragSearchService.search(ragQuery, ragProperties.getSearchTopChunks(), filter);
+        if (matches == null || matches.isEmpty()) {
+            return Collections.emptyList();
+        }
+        return filterRagMatches(matches, expandedTerms, aliasMatched);
+    }
+
+    private AssistantRagSearchService.BoardFilter buildRagBoardFilter(Map<String, Double> boardWeights) {
+        Map<String, Double> sanitized = new LinkedHashMap<>();
+        if (boardWeights != null) {
+            for (Map.Entry<String, Double> entry : boardWeights.entrySet()) {
+                if (!StringUtils.hasText(entry.getKey())) {
+                    continue;
+                }
+                sanitized.put(normalizeBoardTitle(entry.getKey()), sanitizeWeight(entry.getValue()));
+            }
+        }
+        List<String> excludedBoards = assistantProperties == null ? null : assistantProperties.getExcludedBoards();
+        return AssistantRagSearchService.BoardFilter.of(excludedBoards, sanitized);
+    }
+
     private List<AssistantRagSearchService.Match> filterRagMatches(List<AssistantRagSearchService.Match> matches,
                                                                    List<String> keywords,
                                                                    boolean aliasMatched) {
@@ -1000,6 +1037,7 @@ public class AssistantService {
         }
         List<AssistantRagSearchService.Match> candidates = new ArrayList<>();
         double bestScore = 0.0;
+        boolean keywordMatched = false;
         for (AssistantRagSearchService.Match match : matches) {
             if (match == null || match.getChunk() == null) {
                 continue;
@@ -1013,8 +1051,11 @@ public class AssistantService {
                 continue;
             }
             candidates.add(match);
-            if (match.getScore() > bestScore) {
-                bestScore = match.getScore();
+            if (match.getSimilarity() > bestScore) {
+                bestScore = match.getSimilarity();
+            }
+            if (match.getKeywordScore() > 0.0) {
+                keywordMatched = true;
             }
         }
 
@@ -1022,19 +1063,24 @@ public class AssistantService {
             return Collections.emptyList();
         }
 
-        double minScore = clampScore(ragProperties == null ? 0.0 : ragProperties.getMinScore());
+        // Matches ranked by the local n-gram fallback carry that embedder's cosine, which runs lower than Gemini's.
+        boolean localEmbedding = candidates.get(0).isLocalEmbedding();
+        double minScore = clampScore(ragProperties == null ? 0.0 : localEmbedding
+                ? ragProperties.getLocalEmbedding().getMinScore()
+                : ragProperties.getMinScore());
         double minScoreRatio = clampScore(ragProperties == null ? 0.0 : ragProperties.getMinScoreRatio());
-        if (bestScore < minScore) {
+        if (bestScore < minScore && !keywordMatched) {
             return Collections.emptyList();
         }
 
+        // Similarity thresholds only apply to vector matches; BM25 hits of a hybrid search are kept.
         double threshold = Math.max(minScore, bestScore * minScoreRatio);
         List<AssistantRagSearchService.Match> filtered = new ArrayList<>();
         for (AssistantRagSearchService.Match match : candidates) {
             if (match == null) {
                 continue;
             }
-            if (match.getScore() >= threshold) {
+            if (match.getSimilarity() >= threshold || match.getKeywordScore() > 0.0) {
                 filtered.add(match);
             }
         }
@@ -1087,25 +1133,6 @@ public class AssistantService {
         return keywordMatches.isEmpty() ? matches : keywordMatches;
     }
 
-    private List<AssistantRagSearchService.Match> applyBoardWeights(List<AssistantRagSearchService.Match> matches,
-                                                                    Map<String, Double> boardWeights) {
-        if (matches == null || matches.isEmpty()) {
-            return Collections.emptyList();
-        }
-        List<AssistantRagSearchService.Match> weighted = new ArrayList<>(matches.size());
-        for (AssistantRagSearchService.Match match : matches) {
-            if (match == null || match.getChunk() == null) {
-                continue;
-            }
-            String boardTitle = normalizeBoardTitle(match.getChunk().getBoardTitle());
-            double weight = resolveBoardWeight(boardTitle, boardWeights);
-            double score = match.getScore() * weight;
-            weighted.add(AssistantRagSearchService.Match.of(match.getChunk(), score));
-        }
-        weighted.sort((a, b) -> Double.compare(b.getScore(), a.getScore()));
-        return weighted;
-    }
-
     private static double clampScore(double value) {
         if (Double.isNaN(value) || Double.isInfinite(value)) {
             return 0.0;
@@ -1275,7 +1302,7 @@ public class AssistantService {
                     continue;
                 }
                 String title = safeText(post.post.getTitle());
-                String excerpt = safeText(stripHtmlToText(post.post.getContent()));
+                String excerpt = safeText(BoardPostText.plainTextOf(post.post));
                 excerpt = truncate(excerpt, maxSnippetChars);
                 String snippet = "[" + index + "] "
                         + "sourceId=" + key + "\n"
@@ -1354,6 +1381,10 @@ public class AssistantService {
         if (expandedTerms == null || expandedTerms.isEmpty()) {
             return false;
         }
+        // The hybrid RAG search already ranked every indexed chunk by these keywords.
+        if (isHybridRetrievalReady()) {
+            return false;
+        }
         int candidateLimit = resolveCandidatePoolLimit();
         if (candidateLimit <= 0) {
             return false;
@@ -1368,6 +1399,14 @@ public class AssistantService {
         return ragCount < candidateLimit;
     }
 
+    private boolean isHybridRetrievalReady() {
+        return ragSearchService != null && ragProperties != null && ragSearchService.isHybridReady();
+    }
+
+    private boolean isKeywordIndexReady() {
+        return postKeywordIndex != null && postKeywordIndex.isReady();
+    }
+
     private int resolveCandidateLimit() {
         int contextPosts = Math.max(0, assistantProperties.getContextPosts());
         int relatedPosts = Math.max(0, assistantProperties.getMaxRelatedPosts());
@@ -1388,6 +1427,10 @@ public class AssistantService {
         return base;
     }
 
+    public int preloadBoardList() {
+        return getBoardListCached().size();
+    }
+
     private List<BoardListDTO> getBoardListCached() {
         int cacheSeconds = Math.max(0, assistantProperties.getBoardListCacheSeconds());
         if (cacheSeconds == 0) {
@@ -1502,102 +1545,82 @@ public class AssistantService {
                                                Map<String, Double> boardWeights,
                                                int maxResults,
                                                boolean preferFactBoards) {
-        List<CandidatePost> primary = findCandidatesInternal(keywords, boardWeights, maxResults, preferFactBoards);
+        List<String> normalizedKeywords = normalizeKeywords(keywords);
+        if (maxResults <= 0 || normalizedKeywords.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<BoardListDTO> boards = getBoardListCached();
+        if (boards == null || boards.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<String> boardTitles = new ArrayList<>();
+        for (BoardListDTO board : boards) {
+            String boardTitle = normalizeBoardTitle(board == null ? null : board.getBoardTitle());
+            if (isSearchableBoard(boardTitle) && !boardTitles.contains(boardTitle)) {
+                boardTitles.add(boardTitle);
+            }
+        }
+        // One lookup for every board serves both passes below; only the board weights differ between them.
+        Map<String, List<CandidatePost>> matches = searchKeywordMatches(normalizedKeywords, boardTitles,
+                assistantProperties.getPerBoardLimit());
+        if (matches.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        List<CandidatePost> primary = findCandidatesInternal(matches, boardTitles, boardWeights, maxResults,
+                preferFactBoards);
         if (primary.isEmpty()) {
             return primary;
         }
         if (primary.size() < maxResults && hasBoostedBoards(boardWeights)) {
             Map<String, Double> relaxedWeights = relaxBoardWeights(boardWeights);
-            List<CandidatePost> relaxed = findCandidatesInternal(keywords, relaxedWeights, maxResults, preferFactBoards);
+            List<CandidatePost> relaxed = findCandidatesInternal(matches, boardTitles, relaxedWeights, maxResults,
+                    preferFactBoards);
             primary = mergeCandidateResults(primary, relaxed, maxResults);
         }
         logKeywordCandidates(primary);
         return primary;
     }
 
-    private List<CandidatePost> findCandidatesInternal(List<String> keywords,
+    private List<CandidatePost> findCandidatesInternal(Map<String, List<CandidatePost>> matches,
+                                                       List<String> boardTitles,
                                                        Map<String, Double> boardWeights,
                                                        int maxResults,
                                                        boolean preferFactBoards) {
-        if (maxResults <= 0 || keywords == null || keywords.isEmpty()) {
-            return Collections.emptyList();
-        }
-
-        List<BoardListDTO> boards = getBoardListCached();
-        if (boards == null || boards.isEmpty()) {
-            return Collections.emptyList();
-        }
-
         Set<String> factBoards = preferFactBoards ? resolveFactBoards() : Collections.emptySet();
-        List<BoardListDTO> orderedBoards = boards;
-        if (preferFactBoards && !factBoards.isEmpty()) {
-            List<BoardListDTO> preferred = new ArrayList<>();
-            List<BoardListDTO> others = new ArrayList<>();
-            for (BoardListDTO board : boards) {
-                String boardTitle = normalizeBoardTitle(board == null ? null : board.getBoardTitle());
+        List<String> orderedBoards = boardTitles;
+        if (!factBoards.isEmpty()) {
+            orderedBoards = new ArrayList<>(boardTitles.size());
+            for (String boardTitle : boardTitles) {
                 if (factBoards.contains(boardTitle)) {
-                    preferred.add(board);
-                } else {
-                    others.add(board);
+                    orderedBoards.add(boardTitle);
                 }
             }
-            if (!preferred.isEmpty()) {
-                orderedBoards = new ArrayList<>(preferred.size() + others.size());
-                orderedBoards.addAll(preferred);
-                orderedBoards.addAll(others);
-            }
-        }
-
-        List<String> normalizedKeywords = new ArrayList<>();
-        for (String keyword : keywords) {
-            if (!StringUtils.hasText(keyword)) {
-                continue;
+            for (String boardTitle : boardTitles) {
+                if (!factBoards.contains(boardTitle)) {
+                    orderedBoards.add(boardTitle);
+                }
             }
-            normalizedKeywords.add(keyword.toLowerCase(Locale.ROOT));
-        }
-        if (normalizedKeywords.isEmpty()) {
-            return Collections.emptyList();
         }
 
         Comparator<CandidatePost> comparator = candidateComparator();
         PriorityQueue<CandidatePost> heap = new PriorityQueue<>(maxResults, (a, b) -> comparator.compare(b, a));
 
-        for (BoardListDTO board : orderedBoards) {
-            String boardTitle = normalizeBoardTitle(board == null ? null : board.getBoardTitle());
-            if (!StringUtils.hasText(boardTitle) || !SAFE_BOARD_TITLE.matcher(boardTitle).matches()) {
+        for (String boardTitle : orderedBoards) {
+            List<CandidatePost> boardMatches = matches.get(boardTitle);
+            if (boardMatches == null || boardMatches.isEmpty()) {
                 continue;
             }
-            if (isExcludedBoard(boardTitle)) {
-                continue;
-            }
-            try {
-                List<BoardDTO> posts = boardMapper.searchPostsByKeywords(boardTitle, normalizedKeywords, assistantProperties.getPerBoardLimit());
-                if (posts == null || posts.isEmpty()) {
-                    continue;
-                }
-                double boardWeight = resolveBoardWeight(boardTitle, boardWeights);
-                for (BoardDTO post : posts) {
-                    if (post == null) {
-                        continue;
-                    }
-                    String titleLower = safeLower(post.getTitle());
-                    String contentLower = safeLower(stripHtmlToText(post.getContent()));
-                    String searchTermsLower = safeLower(post.getSearchTerms());
-                    double score = scoreCandidate(titleLower, contentLower, searchTermsLower, normalizedKeywords);
-                    if (preferFactBoards && factBoards.contains(boardTitle)) {
-                        score += FACT_BOARD_SCORE_BONUS;
-                    }
-                    score *= boardWeight;
-                    CandidatePost candidate = new CandidatePost(boardTitle, post, score);
-                    if (heap.size() < maxResults) {
-                        heap.add(candidate);
-                    } else if (compareCandidates(candidate, heap.peek()) < 0) {
-                        heap.poll();
-                        heap.add(candidate);
-                    }
+            double boardWeight = resolveBoardWeight(boardTitle, boardWeights);
+            double factBonus = factBoards.contains(boardTitle) ? FACT_BOARD_SCORE_BONUS : 0;
+            for (CandidatePost match : boardMatches) {
+                CandidatePost candidate = new CandidatePost(boardTitle, match.post, (match.score + factBonus) * boardWeight);
+                if (heap.size() < maxResults) {
+                    heap.add(candidate);
+                } else if (compareCandidates(candidate, heap.peek()) < 0) {
+                    heap.poll();
+                    heap.add(candidate);
                 }
-            } catch (Exception ignored) {
-                // Skip broken boards without failing the whole request
             }
         }
 
@@ -1610,6 +1633,100 @@ public class AssistantService {
         return results;
     }
 
+    private Map<String, List<CandidatePost>> searchKeywordMatches(List<String> keywords,
+                                                                  List<String> boardTitles,
+                                                                  int perBoardLimit) {
+        Map<String, List<CandidatePost>> matches = new LinkedHashMap<>();
+        if (keywords == null || keywords.isEmpty() || boardTitles == null || boardTitles.isEmpty() || perBoardLimit <= 0) {
+            return matches;
+        }
+        if (isKeywordIndexReady()) {
+            try {
+                Map<String, List<AssistantPostKeywordIndex.Hit>> hits = postKeywordIndex.search(keywords, boardTitles, perBoardLimit);
+                for (Map.Entry<String, List<AssistantPostKeywordIndex.Hit>> entry : hits.entrySet()) {
+                    List<CandidatePost> boardMatches = new ArrayList<>(entry.getValue().size());
+                    for (AssistantPostKeywordIndex.Hit hit : entry.getValue()) {
+                        boardMatches.add(new CandidatePost(entry.getKey(), hit.getPost(), hit.getScore()));
+                    }
+                    matches.put(entry.getKey(), boardMatches);
+                }
+                return matches;
+            } catch (Exception e) {
+                log.warn("assistant 키워드 색인 검색 실패, DB 쿼리로 대체합니다.", e);
+                matches.clear();
+            }
+        }
+        String fulltextQuery = boardSearchProperties != null && boardSearchProperties.isFulltext()
+                ? BoardFulltextQuery.anyPhrase(keywords, boardSearchProperties.getNgramTokenSize())
+                : null;
+        int excerptChars = Math.max(1, assistantProperties.getKeywordExcerptChars());
+        try {
+            addKeywordMatchRows(matches, boardMapper.searchPostsByKeywordsAcrossBoards(boardTitles, keywords,
+                    fulltextQuery, perBoardLimit, excerptChars));
+            return matches;
+        } catch (Exception e) {
+            log.warn("assistant 키워드 통합 검색 실패. 보드별 조회로 대체합니다. boards={}", boardTitles.size(), e);
+            matches.clear();
+        }
+        for (String boardTitle : boardTitles) {
+            try {
+                addKeywordMatchRows(matches, boardMapper.searchPostsByKeywordsAcrossBoards(
+                        Collections.singletonList(boardTitle), keywords, fulltextQuery, perBoardLimit, excerptChars));
+            } catch (Exception e) {
+                log.warn("assistant 키워드 검색 실패. boardTitle={}", boardTitle, e);
+            }
+        }
+        return matches;
+    }
+
+    private static void addKeywordMatchRows(Map<String, List<CandidatePost>> matches, List<AssistantKeywordMatchDTO> rows) {
+        if (rows == null) {
+            return;
+        }
+        for (AssistantKeywordMatchDTO row : rows) {
+            String boardTitle = normalizeBoardTitle(row == null ? null : row.getBoardTitle());
+            if (!StringUtils.hasText(boardTitle) || row.getPostNum() <= 0) {
+                continue;
+            }
+            matches.computeIfAbsent(boardTitle, key -> new ArrayList<>())
+                    .add(new CandidatePost(boardTitle, toKeywordMatchPost(row), row.getScore()));
+        }
+    }
+
+    private static BoardDTO toKeywordMatchPost(AssistantKeywordMatchDTO row) {
+        BoardDTO post = new BoardDTO();
+        post.setPostNum(row.getPostNum());
+        post.setTitle(row.getTitle());
+        post.setPlainText(row.getPlainText());
+        String excerpt = row.getExcerpt();
+        // The excerpt can end inside a tag; drop the unterminated tag so its markup does not leak into the text.
+        if (excerpt != null && excerpt.lastIndexOf('<') > excerpt.lastIndexOf('>')) {
+            excerpt = excerpt.substring(0, excerpt.lastIndexOf('<'));
+        }
+        post.setContent(excerpt);
+        post.setWriter(row.getWriter());
+        post.setRegDate(row.getRegDate());
+        post.setSearchTerms(row.getSearchTerms());
+        return post;
+    }
+
+    private static List<String> normalizeKeywords(List<String> keywords) {
+        if (keywords == null || keywords.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<String> normalized = new ArrayList<>();
+        for (String keyword : keywords) {
+            if (StringUtils.hasText(keyword)) {
+                normalized.add(keyword.toLowerCase(Locale.ROOT));
+            }
+        }
+        return normalized;
+    }
+
+    private boolean isSearchableBoard(String boardTitle) {
+        return StringUtils.hasText(boardTitle) && SAFE_BOARD_TITLE.matcher(boardTitle).matches()
+                && !isExcludedBoard(boardTitle);
+    }
     private static List<CandidatePost> mergeCandidateResults(List<CandidatePost> primary,
                                                              List<CandidatePost> secondary,
                                                              int limit) {
@@ -1726,7 +1843,7 @@ public class AssistantService {
                 }
                 String sourceId = postKey(post.boardTitle, post.post.getPostNum());
                 String title = safeText(post.post.getTitle());
-                String excerpt = safeText(stripHtmlToText(post.post.getContent()));
+                String excerpt = safeText(BoardPostText.plainTextOf(post.post));
                 excerpt = truncate(excerpt, assistantProperties.getMaxPostSnippetChars());
                 String snippet = "[" + index + "] "
                         + "sourceId=" + sourceId + "\n"
@@ -2142,7 +2259,7 @@ public class AssistantService {
                 if (!StringUtils.hasText(candidate.url)) {
                     candidate.url = buildPostUrl(boardTitle, dto.getPostNum());
                 }
-                String snippet = stripHtmlToText(dto.getContent());
+                String snippet = BoardPostText.plainTextOf(dto);
                 if (StringUtils.hasText(snippet) && snippet.length() > safeText(candidate.snippet).length()) {
                     candidate.snippet = snippet;
                 }
@@ -2224,34 +2341,52 @@ public class AssistantService {
         }
 
         String evidenceBoard = normalizeBoardTitle(evidence.boardTitle);
-        addExtraBoardCandidates(pool, evidenceBoard, keywords, boardWeights, 15);
+        Map<String, Integer> boardLimits = new LinkedHashMap<>();
+        boardLimits.put(evidenceBoard, 15);
 
         String boostedBoard = findTopBoostedBoard(boardWeights, evidenceBoard);
         if (StringUtils.hasText(boostedBoard) && !boostedBoard.equals(evidenceBoard)) {
-            addExtraBoardCandidates(pool, boostedBoard, keywords, boardWeights, 10);
+            boardLimits.put(boostedBoard, 10);
         }
+        addExtraBoardCandidates(pool, boardLimits, keywords, boardWeights);
     }
 
     private void addExtraBoardCandidates(Map<String, RelatedPostCandidate> pool,
-                                         String boardTitle,
+                                         Map<String, Integer> boardLimits,
                                          List<String> keywords,
-                                         Map<String, Double> boardWeights,
-                                         int limit) {
-        String normalizedBoardTitle = normalizeBoardTitle(boardTitle);
-        if (!StringUtils.hasText(normalizedBoardTitle) || !SAFE_BOARD_TITLE.matcher(normalizedBoardTitle).matches()) {
+                                         Map<String, Double> boardWeights) {
+        Map<String, Integer> limits = new LinkedHashMap<>();
+        int maxLimit = 0;
+        for (Map.Entry<String, Integer> entry : boardLimits.entrySet()) {
+            String normalizedBoardTitle = normalizeBoardTitle(entry.getKey());
+            if (!isSearchableBoard(normalizedBoardTitle)) {
+                continue;
+            }
+            int limit = Math.max(1, entry.getValue() == null ? 1 : entry.getValue());
+            limits.put(normalizedBoardTitle, limit);
+            maxLimit = Math.max(maxLimit, limit);
+        }
+        if (limits.isEmpty()) {
             return;
         }
-        if (isExcludedBoard(normalizedBoardTitle)) {
+        if (isHybridRetrievalReady()) {
+            for (Map.Entry<String, Integer> entry : limits.entrySet()) {
+                addExtraBoardCandidatesFromIndex(pool, entry.getKey(), keywords, boardWeights, entry.getValue());
+            }
             return;
         }
-        int resolvedLimit = Math.max(1, limit);
-        try {
-            List<BoardDTO> posts = boardMapper.searchPostsByKeywords(normalizedBoardTitle, keywords, resolvedLimit);
-            if (posts == null || posts.isEmpty()) {
-                return;
+
+        Map<String, List<CandidatePost>> matches = searchKeywordMatches(normalizeKeywords(keywords),
+                new ArrayList<>(limits.keySet()), maxLimit);
+        for (Map.Entry<String, Integer> entry : limits.entrySet()) {
+            String normalizedBoardTitle = entry.getKey();
+            List<CandidatePost> boardMatches = matches.get(normalizedBoardTitle);
+            if (boardMatches == null || boardMatches.isEmpty()) {
+                continue;
             }
             double boardWeight = resolveBoardWeight(normalizedBoardTitle, boardWeights);
-            for (BoardDTO post : posts) {
+            for (CandidatePost match : boardMatches.subList(0, Math.min(boardMatches.size(), entry.getValue()))) {
+                BoardDTO post = match.post;
                 if (post == null || post.getPostNum() <= 0) {
                     continue;
                 }
@@ -2268,7 +2403,7 @@ public class AssistantService {
                 if (!StringUtils.hasText(candidate.url)) {
                     candidate.url = buildPostUrl(normalizedBoardTitle, post.getPostNum());
                 }
-                String snippet = stripHtmlToText(post.getContent());
+                String snippet = BoardPostText.plainTextOf(post);
                 if (StringUtils.hasText(snippet) && snippet.length() > safeText(candidate.snippet).length()) {
                     candidate.snippet = snippet;
                 }
@@ -2279,10 +2414,51 @@ public class AssistantService {
                     candidate.searchTerms = post.getSearchTerms();
                 }
 
-                String titleLower = safeLower(post.getTitle());
-                String contentLower = safeLower(stripHtmlToText(post.getContent()));
-                String searchTermsLower = safeLower(post.getSearchTerms());
-                double baseScore = scoreCandidate(titleLower, contentLower, searchTermsLower, keywords) * boardWeight;
+                candidate.baseScore = Math.max(candidate.baseScore, match.score * boardWeight);
+            }
+        }
+    }
+
+    private void addExtraBoardCandidatesFromIndex(Map<String, RelatedPostCandidate> pool,
+                                                  String boardTitle,
+                                                  List<String> keywords,
+                                                  Map<String, Double> boardWeights,
+                                                  int limit) {
+        try {
+            AssistantRagSearchService.BoardFilter filter = AssistantRagSearchService.BoardFilter.all()
+                    .restrictTo(Collections.singletonList(boardTitle));
+            // A post can contribute several chunks; over-fetch so `limit` distinct posts are usually reached.
+            List<AssistantRagSearchService.Match> matches = ragSearchService.searchKeywords(keywords, limit * 3, filter);
+            double boardWeight = resolveBoardWeight(boardTitle, boardWeights);
+            Set<Integer> posts = new HashSet<>();
+            for (AssistantRagSearchService.Match match : matches) {
+                AssistantRagChunk chunk = match == null ? null : match.getChunk();
+                if (chunk == null || chunk.getPostNum() <= 0) {
+                    continue;
+                }
+                if (!posts.contains(chunk.getPostNum()) && posts.size() >= limit) {
+                    continue;
+                }
+                posts.add(chunk.getPostNum());
+                String sourceId = postKey(boardTitle, chunk.getPostNum());
+                RelatedPostCandidate candidate = pool.computeIfAbsent(sourceId,
+                        key -> new RelatedPostCandidate(sourceId, boardTitle, chunk.getPostNum()));
+
+                if (!StringUtils.hasText(candidate.title)) {
+                    candidate.title = chunk.getTitle();
+                }
+                if (candidate.regDate == null) {
+                    candidate.regDate = chunk.getRegDate();
+                }
+                if (!StringUtils.hasText(candidate.url)) {
+                    candidate.url = StringUtils.hasText(chunk.getUrl()) ? chunk.getUrl() : buildPostUrl(boardTitle, chunk.getPostNum());
+                }
+                String snippet = chunk.getText();
+                if (StringUtils.hasText(snippet) && snippet.length() > safeText(candidate.snippet).length()) {
+                    candidate.snippet = snippet;
+                }
+
+                double baseScore = scoreCandidate(safeLower(chunk.getTitle()), safeLower(snippet), "", keywords) * boardWeight;
                 candidate.baseScore = Math.max(candidate.baseScore, baseScore);
             }
         } catch (Exception ignored) {
@@ -2876,27 +3052,6 @@ public class AssistantService {
         return normalized;
     }
 
-    private List<AssistantRagSearchService.Match> preferFactBoardMatches(List<AssistantRagSearchService.Match> matches) {
-        if (matches == null || matches.isEmpty()) {
-            return Collections.emptyList();
-        }
-        Set<String> factBoards = resolveFactBoards();
-        if (factBoards.isEmpty()) {
-            return matches;
-        }
-        List<AssistantRagSearchService.Match> preferred = new ArrayList<>();
-        for (AssistantRagSearchService.Match match : matches) {
-            if (match == null || match.getChunk() == null) {
-                continue;
-            }
-            String boardTitle = normalizeBoardTitle(match.getChunk().getBoardTitle());
-            if (factBoards.contains(boardTitle)) {
-                preferred.add(match);
-            }
-        }
-        return preferred.isEmpty() ? matches : preferred;
-    }
-
     private boolean isExcludedBoard(String boardTitle) {
         if (!StringUtils.hasText(boardTitle)) {
             return false;
@@ -3095,20 +3250,6 @@ public class AssistantService {
         return result;
     }
 
-    private static String stripHtmlToText(String html) {
-        if (html == null) {
-            return "";
-        }
-        String text = html.replaceAll("(?s)<[^>]*>", " ");
-        text = text.replace("&nbsp;", " ");
-        text = text.replace("&amp;", "&");
-        text = text.replace("&lt;", "<");
-        text = text.replace("&gt;", ">");
-        text = text.replace("&quot;", "\"");
-        text = text.replace("&#39;", "'");
-        return text.replaceAll("\\s+", " ").trim();
-    }
-
     private void logAnswerGroundedRelatedPosts(String query,
                                                AssistantQueryParseResult parseResult,
                                                List<String> expandedTerms,
@@ -0,0 +1,170 @@
+package com.sc1hub.assistant.service;
+
+import com.sc1hub.assistant.config.AssistantProperties;
+import com.sc1hub.assistant.rag.AssistantRagSearchService;
+import com.sc1hub.assistant.search.AssistantPostKeywordIndex;
+import com.sc1hub.assistant.search.AssistantQueryParser;
+import com.sc1hub.assistant.search.AssistantSearchTermsService;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+
+@Service
+@Slf4j
+public class AssistantWarmUpService {
+
+    private static final List<String> SAMPLE_QUESTIONS = Collections.unmodifiableList(Arrays.asList(
+            "테저전 벙커링 막는 법 알려줘",
+            "저그 대 프로토스 초반 빌드 추천",
+            "플토로 캐리어 상대할 때 뭐 뽑아요?",
+            "TvZ mech build order",
+            "빠른무한 이후 운영 팁"
+    ));
+
+    private final AssistantRagSearchService ragSearchService;
+    private final AssistantQueryParser queryParser;
+    private final AssistantSearchTermsService searchTermsService;
+    private final AssistantService assistantService;
+    private final AssistantPostKeywordIndex postKeywordIndex;
+    private final AssistantProperties assistantProperties;
+    private final TaskExecutor warmUpExecutor;
+
+    private volatile WarmUpStatus status = WarmUpStatus.pending();
+
+    public AssistantWarmUpService(AssistantRagSearchService ragSearchService,
+                                  AssistantQueryParser queryParser,
+                                  AssistantSearchTermsService searchTermsService,
+                                  AssistantService assistantService,
+                                  AssistantPostKeywordIndex postKeywordIndex,
+                                  AssistantProperties assistantProperties,
+                                  @Qualifier("assistantWarmUpExecutor") TaskExecutor warmUpExecutor) {
+        this.ragSearchService = ragSearchService;
+        this.queryParser = queryParser;
+        this.searchTermsService = searchTermsService;
+        this.assistantService = assistantService;
+        this.postKeywordIndex = postKeywordIndex;
+        this.assistantProperties = assistantProperties;
+        this.warmUpExecutor = warmUpExecutor;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (!assistantProperties.getWarmUp().isEnabled()) {
+            status = WarmUpStatus.skipped();
+            return;
+        }
+        status = WarmUpStatus.running(new Date());
+        try {
+            warmUpExecutor.execute(this::warmUp);
+        } catch (RuntimeException e) {
+            log.error("assistant 워밍업 작업 등록 실패", e);
+            status = WarmUpStatus.finished(status.getStartedAt(), new Date(), Collections.<String, Long>emptyMap(),
+                    Collections.singletonList("schedule: " + e.getMessage()));
+        }
+    }
+
+    public WarmUpStatus getStatus() {
+        return status;
+    }
+
+    public void warmUp() {
+        Date startedAt = status.getStartedAt() == null ? new Date() : status.getStartedAt();
+        Map<String, Long> stepMillis = new LinkedHashMap<>();
+        List<String> errors = new ArrayList<>();
+        status = WarmUpStatus.running(startedAt);
+        AssistantProperties.WarmUpProperties warmUp = assistantProperties.getWarmUp();
+
+        runStep("ragIndex", stepMillis, errors, () -> {
+            ragSearchService.reloadIfChanged();
+            return ragSearchService.getStatus().getChunkCount();
+        });
+        runStep("queryAliases", stepMillis, errors, queryParser::preloadAliases);
+        runStep("searchTermsAliases", stepMillis, errors, searchTermsService::preloadAliases);
+        runStep("boardList", stepMillis, errors, assistantService::preloadBoardList);
+        runStep("keywordIndex", stepMillis, errors, postKeywordIndex::rebuild);
+        runStep("ragSearches", stepMillis, errors, () -> ragSearchService.warmUp(warmUp.getRagSearches()));
+        runStep("queryParses", stepMillis, errors, () -> {
+            int parsed = 0;
+            for (int round = 0; round < Math.max(0, warmUp.getParseRounds()); round += 1) {
+                for (String question : SAMPLE_QUESTIONS) {
+                    queryParser.parse(question);
+                    parsed += 1;
+                }
+            }
+            return parsed;
+        });
+
+        Date finishedAt = new Date();
+        status = WarmUpStatus.finished(startedAt, finishedAt, stepMillis, errors);
+        log.info("assistant 워밍업 완료. elapsedMs={}, steps={}, errors={}",
+                finishedAt.getTime() - startedAt.getTime(), stepMillis, errors.size());
+    }
+
+    private void runStep(String name, Map<String, Long> stepMillis, List<String> errors, Callable<Integer> step) {
+        long startedAt = System.nanoTime();
+        try {
+            Integer count = step.call();
+            log.info("assistant 워밍업 단계 완료. step={}, count={}, elapsedMs={}",
+                    name, count, (System.nanoTime() - startedAt) / 1_000_000L);
+        } catch (Exception e) {
+            log.warn("assistant 워밍업 단계 실패. step={}", name, e);
+            errors.add(name + ": " + e.getMessage());
+        } finally {
+            stepMillis.put(name, (System.nanoTime() - startedAt) / 1_000_000L);
+        }
+    }
+
+    @Getter
+    public static final class WarmUpStatus {
+        // pending (before ApplicationReadyEvent), running, ready, or skipped (warmUp.enabled=false).
+        private final String state;
+        private final boolean ready;
+        private final Date startedAt;
+        private final Date finishedAt;
+        private final Map<String, Long> stepMillis;
+        private final List<String> errors;
+
+        private WarmUpStatus(String state, boolean ready, Date startedAt, Date finishedAt,
+                             Map<String, Long> stepMillis, List<String> errors) {
+            this.state = state;
+            this.ready = ready;
+            this.startedAt = startedAt;
+            this.finishedAt = finishedAt;
+            this.stepMillis = Collections.unmodifiableMap(new LinkedHashMap<>(stepMillis));
+            this.errors = Collections.unmodifiableList(new ArrayList<>(errors));
+        }
+
+        static WarmUpStatus pending() {
+            return new WarmUpStatus("pending", false, null, null, Collections.<String, Long>emptyMap(),
+                    Collections.<String>emptyList());
+        }
+
+        static WarmUpStatus skipped() {
+            return new WarmUpStatus("skipped", true, null, null, Collections.<String, Long>emptyMap(),
+                    Collections.<String>emptyList());
+        }
+
+        static WarmUpStatus running(Date startedAt) {
+            return new WarmUpStatus("running", false, startedAt, null, Collections.<String, Long>emptyMap(),
+                    Collections.<String>emptyList());
+        }
+
+        static WarmUpStatus finished(Date startedAt, Date finishedAt, Map<String, Long> stepMillis,
+                                     List<String> errors) {
+            return new WarmUpStatus("ready", true, startedAt, finishedAt, stepMillis, errors);
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.sc1hub.board.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(BoardSearchProperties.class)
+public class BoardConfig {
+}
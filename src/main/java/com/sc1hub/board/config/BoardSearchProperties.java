@@ -0,0 +1,18 @@
+package com.sc1hub.board.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "sc1hub.board.search")
+public class BoardSearchProperties {
+    // "like" scans with LIKE '%keyword%'; "fulltext" uses the ngram FULLTEXT indexes
+    // (sql/20261018_add_board_ngram_fulltext.sql) and keeps LIKE for keywords too short for them.
+    private String mode = "like";
+    // Must equal the server's ngram_token_size (MySQL default 2).
+    private int ngramTokenSize = 2;
+
+    public boolean isFulltext() {
+        return "fulltext".equalsIgnoreCase(mode == null ? "" : mode.trim());
+    }
+}
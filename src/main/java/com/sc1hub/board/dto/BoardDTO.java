@@ -21,4 +21,8 @@ public class BoardDTO {
     private int notice;
     private int recommendCount;
     private String searchTerms;
+    // Filled from content on write (BoardPostText); null until the backfill reaches older rows.
+    @JsonIgnore
+    private String plainText;
+    private String excerpt;
 }
\ No newline at end of file
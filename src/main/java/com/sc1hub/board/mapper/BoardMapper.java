@@ -1,5 +1,6 @@
 package com.sc1hub.board.mapper;
 
+import com.sc1hub.assistant.dto.AssistantKeywordMatchDTO;
 import com.sc1hub.assistant.rag.AssistantRagBoardSnapshot;
 import com.sc1hub.board.dto.BoardDTO;
 import com.sc1hub.board.dto.BoardListDTO;
@@ -89,14 +90,22 @@ public interface BoardMapper {
                         @Param("postNum") Integer postNum,
                         @Param("limit") int limit) throws Exception;
 
-        List<BoardDTO> searchPostsByKeywords(@Param("boardTitle") String boardTitle,
+        // One round trip for every board: per board the best `limit` posts, plain text cut to `excerptChars`.
+        // A non-null fulltextQuery (BoardFulltextQuery) finds the rows through the ngram FULLTEXT index.
+        List<AssistantKeywordMatchDTO> searchPostsByKeywordsAcrossBoards(@Param("boardTitles") List<String> boardTitles,
                         @Param("keywords") List<String> keywords,
-                        @Param("limit") int limit) throws Exception;
+                        @Param("fulltextQuery") String fulltextQuery,
+                        @Param("limit") int limit,
+                        @Param("excerptChars") int excerptChars) throws Exception;
 
         List<BoardDTO> selectPostsForSearchTerms(@Param("boardTitle") String boardTitle,
                         @Param("sincePostNum") int sincePostNum,
                         @Param("limit") int limit) throws Exception;
 
+        List<BoardDTO> selectPostsForKeywordIndex(@Param("boardTitle") String boardTitle,
+                        @Param("sincePostNum") int sincePostNum,
+                        @Param("limit") int limit) throws Exception;
+
         void updateSearchTerms(@Param("boardTitle") String boardTitle,
                         @Param("postNum") int postNum,
                         @Param("searchTerms") String searchTerms) throws Exception;
@@ -112,8 +121,22 @@ public interface BoardMapper {
                         @Param("sinceRegDate") Date sinceRegDate,
                         @Param("limit") int limit) throws Exception;
 
+        // plain_text/excerpt backfill for rows written before the columns existed.
+        List<BoardDTO> selectPostsWithoutPlainText(@Param("boardTitle") String boardTitle,
+                        @Param("sincePostNum") int sincePostNum,
+                        @Param("limit") int limit) throws Exception;
+
+        void updatePostText(@Param("boardTitle") String boardTitle,
+                        @Param("postNum") int postNum,
+                        @Param("plainText") String plainText,
+                        @Param("excerpt") String excerpt) throws Exception;
+
         AssistantRagBoardSnapshot selectBoardRagStats(@Param("boardTitle") String boardTitle) throws Exception;
 
+        // One round trip for every board (and optionally the public strategy tips) instead of one per board.
+        List<AssistantRagBoardSnapshot> selectRagStatsForBoards(@Param("boardTitles") List<String> boardTitles,
+                        @Param("includeStrategyTips") boolean includeStrategyTips) throws Exception;
+
         // Migration
         void addCommentColumns(String tableName);
 
@@ -63,6 +63,9 @@ public interface BoardService {
 
     List<BoardDTO> getSitemapPosts(String boardTitle) throws Exception;
 
+    // Fills plain_text/excerpt for posts written before those columns existed; returns the number of posts filled.
+    int backfillPostText(String boardTitle, int batchSize) throws Exception;
+
     void movePost(String boardTitle, int postNum, String targetBoardTitle) throws Exception;
 
     void increaseViewCount(String boardTitle, int postNum, String ip) throws Exception;
@@ -1,12 +1,17 @@
 package com.sc1hub.board.service;
 
+import com.sc1hub.assistant.rag.AssistantRagSignatureCache;
+import com.sc1hub.assistant.search.AssistantPostKeywordIndex;
 import com.sc1hub.assistant.search.AssistantSearchTermsService;
+import com.sc1hub.board.config.BoardSearchProperties;
 import com.sc1hub.board.dto.BoardDTO;
 import com.sc1hub.board.dto.BoardListDTO;
 import com.sc1hub.board.dto.CommentDTO;
 import com.sc1hub.board.dto.LatestPostDTO;
 import com.sc1hub.board.dto.RecommendDTO;
 import com.sc1hub.board.mapper.BoardMapper;
+import com.sc1hub.board.support.BoardFulltextQuery;
+import com.sc1hub.board.support.BoardPostText;
 import com.sc1hub.board.support.BoardTitleNormalizer;
 import com.sc1hub.common.dto.PageDTO;
 import com.sc1hub.common.util.PageUtils;
@@ -40,21 +45,31 @@ public class BoardServiceImpl implements BoardService {
     private final AssistantSearchTermsService searchTermsService;
     private final UploadedImageDimensionInjector uploadedImageDimensionInjector;
     private final PostContentSanitizer postContentSanitizer;
+    private final AssistantRagSignatureCache ragSignatureCache;
+    private final AssistantPostKeywordIndex postKeywordIndex;
+    private final BoardSearchProperties boardSearchProperties;
 
     public BoardServiceImpl(
             BoardMapper boardMapper,
             AssistantSearchTermsService searchTermsService,
             UploadedImageDimensionInjector uploadedImageDimensionInjector,
-            PostContentSanitizer postContentSanitizer) {
+            PostContentSanitizer postContentSanitizer,
+            AssistantRagSignatureCache ragSignatureCache,
+            AssistantPostKeywordIndex postKeywordIndex,
+            BoardSearchProperties boardSearchProperties) {
         this.boardMapper = boardMapper;
         this.searchTermsService = searchTermsService;
         this.uploadedImageDimensionInjector = uploadedImageDimensionInjector;
         this.postContentSanitizer = postContentSanitizer;
+        this.ragSignatureCache = ragSignatureCache;
+        this.postKeywordIndex = postKeywordIndex;
+        this.boardSearchProperties = boardSearchProperties;
     }
 
     @Override
     public List<BoardDTO> showPostList(String boardTitle, PageDTO page) throws Exception {
         boardTitle = normalizeBoardTitle(boardTitle);
+        applySearchMode(page);
         return boardMapper.showPostList(boardTitle, page);
     }
 
@@ -63,6 +78,8 @@ public class BoardServiceImpl implements BoardService {
         boardTitle = normalizeBoardTitle(boardTitle);
         preparePostForPersistence(board);
         boardMapper.submitPost(boardTitle, board);
+        ragSignatureCache.markStale();
+        postKeywordIndex.postSaved(boardTitle, board);
     }
 
     @Override
@@ -78,6 +95,8 @@ public class BoardServiceImpl implements BoardService {
         boardTitle = normalizeBoardTitle(boardTitle);
         preparePostForPersistence(post);
         boardMapper.submitModifyPost(boardTitle, post);
+        ragSignatureCache.markStale();
+        postKeywordIndex.postSaved(boardTitle, post);
     }
 
     @Override
@@ -92,6 +111,8 @@ public class BoardServiceImpl implements BoardService {
             throw new AccessDeniedException("삭제 권한이 없습니다.");
         }
         boardMapper.deletePost(boardTitle, postNum);
+        ragSignatureCache.markStale();
+        postKeywordIndex.postDeleted(boardTitle, postNum);
     }
 
     @Override
@@ -102,6 +123,8 @@ public class BoardServiceImpl implements BoardService {
             throw new IllegalArgumentException("존재하지 않는 게시글입니다.");
         }
         boardMapper.deletePost(boardTitle, postNum);
+        ragSignatureCache.markStale();
+        postKeywordIndex.postDeleted(boardTitle, postNum);
     }
 
     @Override
@@ -144,6 +167,7 @@ public class BoardServiceImpl implements BoardService {
     @Override
     public int countTotalPost(String boardTitle, PageDTO page) throws Exception {
         boardTitle = normalizeBoardTitle(boardTitle);
+        applySearchMode(page);
         return boardMapper.countTotalPost(boardTitle, page);
     }
 
@@ -274,7 +298,10 @@ public class BoardServiceImpl implements BoardService {
         String content = postContentSanitizer.sanitize(post.getContent());
         content = uploadedImageDimensionInjector.injectMissingDimensions(content);
         post.setContent(content);
-        post.setSearchTerms(searchTermsService.buildSearchTerms(post.getTitle(), content));
+        String plainText = BoardPostText.plainText(content);
+        post.setPlainText(plainText);
+        post.setExcerpt(BoardPostText.excerpt(plainText));
+        post.setSearchTerms(searchTermsService.buildSearchTermsFromText(post.getTitle(), plainText));
     }
 
     private void enrichPostContent(BoardDTO post) {
@@ -299,6 +326,26 @@ public class BoardServiceImpl implements BoardService {
         return !ADMIN_ONLY_BOARDS.contains(normalizedBoardTitle) || member.getGrade() == 3;
     }
 
+    @Override
+    public int backfillPostText(String boardTitle, int batchSize) throws Exception {
+        boardTitle = normalizeBoardTitle(boardTitle);
+        int resolvedBatchSize = Math.max(1, batchSize);
+        int filled = 0;
+        int lastPostNum = 0;
+        while (true) {
+            List<BoardDTO> posts = boardMapper.selectPostsWithoutPlainText(boardTitle, lastPostNum, resolvedBatchSize);
+            if (posts == null || posts.isEmpty()) {
+                return filled;
+            }
+            for (BoardDTO post : posts) {
+                String plainText = BoardPostText.plainText(post.getContent());
+                boardMapper.updatePostText(boardTitle, post.getPostNum(), plainText, BoardPostText.excerpt(plainText));
+                lastPostNum = Math.max(lastPostNum, post.getPostNum());
+                filled += 1;
+            }
+        }
+    }
+
     @Override
     @Transactional
     public void movePost(String boardTitle, int postNum, String targetBoardTitle) throws Exception {
@@ -331,6 +378,16 @@ public class BoardServiceImpl implements BoardService {
         }
     }
 
+    // Unsearched lists (empty keyword) and keywords too short for the ngram index stay on LIKE.
+    private void applySearchMode(PageDTO page) {
+        if (page == null) {
+            return;
+        }
+        page.setFulltextKeyword(boardSearchProperties.isFulltext()
+                ? BoardFulltextQuery.phrase(page.getKeyword(), boardSearchProperties.getNgramTokenSize())
+                : null);
+    }
+
     private String normalizeBoardTitle(String boardTitle) {
         return BoardTitleNormalizer.normalizeNullable(boardTitle);
     }
@@ -0,0 +1,45 @@
+package com.sc1hub.board.support;
+
+import java.util.List;
+
+// A keyword becomes a quoted phrase, matched by the ngram parser as consecutive n-grams. Words shorter than the
+// token size produce no n-gram, so such keywords return null and the caller keeps using LIKE.
+public final class BoardFulltextQuery {
+
+    private BoardFulltextQuery() {
+    }
+
+    public static String phrase(String keyword, int ngramTokenSize) {
+        if (keyword == null || keyword.indexOf('"') >= 0) {
+            return null;
+        }
+        String trimmed = keyword.trim();
+        if (trimmed.isEmpty()) {
+            return null;
+        }
+        for (String word : trimmed.split("\\s+")) {
+            if (word.codePointCount(0, word.length()) < Math.max(1, ngramTokenSize)) {
+                return null;
+            }
+        }
+        return "\"" + trimmed + "\"";
+    }
+
+    public static String anyPhrase(List<String> keywords, int ngramTokenSize) {
+        if (keywords == null || keywords.isEmpty()) {
+            return null;
+        }
+        StringBuilder query = new StringBuilder();
+        for (String keyword : keywords) {
+            String phrase = phrase(keyword, ngramTokenSize);
+            if (phrase == null) {
+                return null;
+            }
+            if (query.length() > 0) {
+                query.append(' ');
+            }
+            query.append(phrase);
+        }
+        return query.toString();
+    }
+}
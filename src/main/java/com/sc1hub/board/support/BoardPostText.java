@@ -0,0 +1,52 @@
+package com.sc1hub.board.support;
+
+import com.sc1hub.board.dto.BoardDTO;
+
+import java.util.regex.Pattern;
+
+public final class BoardPostText {
+
+    // Fits the excerpt column (VARCHAR(200)) and covers the 160-character meta description.
+    public static final int EXCERPT_CHARS = 200;
+
+    private static final Pattern HTML_TAG = Pattern.compile("(?s)<[^>]*>");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private BoardPostText() {
+    }
+
+    public static String plainText(String html) {
+        if (html == null) {
+            return "";
+        }
+        String text = HTML_TAG.matcher(html).replaceAll(" ");
+        text = text.replace("&nbsp;", " ")
+                .replace("&amp;", "&")
+                .replace("&lt;", "<")
+                .replace("&gt;", ">")
+                .replace("&quot;", "\"")
+                .replace("&#39;", "'");
+        return WHITESPACE.matcher(text).replaceAll(" ").trim();
+    }
+
+    public static String excerpt(String plainText) {
+        if (plainText == null) {
+            return "";
+        }
+        if (plainText.length() <= EXCERPT_CHARS) {
+            return plainText;
+        }
+        int end = EXCERPT_CHARS;
+        if (Character.isHighSurrogate(plainText.charAt(end - 1))) {
+            end -= 1;
+        }
+        return plainText.substring(0, end).trim();
+    }
+
+    public static String plainTextOf(BoardDTO post) {
+        if (post == null) {
+            return "";
+        }
+        return post.getPlainText() != null ? post.getPlainText() : plainText(post.getContent());
+    }
+}
@@ -6,6 +6,7 @@ import com.sc1hub.board.mapper.BoardMapper;
 import com.sc1hub.board.support.BoardTitleNormalizer;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.util.List;
@@ -42,6 +43,27 @@ public class MigrationController {
         );
     }
 
+    // Run after sql/20261018_add_board_plain_text.sql; only rows whose plain_text is still null are touched.
+    @PostMapping("/migrate/post-text")
+    public String migratePostText(@RequestParam(defaultValue = "200") int batchSize) {
+        try {
+            List<BoardListDTO> boards = boardService.getBoardList();
+            for (BoardListDTO board : boards) {
+                String boardTitle = BoardTitleNormalizer.requireValid(board.getBoardTitle());
+                try {
+                    int filled = boardService.backfillPostText(boardTitle, batchSize);
+                    log.info("Backfilled post text: {} ({} posts)", boardTitle, filled);
+                } catch (Exception e) {
+                    log.warn("Failed to backfill post text for {}", boardTitle, e);
+                }
+            }
+            return "Post text backfill completed. Check logs.";
+        } catch (Exception e) {
+            log.error("Migration failed", e);
+            return "Migration failed: " + e.getMessage();
+        }
+    }
+
     private String migrateCommentTables(TableMigrationAction migrationAction,
                                         String successMessage,
                                         String failureMessage,
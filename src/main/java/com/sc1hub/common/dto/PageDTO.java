@@ -16,6 +16,7 @@ public class PageDTO {
     private int recentPage;
     private String searchType; // 검색 결과도 페이징이 필요하기에, 검색단어 전달 포함
     private String keyword;
+    private String fulltextKeyword; // FULLTEXT 검색 모드에서 MATCH ... AGAINST에 넘길 검색어, null이면 LIKE 검색
     private int postNum; // 댓글 목록때문에 넣음
     private int displayPostLimit; // MySQL문으로 전환해서 추가
 
@@ -3,6 +3,7 @@ package com.sc1hub.seo;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.sc1hub.board.dto.BoardDTO;
+import com.sc1hub.board.support.BoardPostText;
 import com.sc1hub.common.dto.PageDTO;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -30,7 +31,6 @@ public class SeoMetadataService {
             "스타크래프트1 빌드오더, 종족별 운영법과 실전 전략을 공유하는 공략 커뮤니티";
     private static final int META_DESCRIPTION_MAX_LENGTH = 160;
     private static final int TITLE_MAX_LENGTH = 70;
-    private static final Pattern HTML_TAG = Pattern.compile("(?s)<[^>]*>");
     private static final Pattern WHITESPACE = Pattern.compile("\\s+");
     private static final DateTimeFormatter ARTICLE_DATE_FORMAT = DateTimeFormatter.ISO_OFFSET_DATE_TIME;
 
@@ -95,7 +95,9 @@ public class SeoMetadataService {
         if (post == null) {
             return buildBoardDescription(koreanTitle);
         }
-        String text = stripHtmlToText(post.getContent());
+        // The stored excerpt saves stripping the whole body on every page view; older rows fall back to content.
+        String text = StringUtils.hasText(post.getExcerpt())
+                ? post.getExcerpt() : BoardPostText.plainText(post.getContent());
         if (!StringUtils.hasText(text)) {
             text = defaultIfBlank(post.getTitle(), koreanTitle);
         }
@@ -225,20 +227,6 @@ public class SeoMetadataService {
         }
     }
 
-    private String stripHtmlToText(String html) {
-        if (html == null) {
-            return "";
-        }
-        String text = HTML_TAG.matcher(html).replaceAll(" ");
-        text = text.replace("&nbsp;", " ")
-                .replace("&amp;", "&")
-                .replace("&lt;", "<")
-                .replace("&gt;", ">")
-                .replace("&quot;", "\"")
-                .replace("&#39;", "'");
-        return WHITESPACE.matcher(text).replaceAll(" ").trim();
-    }
-
     private String truncateMeta(String text) {
         String normalized = normalizeText(text);
         if (normalized.length() <= META_DESCRIPTION_MAX_LENGTH) {
@@ -1,5 +1,6 @@
 package com.sc1hub.strategytip.service;
 
+import com.sc1hub.assistant.rag.AssistantRagSignatureCache;
 import com.sc1hub.common.dto.PageDTO;
 import com.sc1hub.common.util.PageUtils;
 import com.sc1hub.member.dto.MemberDTO;
@@ -22,9 +23,12 @@ public class StrategyTipServiceImpl implements StrategyTipService {
     private static final String ADMIN_ID = "admin";
 
     private final StrategyTipMapper strategyTipMapper;
+    private final AssistantRagSignatureCache ragSignatureCache;
 
-    public StrategyTipServiceImpl(StrategyTipMapper strategyTipMapper) {
+    public StrategyTipServiceImpl(StrategyTipMapper strategyTipMapper,
+                                  AssistantRagSignatureCache ragSignatureCache) {
         this.strategyTipMapper = strategyTipMapper;
+        this.ragSignatureCache = ragSignatureCache;
     }
 
     @Override
@@ -63,6 +67,7 @@ public class StrategyTipServiceImpl implements StrategyTipService {
             tip.setGuestPassword(null);
         }
         strategyTipMapper.insertTip(tip);
+        ragSignatureCache.markStale();
     }
 
     @Override
@@ -76,6 +81,7 @@ public class StrategyTipServiceImpl implements StrategyTipService {
             throw new IllegalArgumentException("삭제 권한을 확인해주세요.");
         }
         strategyTipMapper.deleteTip(tipNum);
+        ragSignatureCache.markStale();
     }
 
     @Override
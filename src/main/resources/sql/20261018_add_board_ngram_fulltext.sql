@@ -0,0 +1,86 @@
+-- Migration: ngram FULLTEXT indexes for board search (sc1hub.board.search.mode=fulltext)
+
+-- MATCH(...) only uses a FULLTEXT index whose column list is exactly the same, so each board gets one index per
+-- column set the queries search: title, content + search_terms, and all three. The ngram parser splits text into
+-- ngram_token_size-character tokens (server variable, default 2); keep sc1hub.board.search.ngramTokenSize equal to it.
+-- The older ft_title_content_search_terms index uses the default whitespace parser, which cannot match Korean
+-- words inside compounds, and no query uses it, so it is dropped.
+-- InnoDB builds one FULLTEXT index per ALTER TABLE, so each index is added in its own statement.
+DELIMITER $$
+CREATE PROCEDURE add_ngram_fulltext_to_boards()
+BEGIN
+    DECLARE done INT DEFAULT 0;
+    DECLARE tbl VARCHAR(64);
+    DECLARE idx_exists INT DEFAULT 0;
+
+    DECLARE cur CURSOR FOR SELECT board_title FROM board_list;
+    DECLARE CONTINUE HANDLER FOR NOT FOUND SET done = 1;
+
+    OPEN cur;
+    read_loop: LOOP
+        FETCH cur INTO tbl;
+        IF done THEN
+            LEAVE read_loop;
+        END IF;
+
+        SELECT COUNT(*) INTO idx_exists
+        FROM information_schema.STATISTICS
+        WHERE table_schema = DATABASE()
+          AND table_name = tbl
+          AND index_name = 'ft_title_content_search_terms';
+
+        IF idx_exists > 0 THEN
+            SET @sql = CONCAT('ALTER TABLE ', tbl, ' DROP INDEX ft_title_content_search_terms');
+            PREPARE stmt FROM @sql;
+            EXECUTE stmt;
+            DEALLOCATE PREPARE stmt;
+        END IF;
+
+        SELECT COUNT(*) INTO idx_exists
+        FROM information_schema.STATISTICS
+        WHERE table_schema = DATABASE()
+          AND table_name = tbl
+          AND index_name = 'ftx_ngram_title';
+
+        IF idx_exists = 0 THEN
+            SET @sql = CONCAT('ALTER TABLE ', tbl,
+                ' ADD FULLTEXT INDEX ftx_ngram_title (title) WITH PARSER ngram');
+            PREPARE stmt FROM @sql;
+            EXECUTE stmt;
+            DEALLOCATE PREPARE stmt;
+        END IF;
+
+        SELECT COUNT(*) INTO idx_exists
+        FROM information_schema.STATISTICS
+        WHERE table_schema = DATABASE()
+          AND table_name = tbl
+          AND index_name = 'ftx_ngram_content';
+
+        IF idx_exists = 0 THEN
+            SET @sql = CONCAT('ALTER TABLE ', tbl,
+                ' ADD FULLTEXT INDEX ftx_ngram_content (content, search_terms) WITH PARSER ngram');
+            PREPARE stmt FROM @sql;
+            EXECUTE stmt;
+            DEALLOCATE PREPARE stmt;
+        END IF;
+
+        SELECT COUNT(*) INTO idx_exists
+        FROM information_schema.STATISTICS
+        WHERE table_schema = DATABASE()
+          AND table_name = tbl
+          AND index_name = 'ftx_ngram_title_content';
+
+        IF idx_exists = 0 THEN
+            SET @sql = CONCAT('ALTER TABLE ', tbl,
+                ' ADD FULLTEXT INDEX ftx_ngram_title_content (title, content, search_terms) WITH PARSER ngram');
+            PREPARE stmt FROM @sql;
+            EXECUTE stmt;
+            DEALLOCATE PREPARE stmt;
+        END IF;
+    END LOOP;
+    CLOSE cur;
+END$$
+DELIMITER ;
+
+CALL add_ngram_fulltext_to_boards();
+DROP PROCEDURE add_ngram_fulltext_to_boards;
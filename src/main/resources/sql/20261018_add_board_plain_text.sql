@@ -0,0 +1,41 @@
+-- Migration: add plain_text and excerpt to all boards in board_list
+
+-- Both are written together with content (BoardServiceImpl), so readers no longer strip the HTML on every read.
+-- Existing rows stay NULL until POST /migrate/post-text fills them; readers fall back to content meanwhile.
+DELIMITER $$
+CREATE PROCEDURE add_plain_text_to_boards()
+BEGIN
+    DECLARE done INT DEFAULT 0;
+    DECLARE tbl VARCHAR(64);
+    DECLARE col_exists INT DEFAULT 0;
+
+    DECLARE cur CURSOR FOR SELECT board_title FROM board_list;
+    DECLARE CONTINUE HANDLER FOR NOT FOUND SET done = 1;
+
+    OPEN cur;
+    read_loop: LOOP
+        FETCH cur INTO tbl;
+        IF done THEN
+            LEAVE read_loop;
+        END IF;
+
+        SELECT COUNT(*) INTO col_exists
+        FROM information_schema.COLUMNS
+        WHERE table_schema = DATABASE()
+          AND table_name = tbl
+          AND column_name = 'plain_text';
+
+        IF col_exists = 0 THEN
+            SET @sql = CONCAT('ALTER TABLE ', tbl,
+                ' ADD COLUMN plain_text MEDIUMTEXT NULL, ADD COLUMN excerpt VARCHAR(200) NULL');
+            PREPARE stmt FROM @sql;
+            EXECUTE stmt;
+            DEALLOCATE PREPARE stmt;
+        END IF;
+    END LOOP;
+    CLOSE cur;
+END$$
+DELIMITER ;
+
+CALL add_plain_text_to_boards();
+DROP PROCEDURE add_plain_text_to_boards;
@@ -0,0 +1,128 @@
+package com.sc1hub.assistant.gemini;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sc1hub.assistant.config.GeminiProperties;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GeminiEmbeddingClientTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final List<String> requestPaths = Collections.synchronizedList(new ArrayList<>());
+    private final List<JsonNode> requestBodies = Collections.synchronizedList(new ArrayList<>());
+
+    private HttpServer server;
+    private GeminiEmbeddingClient client;
+    private int dropEmbeddings;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", this::handle);
+        server.start();
+
+        GeminiProperties geminiProperties = new GeminiProperties();
+        geminiProperties.setApiKey("test-key");
+        geminiProperties.setAllowLiveCalls(true);
+        geminiProperties.setEmbeddingModel("test-embedding-model");
+        geminiProperties.setBaseUrl("http://127.0.0.1:" + server.getAddress().getPort());
+        client = new GeminiEmbeddingClient(new RestTemplate(), geminiProperties, objectMapper);
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    void embedTexts_sendsOneBatchRequestAndKeepsInputOrder() {
+        List<float[]> vectors = client.embedTexts(Arrays.asList("a", "bbb", "cc"));
+
+        assertEquals(1, requestPaths.size());
+        assertTrue(requestPaths.get(0).endsWith("/models/test-embedding-model:batchEmbedContents"));
+        JsonNode requests = requestBodies.get(0).path("requests");
+        assertEquals(3, requests.size());
+        assertEquals("models/test-embedding-model", requests.path(0).path("model").asText());
+        assertEquals("bbb", requests.path(1).path("content").path("parts").path(0).path("text").asText());
+        assertEquals(3, vectors.size());
+        assertArrayEquals(new float[]{1.0f, 0.5f}, vectors.get(0));
+        assertArrayEquals(new float[]{3.0f, 0.5f}, vectors.get(1));
+        assertArrayEquals(new float[]{2.0f, 0.5f}, vectors.get(2));
+    }
+
+    @Test
+    void embedTexts_throwsWhenResponseCountDoesNotMatch() {
+        dropEmbeddings = 1;
+
+        assertThrows(GeminiException.class, () -> client.embedTexts(Arrays.asList("a", "b")));
+    }
+
+    @Test
+    void embedTexts_rejectsBatchesOverApiLimitWithoutCallingApi() {
+        List<String> texts = Collections.nCopies(GeminiEmbeddingClient.MAX_BATCH_TEXTS + 1, "a");
+
+        assertThrows(IllegalArgumentException.class, () -> client.embedTexts(texts));
+        assertTrue(requestPaths.isEmpty());
+    }
+
+    @Test
+    void embedText_stillUsesSingleEmbedContentEndpoint() {
+        float[] vector = client.embedText("query");
+
+        assertTrue(requestPaths.get(0).endsWith(":embedContent"));
+        assertArrayEquals(new float[]{5.0f, 0.5f}, vector);
+    }
+
+    // Answers like the Gemini API with a vector of [text length, 0.5] per text.
+    private void handle(HttpExchange exchange) throws IOException {
+        JsonNode body = objectMapper.readTree(exchange.getRequestBody());
+        requestPaths.add(exchange.getRequestURI().getPath());
+        requestBodies.add(body);
+
+        StringBuilder response = new StringBuilder();
+        if (exchange.getRequestURI().getPath().endsWith(":batchEmbedContents")) {
+            JsonNode requests = body.path("requests");
+            response.append("{\"embeddings\":[");
+            for (int i = 0; i < requests.size() - dropEmbeddings; i += 1) {
+                if (i > 0) {
+                    response.append(',');
+                }
+                response.append(embedding(requests.path(i).path("content")));
+            }
+            response.append("]}");
+        } else {
+            response.append("{\"embedding\":").append(embedding(body.path("content"))).append('}');
+        }
+
+        byte[] bytes = response.toString().getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static String embedding(JsonNode content) {
+        String text = content.path("parts").path(0).path("text").asText();
+        return "{\"values\":[" + text.length() + ",0.5]}";
+    }
+}
@@ -0,0 +1,42 @@
+package com.sc1hub.assistant.rag;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class AssistantRagBoardPartitionsTest {
+
+    @Test
+    void build_groupsOrdinalsByNormalizedBoardTitle() {
+        List<AssistantRagChunk> chunks = new ArrayList<>();
+        chunks.add(chunk("FreeBoard"));
+        chunks.add(chunk("tipBoard"));
+        chunks.add(chunk(" freeboard "));
+        chunks.add(chunk(null));
+        chunks.add(chunk("TIPBOARD"));
+
+        AssistantRagBoardPartitions partitions = AssistantRagBoardPartitions.build(chunks);
+
+        assertEquals(3, partitions.partitionCount());
+        assertEquals("freeboard", partitions.board(0));
+        assertEquals("tipboard", partitions.board(1));
+        assertEquals("", partitions.board(2));
+        assertEquals(2, partitions.size(0));
+        assertEquals(2, partitions.start(1));
+        assertEquals(2, partitions.size(1));
+        assertEquals(1, partitions.size(2));
+        assertArrayEquals(new int[]{0, 2, 1, 4, 3}, partitions.ordinals());
+        assertEquals(1, partitions.partitionOf(4));
+        assertEquals(2, partitions.partitionOf(3));
+    }
+
+    private static AssistantRagChunk chunk(String boardTitle) {
+        AssistantRagChunk chunk = new AssistantRagChunk();
+        chunk.setBoardTitle(boardTitle);
+        return chunk;
+    }
+}
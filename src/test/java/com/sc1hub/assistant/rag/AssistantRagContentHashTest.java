@@ -0,0 +1,34 @@
+package com.sc1hub.assistant.rag;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+class AssistantRagContentHashTest {
+
+    @Test
+    void xxHash64_matchesReferenceValues() {
+        assertEquals(0xEF46DB3751D8E999L, hash(""));
+        assertEquals(0xD24EC4F1A98C6E5BL, hash("a"));
+        assertEquals(0x44BC2CF5AD770999L, hash("abc"));
+        assertEquals(0xFBCEA83C8A378BF1L, hash("Nobody inspects the spammish repetition"));
+    }
+
+    @Test
+    void of_prefersStoredHashAndFallsBackToText() {
+        AssistantRagChunk chunk = new AssistantRagChunk();
+        chunk.setText("테저전 벙커 위치");
+        assertEquals(AssistantRagContentHash.of("테저전 벙커 위치"), AssistantRagContentHash.of(chunk));
+        assertNotEquals(AssistantRagContentHash.of("테저전 벙커 위치"), AssistantRagContentHash.of("테저전 벙커 위치 "));
+
+        chunk.setContentHash(42L);
+        assertEquals(42L, AssistantRagContentHash.of(chunk));
+    }
+
+    private static long hash(String text) {
+        return AssistantRagContentHash.xxHash64(text.getBytes(StandardCharsets.UTF_8), 0L);
+    }
+}
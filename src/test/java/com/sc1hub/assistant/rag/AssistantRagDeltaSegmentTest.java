@@ -0,0 +1,78 @@
+package com.sc1hub.assistant.rag;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AssistantRagDeltaSegmentTest {
+
+    @Test
+    void diff_tombstonesChangedAndDeletedPostsAndAddsChangedAndNewPosts() {
+        AssistantRagChunk kept = chunk("a", "freeboard", 1, "kept");
+        AssistantRagChunk changed = chunk("b", "freeboard", 2, "before");
+        AssistantRagChunk deleted = chunk("c", "freeboard", 3, "deleted");
+        List<AssistantRagChunk> chunks = new ArrayList<>(Arrays.asList(kept, changed, deleted));
+        Map<String, Long> before = AssistantRagDeltaSegment.fingerprintPosts(chunks);
+
+        changed.setTitle("edited title");
+        chunks.remove(deleted);
+        AssistantRagChunk added = chunk("d", "tipboard", 1, "new");
+        chunks.add(added);
+        AssistantRagIndex header = new AssistantRagIndex();
+        header.setCreatedAt(new Date(1_700_000_000_000L));
+        header.setDimension(2);
+
+        AssistantRagDeltaSegment delta = AssistantRagDeltaSegment.diff(before, chunks, header);
+
+        assertEquals(2, delta.getTombstones().size());
+        assertTrue(delta.getTombstones().contains("freeboard:2"));
+        assertTrue(delta.getTombstones().contains("freeboard:3"));
+        assertEquals(Arrays.asList(changed, added), delta.getChunks());
+        assertEquals(1_700_000_000_000L, delta.getBaseId());
+    }
+
+    @Test
+    void merge_matchesApplyingSegmentsOneByOne() {
+        AssistantRagChunk base0 = chunk("base0", "freeboard", 1, "one");
+        AssistantRagChunk base1 = chunk("base1", "freeboard", 2, "two");
+        AssistantRagChunk base2 = chunk("base2", "freeboard", 3, "three");
+        AssistantRagChunk first = chunk("first", "freeboard", 2, "two edited");
+        AssistantRagChunk second = chunk("second", "freeboard", 2, "two edited again");
+        AssistantRagChunk added = chunk("added", "freeboard", 4, "four");
+        AssistantRagDeltaSegment segment1 = segment(1, Collections.singletonList("freeboard:2"), Collections.singletonList(first));
+        AssistantRagDeltaSegment segment2 = segment(2, Arrays.asList("freeboard:2", "freeboard:3"),
+                Arrays.asList(second, added));
+
+        AssistantRagDeltaSegment.Merged merged = AssistantRagDeltaSegment.merge(
+                Arrays.asList(base0, base1, base2), Arrays.asList(segment1, segment2));
+
+        assertEquals(Arrays.asList(base0, second, added), merged.getChunks());
+        assertArrayEquals(new int[]{0}, merged.getBaseOrdinals());
+        assertEquals(Arrays.asList(second, added), merged.getSegmentChunks());
+    }
+
+    private static AssistantRagDeltaSegment segment(int sequence, List<String> tombstones, List<AssistantRagChunk> chunks) {
+        return new AssistantRagDeltaSegment(sequence, 0L, new Date(), 2, null,
+                new LinkedHashSet<>(tombstones), chunks);
+    }
+
+    private static AssistantRagChunk chunk(String id, String boardTitle, int postNum, String text) {
+        AssistantRagChunk chunk = new AssistantRagChunk();
+        chunk.setId(id);
+        chunk.setBoardTitle(boardTitle);
+        chunk.setPostNum(postNum);
+        chunk.setText(text);
+        chunk.setVector(new float[]{1.0f, 0.0f});
+        return chunk;
+    }
+}
@@ -0,0 +1,51 @@
+package com.sc1hub.assistant.rag;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class AssistantRagDuplicateVectorsTest {
+
+    @Test
+    void build_groupsChunksWithEqualVectorsUnderTheLowestOrdinal() {
+        float[][] vectors = {
+                {0.6f, 0.8f},
+                {1.0f, 0.0f},
+                {0.6f, 0.8f},
+                null,
+                {1.0f, 0.0f},
+                {0.6f, 0.8f}
+        };
+        AssistantRagDuplicateVectors duplicates = AssistantRagDuplicateVectors.build(vectors.length, 2,
+                (ordinal, target) -> {
+                    if (vectors[ordinal] == null) {
+                        return false;
+                    }
+                    System.arraycopy(vectors[ordinal], 0, target, 0, 2);
+                    return true;
+                });
+
+        assertEquals(3, duplicates.duplicateCount());
+        assertEquals(0, duplicates.groupOf(0));
+        assertEquals(1, duplicates.groupOf(1));
+        assertEquals(0, duplicates.groupOf(2));
+        assertEquals(3, duplicates.groupOf(3));
+        assertEquals(1, duplicates.groupOf(4));
+        assertEquals(0, duplicates.groupOf(5));
+        // The largest group has three chunks, and at most three candidates can be dropped.
+        assertEquals(3, duplicates.candidatesFor(1));
+        assertEquals(5, duplicates.candidatesFor(2));
+        assertEquals(6L * Integer.BYTES, duplicates.memoryBytes());
+    }
+
+    @Test
+    void build_returnsNullWhenEveryVectorIsUnique() {
+        float[][] vectors = {{0.6f, 0.8f}, {0.8f, 0.6f}, {1.0f, 0.0f}};
+
+        assertNull(AssistantRagDuplicateVectors.build(vectors.length, 2, (ordinal, target) -> {
+            System.arraycopy(vectors[ordinal], 0, target, 0, 2);
+            return true;
+        }));
+    }
+}
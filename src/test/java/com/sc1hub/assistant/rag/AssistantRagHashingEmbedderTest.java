@@ -0,0 +1,49 @@
+package com.sc1hub.assistant.rag;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AssistantRagHashingEmbedderTest {
+
+    @Test
+    void embedText_isDeterministicUnitLength() {
+        AssistantRagHashingEmbedder embedder = new AssistantRagHashingEmbedder(64);
+
+        float[] first = embedder.embedText("저그전 뮤탈 운영");
+        float[] second = embedder.embedText("저그전 뮤탈 운영");
+
+        assertEquals(64, first.length);
+        assertArrayEquals(first, second, 0.0f);
+        assertEquals(1.0, AssistantRagVectorLayout.dot(first, first, 0, first.length), 1e-5);
+        assertEquals("local-ngram-hash-64", embedder.getModel());
+    }
+
+    @Test
+    void embedText_ranksSharedKoreanNgramsAboveUnrelatedText() {
+        AssistantRagHashingEmbedder embedder = new AssistantRagHashingEmbedder(256);
+        float[] query = embedder.embedText("저그 뮤탈");
+
+        double related = cosine(query, embedder.embedText("저그전에서 뮤탈리스크 운영하는 법"));
+        double unrelated = cosine(query, embedder.embedText("프로토스 캐리어 빌드 정리"));
+
+        assertTrue(related > unrelated);
+        assertTrue(related > 0.3);
+    }
+
+    @Test
+    void embedText_returnsEmptyVectorWithoutTerms() {
+        AssistantRagHashingEmbedder embedder = new AssistantRagHashingEmbedder(16);
+
+        assertEquals(0, embedder.embedText(" !? ").length);
+        assertEquals(0, embedder.embedText(null).length);
+        assertThrows(IllegalArgumentException.class, () -> new AssistantRagHashingEmbedder(0));
+    }
+
+    private static double cosine(float[] a, float[] b) {
+        return AssistantRagVectorLayout.dot(a, b, 0, a.length);
+    }
+}
@@ -0,0 +1,143 @@
+package com.sc1hub.assistant.rag;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AssistantRagHnswGraphTest {
+
+    private static final int DIMENSION = 32;
+
+    @Test
+    void search_matchesBruteForceTopK() {
+        Random random = new Random(11);
+        List<AssistantRagChunk> chunks = randomChunks(random, 1500, 0);
+
+        AssistantRagHnswGraph graph = AssistantRagHnswGraph.buildForChunks(chunks, DIMENSION, 16, 100, null);
+
+        assertEquals(chunks.size(), graph.size());
+        assertTrue(averageRecall(graph, chunks, random) >= 0.9);
+    }
+
+    @Test
+    void buildForChunks_carriesPersistedGraphOverToUpdatedChunkList() throws Exception {
+        Random random = new Random(13);
+        List<AssistantRagChunk> chunks = randomChunks(random, 1000, 0);
+        AssistantRagHnswGraph graph = AssistantRagHnswGraph.buildForChunks(chunks, DIMENSION, 16, 100, null);
+        AssistantRagHnswGraph.Persisted persisted = roundTrip(graph, chunks);
+        assertArrayEquals(ids(chunks).toArray(new String[0]), persisted.getNodeIds());
+
+        // Same shape as an update: some posts removed from the middle, re-chunked posts appended at the end.
+        List<AssistantRagChunk> updated = new ArrayList<>(chunks.subList(0, 300));
+        updated.addAll(chunks.subList(500, 1000));
+        updated.addAll(randomChunks(random, 200, 1000));
+        AssistantRagChunk withoutVector = new AssistantRagChunk();
+        withoutVector.setId("no-vector");
+        updated.add(withoutVector);
+
+        AssistantRagHnswGraph incremental = AssistantRagHnswGraph.buildForChunks(updated, DIMENSION, 16, 100, persisted);
+
+        assertEquals(updated.size() - 1, incremental.size());
+        assertFalse(incremental.contains(updated.size() - 1));
+        assertTrue(averageRecall(incremental, updated.subList(0, updated.size() - 1), random) >= 0.9);
+    }
+
+    private static AssistantRagHnswGraph.Persisted roundTrip(AssistantRagHnswGraph graph, List<AssistantRagChunk> chunks)
+            throws Exception {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            graph.writeTo(out, ids(chunks));
+        }
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            return AssistantRagHnswGraph.readFrom(in);
+        }
+    }
+
+    private static double averageRecall(AssistantRagHnswGraph graph, List<AssistantRagChunk> chunks, Random random) {
+        int queries = 50;
+        int k = 10;
+        double recallSum = 0.0;
+        for (int q = 0; q < queries; q++) {
+            float[] query = randomVector(random);
+            AssistantRagTopK exact = new AssistantRagTopK(k);
+            for (int i = 0; i < chunks.size(); i++) {
+                exact.offer(cosine(query, chunks.get(i).getVector()), i);
+            }
+            Set<Integer> expected = new HashSet<>();
+            for (int ordinal : drainOrdinals(exact)) {
+                expected.add(ordinal);
+            }
+
+            AssistantRagTopK found = graph.search(ordinal -> cosine(query, chunks.get(ordinal).getVector()), k, 64);
+            int hits = 0;
+            for (int ordinal : drainOrdinals(found)) {
+                if (expected.contains(ordinal)) {
+                    hits++;
+                }
+            }
+            recallSum += (double) hits / k;
+        }
+        return recallSum / queries;
+    }
+
+    private static int[] drainOrdinals(AssistantRagTopK topK) {
+        double[] scores = new double[topK.size()];
+        int[] ordinals = new int[topK.size()];
+        topK.drainDescending(scores, ordinals);
+        return ordinals;
+    }
+
+    private static List<AssistantRagChunk> randomChunks(Random random, int count, int firstId) {
+        List<AssistantRagChunk> chunks = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            AssistantRagChunk chunk = new AssistantRagChunk();
+            chunk.setId("chunk-" + (firstId + i));
+            chunk.setVector(randomVector(random));
+            chunks.add(chunk);
+        }
+        return chunks;
+    }
+
+    private static float[] randomVector(Random random) {
+        // Clustered data, closer to real embeddings than isotropic noise.
+        int cluster = random.nextInt(8);
+        float[] vector = new float[DIMENSION];
+        for (int d = 0; d < DIMENSION; d++) {
+            vector[d] = (float) random.nextGaussian() + (d % 8 == cluster ? 3.0f : 0.0f);
+        }
+        return vector;
+    }
+
+    private static List<String> ids(List<AssistantRagChunk> chunks) {
+        List<String> ids = new ArrayList<>();
+        for (AssistantRagChunk chunk : chunks) {
+            ids.add(chunk.getId());
+        }
+        return ids;
+    }
+
+    private static double cosine(float[] a, float[] b) {
+        double dot = 0.0;
+        double normA = 0.0;
+        double normB = 0.0;
+        for (int i = 0; i < a.length; i++) {
+            dot += a[i] * b[i];
+            normA += a[i] * a[i];
+            normB += b[i] * b[i];
+        }
+        return dot / Math.sqrt(normA * normB);
+    }
+}
@@ -16,6 +16,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.api.io.TempDir;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.core.task.TaskExecutor;
 
 import java.nio.file.Path;
@@ -26,9 +27,11 @@ import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
-import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -70,7 +73,8 @@ class AssistantRagIndexServiceTest {
                 ragProperties,
                 new AssistantProperties(),
                 objectMapper,
-                directExecutor
+                directExecutor,
+                new SimpleAsyncTaskExecutor("rag-reindex-test-")
         );
     }
 
@@ -97,7 +101,9 @@ class AssistantRagIndexServiceTest {
         assertEquals(1, result.getIndexedChunks());
         assertEquals(0, result.getEmbeddingCalls());
         assertEquals(1, result.getReusedChunks());
-        verify(embeddingClient, never()).embedText(anyString());
+        verify(embeddingClient, never()).embedTexts(anyList());
+        AssistantRagChunk saved = readIndex().getChunks().get(0);
+        assertEquals(AssistantRagContentHash.of(saved.getText()), saved.getContentHash());
     }
 
     @Test
@@ -106,7 +112,7 @@ class AssistantRagIndexServiceTest {
                 "정찰 후 상대 진출 경로에 맞춰 수비 위치를 조정하세요.");
         when(boardMapper.getBoardList()).thenReturn(Collections.emptyList());
         when(strategyTipMapper.selectTipsForRag()).thenReturn(Collections.singletonList(tip));
-        when(embeddingClient.embedText(anyString())).thenReturn(new float[]{0.3f, 0.4f});
+        stubEmbeddings(new float[]{0.3f, 0.4f});
 
         AssistantRagIndexService.ReindexResult result = indexService.reindex();
 
@@ -122,6 +128,92 @@ class AssistantRagIndexServiceTest {
         assertTrue(chunk.getText().contains(tip.getContent()));
     }
 
+    @Test
+    void reindex_embedsNewChunksInBatchesAndEmbedsRepeatedTextOnce() throws Exception {
+        ragProperties.setEmbeddingBatchSize(2);
+        when(boardMapper.getBoardList()).thenReturn(Collections.emptyList());
+        when(strategyTipMapper.selectTipsForRag()).thenReturn(Arrays.asList(
+                strategyTip(1, "t_vs_z", "테저전", "벙커 위치를 먼저 정하세요."),
+                strategyTip(2, "t_vs_z", "테저전", "럴커 타이밍에 스캔을 아끼세요."),
+                strategyTip(3, "t_vs_z", "테저전", "벙커 위치를 먼저 정하세요."),
+                strategyTip(4, "t_vs_z", "테저전", "베슬 수를 유지하세요.")));
+        stubEmbeddings(new float[]{0.3f, 0.4f});
+
+        AssistantRagIndexService.ReindexResult result = indexService.reindex();
+
+        assertEquals(4, result.getIndexedChunks());
+        assertEquals(2, result.getEmbeddingCalls());
+        assertEquals(3, result.getEmbeddedTexts());
+        assertEquals(1, result.getReusedChunks());
+        verify(embeddingClient, times(2)).embedTexts(anyList());
+    }
+
+    @Test
+    void reindex_sharesVectorOfNearDuplicateChunkFromAnotherPost() throws Exception {
+        ragProperties.getNearDuplicate().setPolicy("share");
+        stubBoardPosts(post(1, "테저전 운영 정리", AssistantRagSimHashTest.GUIDE),
+                post(2, "[퍼옴] 테저전 운영 정리", AssistantRagSimHashTest.GUIDE.replace("두 기로", "세 기로")));
+        stubEmbeddings(new float[]{0.3f, 0.4f});
+
+        AssistantRagIndexService.ReindexResult result = indexService.reindex();
+
+        assertEquals(2, result.getIndexedChunks());
+        assertEquals(1, result.getEmbeddedTexts());
+        assertEquals(1, result.getNearDuplicateChunks());
+        assertEquals(1, result.getReusedChunks());
+        verify(embeddingClient, times(1)).embedTexts(anyList());
+        List<AssistantRagChunk> chunks = readIndex().getChunks();
+        assertEquals(0.3f, chunks.get(0).getVector()[0]);
+        assertEquals(0.3f, chunks.get(1).getVector()[0]);
+    }
+
+    @Test
+    void reindex_leavesNearDuplicateOfAnotherPostOutWhenPolicyIsSkip() throws Exception {
+        ragProperties.getNearDuplicate().setPolicy("skip");
+        stubBoardPosts(post(1, "테저전 운영 정리", AssistantRagSimHashTest.GUIDE),
+                post(2, "[퍼옴] 테저전 운영 정리", AssistantRagSimHashTest.GUIDE.replace("두 기로", "세 기로")));
+        stubEmbeddings(new float[]{0.3f, 0.4f});
+
+        AssistantRagIndexService.ReindexResult result = indexService.reindex();
+
+        assertEquals(2, result.getIndexedPosts());
+        assertEquals(1, result.getIndexedChunks());
+        assertEquals(1, result.getEmbeddedTexts());
+        assertEquals(1, result.getNearDuplicateChunks());
+        assertEquals(1, readIndex().getChunks().size());
+    }
+
+    @Test
+    void reindex_reusesVectorOfNearDuplicateInPreviousIndex() throws Exception {
+        ragProperties.getNearDuplicate().setPolicy("share");
+        Date regDate = new Date(1_700_000_000_000L);
+        writeExistingIndex(regDate, "테저전 운영 정리 " + AssistantRagSimHashTest.GUIDE);
+        stubBoardPosts(post(2, "[퍼옴] 테저전 운영 정리", AssistantRagSimHashTest.GUIDE.replace("두 기로", "세 기로")));
+
+        AssistantRagIndexService.ReindexResult result = indexService.reindex();
+
+        assertEquals(1, result.getIndexedChunks());
+        assertEquals(0, result.getEmbeddingCalls());
+        assertEquals(1, result.getNearDuplicateChunks());
+        verify(embeddingClient, never()).embedTexts(anyList());
+        AssistantRagChunk saved = readIndex().getChunks().get(0);
+        assertEquals(2, saved.getPostNum());
+        assertEquals(0.1f, saved.getVector()[0]);
+    }
+
+    @Test
+    void update_failsBeforeCallingApiWhenTextBudgetIsExceeded() throws Exception {
+        writeStrategyTipIndex();
+        ragProperties.setMaxEmbeddingTextsPerUpdate(1);
+        when(boardMapper.getBoardList()).thenReturn(Collections.emptyList());
+        when(strategyTipMapper.selectTipsForRag()).thenReturn(Arrays.asList(
+                strategyTip(1, "t_vs_z", "테저전", "상대 병력 구성을 확인하세요."),
+                strategyTip(3, "p_vs_t", "프테전", "중앙 시야를 먼저 확인하세요.")));
+
+        assertThrows(IllegalStateException.class, () -> indexService.update());
+        verify(embeddingClient, never()).embedTexts(anyList());
+    }
+
     @Test
     void update_reconcilesChangedNewAndDeletedPublishedStrategyTips() throws Exception {
         writeStrategyTipIndex();
@@ -131,7 +223,7 @@ class AssistantRagIndexServiceTest {
                 "진출 전에 관측선의 이동 경로와 중앙 시야를 먼저 확인하세요.");
         when(boardMapper.getBoardList()).thenReturn(Collections.emptyList());
         when(strategyTipMapper.selectTipsForRag()).thenReturn(Arrays.asList(changed, added));
-        when(embeddingClient.embedText(anyString())).thenReturn(new float[]{0.5f, 0.6f});
+        stubEmbeddings(new float[]{0.5f, 0.6f});
 
         AssistantRagIndexService.UpdateResult result = indexService.update();
 
@@ -147,7 +239,120 @@ class AssistantRagIndexServiceTest {
                 AssistantRagSources.STRATEGY_TIP_BOARD.equals(chunk.getBoardTitle())));
     }
 
+    @Test
+    void update_appendsDeltaSegmentAndCompactionFoldsItIntoBase() throws Exception {
+        writeStrategyTipIndex();
+        ragProperties.getSegments().setMaxSegments(10);
+        ragProperties.getSegments().setMaxSegmentRatio(0.0);
+        StrategyTipDTO changed = strategyTip(1, "t_vs_z", "테저전",
+                "상대 병력 구성을 확인하고 수비 병력의 위치를 다시 조정하세요.");
+        when(boardMapper.getBoardList()).thenReturn(Collections.emptyList());
+        when(strategyTipMapper.selectTipsForRag()).thenReturn(Collections.singletonList(changed));
+        stubEmbeddings(new float[]{0.5f, 0.6f});
+
+        indexService.update();
+
+        AssistantRagIndex base = objectMapper.readValue(
+                tempDir.resolve("rag-index.json").toFile(), AssistantRagIndex.class);
+        assertEquals(2, base.getChunks().size());
+        assertTrue(tempDir.resolve("rag-index.000001.delta").toFile().isFile());
+        List<AssistantRagChunk> merged = readIndex().getChunks();
+        assertEquals(1, merged.size());
+        assertEquals(1, merged.get(0).getPostNum());
+        assertEquals(0.5f, merged.get(0).getVector()[0]);
+
+        assertEquals(1, indexService.compactSegments());
+
+        assertFalse(tempDir.resolve("rag-index.000001.delta").toFile().exists());
+        AssistantRagIndex compacted = objectMapper.readValue(
+                tempDir.resolve("rag-index.json").toFile(), AssistantRagIndex.class);
+        assertEquals(1, compacted.getChunks().size());
+        assertEquals(merged.get(0).getId(), compacted.getChunks().get(0).getId());
+    }
+
+    @Test
+    void update_onBinaryIndexReusesMappedVectorAndLeavesGraphToCompaction() throws Exception {
+        writeStrategyTipIndex();
+        indexService.convert("binary");
+        ragProperties.setIndexFormat("binary");
+        ragProperties.getHnsw().setEnabled(true);
+        ragProperties.getSegments().setMaxSegments(10);
+        ragProperties.getSegments().setMaxSegmentRatio(0.0);
+        // Same chunk text as the indexed tip 1, with a new title and date.
+        when(boardMapper.getBoardList()).thenReturn(Collections.emptyList());
+        when(strategyTipMapper.selectTipsForRag()).thenReturn(Collections.singletonList(
+                strategyTip(1, "t_vs_z", "테저전", "기존 문장")));
+
+        AssistantRagIndexService.UpdateResult result = indexService.update();
+
+        verify(embeddingClient, never()).embedTexts(anyList());
+        assertEquals(1, result.getReusedChunks());
+        assertTrue(tempDir.resolve("rag-index.000001.delta").toFile().isFile());
+        assertFalse(tempDir.resolve("rag-index.hnsw").toFile().exists());
+        List<AssistantRagChunk> merged = readIndex().getChunks();
+        assertEquals(1, merged.size());
+        assertEquals(AssistantRagSources.STRATEGY_TIP_BOARD + ":1:0:existing", merged.get(0).getId());
+        assertEquals(0.1f, merged.get(0).getVector()[0]);
+        assertEquals(new Date(1_700_000_000_001L), merged.get(0).getRegDate());
+
+        assertEquals(1, indexService.compactSegments());
+
+        assertTrue(tempDir.resolve("rag-index.hnsw").toFile().isFile());
+    }
+
+    @Test
+    void convert_roundTripsJsonIndexThroughBinaryLayout() throws Exception {
+        Date regDate = new Date(1_700_000_000_000L);
+        writeExistingIndex(regDate);
+
+        AssistantRagIndexService.ConvertResult result = indexService.convert("binary");
+
+        assertTrue(result.isReady());
+        assertEquals("json", result.getSourceFormat());
+        assertEquals("binary", result.getTargetFormat());
+        assertTrue(tempDir.resolve("rag-index.vec").toFile().isFile());
+        assertTrue(tempDir.resolve("rag-index.meta").toFile().isFile());
+
+        ragProperties.setIndexFormat("binary");
+        AssistantRagIndex binary = new AssistantRagIndexStore(ragProperties, objectMapper).read();
+        assertEquals(1, binary.getChunks().size());
+        AssistantRagChunk chunk = binary.getChunks().get(0);
+        assertEquals("freeboard:1:0:existing", chunk.getId());
+        assertEquals("same body", chunk.getText());
+        assertEquals(regDate, chunk.getRegDate());
+        assertEquals(0.1f, chunk.getVector()[0]);
+        assertEquals(0.2f, chunk.getVector()[1]);
+    }
+
+    private void stubEmbeddings(float[] vector) {
+        when(embeddingClient.embedTexts(anyList())).thenAnswer(invocation -> {
+            List<?> texts = invocation.getArgument(0);
+            return Collections.nCopies(texts.size(), vector);
+        });
+    }
+
+    private void stubBoardPosts(BoardDTO... posts) {
+        BoardListDTO board = new BoardListDTO();
+        board.setBoardTitle("FreeBoard");
+        when(boardMapper.getBoardList()).thenReturn(Collections.singletonList(board));
+        when(boardMapper.selectPostsForRag("freeboard", ragProperties.getMaxPostsPerBoard()))
+                .thenReturn(Arrays.asList(posts));
+    }
+
+    private BoardDTO post(int postNum, String title, String content) {
+        BoardDTO post = new BoardDTO();
+        post.setPostNum(postNum);
+        post.setTitle(title);
+        post.setContent(content);
+        post.setRegDate(new Date(1_700_000_000_000L + postNum));
+        return post;
+    }
+
     private void writeExistingIndex(Date regDate) throws Exception {
+        writeExistingIndex(regDate, "same body");
+    }
+
+    private void writeExistingIndex(Date regDate, String text) throws Exception {
         AssistantRagIndex index = new AssistantRagIndex();
         index.setEmbeddingModel("test-embedding-model");
         index.setDimension(2);
@@ -162,7 +367,7 @@ class AssistantRagIndexServiceTest {
         chunk.setRegDate(regDate);
         chunk.setUrl("/boards/freeboard/readPost?postNum=1");
         chunk.setChunkIndex(0);
-        chunk.setText("same body");
+        chunk.setText(text);
         chunk.setVector(new float[]{0.1f, 0.2f});
         index.getChunks().add(chunk);
 
@@ -207,7 +412,6 @@ class AssistantRagIndexServiceTest {
     }
 
     private AssistantRagIndex readIndex() throws Exception {
-        return objectMapper.readValue(
-                tempDir.resolve("rag-index.json").toFile(), AssistantRagIndex.class);
+        return new AssistantRagIndexStore(ragProperties, objectMapper).read();
     }
 }
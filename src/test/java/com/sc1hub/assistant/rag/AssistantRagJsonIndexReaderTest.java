@@ -0,0 +1,191 @@
+package com.sc1hub.assistant.rag;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sc1hub.assistant.config.AssistantRagProperties;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AssistantRagJsonIndexReaderTest {
+
+    private static final int LARGE_CHUNKS = 50_000;
+    private static final int LARGE_DIMENSION = 64;
+    private static final int CHUNKS_PER_POST = 5;
+
+    @TempDir
+    private Path tempDir;
+
+    @Test
+    void read_matchesBoundIndexAndSkipsUnknownFields() throws Exception {
+        Path path = tempDir.resolve("rag-index.json");
+        String json = "{\"version\":2,\"embeddingModel\":\"test-embedding-model\",\"unknown\":{\"a\":[1,2]},"
+                + "\"createdAt\":\"2024-01-02 03:04:05\",\"updatedAt\":1700000000000,\"dimension\":2,"
+                + "\"chunks\":["
+                + "{\"id\":\"b:1:0\",\"boardTitle\":\"b\",\"postNum\":1,\"title\":\"t\",\"regDate\":\"2024-01-01 00:00:00\","
+                + "\"url\":\"/u/1\",\"chunkIndex\":0,\"text\":\"첫 번째\",\"contentHash\":-5,\"vector\":[0.6,0.8],\"extra\":null},"
+                + "{\"id\":\"b:1:1\",\"boardTitle\":\"b\",\"postNum\":1,\"title\":\"t\",\"regDate\":null,"
+                + "\"url\":\"/u/1\",\"chunkIndex\":1,\"text\":\"두 번째\",\"vector\":[1.0,0.0,0.0]},"
+                + "{\"id\":\"b:2:0\",\"boardTitle\":\"b\",\"postNum\":2,\"title\":\"u\",\"url\":\"/u/2\",\"chunkIndex\":0,"
+                + "\"text\":\"세 번째\",\"vector\":null},"
+                + "{\"id\":\"b:3:0\",\"boardTitle\":\"b\",\"postNum\":3,\"title\":\"v\",\"vector\":[0.0,null]}"
+                + "],"
+                + "\"boardSnapshots\":[{\"boardTitle\":\"b\",\"postCount\":3,\"maxPostNum\":3,"
+                + "\"maxRegDate\":\"2024-01-01 00:00:00\"}]}";
+        Files.write(path, json.getBytes(StandardCharsets.UTF_8));
+        // As configured by Spring Boot.
+        ObjectMapper objectMapper = new ObjectMapper()
+                .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+        AssistantRagIndex bound = objectMapper.readValue(path.toFile(), AssistantRagIndex.class);
+        AssistantRagJsonIndexReader.Result streamed = AssistantRagJsonIndexReader.read(objectMapper, path);
+        AssistantRagIndex index = streamed.getIndex();
+
+        assertEquals(bound.getVersion(), index.getVersion());
+        assertEquals(bound.getEmbeddingModel(), index.getEmbeddingModel());
+        assertEquals(bound.getCreatedAt(), index.getCreatedAt());
+        assertEquals(new Date(1_700_000_000_000L), index.getUpdatedAt());
+        assertEquals(bound.getBoardSnapshots(), index.getBoardSnapshots());
+        assertEquals(2, streamed.getDimension());
+        assertEquals(bound.getChunks().size(), index.getChunks().size());
+        for (int i = 0; i < bound.getChunks().size(); i += 1) {
+            AssistantRagChunk expected = bound.getChunks().get(i);
+            expected.setVector(null);
+            assertEquals(expected, index.getChunks().get(i));
+        }
+        // Repeated board titles, titles and URLs share one instance.
+        assertSame(index.getChunks().get(0).getTitle(), index.getChunks().get(1).getTitle());
+        assertSame(index.getChunks().get(0).getUrl(), index.getChunks().get(1).getUrl());
+
+        boolean[] hasVector = streamed.getHasVector();
+        float[] vectors = streamed.getVectors();
+        assertTrue(hasVector[0]);
+        assertEquals(0.6f, vectors[0], 1e-6f);
+        assertEquals(0.8f, vectors[1], 1e-6f);
+        // Wrong dimension and a missing vector leave the row empty; a null component reads as zero.
+        assertFalse(hasVector[1]);
+        assertFalse(hasVector[2]);
+        assertTrue(hasVector[3]);
+        assertEquals(0.0f, vectors[7], 0.0f);
+    }
+
+    @Test
+    void read_takesDimensionFromFirstVectorWithoutHeader() throws Exception {
+        Path path = tempDir.resolve("rag-index.json");
+        Files.write(path, ("{\"chunks\":[{\"id\":\"a\"},{\"id\":\"b\",\"vector\":[1,2,3]},"
+                + "{\"id\":\"c\",\"vector\":[4,5,6]}],\"createdAt\":\"\"}").getBytes(StandardCharsets.UTF_8));
+
+        AssistantRagJsonIndexReader.Result streamed = AssistantRagJsonIndexReader.read(new ObjectMapper(), path);
+
+        assertEquals(3, streamed.getDimension());
+        assertNull(streamed.getIndex().getCreatedAt());
+        assertFalse(streamed.getHasVector()[0]);
+        assertTrue(streamed.getHasVector()[2]);
+        assertEquals(6.0f, streamed.getVectors()[2 * 3 + 2], 0.0f);
+    }
+
+    /**
+     * Loads a generated 50k-chunk index with the streaming reader and with Jackson data binding. Both must yield
+     * the same chunks and vectors; the streamed vectors fill one block with little slack, and reading them
+     * allocates less (no per-chunk arrays, no array-builder buffers, shared strings).
+     */
+    @Test
+    void read_largeIndexAllocatesLessThanDataBinding() throws Exception {
+        Path path = tempDir.resolve("rag-index.json");
+        ObjectMapper objectMapper = new ObjectMapper();
+        AssistantRagProperties ragProperties = new AssistantRagProperties();
+        ragProperties.setIndexPath(path.toString());
+        new AssistantRagIndexStore(ragProperties, objectMapper).write(largeIndex(), AssistantRagIndexStore.FORMAT_JSON);
+
+        long allocatedBefore = allocatedBytes();
+        long startedAt = System.nanoTime();
+        AssistantRagIndex bound = objectMapper.readValue(path.toFile(), AssistantRagIndex.class);
+        long boundMillis = (System.nanoTime() - startedAt) / 1_000_000L;
+        long boundBytes = allocatedBytes() - allocatedBefore;
+
+        allocatedBefore = allocatedBytes();
+        startedAt = System.nanoTime();
+        AssistantRagJsonIndexReader.Result streamed = AssistantRagJsonIndexReader.read(objectMapper, path);
+        long streamedMillis = (System.nanoTime() - startedAt) / 1_000_000L;
+        long streamedBytes = allocatedBytes() - allocatedBefore;
+
+        List<AssistantRagChunk> boundChunks = bound.getChunks();
+        List<AssistantRagChunk> streamedChunks = streamed.getIndex().getChunks();
+        assertEquals(LARGE_CHUNKS, streamedChunks.size());
+        assertEquals(LARGE_DIMENSION, streamed.getDimension());
+        long rowValues = (long) LARGE_CHUNKS * LARGE_DIMENSION;
+        assertTrue(streamed.getVectors().length >= rowValues);
+        assertTrue(streamed.getVectors().length <= rowValues + rowValues / 4);
+        for (int i = 0; i < LARGE_CHUNKS; i += 1) {
+            AssistantRagChunk expected = boundChunks.get(i);
+            assertEquals(expected.getId(), streamedChunks.get(i).getId());
+            assertEquals(expected.getRegDate(), streamedChunks.get(i).getRegDate());
+            assertTrue(streamed.getHasVector()[i]);
+            float[] vector = expected.getVector();
+            for (int d = 0; d < LARGE_DIMENSION; d += 1) {
+                assertEquals(vector[d], streamed.getVectors()[i * LARGE_DIMENSION + d], 0.0f);
+            }
+        }
+        if (boundBytes > 0L && streamedBytes > 0L) {
+            String measured = String.format("data binding: %d bytes allocated, %d ms / streaming: %d bytes, %d ms",
+                    boundBytes, boundMillis, streamedBytes, streamedMillis);
+            assertTrue(streamedBytes < boundBytes, measured);
+        }
+    }
+
+    private static AssistantRagIndex largeIndex() {
+        AssistantRagIndex index = new AssistantRagIndex();
+        index.setVersion(2);
+        index.setEmbeddingModel("test-embedding-model");
+        index.setDimension(LARGE_DIMENSION);
+        index.setCreatedAt(new Date(1_700_000_000_000L));
+        List<AssistantRagChunk> chunks = new ArrayList<>(LARGE_CHUNKS);
+        for (int i = 0; i < LARGE_CHUNKS; i += 1) {
+            int postNum = i / CHUNKS_PER_POST;
+            AssistantRagChunk chunk = new AssistantRagChunk();
+            chunk.setId("board:" + postNum + ":" + (i % CHUNKS_PER_POST));
+            chunk.setBoardTitle("board" + (postNum % 4));
+            chunk.setPostNum(postNum);
+            chunk.setTitle("post title " + postNum);
+            chunk.setRegDate(new Date(1_700_000_000_000L + postNum * 1000L));
+            chunk.setUrl("/board/" + postNum);
+            chunk.setChunkIndex(i % CHUNKS_PER_POST);
+            chunk.setText("chunk " + i);
+            chunk.setContentHash(i);
+            float[] vector = new float[LARGE_DIMENSION];
+            for (int d = 0; d < LARGE_DIMENSION; d += 1) {
+                vector[d] = ((i * 31 + d * 17) % 201 - 100) / 100.0f;
+            }
+            chunk.setVector(vector);
+            chunks.add(chunk);
+        }
+        index.setChunks(chunks);
+        return index;
+    }
+
+    /**
+     * Bytes allocated by the current thread so far, or 0 when the JVM does not report it.
+     */
+    private static long allocatedBytes() {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        if (!(threads instanceof com.sun.management.ThreadMXBean)) {
+            return 0L;
+        }
+        com.sun.management.ThreadMXBean hotspot = (com.sun.management.ThreadMXBean) threads;
+        return Math.max(0L, hotspot.getThreadAllocatedBytes(Thread.currentThread().getId()));
+    }
+}
@@ -0,0 +1,69 @@
+package com.sc1hub.assistant.rag;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AssistantRagKeywordIndexTest {
+
+    @Test
+    void tokenize_splitsHangulIntoBigramsAndKeepsOtherWordsWhole() {
+        assertEquals(Arrays.asList("저그", "그전", "전에", "에서", "tvz", "3", "햇"),
+                AssistantRagTokenizer.tokenize("저그전에서 TvZ, 3햇"));
+        assertEquals(Collections.singletonList("짐"), AssistantRagTokenizer.tokenize(" 짐 "));
+        assertTrue(AssistantRagTokenizer.tokenize("  ..  ").isEmpty());
+    }
+
+    @Test
+    void search_ranksByBm25AndMatchesInflectedKoreanForms() {
+        List<String> documents = Arrays.asList(
+                "테란 빌드 정리",
+                "저그전에서 뮤탈 막는 법 저그 저그",
+                "프로토스 캐리어 운영",
+                "저그 상대 메카닉");
+        AssistantRagKeywordIndex index = AssistantRagKeywordIndex.build(documents.size(), documents::get, 1.2, 0.75);
+
+        int[] ordinals = drain(index.search(Collections.singletonList("저그"), 10, null));
+
+        assertEquals(4, index.size());
+        assertEquals(2, ordinals.length);
+        assertEquals(1, ordinals[0]);
+        assertEquals(3, ordinals[1]);
+    }
+
+    @Test
+    void search_appliesWeightsAndSkipsZeroWeightDocuments() {
+        List<String> documents = Arrays.asList("저그 운영", "저그 운영", "테란 운영");
+        AssistantRagKeywordIndex index = AssistantRagKeywordIndex.build(documents.size(), documents::get, 1.2, 0.75);
+
+        int[] ordinals = drain(index.search(Collections.singletonList("저그 운영"), 10,
+                ordinal -> ordinal == 0 ? 0.0 : (ordinal == 2 ? 5.0 : 1.0)));
+
+        assertEquals(2, ordinals.length);
+        assertEquals(2, ordinals[0]);
+        assertEquals(1, ordinals[1]);
+    }
+
+    @Test
+    void build_treatsNullDocumentsAsEmpty() {
+        AssistantRagKeywordIndex index = AssistantRagKeywordIndex.build(2, ordinal -> ordinal == 0 ? null : "캐리어", 1.2, 0.75);
+
+        int[] ordinals = drain(index.search(Collections.singletonList("캐리어"), 5, null));
+
+        assertEquals(1, ordinals.length);
+        assertEquals(1, ordinals[0]);
+        assertEquals(2, index.termCount());
+    }
+
+    private static int[] drain(AssistantRagTopK topK) {
+        double[] scores = new double[topK.size()];
+        int[] ordinals = new int[topK.size()];
+        topK.drainDescending(scores, ordinals);
+        return ordinals;
+    }
+}
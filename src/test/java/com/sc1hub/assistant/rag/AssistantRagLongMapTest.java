@@ -0,0 +1,48 @@
+package com.sc1hub.assistant.rag;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class AssistantRagLongMapTest {
+
+    @Test
+    void putAndGet_matchHashMapWhileGrowing() {
+        AssistantRagLongMap<Integer> map = new AssistantRagLongMap<>(0);
+        Map<Long, Integer> expected = new HashMap<>();
+        Random random = new Random(11);
+        for (int i = 0; i < 20_000; i++) {
+            long key = random.nextInt(5_000) - 2_500L;
+            if (random.nextBoolean()) {
+                assertEquals(expected.put(key, i), map.put(key, i));
+            } else {
+                assertEquals(expected.putIfAbsent(key, i), map.putIfAbsent(key, i));
+            }
+        }
+
+        assertEquals(expected.size(), map.size());
+        for (long key = -3_000L; key < 3_000L; key++) {
+            assertEquals(expected.get(key), map.get(key));
+        }
+    }
+
+    @Test
+    void keysThatCollideInLowBitsStayDistinct() {
+        AssistantRagLongMap<String> map = new AssistantRagLongMap<>(4);
+        map.put(0L, "zero");
+        map.put(1L << 32, "high");
+        map.put(Long.MIN_VALUE, "min");
+
+        assertEquals("zero", map.get(0L));
+        assertEquals("high", map.get(1L << 32));
+        assertEquals("min", map.get(Long.MIN_VALUE));
+        assertNull(map.get(-1L));
+        assertThrows(IllegalArgumentException.class, () -> map.put(5L, null));
+    }
+}
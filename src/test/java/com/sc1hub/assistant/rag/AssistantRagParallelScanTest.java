@@ -0,0 +1,63 @@
+package com.sc1hub.assistant.rag;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class AssistantRagParallelScanTest {
+
+    @Test
+    void scan_mergesWorkerHeapsIntoSameTopKAsSequentialScan() {
+        Random random = new Random(3);
+        double[] scores = new double[50_000];
+        for (int i = 0; i < scores.length; i++) {
+            scores[i] = random.nextDouble();
+        }
+        AssistantRagParallelScan.RangeScorer scorer = (from, to, topK) -> {
+            for (int i = from; i < to; i++) {
+                topK.offer(scores[i], i);
+            }
+        };
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            AssistantRagTopK parallel = AssistantRagParallelScan.scan(pool, scores.length, 12, 1000, scorer);
+            AssistantRagTopK sequential = AssistantRagParallelScan.scanSequential(scores.length, 12, scorer);
+
+            double[] parallelScores = new double[12];
+            int[] parallelOrdinals = new int[12];
+            double[] sequentialScores = new double[12];
+            int[] sequentialOrdinals = new int[12];
+            assertEquals(12, parallel.drainDescending(parallelScores, parallelOrdinals));
+            assertEquals(12, sequential.drainDescending(sequentialScores, sequentialOrdinals));
+            assertArrayEquals(sequentialOrdinals, parallelOrdinals);
+            assertArrayEquals(sequentialScores, parallelScores);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void scan_handlesFewerCandidatesThanCapacity() {
+        ForkJoinPool pool = new ForkJoinPool(2);
+        try {
+            AssistantRagTopK topK = AssistantRagParallelScan.scan(pool, 3, 10, 1, (from, to, heap) -> {
+                for (int i = from; i < to; i++) {
+                    heap.offer(i, i);
+                }
+            });
+
+            double[] scores = new double[10];
+            int[] ordinals = new int[10];
+            assertEquals(3, topK.drainDescending(scores, ordinals));
+            assertEquals(2, ordinals[0]);
+            assertEquals(0, ordinals[2]);
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
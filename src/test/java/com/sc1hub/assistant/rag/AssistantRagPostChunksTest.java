@@ -0,0 +1,98 @@
+package com.sc1hub.assistant.rag;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class AssistantRagPostChunksTest {
+
+    @Test
+    void group_keepsEachPostContiguousInFirstSeenOrder() {
+        AssistantRagPostChunks posts = AssistantRagPostChunks.group(Arrays.asList(
+                chunk("FreeBoard", 1, 0), chunk("freeboard", 2, 0), chunk("FreeBoard ", 1, 1), null));
+
+        assertEquals(3, posts.size());
+        assertEquals(Arrays.asList("freeboard:1:0", "freeboard:1:1", "freeboard:2:0"), ids(posts.toChunks()));
+        assertEquals(2, posts.get("freeboard", 1).size());
+    }
+
+    @Test
+    void replaceAndRemove_touchOnlyThatPost() {
+        AssistantRagPostChunks posts = AssistantRagPostChunks.group(Arrays.asList(
+                chunk("freeboard", 1, 0), chunk("freeboard", 1, 1), chunk("freeboard", 2, 0), chunk("tips", 3, 0)));
+
+        posts.replacePost("FreeBoard", 1, Collections.singletonList(chunk("freeboard", 1, 0)));
+        assertEquals(1, posts.removePost("freeboard", 2));
+        assertEquals(0, posts.removePost("freeboard", 9));
+
+        assertEquals(2, posts.size());
+        assertEquals(Arrays.asList("tips:3:0", "freeboard:1:0"), ids(posts.toChunks()));
+        assertNull(posts.get("freeboard", 2));
+    }
+
+    @Test
+    void retainBoardsAndPostsOfBoard_workPerPost() {
+        AssistantRagPostChunks posts = AssistantRagPostChunks.group(Arrays.asList(
+                chunk("freeboard", 1, 0), chunk("tips", 7, 0), chunk("tips", 7, 1), chunk("gone", 4, 0)));
+
+        posts.retainBoards(new HashSet<>(Arrays.asList("freeboard", "tips")));
+        Map<Integer, List<AssistantRagChunk>> tips = posts.postsOfBoard("Tips");
+
+        assertEquals(3, posts.size());
+        assertEquals(Collections.singleton(7), tips.keySet());
+        assertEquals(2, tips.get(7).size());
+        posts.retainBoards(Collections.<String>emptySet());
+        assertEquals(0, posts.size());
+        assertEquals(0, posts.toChunks().size());
+    }
+
+    @Test
+    void touchedDelta_coversOnlyPostsThatActuallyChanged() {
+        AssistantRagChunk unchanged = chunk("freeboard", 1, 0);
+        AssistantRagPostChunks posts = AssistantRagPostChunks.group(Arrays.asList(
+                unchanged, chunk("freeboard", 2, 0), chunk("freeboard", 3, 0), chunk("gone", 4, 0)));
+        AssistantRagChunk edited = chunk("freeboard", 2, 0);
+        edited.setContentHash(42L);
+        AssistantRagChunk added = chunk("freeboard", 5, 0);
+
+        posts.replacePost("freeboard", 1, Collections.singletonList(chunk("freeboard", 1, 0)));
+        posts.replacePost("freeboard", 2, Collections.singletonList(edited));
+        posts.removePost("freeboard", 3);
+        posts.removePost("freeboard", 9);
+        posts.replacePost("freeboard", 5, Collections.singletonList(added));
+        posts.retainBoards(Collections.singleton("freeboard"));
+        AssistantRagIndex header = new AssistantRagIndex();
+        header.setCreatedAt(new Date(1_700_000_000_000L));
+        AssistantRagDeltaSegment delta = posts.touchedDelta(header);
+
+        assertEquals(new HashSet<>(Arrays.asList("freeboard:2", "freeboard:3", "gone:4")), delta.getTombstones());
+        assertEquals(Arrays.asList(edited, added), delta.getChunks());
+        assertEquals(1_700_000_000_000L, delta.getBaseId());
+    }
+
+    private static AssistantRagChunk chunk(String boardTitle, int postNum, int chunkIndex) {
+        AssistantRagChunk chunk = new AssistantRagChunk();
+        chunk.setId(boardTitle.trim().toLowerCase() + ":" + postNum + ":" + chunkIndex);
+        chunk.setBoardTitle(boardTitle);
+        chunk.setPostNum(postNum);
+        chunk.setChunkIndex(chunkIndex);
+        return chunk;
+    }
+
+    private static List<String> ids(List<AssistantRagChunk> chunks) {
+        List<String> ids = new ArrayList<>();
+        for (AssistantRagChunk chunk : chunks) {
+            ids.add(chunk.getId());
+        }
+        return ids;
+    }
+}
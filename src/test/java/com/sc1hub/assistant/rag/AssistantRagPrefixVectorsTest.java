@@ -0,0 +1,47 @@
+package com.sc1hub.assistant.rag;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AssistantRagPrefixVectorsTest {
+
+    @Test
+    void cosine_comparesRenormalizedLeadingDimensions() {
+        float[][] vectors = {
+                {3.0f, 4.0f, 100.0f, 0.0f},
+                {0.0f, 0.0f, 1.0f, 1.0f},
+                {1.0f, 0.0f, 0.0f, 0.0f}
+        };
+        AssistantRagPrefixVectors prefix = AssistantRagPrefixVectors.build(3, 4, 2, (ordinal, target) -> {
+            if (ordinal == 2) {
+                return false;
+            }
+            System.arraycopy(vectors[ordinal], 0, target, 0, 4);
+            return true;
+        });
+
+        float[] query = prefix.prefixQuery(new float[]{0.6f, 0.8f, 0.0f, 0.0f});
+
+        assertEquals(2, prefix.getDimension());
+        assertEquals(1.0, prefix.cosine(query, 0), 1e-6);
+        // An all-zero prefix cannot be compared and a missing vector is skipped.
+        assertFalse(prefix.hasVector(1));
+        assertFalse(prefix.hasVector(2));
+        assertTrue(prefix.hasVector(0));
+        assertNull(prefix.prefixQuery(new float[]{0.0f, 0.0f, 1.0f, 0.0f}));
+        assertEquals(3L * 2 * Float.BYTES + 3, prefix.memoryBytes());
+    }
+
+    @Test
+    void build_rejectsDimensionOutsideVector() {
+        assertThrows(IllegalArgumentException.class,
+                () -> AssistantRagPrefixVectors.build(1, 4, 5, (ordinal, target) -> true));
+        assertThrows(IllegalArgumentException.class,
+                () -> AssistantRagPrefixVectors.build(1, 4, 0, (ordinal, target) -> true));
+    }
+}
@@ -0,0 +1,76 @@
+package com.sc1hub.assistant.rag;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AssistantRagQuantizedVectorsTest {
+
+    @Test
+    void dot_approximatesFloatDotProduct() {
+        Random random = new Random(7);
+        int count = 200;
+        int dimension = 64;
+        float[][] vectors = new float[count][dimension];
+        for (float[] vector : vectors) {
+            for (int d = 0; d < dimension; d++) {
+                vector[d] = (float) random.nextGaussian();
+            }
+        }
+        AssistantRagQuantizedVectors quantized = AssistantRagQuantizedVectors.build(count, dimension, (ordinal, target) -> {
+            System.arraycopy(vectors[ordinal], 0, target, 0, dimension);
+            return true;
+        });
+        float[] query = new float[dimension];
+        for (int d = 0; d < dimension; d++) {
+            query[d] = (float) random.nextGaussian();
+        }
+        AssistantRagQuantizedVectors.Query quantizedQuery = quantized.quantizeQuery(query);
+
+        for (int ordinal = 0; ordinal < count; ordinal++) {
+            double exact = 0.0;
+            for (int d = 0; d < dimension; d++) {
+                exact += query[d] * vectors[ordinal][d];
+            }
+            assertEquals(exact, quantized.dot(ordinal, quantizedQuery), 0.5);
+        }
+        assertTrue(quantized.memoryBytes() < (long) count * dimension * Float.BYTES / 3);
+    }
+
+    @Test
+    void build_skipsChunksWithoutVector() {
+        AssistantRagQuantizedVectors quantized = AssistantRagQuantizedVectors.build(2, 2, (ordinal, target) -> {
+            if (ordinal == 1) {
+                return false;
+            }
+            target[0] = 1.0f;
+            target[1] = 1.0f;
+            return true;
+        });
+
+        assertTrue(quantized.hasVector(0));
+        assertFalse(quantized.hasVector(1));
+        assertEquals(2.0, quantized.dot(0, quantized.quantizeQuery(new float[]{1.0f, 1.0f})), 1e-6);
+    }
+
+    @Test
+    void topK_keepsHighestScoresInDescendingOrder() {
+        AssistantRagTopK topK = new AssistantRagTopK(3);
+        double[] scores = {0.2, 0.9, 0.1, 0.5, 0.7};
+        for (int i = 0; i < scores.length; i++) {
+            topK.offer(scores[i], i);
+        }
+
+        double[] outScores = new double[3];
+        int[] outOrdinals = new int[3];
+        assertEquals(3, topK.drainDescending(outScores, outOrdinals));
+        assertArrayEquals(new int[]{1, 4, 3}, outOrdinals);
+        assertArrayEquals(new double[]{0.9, 0.7, 0.5}, outScores);
+        assertEquals(0, topK.size());
+    }
+}
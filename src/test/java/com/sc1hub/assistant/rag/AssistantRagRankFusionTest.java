@@ -0,0 +1,43 @@
+package com.sc1hub.assistant.rag;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class AssistantRagRankFusionTest {
+
+    @Test
+    void fuse_rewardsChunksRankedByBothLists() {
+        AssistantRagTopK fused = AssistantRagRankFusion.fuse(
+                new int[]{1, 2, 3}, 1.0,
+                new int[]{3, 4}, 1.0,
+                60, 10);
+        double[] scores = new double[fused.size()];
+        int[] ordinals = new int[fused.size()];
+        int count = fused.drainDescending(scores, ordinals);
+
+        assertEquals(4, count);
+        assertEquals(3, ordinals[0]);
+        assertEquals(1.0 / 63 + 1.0 / 61, scores[0], 1e-12);
+        assertEquals(1, ordinals[1]);
+    }
+
+    @Test
+    void fuse_weightsEachRankingAndIgnoresZeroWeight() {
+        AssistantRagTopK keywordFirst = AssistantRagRankFusion.fuse(
+                new int[]{1}, 1.0,
+                new int[]{2}, 2.0,
+                60, 10);
+        AssistantRagTopK vectorOnly = AssistantRagRankFusion.fuse(
+                new int[]{1}, 1.0,
+                new int[]{2}, 0.0,
+                60, 10);
+        double[] scores = new double[2];
+        int[] ordinals = new int[2];
+
+        assertEquals(2, keywordFirst.drainDescending(scores, ordinals));
+        assertEquals(2, ordinals[0]);
+        assertEquals(1, vectorOnly.drainDescending(scores, ordinals));
+        assertEquals(1, ordinals[0]);
+    }
+}
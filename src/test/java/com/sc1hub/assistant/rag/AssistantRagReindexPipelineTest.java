@@ -0,0 +1,129 @@
+package com.sc1hub.assistant.rag;
+
+import com.sc1hub.assistant.config.AssistantRagProperties;
+import com.sc1hub.assistant.gemini.GeminiException;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AssistantRagReindexPipelineTest {
+
+    @Test
+    void run_returnsPostsInFetchOrderAndEmbedsEachTextOnce() throws Exception {
+        AssistantRagReindexPipeline.Progress progress = new AssistantRagReindexPipeline.Progress();
+        AssistantRagReindexPipeline<Integer, List<String>> pipeline = newPipeline(3, 3, 2, progress);
+        List<List<String>> batches = Collections.synchronizedList(new ArrayList<>());
+
+        AssistantRagReindexPipeline.Result<List<String>> result = pipeline.run(
+                sink -> {
+                    for (int post = 0; post < 200; post += 1) {
+                        sink.accept(post);
+                    }
+                },
+                post -> post % 10 == 9 ? null : Arrays.asList("text-" + post, "shared-" + (post % 5)),
+                texts -> texts,
+                texts -> {
+                    batches.add(texts);
+                    List<float[]> vectors = new ArrayList<>();
+                    for (String text : texts) {
+                        vectors.add(new float[]{text.length()});
+                    }
+                    return vectors;
+                });
+
+        assertEquals(180, result.getPrepared().size());
+        for (int i = 1; i < result.getPrepared().size(); i += 1) {
+            assertTrue(postOf(result.getPrepared().get(i - 1)) < postOf(result.getPrepared().get(i)));
+        }
+        assertEquals(185, result.getVectorsByText().size());
+        int embeddedTexts = 0;
+        for (List<String> batch : batches) {
+            assertTrue(batch.size() <= 3);
+            embeddedTexts += batch.size();
+        }
+        assertEquals(185, embeddedTexts);
+        assertEquals(200, progress.getPostsFetched());
+        assertEquals(200, progress.getPostsChunked());
+        assertEquals(185, progress.getTextsEmbedded());
+        assertEquals(batches.size(), progress.getEmbeddingCalls());
+    }
+
+    @Test
+    void run_stopsAllStagesAndRethrowsFirstFailure() {
+        AssistantRagReindexPipeline<Integer, List<String>> pipeline =
+                newPipeline(2, 2, 2, new AssistantRagReindexPipeline.Progress());
+        IllegalStateException budgetExceeded = new IllegalStateException("budget exceeded");
+
+        IllegalStateException thrown = assertThrows(IllegalStateException.class, () -> pipeline.run(
+                sink -> {
+                    for (int post = 0; post < 10_000; post += 1) {
+                        sink.accept(post);
+                    }
+                },
+                post -> Collections.singletonList("text-" + post),
+                texts -> texts,
+                texts -> {
+                    throw budgetExceeded;
+                }));
+
+        assertSame(budgetExceeded, thrown);
+    }
+
+    @Test
+    void rateLimitGate_retriesRateLimitedRequests() throws Exception {
+        AssistantRagProperties.PipelineProperties properties = new AssistantRagProperties.PipelineProperties();
+        properties.setInitialBackoffMillis(1);
+        properties.setMaxRateLimitRetries(2);
+        AssistantRagReindexPipeline.Progress progress = new AssistantRagReindexPipeline.Progress();
+        AssistantRagReindexPipeline.RateLimitGate gate = new AssistantRagReindexPipeline.RateLimitGate(properties, progress);
+        AtomicInteger attempts = new AtomicInteger();
+
+        String value = gate.call(() -> {
+            if (attempts.incrementAndGet() < 3) {
+                throw rateLimited();
+            }
+            return "ok";
+        });
+
+        assertEquals("ok", value);
+        assertEquals(2, progress.getRateLimitRetries());
+        assertThrows(GeminiException.class, () -> gate.call(() -> {
+            throw rateLimited();
+        }));
+        assertThrows(GeminiException.class, () -> gate.call(() -> {
+            throw new GeminiException("Gemini Embedding API request failed.");
+        }));
+    }
+
+    private static AssistantRagReindexPipeline<Integer, List<String>> newPipeline(int batchSize, int chunkThreads,
+                                                                                  int embeddingConcurrency,
+                                                                                  AssistantRagReindexPipeline.Progress progress) {
+        AssistantRagProperties.PipelineProperties properties = new AssistantRagProperties.PipelineProperties();
+        properties.setChunkThreads(chunkThreads);
+        properties.setEmbeddingConcurrency(embeddingConcurrency);
+        properties.setQueueCapacity(4);
+        return new AssistantRagReindexPipeline<>(
+                new SimpleAsyncTaskExecutor("rag-pipeline-test-"), properties, batchSize, progress);
+    }
+
+    private static int postOf(List<String> texts) {
+        return Integer.parseInt(texts.get(0).substring("text-".length()));
+    }
+
+    private static GeminiException rateLimited() {
+        return new GeminiException("Gemini Embedding API request failed: 429",
+                new HttpClientErrorException(HttpStatus.TOO_MANY_REQUESTS));
+    }
+}
@@ -5,6 +5,7 @@ import com.sc1hub.assistant.config.AssistantProperties;
 import com.sc1hub.assistant.config.AssistantRagProperties;
 import com.sc1hub.assistant.config.GeminiProperties;
 import com.sc1hub.assistant.gemini.GeminiEmbeddingClient;
+import com.sc1hub.assistant.gemini.GeminiException;
 import com.sc1hub.board.mapper.BoardMapper;
 import com.sc1hub.strategytip.mapper.StrategyTipMapper;
 import org.junit.jupiter.api.Test;
@@ -13,14 +14,20 @@ import org.junit.jupiter.api.io.TempDir;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
 import java.util.Collections;
 import java.util.Date;
 import java.util.List;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -52,13 +59,15 @@ class AssistantRagSearchServiceTest {
         GeminiProperties geminiProperties = new GeminiProperties();
         geminiProperties.setEmbeddingModel("test-embedding-model");
         when(boardMapper.getBoardList()).thenReturn(Collections.emptyList());
-        when(strategyTipMapper.selectRagStats()).thenReturn(strategyTipSnapshot(regDate));
+        when(boardMapper.selectRagStatsForBoards(Collections.<String>emptyList(), true))
+                .thenReturn(Collections.singletonList(strategyTipSnapshot(regDate)));
         when(embeddingClient.embedText("테저전 수비 위치"))
                 .thenReturn(new float[]{1.0f, 0.0f});
 
         AssistantRagSearchService service = new AssistantRagSearchService(
                 ragProperties, geminiProperties, embeddingClient, new ObjectMapper(),
-                boardMapper, strategyTipMapper, new AssistantProperties());
+                refreshedSignatureCache(ragProperties));
+        service.reloadIfChanged();
 
         List<AssistantRagSearchService.Match> matches =
                 service.search("테저전 수비 위치", 3);
@@ -74,6 +83,434 @@ class AssistantRagSearchServiceTest {
         assertFalse(status.isSignatureMismatch());
     }
 
+    @Test
+    void search_readsVectorsFromMappedBinaryIndex() throws Exception {
+        Date regDate = new Date(1_700_000_000_000L);
+        Path indexPath = tempDir.resolve("rag-index.json");
+        writeStrategyTipIndex(indexPath, regDate);
+
+        AssistantRagProperties ragProperties = new AssistantRagProperties();
+        ragProperties.setEnabled(true);
+        ragProperties.setIndexPath(indexPath.toString());
+        ragProperties.setIndexFormat("binary");
+        AssistantRagIndexStore store = new AssistantRagIndexStore(ragProperties, new ObjectMapper());
+        store.write(store.read("json"), "binary");
+        assertTrue(indexPath.toFile().delete());
+
+        GeminiProperties geminiProperties = new GeminiProperties();
+        geminiProperties.setEmbeddingModel("test-embedding-model");
+        when(boardMapper.getBoardList()).thenReturn(Collections.emptyList());
+        when(boardMapper.selectRagStatsForBoards(Collections.<String>emptyList(), true))
+                .thenReturn(Collections.singletonList(strategyTipSnapshot(regDate)));
+        when(embeddingClient.embedText("테저전 수비 위치"))
+                .thenReturn(new float[]{0.6f, 0.8f});
+
+        AssistantRagSearchService service = new AssistantRagSearchService(
+                ragProperties, geminiProperties, embeddingClient, new ObjectMapper(),
+                refreshedSignatureCache(ragProperties));
+        service.reloadIfChanged();
+
+        List<AssistantRagSearchService.Match> matches =
+                service.search("테저전 수비 위치", 3);
+        AssistantRagSearchService.Status status = service.getStatus();
+
+        assertEquals(1, matches.size());
+        assertEquals(7, matches.get(0).getChunk().getPostNum());
+        assertEquals(0.6, matches.get(0).getScore(), 1e-6);
+        assertEquals("binary", status.getIndexFormat());
+        assertFalse(status.isSignatureMismatch());
+    }
+
+    @Test
+    void search_readsChunkTextFromTextSegmentOnlyForMatches() throws Exception {
+        Date regDate = new Date(1_700_000_000_000L);
+        Path indexPath = tempDir.resolve("rag-index.json");
+        writeStrategyTipIndex(indexPath, regDate);
+
+        AssistantRagProperties ragProperties = new AssistantRagProperties();
+        ragProperties.setEnabled(true);
+        ragProperties.setIndexPath(indexPath.toString());
+        ragProperties.setIndexFormat("binary");
+        AssistantRagIndexStore store = new AssistantRagIndexStore(ragProperties, new ObjectMapper());
+        AssistantRagIndex index = store.read("json");
+        String text = index.getChunks().get(0).getText();
+        store.write(index, "binary");
+        assertTrue(indexPath.toFile().delete());
+
+        AssistantRagIndexStore.MappedIndex mapped = store.openMapped();
+        assertNull(mapped.getIndex().getChunks().get(0).getText());
+        assertEquals(text, mapped.getTexts().get(0));
+        assertEquals(text, store.read("binary").getChunks().get(0).getText());
+
+        GeminiProperties geminiProperties = new GeminiProperties();
+        geminiProperties.setEmbeddingModel("test-embedding-model");
+        when(boardMapper.getBoardList()).thenReturn(Collections.emptyList());
+        when(boardMapper.selectRagStatsForBoards(Collections.<String>emptyList(), true))
+                .thenReturn(Collections.singletonList(strategyTipSnapshot(regDate)));
+        when(embeddingClient.embedText("테저전 수비 위치"))
+                .thenReturn(new float[]{0.6f, 0.8f});
+
+        AssistantRagSearchService service = new AssistantRagSearchService(
+                ragProperties, geminiProperties, embeddingClient, new ObjectMapper(),
+                refreshedSignatureCache(ragProperties));
+        service.reloadIfChanged();
+
+        List<AssistantRagSearchService.Match> matches =
+                service.search("테저전 수비 위치", 3);
+
+        assertEquals(1, matches.size());
+        assertEquals(text, matches.get(0).getChunk().getText());
+        assertEquals(AssistantRagSources.STRATEGY_TIP_URL, matches.get(0).getChunk().getUrl());
+    }
+
+    @Test
+    void search_quantizedModeRescoresAndReportsRecall() throws Exception {
+        Date regDate = new Date(1_700_000_000_000L);
+        Path indexPath = tempDir.resolve("rag-index.json");
+        writeStrategyTipIndex(indexPath, regDate);
+
+        AssistantRagProperties ragProperties = new AssistantRagProperties();
+        ragProperties.setEnabled(true);
+        ragProperties.setIndexPath(indexPath.toString());
+        ragProperties.getQuantization().setEnabled(true);
+        GeminiProperties geminiProperties = new GeminiProperties();
+        geminiProperties.setEmbeddingModel("test-embedding-model");
+        when(boardMapper.getBoardList()).thenReturn(Collections.emptyList());
+        when(boardMapper.selectRagStatsForBoards(Collections.<String>emptyList(), true))
+                .thenReturn(Collections.singletonList(strategyTipSnapshot(regDate)));
+        when(embeddingClient.embedText("테저전 수비 위치"))
+                .thenReturn(new float[]{0.6f, 0.8f});
+
+        AssistantRagSearchService service = new AssistantRagSearchService(
+                ragProperties, geminiProperties, embeddingClient, new ObjectMapper(),
+                refreshedSignatureCache(ragProperties));
+        service.reloadIfChanged();
+
+        List<AssistantRagSearchService.Match> matches =
+                service.search("테저전 수비 위치", 3);
+        AssistantRagSearchService.Status status = service.getStatus();
+
+        assertEquals(1, matches.size());
+        assertEquals(0.6, matches.get(0).getScore(), 1e-6);
+        assertEquals(1, status.getQuantization().getRecallSamples());
+        assertEquals(1.0, status.getQuantization().getRecallAtK(), 1e-9);
+    }
+
+    @Test
+    void search_prefixModeRescoresWithFullVectorsAndReportsRecall() throws Exception {
+        Date regDate = new Date(1_700_000_000_000L);
+        Path indexPath = tempDir.resolve("rag-index.json");
+        writeStrategyTipIndex(indexPath, regDate);
+
+        AssistantRagProperties ragProperties = new AssistantRagProperties();
+        ragProperties.setEnabled(true);
+        ragProperties.setIndexPath(indexPath.toString());
+        ragProperties.getPrefix().setEnabled(true);
+        ragProperties.getPrefix().setDimensions(1);
+        GeminiProperties geminiProperties = new GeminiProperties();
+        geminiProperties.setEmbeddingModel("test-embedding-model");
+        when(boardMapper.getBoardList()).thenReturn(Collections.emptyList());
+        when(boardMapper.selectRagStatsForBoards(Collections.<String>emptyList(), true))
+                .thenReturn(Collections.singletonList(strategyTipSnapshot(regDate)));
+        when(embeddingClient.embedText("테저전 수비 위치"))
+                .thenReturn(new float[]{0.6f, 0.8f});
+
+        AssistantRagSearchService service = new AssistantRagSearchService(
+                ragProperties, geminiProperties, embeddingClient, new ObjectMapper(),
+                refreshedSignatureCache(ragProperties));
+        service.reloadIfChanged();
+
+        List<AssistantRagSearchService.Match> matches =
+                service.search("테저전 수비 위치", 3);
+        AssistantRagSearchService.Status status = service.getStatus();
+
+        assertEquals(1, matches.size());
+        // Candidates come from the 1-dimensional prefix; the returned score is the full cosine.
+        assertEquals(0.6, matches.get(0).getScore(), 1e-6);
+        assertEquals(1, status.getPrefix().getDimensions());
+        assertEquals(1, status.getPrefix().getRecallSamples());
+        assertEquals(1.0, status.getPrefix().getRecallAtK(), 1e-9);
+    }
+
+    @Test
+    void search_appliesBoardFilterBeforeScoring() throws Exception {
+        Date regDate = new Date(1_700_000_000_000L);
+        Path indexPath = tempDir.resolve("rag-index.json");
+        writeStrategyTipIndex(indexPath, regDate);
+
+        AssistantRagProperties ragProperties = new AssistantRagProperties();
+        ragProperties.setEnabled(true);
+        ragProperties.setIndexPath(indexPath.toString());
+        GeminiProperties geminiProperties = new GeminiProperties();
+        geminiProperties.setEmbeddingModel("test-embedding-model");
+        when(boardMapper.getBoardList()).thenReturn(Collections.emptyList());
+        when(boardMapper.selectRagStatsForBoards(Collections.<String>emptyList(), true))
+                .thenReturn(Collections.singletonList(strategyTipSnapshot(regDate)));
+        when(embeddingClient.embedText("테저전 수비 위치"))
+                .thenReturn(new float[]{0.6f, 0.8f});
+
+        AssistantRagSearchService service = new AssistantRagSearchService(
+                ragProperties, geminiProperties, embeddingClient, new ObjectMapper(),
+                refreshedSignatureCache(ragProperties));
+        service.reloadIfChanged();
+
+        List<AssistantRagSearchService.Match> weighted = service.search("테저전 수비 위치", 3,
+                AssistantRagSearchService.BoardFilter.of(Collections.<String>emptyList(),
+                        Collections.singletonMap(AssistantRagSources.STRATEGY_TIP_BOARD.toUpperCase(), 2.0)));
+        List<AssistantRagSearchService.Match> excluded = service.search("테저전 수비 위치", 3,
+                AssistantRagSearchService.BoardFilter.of(
+                        Collections.singletonList(AssistantRagSources.STRATEGY_TIP_BOARD), null));
+        List<AssistantRagSearchService.Match> restricted = service.search("테저전 수비 위치", 3,
+                AssistantRagSearchService.BoardFilter.all().restrictTo(Collections.singletonList("freeboard")));
+
+        assertEquals(1, weighted.size());
+        assertEquals(1.2, weighted.get(0).getScore(), 1e-6);
+        assertEquals(0.6, weighted.get(0).getSimilarity(), 1e-6);
+        assertTrue(excluded.isEmpty());
+        assertTrue(restricted.isEmpty());
+    }
+
+    @Test
+    void searchHybrid_fusesVectorAndKeywordRankingsOfMappedIndex() throws Exception {
+        Date regDate = new Date(1_700_000_000_000L);
+        Path indexPath = tempDir.resolve("rag-index.json");
+        writeStrategyTipIndex(indexPath, regDate);
+
+        AssistantRagProperties ragProperties = new AssistantRagProperties();
+        ragProperties.setEnabled(true);
+        ragProperties.setIndexPath(indexPath.toString());
+        ragProperties.setIndexFormat("binary");
+        ragProperties.getHybrid().setEnabled(true);
+        AssistantRagIndexStore store = new AssistantRagIndexStore(ragProperties, new ObjectMapper());
+        store.write(store.read("json"), "binary");
+        assertTrue(indexPath.toFile().delete());
+
+        GeminiProperties geminiProperties = new GeminiProperties();
+        geminiProperties.setEmbeddingModel("test-embedding-model");
+        when(boardMapper.getBoardList()).thenReturn(Collections.emptyList());
+        when(boardMapper.selectRagStatsForBoards(Collections.<String>emptyList(), true))
+                .thenReturn(Collections.singletonList(strategyTipSnapshot(regDate)));
+        when(embeddingClient.embedText("테저전 수비 위치"))
+                .thenReturn(new float[]{0.6f, 0.8f});
+        when(embeddingClient.embedText("저그 빌드"))
+                .thenReturn(new float[0]);
+
+        AssistantRagSearchService service = new AssistantRagSearchService(
+                ragProperties, geminiProperties, embeddingClient, new ObjectMapper(),
+                refreshedSignatureCache(ragProperties));
+        service.reloadIfChanged();
+
+        assertTrue(service.isHybridReady());
+        List<AssistantRagSearchService.Match> fused = service.searchHybrid("테저전 수비 위치",
+                Collections.singletonList("정찰"), 3, AssistantRagSearchService.BoardFilter.all());
+        // No vector for the query: the keyword ranking alone decides, and nothing matches "저그".
+        List<AssistantRagSearchService.Match> keywordOnly = service.searchHybrid("저그 빌드",
+                Collections.singletonList("정찰"), 3, AssistantRagSearchService.BoardFilter.all());
+        List<AssistantRagSearchService.Match> unmatched = service.searchKeywords(
+                Collections.singletonList("저그"), 3, AssistantRagSearchService.BoardFilter.all());
+
+        assertEquals(1, fused.size());
+        assertEquals(2.0 / 61.0, fused.get(0).getScore(), 1e-9);
+        assertEquals(0.6, fused.get(0).getSimilarity(), 1e-6);
+        assertTrue(fused.get(0).getKeywordScore() > 0.0);
+        assertNotNull(fused.get(0).getChunk().getText());
+        assertEquals(1, keywordOnly.size());
+        assertEquals(1.0 / 61.0, keywordOnly.get(0).getScore(), 1e-9);
+        assertEquals(0.0, keywordOnly.get(0).getSimilarity(), 1e-9);
+        assertTrue(unmatched.isEmpty());
+        assertNotNull(service.getStatus().getHybrid());
+    }
+
+    @Test
+    void search_keepsOneChunkOfNearDuplicatesSharingAVector() throws Exception {
+        Date regDate = new Date(1_700_000_000_000L);
+        Path indexPath = tempDir.resolve("rag-index.json");
+        AssistantRagIndex index = new AssistantRagIndex();
+        index.setEmbeddingModel("test-embedding-model");
+        index.setDimension(2);
+        // nearDuplicate.policy=share stored the vector of post 1 for its copy in post 2.
+        index.getChunks().add(boardChunk(1, "벙커링 막는 법", new float[]{1.0f, 0.0f}, regDate));
+        index.getChunks().add(boardChunk(2, "벙커링 막는 법 (펌)", new float[]{1.0f, 0.0f}, regDate));
+        index.getChunks().add(boardChunk(3, "벙커링 역공", new float[]{0.8f, 0.6f}, regDate));
+        new ObjectMapper().writeValue(indexPath.toFile(), index);
+
+        AssistantRagProperties ragProperties = new AssistantRagProperties();
+        ragProperties.setEnabled(true);
+        ragProperties.setIndexPath(indexPath.toString());
+        ragProperties.getNearDuplicate().setPolicy("share");
+        GeminiProperties geminiProperties = new GeminiProperties();
+        geminiProperties.setEmbeddingModel("test-embedding-model");
+        when(embeddingClient.embedText("벙커링 수비"))
+                .thenReturn(new float[]{1.0f, 0.0f});
+
+        AssistantRagSearchService service = new AssistantRagSearchService(
+                ragProperties, geminiProperties, embeddingClient, new ObjectMapper(),
+                refreshedSignatureCache(ragProperties));
+        service.reloadIfChanged();
+
+        List<AssistantRagSearchService.Match> matches = service.search("벙커링 수비", 2);
+
+        assertEquals(2, matches.size());
+        assertEquals(1, matches.get(0).getChunk().getPostNum());
+        assertEquals(3, matches.get(1).getChunk().getPostNum());
+        assertEquals(0.8, matches.get(1).getSimilarity(), 1e-6);
+    }
+
+    @Test
+    void search_keepsChunksWithEqualVectorsWhenNearDuplicatePolicyIsOff() throws Exception {
+        Date regDate = new Date(1_700_000_000_000L);
+        Path indexPath = tempDir.resolve("rag-index.json");
+        AssistantRagIndex index = new AssistantRagIndex();
+        index.setEmbeddingModel("test-embedding-model");
+        index.setDimension(2);
+        index.getChunks().add(boardChunk(1, "벙커링 막는 법", new float[]{1.0f, 0.0f}, regDate));
+        index.getChunks().add(boardChunk(2, "벙커링 막는 법 (펌)", new float[]{1.0f, 0.0f}, regDate));
+        index.getChunks().add(boardChunk(3, "벙커링 역공", new float[]{0.8f, 0.6f}, regDate));
+        new ObjectMapper().writeValue(indexPath.toFile(), index);
+
+        AssistantRagProperties ragProperties = new AssistantRagProperties();
+        ragProperties.setEnabled(true);
+        ragProperties.setIndexPath(indexPath.toString());
+        GeminiProperties geminiProperties = new GeminiProperties();
+        geminiProperties.setEmbeddingModel("test-embedding-model");
+        when(embeddingClient.embedText("벙커링 수비"))
+                .thenReturn(new float[]{1.0f, 0.0f});
+
+        AssistantRagSearchService service = new AssistantRagSearchService(
+                ragProperties, geminiProperties, embeddingClient, new ObjectMapper(),
+                refreshedSignatureCache(ragProperties));
+        service.reloadIfChanged();
+
+        List<AssistantRagSearchService.Match> matches = service.search("벙커링 수비", 2);
+
+        assertEquals(2, matches.size());
+        assertEquals(1.0, matches.get(0).getSimilarity(), 1e-6);
+        assertEquals(1.0, matches.get(1).getSimilarity(), 1e-6);
+    }
+
+    @Test
+    void search_fallsBackToLocalNgramVectorsWhenQueryEmbeddingFails() throws Exception {
+        Date regDate = new Date(1_700_000_000_000L);
+        Path indexPath = tempDir.resolve("rag-index.json");
+        writeStrategyTipIndex(indexPath, regDate);
+
+        AssistantRagProperties ragProperties = new AssistantRagProperties();
+        ragProperties.setEnabled(true);
+        ragProperties.setIndexPath(indexPath.toString());
+        ragProperties.getLocalEmbedding().setEnabled(true);
+        GeminiProperties geminiProperties = new GeminiProperties();
+        geminiProperties.setEmbeddingModel("test-embedding-model");
+        when(boardMapper.getBoardList()).thenReturn(Collections.emptyList());
+        when(boardMapper.selectRagStatsForBoards(Collections.<String>emptyList(), true))
+                .thenReturn(Collections.singletonList(strategyTipSnapshot(regDate)));
+        when(embeddingClient.embedText("테저전 수비 위치"))
+                .thenThrow(new GeminiException("Live Gemini API calls are disabled."));
+
+        AssistantRagSearchService service = new AssistantRagSearchService(
+                ragProperties, geminiProperties, embeddingClient, new ObjectMapper(),
+                refreshedSignatureCache(ragProperties));
+        service.reloadIfChanged();
+
+        List<AssistantRagSearchService.Match> matches =
+                service.search("테저전 수비 위치", 3);
+        AssistantRagSearchService.Status status = service.getStatus();
+
+        assertEquals(1, matches.size());
+        assertEquals(7, matches.get(0).getChunk().getPostNum());
+        assertTrue(matches.get(0).isLocalEmbedding());
+        assertTrue(matches.get(0).getSimilarity() > 0.0);
+        assertEquals("local-ngram-hash-256", status.getLocalEmbedding().getModel());
+        assertEquals(1, status.getLocalEmbedding().getFallbackSearches());
+    }
+
+    @Test
+    void warmUp_ranksStoredVectorsWithoutEmbeddingRequests() throws Exception {
+        Date regDate = new Date(1_700_000_000_000L);
+        Path indexPath = tempDir.resolve("rag-index.json");
+        writeStrategyTipIndex(indexPath, regDate);
+
+        AssistantRagProperties ragProperties = new AssistantRagProperties();
+        ragProperties.setEnabled(true);
+        ragProperties.setIndexPath(indexPath.toString());
+        GeminiProperties geminiProperties = new GeminiProperties();
+        when(boardMapper.getBoardList()).thenReturn(Collections.emptyList());
+        when(boardMapper.selectRagStatsForBoards(Collections.<String>emptyList(), true))
+                .thenReturn(Collections.singletonList(strategyTipSnapshot(regDate)));
+
+        AssistantRagSearchService service = new AssistantRagSearchService(
+                ragProperties, geminiProperties, embeddingClient, new ObjectMapper(),
+                refreshedSignatureCache(ragProperties));
+
+        assertEquals(0, service.warmUp(3));
+        service.reloadIfChanged();
+
+        assertEquals(3, service.warmUp(3));
+        verifyNoInteractions(embeddingClient);
+    }
+
+    @Test
+    void reloadIfChanged_swapsInRebuiltIndexOnlyWhenFilesChange() throws Exception {
+        Date regDate = new Date(1_700_000_000_000L);
+        Path indexPath = tempDir.resolve("rag-index.json");
+        writeStrategyTipIndex(indexPath, regDate);
+
+        AssistantRagProperties ragProperties = new AssistantRagProperties();
+        ragProperties.setEnabled(true);
+        ragProperties.setIndexPath(indexPath.toString());
+        ragProperties.setIndexFormat("binary");
+        AssistantRagIndexStore store = new AssistantRagIndexStore(ragProperties, new ObjectMapper());
+        AssistantRagIndex index = store.read("json");
+        store.write(index, "binary");
+        assertTrue(indexPath.toFile().delete());
+
+        GeminiProperties geminiProperties = new GeminiProperties();
+        geminiProperties.setEmbeddingModel("test-embedding-model");
+        when(boardMapper.getBoardList()).thenReturn(Collections.emptyList());
+        when(boardMapper.selectRagStatsForBoards(Collections.<String>emptyList(), true))
+                .thenReturn(Collections.singletonList(strategyTipSnapshot(regDate)));
+        when(embeddingClient.embedText("테저전 수비 위치"))
+                .thenReturn(new float[]{0.6f, 0.8f});
+
+        AssistantRagSearchService service = new AssistantRagSearchService(
+                ragProperties, geminiProperties, embeddingClient, new ObjectMapper(),
+                refreshedSignatureCache(ragProperties));
+
+        assertFalse(service.getStatus().isReady());
+        assertTrue(service.reloadIfChanged());
+        AssistantRagSearchService.Status loaded = service.getStatus();
+        assertTrue(loaded.isReady());
+        assertNotNull(loaded.getSwappedAt());
+        assertTrue(loaded.getReloadMillis() >= 0);
+        assertFalse(service.reloadIfChanged());
+        assertEquals(0.6, service.search("테저전 수비 위치", 3).get(0).getScore(), 1e-6);
+
+        index.getChunks().get(0).setVector(new float[]{0.0f, 1.0f});
+        store.write(index, "binary");
+        touchAll(tempDir);
+
+        // Queries keep reading the current snapshot until the watcher swaps in the rebuilt one.
+        assertEquals(0.6, service.search("테저전 수비 위치", 3).get(0).getScore(), 1e-6);
+        assertTrue(service.reloadIfChanged());
+        assertEquals(0.8, service.search("테저전 수비 위치", 3).get(0).getScore(), 1e-6);
+        assertFalse(service.reloadIfChanged());
+    }
+
+    private AssistantRagSignatureCache refreshedSignatureCache(AssistantRagProperties ragProperties) {
+        AssistantRagSignatureCache signatureCache = new AssistantRagSignatureCache(
+                ragProperties, new AssistantProperties(), new ObjectMapper(), boardMapper, strategyTipMapper);
+        signatureCache.refresh();
+        return signatureCache;
+    }
+
+    private void touchAll(Path dir) throws Exception {
+        FileTime later = FileTime.fromMillis(System.currentTimeMillis() + 10_000L);
+        try (Stream<Path> files = Files.list(dir)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                Files.setLastModifiedTime(file, later);
+            }
+        }
+    }
+
     private void writeStrategyTipIndex(Path indexPath, Date regDate) throws Exception {
         AssistantRagIndex index = new AssistantRagIndex();
         index.setEmbeddingModel("test-embedding-model");
@@ -96,6 +533,19 @@ class AssistantRagSearchServiceTest {
         new ObjectMapper().writeValue(indexPath.toFile(), index);
     }
 
+    private AssistantRagChunk boardChunk(int postNum, String title, float[] vector, Date regDate) {
+        AssistantRagChunk chunk = new AssistantRagChunk();
+        chunk.setId("tvz:" + postNum + ":0:test");
+        chunk.setBoardTitle("tvz");
+        chunk.setPostNum(postNum);
+        chunk.setTitle(title);
+        chunk.setRegDate(regDate);
+        chunk.setChunkIndex(0);
+        chunk.setText(title + " 본문");
+        chunk.setVector(vector);
+        return chunk;
+    }
+
     private AssistantRagBoardSnapshot strategyTipSnapshot(Date regDate) {
         AssistantRagBoardSnapshot snapshot = new AssistantRagBoardSnapshot();
         snapshot.setBoardTitle(AssistantRagSources.STRATEGY_TIP_BOARD);
@@ -0,0 +1,134 @@
+package com.sc1hub.assistant.rag;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sc1hub.assistant.config.AssistantProperties;
+import com.sc1hub.assistant.config.AssistantRagProperties;
+import com.sc1hub.board.dto.BoardListDTO;
+import com.sc1hub.board.mapper.BoardMapper;
+import com.sc1hub.strategytip.mapper.StrategyTipMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AssistantRagSignatureCacheTest {
+
+    private static final Date REG_DATE = new Date(1_700_000_000_000L);
+
+    @Mock
+    private BoardMapper boardMapper;
+
+    @Mock
+    private StrategyTipMapper strategyTipMapper;
+
+    @TempDir
+    private Path tempDir;
+
+    @Test
+    void check_comparesAgainstOneAggregatedQueryWithoutFurtherDbCalls() throws Exception {
+        List<String> boardTitles = Arrays.asList("freeboard", "tipboard");
+        when(boardMapper.getBoardList()).thenReturn(Arrays.asList(board("FreeBoard"), board("tipboard")));
+        when(boardMapper.selectRagStatsForBoards(boardTitles, true)).thenReturn(Arrays.asList(
+                snapshot("freeboard", 10), snapshot("tipboard", 4), snapshot(AssistantRagSources.STRATEGY_TIP_BOARD, 2)));
+        AssistantRagSignatureCache cache = newCache();
+
+        assertTrue(cache.refresh());
+        AssistantRagSignatureCache.SignatureCheck ok = cache.check(index(
+                snapshot("freeboard", 10), snapshot("tipboard", 4), snapshot(AssistantRagSources.STRATEGY_TIP_BOARD, 2)));
+        AssistantRagSignatureCache.SignatureCheck mismatch = cache.check(index(
+                snapshot("freeboard", 9), snapshot("tipboard", 4)));
+
+        assertTrue(ok.isAvailable());
+        assertFalse(ok.isMismatch());
+        assertTrue(mismatch.isMismatch());
+        assertEquals(1, mismatch.getMismatchCount());
+        assertEquals(Collections.singletonList("freeboard"), mismatch.getMismatchBoards());
+        verify(boardMapper, times(1)).selectRagStatsForBoards(boardTitles, true);
+        verify(boardMapper, never()).selectBoardRagStats(anyString());
+        verifyNoInteractions(strategyTipMapper);
+    }
+
+    @Test
+    void refreshIfStale_usesStoredStatsUntilAPostIsWritten() throws Exception {
+        when(boardMapper.getBoardList()).thenReturn(Collections.singletonList(board("freeboard")));
+        when(boardMapper.selectRagStatsForBoards(Collections.singletonList("freeboard"), true))
+                .thenReturn(Collections.singletonList(snapshot("freeboard", 10)));
+        assertTrue(newCache().refresh());
+
+        AssistantRagSignatureCache restarted = newCache();
+        assertFalse(restarted.refreshIfStale());
+        assertFalse(restarted.check(index(snapshot("freeboard", 10))).isMismatch());
+        verify(boardMapper, times(1)).getBoardList();
+
+        restarted.markStale();
+        assertTrue(restarted.refreshIfStale());
+        assertFalse(restarted.refreshIfStale());
+        verify(boardMapper, times(2)).getBoardList();
+    }
+
+    @Test
+    void refresh_fallsBackToPerBoardStatsWhenAggregatedQueryFails() throws Exception {
+        when(boardMapper.getBoardList()).thenReturn(Arrays.asList(board("freeboard"), board("brokenboard")));
+        when(boardMapper.selectRagStatsForBoards(anyList(), anyBoolean())).thenThrow(new IllegalStateException("missing table"));
+        when(boardMapper.selectBoardRagStats("freeboard")).thenReturn(snapshot("freeboard", 10));
+        when(boardMapper.selectBoardRagStats("brokenboard")).thenThrow(new IllegalStateException("missing table"));
+        when(strategyTipMapper.selectRagStats()).thenReturn(snapshot(AssistantRagSources.STRATEGY_TIP_BOARD, 2));
+        AssistantRagSignatureCache cache = newCache();
+
+        assertTrue(cache.refresh());
+        AssistantRagSignatureCache.SignatureCheck check = cache.check(index(
+                snapshot("freeboard", 10), snapshot(AssistantRagSources.STRATEGY_TIP_BOARD, 2)));
+
+        assertTrue(check.isMismatch());
+        assertEquals(Collections.singletonList("brokenboard"), check.getMismatchBoards());
+    }
+
+    private AssistantRagSignatureCache newCache() {
+        AssistantRagProperties ragProperties = new AssistantRagProperties();
+        ragProperties.setEnabled(true);
+        ragProperties.setIndexPath(tempDir.resolve("rag-index.json").toString());
+        return new AssistantRagSignatureCache(ragProperties, new AssistantProperties(), new ObjectMapper(),
+                boardMapper, strategyTipMapper);
+    }
+
+    private static BoardListDTO board(String boardTitle) {
+        BoardListDTO board = new BoardListDTO();
+        board.setBoardTitle(boardTitle);
+        return board;
+    }
+
+    private static AssistantRagBoardSnapshot snapshot(String boardTitle, int postCount) {
+        AssistantRagBoardSnapshot snapshot = new AssistantRagBoardSnapshot();
+        snapshot.setBoardTitle(boardTitle);
+        snapshot.setMaxPostNum(postCount);
+        snapshot.setMaxRegDate(REG_DATE);
+        snapshot.setPostCount(postCount);
+        return snapshot;
+    }
+
+    private static AssistantRagIndex index(AssistantRagBoardSnapshot... snapshots) {
+        AssistantRagIndex index = new AssistantRagIndex();
+        index.setBoardSnapshots(Arrays.asList(snapshots));
+        return index;
+    }
+}
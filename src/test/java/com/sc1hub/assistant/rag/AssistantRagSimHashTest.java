@@ -0,0 +1,55 @@
+package com.sc1hub.assistant.rag;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AssistantRagSimHashTest {
+
+    static final String GUIDE = "테란 대 저그 초반 운영 정리. 배럭 이후 앞마당 커맨드를 가져가고 서플라이 디팟으로 입구를 막습니다. "
+            + "저글링 정찰이 들어오면 마린 두 기로 수비하고 벙커는 앞마당 미네랄 쪽에 짓습니다. 뮤탈이 보이면 터렛을 일꾼 라인마다 "
+            + "하나씩 올리고 사이언스 베슬이 나올 때까지 마린 메딕으로 버팁니다. 럴커 타이밍에는 스캔을 아끼고 베슬을 먼저 보냅니다. "
+            + "중반에는 팩토리를 하나 더 올려 탱크를 섞고, 저그가 하이브를 올리면 디파일러 견제에 대비해 이레디에이트를 준비합니다. "
+            + "울트라리스크가 나오기 전에 세 번째 멀티를 확보하고 업그레이드를 끊기지 않게 돌리는 것이 핵심입니다.";
+
+    @Test
+    void of_keepsSmallEditsCloseAndUnrelatedTextsFar() {
+        long original = AssistantRagSimHash.of(GUIDE);
+        long edited = AssistantRagSimHash.of(GUIDE.replace("두 기로", "세 기로"));
+        long quoted = AssistantRagSimHash.of("[퍼옴] " + GUIDE);
+        long reformatted = AssistantRagSimHash.of(GUIDE.replace(" ", "  ").replace(".", "!").toUpperCase());
+        long unrelated = AssistantRagSimHash.of("프로토스 대 테란 캐리어 운영. 앞마당 넥서스 이후 스타게이트를 늘리고 "
+                + "인터셉터를 채운 캐리어 여덟 기로 탱크 라인을 뒤에서 끊습니다. 골리앗이 모이기 전에 멀티를 하나 더 가져가고 "
+                + "아비터 리콜로 본진을 흔들어 병력을 분산시킵니다. 셔틀 리버 견제는 옵저버로 터렛 위치를 확인한 뒤에 합니다.");
+
+        assertEquals(original, reformatted);
+        assertTrue(AssistantRagSimHash.distance(original, edited) <= 4);
+        assertTrue(AssistantRagSimHash.distance(original, quoted) <= 4);
+        assertTrue(AssistantRagSimHash.distance(original, unrelated) > 10);
+    }
+
+    @Test
+    void of_returnsNoneForTextsWithoutThreeLettersOrDigits() {
+        assertEquals(AssistantRagSimHash.NONE, AssistantRagSimHash.of(null));
+        assertEquals(AssistantRagSimHash.NONE, AssistantRagSimHash.of(" 가 나 . "));
+        assertTrue(AssistantRagSimHash.of("가나다") != AssistantRagSimHash.NONE);
+    }
+
+    @Test
+    void index_findsClosestHashWithinMaxDistance() {
+        AssistantRagSimHash.Index<String> index = new AssistantRagSimHash.Index<>(3, 0);
+        long base = 0x0123_4567_89AB_CDEFL;
+        index.add(base ^ 0b111L, "three bits");
+        index.add(base ^ (1L << 63), "one bit");
+        index.add(base ^ 0xFFFF_0000_0000_0000L, "far");
+
+        assertEquals("one bit", index.nearest(base));
+        // Four bits from "three bits", six from "one bit".
+        assertNull(index.nearest(base ^ 0b111L ^ (1L << 20) ^ (1L << 40) ^ (1L << 60) ^ (1L << 63)));
+        assertEquals("three bits", index.nearest(base ^ 0b110L));
+        assertEquals("far", index.nearest(base ^ 0xFFFF_0000_0000_0001L));
+        assertNull(new AssistantRagSimHash.Index<String>(3, 0).nearest(base));
+    }
+}
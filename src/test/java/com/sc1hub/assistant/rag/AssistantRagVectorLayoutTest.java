@@ -0,0 +1,92 @@
+package com.sc1hub.assistant.rag;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AssistantRagVectorLayoutTest {
+
+    @Test
+    void cosine_matchesPerChunkComputationForHeapAndMappedLayouts() {
+        Random random = new Random(5);
+        int dimension = 67;
+        List<AssistantRagChunk> chunks = new ArrayList<>();
+        FloatBuffer mapped = ByteBuffer.allocateDirect(100 * dimension * Float.BYTES)
+                .order(ByteOrder.LITTLE_ENDIAN).asFloatBuffer();
+        boolean[] hasVector = new boolean[100];
+        for (int i = 0; i < 100; i++) {
+            float[] vector = new float[dimension];
+            for (int d = 0; d < dimension; d++) {
+                vector[d] = (float) random.nextGaussian();
+            }
+            AssistantRagChunk chunk = new AssistantRagChunk();
+            chunk.setVector(vector);
+            chunks.add(chunk);
+            mapped.put(vector);
+            hasVector[i] = true;
+        }
+        float[] query = new float[dimension];
+        for (int d = 0; d < dimension; d++) {
+            query[d] = (float) random.nextGaussian();
+        }
+
+        AssistantRagVectorLayout heap = AssistantRagVectorLayout.fromChunks(chunks, dimension);
+        AssistantRagVectorLayout mappedLayout = AssistantRagVectorLayout.fromMapped(mapped, 100, dimension, hasVector);
+        float[] unitQuery = AssistantRagVectorLayout.normalize(query);
+
+        for (int i = 0; i < 100; i++) {
+            double expected = cosine(query, chunks.get(i).getVector());
+            assertEquals(expected, heap.cosine(unitQuery, i), 1e-5);
+            assertEquals(expected, mappedLayout.cosine(unitQuery, i), 1e-5);
+        }
+        float[] unit = new float[dimension];
+        assertTrue(mappedLayout.readUnit(3, unit));
+        assertEquals(1.0, AssistantRagVectorLayout.dot(unit, unit, 0, dimension), 1e-5);
+    }
+
+    @Test
+    void fromChunks_marksMissingAndZeroVectors() {
+        List<AssistantRagChunk> chunks = new ArrayList<>();
+        AssistantRagChunk valid = new AssistantRagChunk();
+        valid.setVector(new float[]{3.0f, 4.0f});
+        AssistantRagChunk zero = new AssistantRagChunk();
+        zero.setVector(new float[]{0.0f, 0.0f});
+        AssistantRagChunk wrongDimension = new AssistantRagChunk();
+        wrongDimension.setVector(new float[]{1.0f});
+        chunks.add(valid);
+        chunks.add(zero);
+        chunks.add(wrongDimension);
+        chunks.add(new AssistantRagChunk());
+
+        AssistantRagVectorLayout layout = AssistantRagVectorLayout.fromChunks(chunks, 2);
+
+        assertTrue(layout.hasVector(0));
+        assertFalse(layout.hasVector(1));
+        assertFalse(layout.hasVector(2));
+        assertFalse(layout.hasVector(3));
+        assertEquals(0.6, layout.cosine(new float[]{1.0f, 0.0f}, 0), 1e-6);
+        assertNull(AssistantRagVectorLayout.normalize(new float[]{0.0f, 0.0f}));
+    }
+
+    private static double cosine(float[] a, float[] b) {
+        double dot = 0.0;
+        double normA = 0.0;
+        double normB = 0.0;
+        for (int i = 0; i < a.length; i++) {
+            dot += a[i] * b[i];
+            normA += a[i] * a[i];
+            normB += b[i] * b[i];
+        }
+        return dot / Math.sqrt(normA * normB);
+    }
+}
@@ -0,0 +1,58 @@
+package com.sc1hub.assistant.search;
+
+import com.sc1hub.assistant.dto.AliasDictionaryDTO;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AssistantAliasAutomatonTest {
+
+    @Test
+    void match_findsOverlappingAliasesInDictionaryOrder() {
+        AssistantAliasAutomaton automaton = compile("he", "she", "his", "hers", "커공발", "공발");
+
+        assertThat(names(automaton.match("ushers", "ushers", null))).containsExactly("he", "she", "hers");
+        assertThat(names(automaton.match("커공발 빌드", "커공발빌드", null))).containsExactly("커공발", "공발");
+        assertThat(automaton.match("hi", "hi", null)).isEmpty();
+    }
+
+    @Test
+    void match_looksForSpacedAliasesAsIsAndOthersInTheCompactText() {
+        AssistantAliasAutomaton automaton = compile("투 배럭", "투배럭", "Bisu Build");
+
+        assertThat(names(automaton.match("투배럭 타이밍", "투배럭타이밍", null))).containsExactly("투배럭");
+        assertThat(names(automaton.match("투 배럭 타이밍", "투배럭타이밍", null))).containsExactly("투 배럭", "투배럭");
+        assertThat(names(automaton.match("bisu  build", "bisubuild", null))).isEmpty();
+        assertThat(names(automaton.match("bisu build", "bisubuild", null))).containsExactly("Bisu Build");
+    }
+
+    @Test
+    void match_alsoAcceptsExactKeys() {
+        AssistantAliasAutomaton automaton = compile("럴커", "저그");
+
+        assertThat(names(automaton.match("", "", Arrays.asList("저그", null)))).containsExactly("저그");
+        assertThat(AssistantAliasAutomaton.EMPTY.match("저그", "저그", Collections.singletonList("저그"))).isEmpty();
+    }
+
+    private static AssistantAliasAutomaton compile(String... aliases) {
+        List<AliasDictionaryDTO> dictionary = new ArrayList<>();
+        for (String value : aliases) {
+            AliasDictionaryDTO alias = new AliasDictionaryDTO();
+            alias.setAlias(value);
+            dictionary.add(alias);
+        }
+        dictionary.add(null);
+        dictionary.add(new AliasDictionaryDTO());
+        return AssistantAliasAutomaton.compile(dictionary, value -> value.toLowerCase(Locale.ROOT));
+    }
+
+    private static String[] names(List<AliasDictionaryDTO> aliases) {
+        return aliases.stream().map(AliasDictionaryDTO::getAlias).toArray(String[]::new);
+    }
+}
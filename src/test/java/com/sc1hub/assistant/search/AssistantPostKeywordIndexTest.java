@@ -0,0 +1,131 @@
+package com.sc1hub.assistant.search;
+
+import com.sc1hub.assistant.config.AssistantProperties;
+import com.sc1hub.assistant.config.AssistantRagProperties;
+import com.sc1hub.board.dto.BoardDTO;
+import com.sc1hub.board.dto.BoardListDTO;
+import com.sc1hub.board.mapper.BoardMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AssistantPostKeywordIndexTest {
+
+    @Mock
+    private BoardMapper boardMapper;
+
+    private AssistantProperties assistantProperties;
+    private AssistantRagProperties ragProperties;
+    private AssistantPostKeywordIndex index;
+
+    @BeforeEach
+    void setUp() {
+        assistantProperties = new AssistantProperties();
+        assistantProperties.getKeywordIndex().setLoadBatchSize(2);
+        ragProperties = new AssistantRagProperties();
+        index = new AssistantPostKeywordIndex(boardMapper, assistantProperties, ragProperties);
+    }
+
+    @Test
+    void rebuild_loadsEveryBoardInBatchesAndSearchKeepsLikeSemantics() throws Exception {
+        when(boardMapper.getBoardList()).thenReturn(Arrays.asList(board("TvZ"), board("freeboard"), board("bad-title")));
+        when(boardMapper.selectPostsForKeywordIndex("tvz", 0, 2)).thenReturn(Arrays.asList(
+                post(1, "벙커링 수비", "<p>초반 <b>벙커링</b>은 일꾼으로 막습니다.</p>", "", 1000L),
+                post(2, "메카닉 운영", "탱크 골리앗 조합", "벙커링", 2000L)));
+        when(boardMapper.selectPostsForKeywordIndex("tvz", 2, 2)).thenReturn(Collections.singletonList(
+                post(3, "뮤탈 대처", "터렛 위치", "", 3000L)));
+        when(boardMapper.selectPostsForKeywordIndex("freeboard", 0, 2)).thenReturn(Collections.singletonList(
+                post(7, "잡담", "오늘 벙커 링 이야기", "", 4000L)));
+
+        assertThat(index.isReady()).isFalse();
+        assertThat(index.rebuild()).isEqualTo(4);
+        assertThat(index.isReady()).isTrue();
+
+        // "커링" sits inside a word, as LIKE '%커링%' would find it; "벙커 링" with a space only matches post 7.
+        Map<String, List<AssistantPostKeywordIndex.Hit>> hits = index.search(
+                Arrays.asList("커링", "벙커 링"), Arrays.asList("tvz", "freeboard"), 10);
+
+        assertThat(hits.get("tvz")).extracting(hit -> hit.getPost().getPostNum()).containsExactly(1, 2);
+        assertThat(hits.get("tvz").get(0).getScore()).isEqualTo(4.0);
+        assertThat(hits.get("tvz").get(0).getPost().getPlainText()).isEqualTo("초반 벙커링 은 일꾼으로 막습니다.");
+        assertThat(hits.get("tvz").get(1).getScore()).isEqualTo(1.0);
+        assertThat(hits.get("freeboard")).extracting(hit -> hit.getPost().getPostNum()).containsExactly(7);
+        assertThat(index.search(Collections.singletonList("커링"), Collections.singletonList("tvz"), 1).get("tvz"))
+                .extracting(hit -> hit.getPost().getPostNum()).containsExactly(1);
+        verify(boardMapper).selectPostsForKeywordIndex("tvz", 2, 2);
+    }
+
+    @Test
+    void postSavedAndDeleted_keepTheIndexCurrent() throws Exception {
+        when(boardMapper.getBoardList()).thenReturn(Collections.singletonList(board("tvz")));
+        when(boardMapper.selectPostsForKeywordIndex("tvz", 0, 2)).thenReturn(Collections.singletonList(
+                post(1, "벙커링 수비", "일꾼으로 막기", "", 1000L)));
+        index.rebuild();
+
+        index.postSaved("TvZ", post(1, "메카닉 운영", "탱크 조합", "", null));
+        index.postSaved("tvz", post(2, "벙커링 역공", "마린 컨트롤", "", null));
+
+        List<AssistantPostKeywordIndex.Hit> hits = index.search(Collections.singletonList("벙커링"),
+                Collections.singletonList("tvz"), 10).get("tvz");
+        assertThat(hits).extracting(hit -> hit.getPost().getPostNum()).containsExactly(2);
+        assertThat(hits.get(0).getPost().getRegDate()).isNotNull();
+        assertThat(index.search(Collections.singletonList("탱크"), Collections.singletonList("tvz"), 10).get("tvz"))
+                .extracting(hit -> hit.getPost().getPostNum()).containsExactly(1);
+
+        index.postDeleted("tvz", 2);
+
+        assertThat(index.search(Collections.singletonList("벙커링"), Collections.singletonList("tvz"), 10)).isEmpty();
+    }
+
+    @Test
+    void rebuild_isSkippedWhenDisabled() {
+        assistantProperties.getKeywordIndex().setEnabled(false);
+
+        assertThat(index.rebuild()).isEqualTo(-1);
+        assertThat(index.isReady()).isFalse();
+    }
+
+    @Test
+    void rebuildAndWrites_areSkippedWhileHybridRetrievalIsEnabled() {
+        ragProperties.setEnabled(true);
+        ragProperties.getHybrid().setEnabled(true);
+
+        assertThat(index.rebuild()).isEqualTo(-1);
+        index.postSaved("tvz", post(1, "벙커링 수비", "일꾼으로 막기", "", null));
+        index.postDeleted("tvz", 1);
+
+        assertThat(index.isReady()).isFalse();
+        assertThat(index.search(Collections.singletonList("벙커링"), Collections.singletonList("tvz"), 10)).isEmpty();
+        verifyNoInteractions(boardMapper);
+    }
+
+    private static BoardListDTO board(String boardTitle) {
+        BoardListDTO board = new BoardListDTO();
+        board.setBoardTitle(boardTitle);
+        return board;
+    }
+
+    private static BoardDTO post(int postNum, String title, String content, String searchTerms, Long regDate) {
+        BoardDTO post = new BoardDTO();
+        post.setPostNum(postNum);
+        post.setTitle(title);
+        post.setContent(content);
+        post.setSearchTerms(searchTerms);
+        post.setRegDate(regDate == null ? null : new Date(regDate));
+        return post;
+    }
+}
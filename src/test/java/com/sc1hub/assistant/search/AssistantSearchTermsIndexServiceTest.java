@@ -25,11 +25,14 @@ class AssistantSearchTermsIndexServiceTest {
     @Mock
     private AssistantSearchTermsService searchTermsService;
 
+    @Mock
+    private AssistantPostKeywordIndex postKeywordIndex;
+
     private AssistantSearchTermsIndexService indexService;
 
     @BeforeEach
     void setUp() {
-        indexService = new AssistantSearchTermsIndexService(boardMapper, searchTermsService);
+        indexService = new AssistantSearchTermsIndexService(boardMapper, searchTermsService, postKeywordIndex);
     }
 
     @Test
@@ -46,11 +49,12 @@ class AssistantSearchTermsIndexServiceTest {
         when(boardMapper.getBoardList()).thenReturn(Collections.singletonList(board));
         when(boardMapper.selectPostsForSearchTerms("testboard", 0, 200)).thenReturn(Collections.singletonList(post));
         when(boardMapper.selectPostsForSearchTerms("testboard", 1, 200)).thenReturn(Collections.emptyList());
-        when(searchTermsService.buildSearchTerms("title", "content")).thenReturn("");
+        when(searchTermsService.buildSearchTermsFromText("title", "content")).thenReturn("");
 
         AssistantSearchTermsIndexService.ReindexResult result = indexService.reindexAllDefault();
 
         verify(boardMapper).updateSearchTerms("testboard", 1, "");
+        verify(postKeywordIndex).rebuild();
         assertThat(result.getUpdatedPosts()).isEqualTo(1);
     }
 
@@ -68,7 +72,7 @@ class AssistantSearchTermsIndexServiceTest {
         when(boardMapper.getBoardList()).thenReturn(Collections.singletonList(board));
         when(boardMapper.selectPostsForSearchTerms("testboard", 0, 200)).thenReturn(Collections.singletonList(post));
         when(boardMapper.selectPostsForSearchTerms("testboard", 1, 200)).thenReturn(Collections.emptyList());
-        when(searchTermsService.buildSearchTerms("title", "content")).thenReturn("");
+        when(searchTermsService.buildSearchTermsFromText("title", "content")).thenReturn("");
 
         AssistantSearchTermsIndexService.ReindexResult result = indexService.reindexAllDefault();
 
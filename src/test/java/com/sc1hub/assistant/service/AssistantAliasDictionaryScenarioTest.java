@@ -27,10 +27,7 @@ import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.anyInt;
-import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyString;
-import static org.mockito.ArgumentMatchers.eq;
-import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -77,7 +74,9 @@ class AssistantAliasDictionaryScenarioTest {
                 ragSearchService,
                 ragProperties,
                 queryParser,
-                objectMapper
+                objectMapper,
+                null,
+                null
         );
     }
 
@@ -126,15 +125,10 @@ class AssistantAliasDictionaryScenarioTest {
                 buildCompetitor(21, "커공발 초보 팁", new Date())
         );
 
-        doReturn(Collections.singletonList(target))
-                .when(boardMapper)
-                .searchPostsByKeywords(eq("pvszboard"), anyList(), anyInt());
-        doReturn(freePosts)
-                .when(boardMapper)
-                .searchPostsByKeywords(eq("freeboard"), anyList(), anyInt());
-        doReturn(tipPosts)
-                .when(boardMapper)
-                .searchPostsByKeywords(eq("tipboard"), anyList(), anyInt());
+        AssistantKeywordSearchStub.on(boardMapper)
+                .posts("pvszboard", target)
+                .posts("freeboard", freePosts)
+                .posts("tipboard", tipPosts);
 
         when(geminiClient.generateAnswer(anyString(), anyInt()))
                 .thenReturn("{\"answer\":\"답변입니다.\",\"citations\":[\"pvszboard:1\"]}");
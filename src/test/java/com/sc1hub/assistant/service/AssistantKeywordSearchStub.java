@@ -0,0 +1,126 @@
+package com.sc1hub.assistant.service;
+
+import com.sc1hub.assistant.dto.AssistantKeywordMatchDTO;
+import com.sc1hub.board.dto.BoardDTO;
+import com.sc1hub.board.mapper.BoardMapper;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.when;
+
+/**
+ * Answers {@link BoardMapper#searchPostsByKeywordsAcrossBoards} from posts registered per board the way the
+ * statement does: posts matching a keyword, scored title 3 / content 1 / search_terms 1, best first, cut to the
+ * limit, plain text (or content when there is none) cut to the excerpt length. A call that includes a board marked
+ * {@link #failing} throws, like a statement whose branch hits a missing table or index.
+ */
+final class AssistantKeywordSearchStub {
+
+    private final Map<String, List<BoardDTO>> postsByBoard = new HashMap<>();
+    private final Set<String> failingBoards = new HashSet<>();
+
+    private AssistantKeywordSearchStub() {
+    }
+
+    static AssistantKeywordSearchStub on(BoardMapper boardMapper) throws Exception {
+        AssistantKeywordSearchStub stub = new AssistantKeywordSearchStub();
+        when(boardMapper.searchPostsByKeywordsAcrossBoards(anyList(), anyList(), any(), anyInt(), anyInt()))
+                .thenAnswer(invocation -> stub.rows(invocation.getArgument(0), invocation.getArgument(1),
+                        invocation.getArgument(3), invocation.getArgument(4)));
+        return stub;
+    }
+
+    AssistantKeywordSearchStub posts(String boardTitle, BoardDTO... posts) {
+        return posts(boardTitle, Arrays.asList(posts));
+    }
+
+    AssistantKeywordSearchStub posts(String boardTitle, List<BoardDTO> posts) {
+        postsByBoard.put(boardTitle, posts);
+        return this;
+    }
+
+    AssistantKeywordSearchStub failing(String boardTitle) {
+        failingBoards.add(boardTitle);
+        return this;
+    }
+
+    private List<AssistantKeywordMatchDTO> rows(List<String> boardTitles, List<String> keywords, int limit,
+                                                int excerptChars) {
+        for (String boardTitle : boardTitles) {
+            if (failingBoards.contains(boardTitle)) {
+                throw new IllegalStateException("Table '" + boardTitle + "' doesn't exist");
+            }
+        }
+        List<AssistantKeywordMatchDTO> rows = new ArrayList<>();
+        for (String boardTitle : boardTitles) {
+            List<AssistantKeywordMatchDTO> boardRows = new ArrayList<>();
+            for (BoardDTO post : postsByBoard.getOrDefault(boardTitle, new ArrayList<>())) {
+                double score = score(post, keywords);
+                if (score <= 0) {
+                    continue;
+                }
+                AssistantKeywordMatchDTO row = new AssistantKeywordMatchDTO();
+                row.setBoardTitle(boardTitle);
+                row.setPostNum(post.getPostNum());
+                row.setTitle(post.getTitle());
+                if (post.getPlainText() != null) {
+                    row.setPlainText(cut(post.getPlainText(), excerptChars));
+                } else {
+                    row.setExcerpt(cut(post.getContent(), excerptChars));
+                }
+                row.setWriter(post.getWriter());
+                row.setRegDate(post.getRegDate());
+                row.setSearchTerms(post.getSearchTerms());
+                row.setScore(score);
+                boardRows.add(row);
+            }
+            boardRows.sort((a, b) -> {
+                int scoreCompare = Double.compare(b.getScore(), a.getScore());
+                if (scoreCompare != 0) {
+                    return scoreCompare;
+                }
+                Date dateA = a.getRegDate() == null ? new Date(0L) : a.getRegDate();
+                Date dateB = b.getRegDate() == null ? new Date(0L) : b.getRegDate();
+                return dateB.compareTo(dateA);
+            });
+            rows.addAll(boardRows.subList(0, Math.min(limit, boardRows.size())));
+        }
+        return rows;
+    }
+
+    private static double score(BoardDTO post, List<String> keywords) {
+        double score = 0;
+        for (String keyword : keywords) {
+            String needle = keyword.toLowerCase(Locale.ROOT);
+            if (lower(post.getTitle()).contains(needle)) {
+                score += 3;
+            }
+            if (lower(post.getContent()).contains(needle)) {
+                score += 1;
+            }
+            if (lower(post.getSearchTerms()).contains(needle)) {
+                score += 1;
+            }
+        }
+        return score;
+    }
+
+    private static String cut(String value, int maxChars) {
+        return value == null || value.length() <= maxChars ? value : value.substring(0, maxChars);
+    }
+
+    private static String lower(String value) {
+        return value == null ? "" : value.toLowerCase(Locale.ROOT);
+    }
+}
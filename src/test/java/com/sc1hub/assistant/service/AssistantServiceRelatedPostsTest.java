@@ -21,10 +21,7 @@ import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNull;
-import static org.mockito.ArgumentMatchers.anyInt;
-import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyString;
-import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
@@ -54,7 +51,9 @@ class AssistantServiceRelatedPostsTest {
                 ragSearchService,
                 ragProperties,
                 queryParser,
-                new ObjectMapper()
+                new ObjectMapper(),
+                null,
+                null
         );
 
         BoardListDTO board = new BoardListDTO();
@@ -67,7 +66,7 @@ class AssistantServiceRelatedPostsTest {
                 buildPost(2, "테스트 빌드 B", "writerB"),
                 buildPost(3, "테스트 빌드 C", "writerA")
         );
-        when(boardMapper.searchPostsByKeywords(eq("testboard"), anyList(), anyInt())).thenReturn(posts);
+        AssistantKeywordSearchStub.on(boardMapper).posts("testboard", posts);
 
         AssistantQueryParseResult parseResult = new AssistantQueryParseResult();
         parseResult.setKeywords(Arrays.asList("테스트", "빌드"));
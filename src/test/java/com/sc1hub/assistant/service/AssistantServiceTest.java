@@ -27,7 +27,6 @@ import java.util.Date;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
-import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -66,7 +65,7 @@ class AssistantServiceTest {
         ragProperties = new AssistantRagProperties();
         ragProperties.setEnabled(false);
         ObjectMapper objectMapper = new ObjectMapper();
-        assistantService = new AssistantService(boardMapper, geminiClient, assistantProperties, ragSearchService, ragProperties, queryParser, objectMapper);
+        assistantService = new AssistantService(boardMapper, geminiClient, assistantProperties, ragSearchService, ragProperties, queryParser, objectMapper, null, null);
         lenient().when(queryParser.parse(anyString()))
                 .thenAnswer(invocation -> buildParseResult(invocation.getArgument(0)));
     }
@@ -113,12 +112,9 @@ class AssistantServiceTest {
         weakMatch.setContent("테란 5팩 골리앗 빌드/운영 정리 내용입니다. 5팩 골리앗 빌드 정리 내용입니다.");
         weakMatch.setRegDate(new Date());
 
-        doReturn(Collections.singletonList(strongMatch))
-                .when(boardMapper)
-                .searchPostsByKeywords(eq("freeboard"), anyList(), anyInt());
-        doReturn(Collections.singletonList(weakMatch))
-                .when(boardMapper)
-                .searchPostsByKeywords(eq("tipboard"), anyList(), anyInt());
+        AssistantKeywordSearchStub.on(boardMapper)
+                .posts("freeboard", strongMatch)
+                .posts("tipboard", weakMatch);
 
         when(geminiClient.generateAnswer(anyString(), anyInt())).thenReturn("{\"answer\":\"답변입니다.\",\"citations\":[\"freeboard:9\"]}");
 
@@ -189,9 +185,7 @@ class AssistantServiceTest {
         match.setContent("프로토스 대저그 커공발 운영 정리");
         match.setRegDate(new Date());
 
-        doReturn(Collections.singletonList(match))
-                .when(boardMapper)
-                .searchPostsByKeywords(eq("freeboard"), anyList(), anyInt());
+        AssistantKeywordSearchStub.on(boardMapper).posts("freeboard", match);
 
         when(geminiClient.generateAnswer(anyString(), anyInt())).thenReturn("{\"answer\":\"답변입니다.\",\"citations\":[]}");
 
@@ -206,6 +200,31 @@ class AssistantServiceTest {
         assertTrue(response.getRelatedPostsNotice() == null || !response.getRelatedPostsNotice().contains("못했습니다"));
     }
 
+    @Test
+    void chat_keepsOtherBoardsKeywordCandidates_whenOneBoardQueryFails() throws Exception {
+        BoardListDTO free = new BoardListDTO();
+        free.setBoardTitle("FreeBoard");
+        BoardListDTO broken = new BoardListDTO();
+        broken.setBoardTitle("BrokenBoard");
+        when(boardMapper.getBoardList()).thenReturn(Arrays.asList(broken, free));
+
+        BoardDTO match = new BoardDTO();
+        match.setPostNum(9);
+        match.setTitle("커공발 운영");
+        match.setContent("프로토스 대저그 커공발 운영 정리");
+        match.setRegDate(new Date());
+
+        AssistantKeywordSearchStub.on(boardMapper).posts("freeboard", match).failing("brokenboard");
+
+        when(geminiClient.generateAnswer(anyString(), anyInt())).thenReturn("{\"answer\":\"답변입니다.\",\"citations\":[]}");
+
+        AssistantChatResponseDTO response = assistantService.chat("커공발 알려줘", null);
+
+        assertEquals(1, response.getRelatedPosts().size());
+        assertEquals("freeboard", response.getRelatedPosts().get(0).getBoardTitle());
+        assertEquals(9, response.getRelatedPosts().get(0).getPostNum());
+    }
+
     @Test
     void chat_ordersRelatedPostsByRelevance_andFillsUpToThree() throws Exception {
         BoardListDTO pvz = new BoardListDTO();
@@ -230,9 +249,7 @@ class AssistantServiceTest {
         third.setContent("커공발 운영 이후 운영 팁들을 정리했습니다. 커세어와 질럿 컨트롤, 공업/발업 타이밍을 다룹니다.");
         third.setRegDate(new Date(System.currentTimeMillis() - 2000));
 
-        doReturn(Arrays.asList(best, weaker, third))
-                .when(boardMapper)
-                .searchPostsByKeywords(eq("pvzboard"), anyList(), anyInt());
+        AssistantKeywordSearchStub.on(boardMapper).posts("pvzboard", best, weaker, third);
 
         when(geminiClient.generateAnswer(anyString(), anyInt())).thenReturn(
                 "{\"answer\":\"커공발은 커세어 공업 발업 질럿 운영입니다.\",\"citations\":[\"pvzboard:4\"]}"
@@ -251,9 +268,7 @@ class AssistantServiceTest {
         free.setBoardTitle("FreeBoard");
         when(boardMapper.getBoardList()).thenReturn(Collections.singletonList(free));
 
-        doReturn(Collections.emptyList())
-                .when(boardMapper)
-                .searchPostsByKeywords(eq("freeboard"), anyList(), anyInt());
+        AssistantKeywordSearchStub.on(boardMapper).posts("freeboard", Collections.emptyList());
 
         when(geminiClient.generateAnswer(anyString(), anyInt())).thenReturn(
                 "{\"answer\":\"관련 글을 찾지 못했습니다.\",\"citations\":[]}"
@@ -295,7 +310,7 @@ class AssistantServiceTest {
 
         AssistantRagSearchService.Match match = AssistantRagSearchService.Match.of(chunk, 0.9);
 
-        when(ragSearchService.search(anyString(), anyInt())).thenReturn(Collections.singletonList(match));
+        when(ragSearchService.search(anyString(), anyInt(), any(AssistantRagSearchService.BoardFilter.class))).thenReturn(Collections.singletonList(match));
         when(geminiClient.generateAnswer(anyString(), anyInt())).thenReturn("{\"answer\":\"답변입니다.\",\"citations\":[\"freeboard:9\"]}");
 
         AssistantChatResponseDTO response = assistantService.chat("5팩 골리앗 운영 알려줘", null);
@@ -331,12 +346,9 @@ class AssistantServiceTest {
         keywordMatch.setContent("테란 5팩 골리앗 운영 팁 정리 내용입니다.");
         keywordMatch.setRegDate(new Date());
 
-        doReturn(Collections.emptyList())
-                .when(boardMapper)
-                .searchPostsByKeywords(eq("freeboard"), anyList(), anyInt());
-        doReturn(Collections.singletonList(keywordMatch))
-                .when(boardMapper)
-                .searchPostsByKeywords(eq("tipboard"), anyList(), anyInt());
+        AssistantKeywordSearchStub.on(boardMapper)
+                .posts("freeboard", Collections.emptyList())
+                .posts("tipboard", keywordMatch);
 
         AssistantRagChunk chunk = new AssistantRagChunk();
         chunk.setBoardTitle("freeboard");
@@ -348,7 +360,7 @@ class AssistantServiceTest {
 
         AssistantRagSearchService.Match match = AssistantRagSearchService.Match.of(chunk, 0.9);
 
-        when(ragSearchService.search(anyString(), anyInt())).thenReturn(Collections.singletonList(match));
+        when(ragSearchService.search(anyString(), anyInt(), any(AssistantRagSearchService.BoardFilter.class))).thenReturn(Collections.singletonList(match));
         when(geminiClient.generateAnswer(anyString(), anyInt())).thenReturn("{\"answer\":\"답변입니다.\",\"citations\":[\"freeboard:9\"]}");
 
         AssistantChatResponseDTO response = assistantService.chat("5팩 골리앗 운영 알려줘", null);
@@ -389,12 +401,9 @@ class AssistantServiceTest {
         freePost.setContent("내용");
         freePost.setRegDate(new Date());
 
-        doReturn(Collections.singletonList(tvpPost))
-                .when(boardMapper)
-                .searchPostsByKeywords(eq("tvspboard"), anyList(), anyInt());
-        doReturn(Collections.singletonList(freePost))
-                .when(boardMapper)
-                .searchPostsByKeywords(eq("freeboard"), anyList(), anyInt());
+        AssistantKeywordSearchStub.on(boardMapper)
+                .posts("tvspboard", tvpPost)
+                .posts("freeboard", freePost);
 
         String classificationJson = "{\"intent\":\"guide\",\"playerRace\":\"T\",\"opponentRace\":\"P\",\"confidence\":0.9}";
         when(geminiClient.generateAnswer(anyString())).thenReturn(classificationJson);
@@ -434,9 +443,7 @@ class AssistantServiceTest {
         second.setContent("내용");
         second.setRegDate(new Date(System.currentTimeMillis() - 1000));
 
-        doReturn(Arrays.asList(first, second))
-                .when(boardMapper)
-                .searchPostsByKeywords(eq("freeboard"), anyList(), anyInt());
+        AssistantKeywordSearchStub.on(boardMapper).posts("freeboard", first, second);
 
         when(geminiClient.generateAnswer(anyString())).thenReturn("[2,1]");
         when(geminiClient.generateAnswer(anyString(), anyInt())).thenReturn(
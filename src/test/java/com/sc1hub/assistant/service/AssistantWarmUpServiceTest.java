@@ -0,0 +1,97 @@
+package com.sc1hub.assistant.service;
+
+import com.sc1hub.assistant.config.AssistantProperties;
+import com.sc1hub.assistant.rag.AssistantRagSearchService;
+import com.sc1hub.assistant.search.AssistantPostKeywordIndex;
+import com.sc1hub.assistant.search.AssistantQueryParser;
+import com.sc1hub.assistant.search.AssistantSearchTermsService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.task.SyncTaskExecutor;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AssistantWarmUpServiceTest {
+
+    @Mock
+    private AssistantRagSearchService ragSearchService;
+
+    @Mock
+    private AssistantQueryParser queryParser;
+
+    @Mock
+    private AssistantSearchTermsService searchTermsService;
+
+    @Mock
+    private AssistantService assistantService;
+
+    @Mock
+    private AssistantPostKeywordIndex postKeywordIndex;
+
+    private AssistantProperties assistantProperties;
+    private AssistantWarmUpService warmUpService;
+
+    @BeforeEach
+    void setUp() {
+        assistantProperties = new AssistantProperties();
+        warmUpService = new AssistantWarmUpService(ragSearchService, queryParser, searchTermsService,
+                assistantService, postKeywordIndex, assistantProperties, new SyncTaskExecutor());
+    }
+
+    @Test
+    void onApplicationReady_loadsCachesAndPrimesSearchBeforeReportingReady() {
+        assistantProperties.getWarmUp().setRagSearches(7);
+        when(ragSearchService.getStatus()).thenReturn(AssistantRagSearchService.Status.notReady("rag-index.json"));
+        assertFalse(warmUpService.getStatus().isReady());
+
+        warmUpService.onApplicationReady();
+
+        verify(ragSearchService).reloadIfChanged();
+        verify(queryParser).preloadAliases();
+        verify(searchTermsService).preloadAliases();
+        verify(assistantService).preloadBoardList();
+        verify(postKeywordIndex).rebuild();
+        verify(ragSearchService).warmUp(7);
+        verify(queryParser, atLeastOnce()).parse(anyString());
+        AssistantWarmUpService.WarmUpStatus status = warmUpService.getStatus();
+        assertTrue(status.isReady());
+        assertEquals("ready", status.getState());
+        assertEquals(7, status.getStepMillis().size());
+        assertTrue(status.getErrors().isEmpty());
+    }
+
+    @Test
+    void warmUp_recordsFailedStepAndStillBecomesReady() {
+        when(ragSearchService.reloadIfChanged()).thenThrow(new IllegalStateException("boom"));
+
+        warmUpService.onApplicationReady();
+
+        verify(assistantService).preloadBoardList();
+        AssistantWarmUpService.WarmUpStatus status = warmUpService.getStatus();
+        assertTrue(status.isReady());
+        assertEquals(1, status.getErrors().size());
+        assertTrue(status.getErrors().get(0).startsWith("ragIndex"));
+    }
+
+    @Test
+    void onApplicationReady_isReadyWithoutWorkWhenDisabled() {
+        assistantProperties.getWarmUp().setEnabled(false);
+
+        warmUpService.onApplicationReady();
+
+        assertTrue(warmUpService.getStatus().isReady());
+        assertEquals("skipped", warmUpService.getStatus().getState());
+        verifyNoInteractions(ragSearchService, queryParser, searchTermsService, assistantService, postKeywordIndex);
+    }
+}
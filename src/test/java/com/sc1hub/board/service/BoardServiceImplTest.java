@@ -1,21 +1,29 @@
 package com.sc1hub.board.service;
 
+import com.sc1hub.assistant.rag.AssistantRagSignatureCache;
+import com.sc1hub.assistant.search.AssistantPostKeywordIndex;
 import com.sc1hub.assistant.search.AssistantSearchTermsService;
+import com.sc1hub.board.config.BoardSearchProperties;
 import com.sc1hub.board.dto.BoardDTO;
 import com.sc1hub.board.dto.RecommendDTO;
 import com.sc1hub.board.mapper.BoardMapper;
+import com.sc1hub.board.support.BoardPostText;
 import com.sc1hub.common.dto.PageDTO;
 import com.sc1hub.member.dto.MemberDTO;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.nio.file.AccessDeniedException;
+import java.util.Arrays;
+import java.util.Collections;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -42,6 +50,15 @@ class BoardServiceImplTest {
     @Mock
     private PostContentSanitizer postContentSanitizer;
 
+    @Mock
+    private AssistantRagSignatureCache ragSignatureCache;
+
+    @Mock
+    private AssistantPostKeywordIndex postKeywordIndex;
+
+    @Spy
+    private BoardSearchProperties boardSearchProperties = new BoardSearchProperties();
+
     @InjectMocks
     private BoardServiceImpl boardService;
 
@@ -105,6 +122,8 @@ class BoardServiceImplTest {
         assertThrows(AccessDeniedException.class, () -> boardService.deletePost("FreeBoard", postNum, member));
 
         verify(boardMapper, never()).deletePost(anyString(), anyInt());
+        verify(ragSignatureCache, never()).markStale();
+        verify(postKeywordIndex, never()).postDeleted(anyString(), anyInt());
     }
 
     @Test
@@ -123,6 +142,8 @@ class BoardServiceImplTest {
         boardService.deletePost("FreeBoard", postNum, admin);
 
         verify(boardMapper).deletePost("freeboard", postNum);
+        verify(ragSignatureCache).markStale();
+        verify(postKeywordIndex).postDeleted("freeboard", postNum);
     }
 
     @Test
@@ -166,6 +187,36 @@ class BoardServiceImplTest {
         assertEquals(15, result.getPostEndPoint());
     }
 
+    @Test
+    void showPostList_searchesFulltextPhrase_whenFulltextModeIsOn() throws Exception {
+        boardSearchProperties.setMode("fulltext");
+        PageDTO page = new PageDTO();
+        page.setSearchType("titleAndContent");
+        page.setKeyword(" 벙커링 수비 ");
+
+        boardService.showPostList("FreeBoard", page);
+
+        verify(boardMapper).showPostList("freeboard", page);
+        assertEquals("\"벙커링 수비\"", page.getFulltextKeyword());
+    }
+
+    @Test
+    void countTotalPost_keepsLike_forShortKeywordsAndLikeMode() throws Exception {
+        boardSearchProperties.setMode("fulltext");
+        PageDTO page = new PageDTO();
+        page.setSearchType("title");
+        page.setKeyword("벙커 링");
+
+        boardService.countTotalPost("freeboard", page);
+        assertNull(page.getFulltextKeyword());
+
+        boardSearchProperties.setMode("like");
+        page.setKeyword("벙커링");
+
+        boardService.countTotalPost("freeboard", page);
+        assertNull(page.getFulltextKeyword());
+    }
+
     @Test
     void increaseViewCount_updatesWhenIpNotSeen() throws Exception {
         int postNum = 10;
@@ -234,13 +285,15 @@ class BoardServiceImplTest {
         String normalizedContent = "<p><img src=\"/ckImgSubmit?uid=u1&fileName=a.jpg\" width=\"800\" height=\"600\"></p>";
         when(postContentSanitizer.sanitize(post.getContent())).thenReturn(post.getContent());
         when(uploadedImageDimensionInjector.injectMissingDimensions(post.getContent())).thenReturn(normalizedContent);
-        when(searchTermsService.buildSearchTerms("title", normalizedContent)).thenReturn("terms");
+        when(searchTermsService.buildSearchTermsFromText("title", "")).thenReturn("terms");
 
         boardService.submitPost("FreeBoard", post);
 
         assertEquals(normalizedContent, post.getContent());
         assertEquals("terms", post.getSearchTerms());
         verify(boardMapper).submitPost("freeboard", post);
+        verify(ragSignatureCache).markStale();
+        verify(postKeywordIndex).postSaved("freeboard", post);
     }
 
     @Test
@@ -252,12 +305,57 @@ class BoardServiceImplTest {
         String normalizedContent = "<p><img src=\"/ckImgSubmit?uid=u1&fileName=b.jpg\" width=\"1024\" height=\"768\"></p>";
         when(postContentSanitizer.sanitize(post.getContent())).thenReturn(post.getContent());
         when(uploadedImageDimensionInjector.injectMissingDimensions(post.getContent())).thenReturn(normalizedContent);
-        when(searchTermsService.buildSearchTerms("title", normalizedContent)).thenReturn("terms2");
+        when(searchTermsService.buildSearchTermsFromText("title", "")).thenReturn("terms2");
 
         boardService.submitModifyPost("FreeBoard", post);
 
         assertEquals(normalizedContent, post.getContent());
         assertEquals("terms2", post.getSearchTerms());
         verify(boardMapper).submitModifyPost("freeboard", post);
+        verify(postKeywordIndex).postSaved("freeboard", post);
+    }
+
+    @Test
+    void submitPost_storesPlainTextAndExcerptOfTheSanitizedContent() throws Exception {
+        BoardDTO post = new BoardDTO();
+        post.setTitle("title");
+        StringBuilder body = new StringBuilder("<p>벙커링&nbsp;수비</p>");
+        for (int i = 0; i < 40; i += 1) {
+            body.append("<p>마린 일꾼 </p>");
+        }
+        post.setContent(body.toString());
+        when(postContentSanitizer.sanitize(post.getContent())).thenReturn(post.getContent());
+        when(uploadedImageDimensionInjector.injectMissingDimensions(post.getContent())).thenReturn(post.getContent());
+        when(searchTermsService.buildSearchTermsFromText(eq("title"), anyString())).thenReturn("terms");
+
+        boardService.submitPost("freeboard", post);
+
+        assertTrue(post.getPlainText().startsWith("벙커링 수비 마린 일꾼 마린"));
+        assertEquals("벙커링 수비".length() + 40 * " 마린 일꾼".length(), post.getPlainText().length());
+        assertEquals(BoardPostText.EXCERPT_CHARS, post.getExcerpt().length());
+        assertTrue(post.getPlainText().startsWith(post.getExcerpt()));
+        verify(searchTermsService).buildSearchTermsFromText("title", post.getPlainText());
+    }
+
+    @Test
+    void backfillPostText_fillsRowsWithoutPlainTextInBatches() throws Exception {
+        when(boardMapper.selectPostsWithoutPlainText("freeboard", 0, 2)).thenReturn(Arrays.asList(
+                postWithContent(3, "<p>초반 &amp; 중반</p>"), postWithContent(5, null)));
+        when(boardMapper.selectPostsWithoutPlainText("freeboard", 5, 2)).thenReturn(Collections.singletonList(
+                postWithContent(9, "<b>운영</b>")));
+        when(boardMapper.selectPostsWithoutPlainText("freeboard", 9, 2)).thenReturn(Collections.emptyList());
+
+        assertEquals(3, boardService.backfillPostText("FreeBoard", 2));
+
+        verify(boardMapper).updatePostText("freeboard", 3, "초반 & 중반", "초반 & 중반");
+        verify(boardMapper).updatePostText("freeboard", 5, "", "");
+        verify(boardMapper).updatePostText("freeboard", 9, "운영", "운영");
+    }
+
+    private static BoardDTO postWithContent(int postNum, String content) {
+        BoardDTO post = new BoardDTO();
+        post.setPostNum(postNum);
+        post.setContent(content);
+        return post;
     }
 }
@@ -0,0 +1,30 @@
+package com.sc1hub.board.support;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class BoardFulltextQueryTest {
+
+    @Test
+    void phrase_quotesKeywordsWhoseWordsReachTheTokenSize() {
+        assertEquals("\"벙커링\"", BoardFulltextQuery.phrase(" 벙커링 ", 2));
+        assertEquals("\"5팩 골리앗\"", BoardFulltextQuery.phrase("5팩   골리앗", 2));
+        assertNull(BoardFulltextQuery.phrase("벙커 링", 2));
+        assertNull(BoardFulltextQuery.phrase("벙커링", 4));
+        assertNull(BoardFulltextQuery.phrase("\"벙커링\" -수비", 2));
+        assertNull(BoardFulltextQuery.phrase("  ", 2));
+        assertNull(BoardFulltextQuery.phrase(null, 2));
+    }
+
+    @Test
+    void anyPhrase_joinsPhrasesOrGivesUpOnOneShortKeyword() {
+        assertEquals("\"커공발\" \"커세어\"", BoardFulltextQuery.anyPhrase(Arrays.asList("커공발", "커세어"), 2));
+        assertNull(BoardFulltextQuery.anyPhrase(Arrays.asList("커공발", "발"), 2));
+        assertNull(BoardFulltextQuery.anyPhrase(Collections.emptyList(), 2));
+    }
+}
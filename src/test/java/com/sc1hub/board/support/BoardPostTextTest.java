@@ -0,0 +1,37 @@
+package com.sc1hub.board.support;
+
+import com.sc1hub.board.dto.BoardDTO;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class BoardPostTextTest {
+
+    @Test
+    void plainText_dropsTagsDecodesEntitiesAndCollapsesWhitespace() {
+        assertEquals("9오버 & 9풀 <빌드>", BoardPostText.plainText("<p>9오버&nbsp;&amp;\n 9풀</p><br/>&lt;빌드&gt;"));
+        assertEquals("", BoardPostText.plainText(null));
+    }
+
+    @Test
+    void excerpt_cutsAtTheLimitWithoutSplittingASurrogatePair() {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < BoardPostText.EXCERPT_CHARS - 1; i += 1) {
+            text.append('가');
+        }
+        text.append("😀 끝");
+
+        assertEquals(BoardPostText.EXCERPT_CHARS - 1, BoardPostText.excerpt(text.toString()).length());
+        assertEquals("짧은 글", BoardPostText.excerpt("짧은 글"));
+    }
+
+    @Test
+    void plainTextOf_prefersTheStoredColumn() {
+        BoardDTO post = new BoardDTO();
+        post.setContent("<p>본문</p>");
+        assertEquals("본문", BoardPostText.plainTextOf(post));
+
+        post.setPlainText("저장된 본문");
+        assertEquals("저장된 본문", BoardPostText.plainTextOf(post));
+    }
+}
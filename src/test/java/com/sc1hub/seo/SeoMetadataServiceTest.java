@@ -35,4 +35,21 @@ class SeoMetadataServiceTest {
         assertFalse(structuredData.contains("</script>"));
         assertTrue(structuredData.contains("\\u003c/script\\u003e"));
     }
+
+    @Test
+    void applyPost_prefersStoredExcerptOverContent() {
+        BoardDTO post = new BoardDTO();
+        post.setPostNum(3);
+        post.setTitle("바이오닉 운영");
+        post.setContent("<p>본문 전체</p>");
+        post.setExcerpt("마린 메딕 타이밍 정리");
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        ExtendedModelMap model = new ExtendedModelMap();
+
+        service.applyPost(model, request, "테저전 게시판", post);
+
+        String description = (String) model.get("metaDescription");
+        assertTrue(description.contains("마린 메딕 타이밍 정리"));
+        assertFalse(description.contains("본문 전체"));
+    }
 }